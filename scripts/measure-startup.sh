@@ -0,0 +1,191 @@
+#!/usr/bin/env sh
+# Mide el arranque del servicio antes y después del perfil fast-startup (Spring AOT + AppCDS).
+#
+# Para cada variante arranca RUNS procesos (uno a la vez) y registra:
+#   - started: segundos que reporta Spring Boot ("Started ... in X seconds")
+#   - first:   milisegundos desde el lanzamiento hasta la primera respuesta HTTP
+#              (un 401 cuenta: el servidor ya atiende peticiones)
+# e imprime la mediana de cada variante.
+#
+# Uso:
+#   scripts/measure-startup.sh build                  construye groups:baseline (sin perfil) y groups:fast
+#   scripts/measure-startup.sh IMAGE [IMAGE...]       mide imágenes Docker ya construidas
+#   scripts/measure-startup.sh jar                    sin Docker: construye ambos jars y los mide en el host
+#
+# Antes/después reproducible con Docker:
+#   scripts/measure-startup.sh build
+#   ENV_FILE=startup.env scripts/measure-startup.sh groups:baseline groups:fast
+#
+# ENV_FILE debe aportar lo mismo que en producción (config server o datasource, Eureka, secreto JWT)
+# para que ambas imágenes se midan en las mismas condiciones.
+#
+# En modo jar, "baseline" es el jar sin perfil lanzado como antes (java -jar) y "fast" el jar del perfil
+# fast-startup con el mismo classpath plano, archivo CDS y -Dspring.aot.enabled=true que usa el
+# Dockerfile. JAVA_OPTS aporta el entorno y EXTRA_CP jars adicionales (p. ej. un driver), p. ej.:
+#   EXTRA_CP=~/.m2/repository/com/h2database/h2/2.2.224/h2-2.2.224.jar \
+#   JAVA_OPTS="-Dspring.datasource.url=jdbc:h2:mem:s;MODE=MariaDB -Dspring.datasource.driver-class-name=org.h2.Driver
+#              -Dspring.jpa.hibernate.ddl-auto=create -Dgroups.config.snapshot.enabled=false -Deureka.client.enabled=false
+#              -Dspring.security.oauth2.resourceserver.jwt.secret=..." scripts/measure-startup.sh jar
+# MVN cambia el comando de build (por defecto ./mvnw).
+set -eu
+
+RUNS="${RUNS:-5}"
+PORT="${PORT:-18080}"
+PROBE_PATH="${PROBE_PATH:-/groups}"
+TIMEOUT_S="${TIMEOUT_S:-120}"
+ENV_FILE="${ENV_FILE:-}"
+NETWORK="${NETWORK:-}"
+JAVA_OPTS="${JAVA_OPTS:-}"
+EXTRA_CP="${EXTRA_CP:-}"
+MVN="${MVN:-./mvnw}"
+WORK_DIR="${WORK_DIR:-target/startup}"
+MAIN_CLASS=com.infragest.infra_groups_service.InfraGroupsServiceApplication
+
+[ "$#" -gt 0 ] || { sed -n '2,/^set -eu/p' "$0" | sed '$d' >&2; exit 2; }
+
+now_ms() { date +%s%3N; }
+
+median() { sort -n | awk '{ a[NR] = $1 } END { if (NR == 0) print "n/a"; else if (NR % 2) print a[(NR + 1) / 2]; else print (a[NR / 2] + a[NR / 2 + 1]) / 2 }'; }
+
+# Espera la primera respuesta HTTP e imprime los milisegundos desde t0 (vacío si no llega)
+wait_first_response() {
+  t0=$1
+  deadline=$(( $(date +%s) + TIMEOUT_S ))
+  while [ "$(date +%s)" -lt "$deadline" ]; do
+    code=$(curl -s -o /dev/null -w '%{http_code}' "http://localhost:$PORT$PROBE_PATH" || true)
+    if [ "$code" != "000" ]; then
+      echo $(( $(now_ms) - t0 ))
+      return
+    fi
+    sleep 0.05
+  done
+}
+
+started_seconds() { sed -n 's/.*Started .* in \([0-9.]*\) seconds.*/\1/p' | head -n 1; }
+
+# Acumula una ejecución e imprime su resultado
+record() {
+  label=$1 run=$2 started=$3 first=$4
+  if [ -z "$first" ]; then
+    echo "$label run $run: no response after ${TIMEOUT_S}s" >&2
+  else
+    echo "$label run $run: started=${started:-?}s first=${first}ms"
+    echo "$first" >> "$first_file"
+    [ -n "$started" ] && echo "$started" >> "$started_file"
+  fi
+}
+
+build_images() {
+  $MVN -q -DskipTests package
+  docker build -q -t groups:baseline .
+  $MVN -q -Pfast-startup -DskipTests package
+  docker build -q -t groups:fast .
+}
+
+measure_image() {
+  image=$1
+  i=1
+  while [ "$i" -le "$RUNS" ]; do
+    name="startup-probe-$$-$i"
+    set -- --rm -d --name "$name" -p "$PORT:8080"
+    [ -n "$ENV_FILE" ] && set -- "$@" --env-file "$ENV_FILE"
+    [ -n "$NETWORK" ] && set -- "$@" --network "$NETWORK"
+
+    t0=$(now_ms)
+    docker run "$@" "$image" >/dev/null
+    first=$(wait_first_response "$t0")
+    started=$(docker logs "$name" 2>&1 | started_seconds)
+    docker stop "$name" >/dev/null 2>&1 || true
+    record "$image" "$i" "$started" "$first"
+    i=$((i + 1))
+  done
+}
+
+# Separa el jar en el classpath plano que usa el Dockerfile y entrena el archivo CDS
+prepare_fast() {
+  dir=$1
+  rm -rf "$dir" && mkdir -p "$dir/lib"
+  (cd "$dir" && java -Djarmode=layertools -jar ../fast.jar extract --destination extracted >/dev/null)
+  cp "$dir"/extracted/dependencies/BOOT-INF/lib/* "$dir/lib/"
+  cp "$dir"/extracted/snapshot-dependencies/BOOT-INF/lib/* "$dir/lib/" 2>/dev/null || true
+  cp -r "$dir"/extracted/application/META-INF/. "$dir"/extracted/application/BOOT-INF/classes/META-INF/
+  rm -f "$dir"/extracted/application/BOOT-INF/classes/META-INF/MANIFEST.MF
+  jar --create --file "$dir/application.jar" -C "$dir/extracted/application/BOOT-INF/classes" .
+  classpath="$dir/application.jar"
+  for j in $(sed -n 's|^- "BOOT-INF/lib/\(.*\)"$|\1|p' "$dir/extracted/application/BOOT-INF/classpath.idx"); do
+    classpath="$classpath:$dir/lib/$j"
+  done
+  [ -n "$EXTRA_CP" ] && classpath="$classpath:$EXTRA_CP"
+  echo "-cp $classpath" > "$dir/jvm.args"
+  if ls "$dir"/extracted/application/BOOT-INF/classes/com/infragest/infra_groups_service/*__ApplicationContextInitializer.class >/dev/null 2>&1; then
+    echo '-Dspring.aot.enabled=true' >> "$dir/jvm.args"
+  fi
+  # shellcheck disable=SC2086
+  java -XX:ArchiveClassesAtExit="$dir/app.jsa" -Dspring.context.exit=onRefresh -Dserver.port="$PORT" \
+    $JAVA_OPTS @"$dir/jvm.args" "$MAIN_CLASS" > "$dir/training.log" 2>&1 \
+    && test -s "$dir/app.jsa" || { echo "CDS training failed, see $dir/training.log" >&2; exit 1; }
+}
+
+measure_command() {
+  label=$1
+  shift
+  i=1
+  while [ "$i" -le "$RUNS" ]; do
+    log="$WORK_DIR/$label-$i.log"
+    t0=$(now_ms)
+    "$@" > "$log" 2>&1 &
+    pid=$!
+    first=$(wait_first_response "$t0")
+    kill "$pid" 2>/dev/null || true
+    wait "$pid" 2>/dev/null || true
+    record "$label" "$i" "$(started_seconds < "$log")" "$first"
+    i=$((i + 1))
+  done
+}
+
+measure_jars() {
+  mkdir -p "$WORK_DIR"
+  $MVN -q -DskipTests package > "$WORK_DIR/build.log" 2>&1
+  cp target/*.jar "$WORK_DIR/baseline.jar"
+  $MVN -q -Pfast-startup -DskipTests package >> "$WORK_DIR/build.log" 2>&1
+  cp target/*.jar "$WORK_DIR/fast.jar"
+  prepare_fast "$WORK_DIR/fast"
+
+  for variant in baseline fast; do
+    started_file=$(mktemp)
+    first_file=$(mktemp)
+    # shellcheck disable=SC2086
+    if [ "$variant" = baseline ]; then
+      if [ -n "$EXTRA_CP" ]; then
+        # java -jar no admite classpath extra: mismo jar con el launcher que acepta loader.path
+        measure_command baseline java -Dserver.port="$PORT" -Dloader.path="$EXTRA_CP" $JAVA_OPTS \
+          -cp "$WORK_DIR/baseline.jar" org.springframework.boot.loader.launch.PropertiesLauncher
+      else
+        measure_command baseline java -Dserver.port="$PORT" $JAVA_OPTS -jar "$WORK_DIR/baseline.jar"
+      fi
+    else
+      measure_command fast java -XX:SharedArchiveFile="$WORK_DIR/fast/app.jsa" -Xshare:auto \
+        -Dserver.port="$PORT" $JAVA_OPTS @"$WORK_DIR/fast/jvm.args" "$MAIN_CLASS"
+    fi
+    echo "$variant median: started=$(median < "$started_file")s first=$(median < "$first_file")ms"
+    rm -f "$started_file" "$first_file"
+  done
+}
+
+case "$1" in
+  build)
+    build_images
+    ;;
+  jar)
+    measure_jars
+    ;;
+  *)
+    for image in "$@"; do
+      started_file=$(mktemp)
+      first_file=$(mktemp)
+      measure_image "$image"
+      echo "$image median: started=$(median < "$started_file")s first=$(median < "$first_file")ms"
+      rm -f "$started_file" "$first_file"
+    done
+    ;;
+esac
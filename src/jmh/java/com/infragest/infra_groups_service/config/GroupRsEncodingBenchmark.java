@@ -0,0 +1,102 @@
+package com.infragest.infra_groups_service.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.infragest.infra_groups_service.enums.EmployeStatus;
+import com.infragest.infra_groups_service.model.EmployeeSummaryDto;
+import com.infragest.infra_groups_service.model.GroupRs;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Tamaño y coste de codificar/decodificar un {@link GroupRs} con sus miembros en JSON, CBOR y Smile.
+ *
+ * <p>Los mappers binarios se obtienen de {@link BinaryContentConfig}, igual que en el servicio. El
+ * tamaño de cada payload se imprime al preparar el estado:</p>
+ * <pre>
+ * mvn -Pjmh test-compile exec:exec -Djmh.args="GroupRsEncodingBenchmark -f 1"
+ * </pre>
+ *
+ * @author bunnystring
+ * @since 2026-10-18
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class GroupRsEncodingBenchmark {
+
+    @Param({"10", "1000", "100000"})
+    public int members;
+
+    @Param({"json", "cbor", "smile"})
+    public String format;
+
+    private ObjectMapper mapper;
+
+    private GroupRs group;
+
+    private byte[] encoded;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        BinaryContentConfig config = new BinaryContentConfig();
+        mapper = switch (format) {
+            case "cbor" -> config.cborHttpMessageConverter(builder()).getObjectMapper();
+            case "smile" -> config.smileHttpMessageConverter(builder()).getObjectMapper();
+            default -> builder().build();
+        };
+
+        List<EmployeeSummaryDto> employees = new ArrayList<>(members);
+        for (int i = 0; i < members; i++) {
+            employees.add(new EmployeeSummaryDto(UUID.randomUUID(), "Employee " + i,
+                    "employee" + i + "@infragest.com", i % 10 == 0 ? EmployeStatus.INACTIVE : EmployeStatus.ACTIVE));
+        }
+        LocalDateTime now = LocalDateTime.now();
+        group = GroupRs.builder()
+                .id(UUID.randomUUID()).name("group").address("address")
+                .createdAt(now).updatedAt(now).memberCount((long) members)
+                .employees(employees)
+                .build();
+        encoded = mapper.writeValueAsBytes(group);
+        System.out.printf("%n[payload] format=%s members=%d bytes=%d (%.1f bytes/member)%n",
+                format, members, encoded.length, (double) encoded.length / members);
+    }
+
+    @Benchmark
+    public byte[] serialize() throws Exception {
+        return mapper.writeValueAsBytes(group);
+    }
+
+    @Benchmark
+    public GroupRs deserialize() throws Exception {
+        return mapper.readValue(encoded, GroupRs.class);
+    }
+
+    /**
+     * Builder con los valores por defecto que aplica Spring Boot al mapper JSON.
+     */
+    private static Jackson2ObjectMapperBuilder builder() {
+        return Jackson2ObjectMapperBuilder.json()
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+    }
+}
@@ -0,0 +1,101 @@
+package com.infragest.infra_groups_service.exception;
+
+import com.infragest.infra_groups_service.model.GroupRs;
+import com.infragest.infra_groups_service.util.MessageException;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.ResponseEntity;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Coste de responder un "no encontrado" frente a una respuesta correcta.
+ *
+ * <p>Cada variante lanza (o devuelve) desde {@code depth} marcos de profundidad, como haría el servicio
+ * bajo la pila de Tomcat, Spring MVC y los proxies, y termina en {@link GlobalExceptionHandler}:</p>
+ * <ul>
+ *     <li>{@code success}: devuelve el DTO.</li>
+ *     <li>{@code businessError}: {@link GroupException} sin traza y mensaje de {@code MessageTemplate}.</li>
+ *     <li>{@code legacyError}: excepción con traza y mensaje con {@code String.format}, como antes.</li>
+ * </ul>
+ * <pre>
+ * mvn -Pjmh test-compile exec:exec -Djmh.args="ErrorPathBenchmark -prof gc"
+ * </pre>
+ *
+ * @author bunnystring
+ * @since 2026-10-18
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ErrorPathBenchmark {
+
+    @Param({"0", "60"})
+    public int depth;
+
+    private final GlobalExceptionHandler handler = new GlobalExceptionHandler();
+
+    private final UUID id = UUID.randomUUID();
+
+    private final GroupRs group = GroupRs.builder().id(id).name("group").address("address").memberCount(0L).build();
+
+    @Benchmark
+    public ResponseEntity<?> success() {
+        return ResponseEntity.ok(find(depth, Outcome.FOUND));
+    }
+
+    @Benchmark
+    public ResponseEntity<?> businessError() {
+        try {
+            return ResponseEntity.ok(find(depth, Outcome.BUSINESS_ERROR));
+        } catch (GroupException ex) {
+            return handler.handleDeviceException(ex);
+        }
+    }
+
+    @Benchmark
+    public ResponseEntity<?> legacyError() {
+        try {
+            return ResponseEntity.ok(find(depth, Outcome.LEGACY_ERROR));
+        } catch (LegacyGroupException ex) {
+            return handler.handleGenericsException(ex);
+        }
+    }
+
+    private GroupRs find(int remaining, Outcome outcome) {
+        if (remaining > 0) {
+            return find(remaining - 1, outcome);
+        }
+        return switch (outcome) {
+            case FOUND -> group;
+            case BUSINESS_ERROR -> throw new GroupException(MessageException.GROUP_NOT_FOUND.render(id),
+                    GroupException.Type.NOT_FOUND);
+            case LEGACY_ERROR -> throw new LegacyGroupException(String.format("Group not found: %s", id));
+        };
+    }
+
+    private enum Outcome {
+        FOUND, BUSINESS_ERROR, LEGACY_ERROR
+    }
+
+    /**
+     * Excepción de negocio tal como era antes: con traza completa.
+     */
+    private static final class LegacyGroupException extends RuntimeException {
+        private LegacyGroupException(String message) {
+            super(message);
+        }
+    }
+}
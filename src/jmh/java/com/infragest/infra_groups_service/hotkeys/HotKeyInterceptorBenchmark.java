@@ -0,0 +1,138 @@
+package com.infragest.infra_groups_service.hotkeys;
+
+import com.infragest.infra_groups_service.controller.GroupsController;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.objenesis.ObjenesisStd;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Sobrecoste por petición del registro de claves calientes, que debe quedar por debajo de 1 µs.
+ *
+ * <ul>
+ *     <li>{@code record}: un acceso en el tracker (sketch y top-K).</li>
+ *     <li>{@code interceptRequest}: {@link HotKeyInterceptor#preHandle} para
+ *     {@code DELETE /groups/{groupId}/employees/{employeeId}}, que parsea y registra dos ids.</li>
+ * </ul>
+ * <p>Las claves siguen una distribución de Zipf (s = 1) sobre 10 000 grupos y empleados, con los
+ * tamaños por defecto de {@code groups.hotkeys.*}. Con {@code -t} varios hilos comparten el registro:</p>
+ * <pre>
+ * mvn -Pjmh test-compile exec:exec -Djmh.args="HotKeyInterceptorBenchmark -t 4"
+ * </pre>
+ *
+ * @author bunnystring
+ * @since 2026-10-18
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class HotKeyInterceptorBenchmark {
+
+    private static final int KEYS = 10_000;
+
+    private static final int SAMPLES = 1 << 16;
+
+    private HotKeyRegistry registry;
+
+    private HotKeyInterceptor interceptor;
+
+    private HandlerMethod handler;
+
+    private UUID[] keys;
+
+    private int[] samples;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        registry = new HotKeyRegistry(4, 4096, 100);
+        interceptor = new HotKeyInterceptor(registry);
+        handler = new HandlerMethod(new ObjenesisStd().newInstance(GroupsController.class),
+                GroupsController.class.getMethod("removeEmployee", UUID.class, UUID.class));
+
+        keys = new UUID[KEYS];
+        double[] cumulative = new double[KEYS];
+        double sum = 0;
+        for (int i = 0; i < KEYS; i++) {
+            keys[i] = UUID.randomUUID();
+            sum += 1.0 / (i + 1);
+            cumulative[i] = sum;
+        }
+        Random random = new Random(42);
+        samples = new int[SAMPLES];
+        for (int i = 0; i < SAMPLES; i++) {
+            int index = Arrays.binarySearch(cumulative, random.nextDouble() * sum);
+            samples[i] = Math.min(index < 0 ? -index - 1 : index, KEYS - 1);
+        }
+    }
+
+    /**
+     * Petición por hilo; en cada operación recibe las variables de ruta de la siguiente muestra, como
+     * las deja el {@code HandlerMapping}.
+     */
+    @State(Scope.Thread)
+    public static class Requests {
+
+        private final MockHttpServletRequest request = new MockHttpServletRequest();
+
+        private final MockHttpServletResponse response = new MockHttpServletResponse();
+
+        private Map<?, ?>[] variables;
+
+        private int next;
+
+        @Setup(Level.Trial)
+        public void setUp(HotKeyInterceptorBenchmark benchmark) {
+            variables = new Map<?, ?>[SAMPLES];
+            for (int i = 0; i < SAMPLES; i++) {
+                variables[i] = Map.of(
+                        "groupId", benchmark.keys[benchmark.samples[i]].toString(),
+                        "employeeId", benchmark.keys[benchmark.samples[SAMPLES - 1 - i]].toString());
+            }
+        }
+
+        private MockHttpServletRequest next() {
+            request.setAttribute(HandlerMapping.URI_TEMPLATE_VARIABLES_ATTRIBUTE, variables[next++ & (SAMPLES - 1)]);
+            return request;
+        }
+    }
+
+    /**
+     * Posición por hilo en la secuencia de claves.
+     */
+    @State(Scope.Thread)
+    public static class Cursor {
+
+        private int next;
+    }
+
+    @Benchmark
+    public void record(Cursor cursor) {
+        registry.record(HotKeyRegistry.Kind.GROUP, keys[samples[cursor.next++ & (SAMPLES - 1)]]);
+    }
+
+    @Benchmark
+    public boolean interceptRequest(Requests requests) {
+        return interceptor.preHandle(requests.next(), requests.response, handler);
+    }
+}
@@ -0,0 +1,142 @@
+package com.infragest.infra_groups_service.model;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.infragest.infra_groups_service.entity.Employees;
+import com.infragest.infra_groups_service.enums.EmployeStatus;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.OutputStream;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Coste y asignación de memoria al serializar un grupo con sus miembros a JSON.
+ *
+ * <ul>
+ *     <li>{@code dtoSet}: la ruta anterior, que copiaba cada entidad a un {@link EmployeeSummaryDto}
+ *     con el builder, los reunía en un {@link HashSet} y los serializaba bean a bean.</li>
+ *     <li>{@code streaming}: la ruta actual, que crea los {@link EmployeeSummaryDto} desde las filas
+ *     de la consulta de resumen de miembros y los escribe con {@link EmployeeSummariesSerializer}.</li>
+ * </ul>
+ * <p>Ambas escriben a un flujo nulo, de modo que solo se mide el mapeo y la serialización. La
+ * asignación por operación la da {@code gc.alloc.rate.norm}:</p>
+ * <pre>
+ * mvn -Pjmh test-compile exec:exec -Djmh.args="GroupMembersSerializationBenchmark -prof gc"
+ * </pre>
+ *
+ * @author bunnystring
+ * @since 2026-10-18
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class GroupMembersSerializationBenchmark {
+
+    @Param({"10", "1000", "100000"})
+    public int members;
+
+    private ObjectMapper mapper;
+
+    private ObjectMapper beanMapper;
+
+    private Set<Employees> employees;
+
+    private List<Object[]> rows;
+
+    private final OutputStream sink = OutputStream.nullOutputStream();
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        mapper = builder().build();
+        beanMapper = builder().mixIn(GroupRs.class, BeanSerializedMembers.class).build();
+        employees = new LinkedHashSet<>(members);
+        rows = new ArrayList<>(members);
+        for (int i = 0; i < members; i++) {
+            Employees employee = Employees.builder()
+                    .fullName("Employee " + i)
+                    .email("employee" + i + "@infragest.com")
+                    .documentType("CC")
+                    .documentNumber(Integer.toString(100_000 + i))
+                    .status(i % 10 == 0 ? EmployeStatus.INACTIVE : EmployeStatus.ACTIVE)
+                    .build();
+            employee.setId(UUID.randomUUID());
+            employees.add(employee);
+            rows.add(new Object[]{employee.getId(), employee.getFullName(), employee.getEmail(), employee.getStatus()});
+        }
+    }
+
+    @Benchmark
+    public void dtoSet() throws Exception {
+        Set<EmployeeSummaryDto> dtos = employees.stream()
+                .map(e -> EmployeeSummaryDto.builder()
+                        .id(e.getId())
+                        .fullName(e.getFullName())
+                        .email(e.getEmail())
+                        .status(e.getStatus())
+                        .build())
+                .collect(Collectors.toSet());
+        beanMapper.writeValue(sink, group(dtos));
+    }
+
+    @Benchmark
+    public void streaming() throws Exception {
+        List<EmployeeSummaryDto> dtos = new ArrayList<>(rows.size());
+        for (Object[] row : rows) {
+            dtos.add(new EmployeeSummaryDto((UUID) row[0], (String) row[1], (String) row[2], (EmployeStatus) row[3]));
+        }
+        mapper.writeValue(sink, group(dtos));
+    }
+
+    private GroupRs group(Collection<? extends EmployeeSummaryView> members) {
+        LocalDateTime now = LocalDateTime.of(2026, 10, 18, 12, 0);
+        return GroupRs.builder()
+                .id(new UUID(1, 2)).name("group").address("address")
+                .createdAt(now).updatedAt(now).memberCount((long) members.size())
+                .employees(members)
+                .build();
+    }
+
+    /**
+     * Builder con los valores por defecto que aplica Spring Boot al mapper JSON; no cierra el flujo
+     * para poder reutilizarlo.
+     */
+    private static Jackson2ObjectMapperBuilder builder() {
+        return Jackson2ObjectMapperBuilder.json()
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS, JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+    }
+
+    /**
+     * Devuelve al campo de miembros la serialización por bean de la ruta anterior.
+     */
+    private abstract static class BeanSerializedMembers {
+
+        @JsonSerialize
+        private Collection<? extends EmployeeSummaryView> employees;
+    }
+}
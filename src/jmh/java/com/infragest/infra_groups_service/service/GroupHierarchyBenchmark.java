@@ -0,0 +1,133 @@
+package com.infragest.infra_groups_service.service;
+
+import com.infragest.infra_groups_service.InfraGroupsServiceApplication;
+import com.infragest.infra_groups_service.enums.EmployeStatus;
+import com.infragest.infra_groups_service.exception.GroupException;
+import com.infragest.infra_groups_service.model.AssignEmployeesRq;
+import com.infragest.infra_groups_service.model.EmployeeRq;
+import com.infragest.infra_groups_service.model.EmployeeSummaryDto;
+import com.infragest.infra_groups_service.model.GroupRq;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Operaciones de jerarquía sobre árboles profundos (una cadena) y anchos (una raíz con muchos hijos),
+ * con un miembro por grupo, contra el servicio real sobre H2 en memoria (modo MariaDB).
+ *
+ * <ul>
+ *     <li>{@code transitiveMembers}: miembros de todo el árbol desde la raíz.</li>
+ *     <li>{@code attachAndDetachLeaf}: anida un grupo bajo el nodo más bajo y lo desanida
+ *     (en el árbol profundo inserta y borra una ruta por ancestro).</li>
+ *     <li>{@code rejectCycle}: intenta anidar la raíz bajo el nodo más bajo.</li>
+ * </ul>
+ * <pre>
+ * mvn -Pjmh test-compile exec:exec -Djmh.args="GroupHierarchyBenchmark"
+ * </pre>
+ *
+ * @author bunnystring
+ * @since 2026-10-18
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class GroupHierarchyBenchmark {
+
+    @Param({"deep", "wide"})
+    public String shape;
+
+    @Param({"50", "500"})
+    public int size;
+
+    private ConfigurableApplicationContext context;
+
+    private GroupService groupService;
+
+    private UUID root;
+
+    private UUID bottom;
+
+    private UUID spare;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new SpringApplicationBuilder(InfraGroupsServiceApplication.class).run(
+                "--server.port=0",
+                "--logging.level.root=WARN",
+                "--groups.config.snapshot.enabled=false",
+                "--spring.cloud.refresh.enabled=false",
+                "--eureka.client.enabled=false",
+                "--spring.datasource.url=jdbc:h2:mem:hierarchy-" + UUID.randomUUID() + ";MODE=MariaDB;DB_CLOSE_DELAY=-1",
+                "--spring.datasource.driver-class-name=org.h2.Driver",
+                "--spring.jpa.hibernate.ddl-auto=create",
+                "--spring.security.oauth2.resourceserver.jwt.secret=YmVuY2htYXJrLW9ubHktc2VjcmV0LWJlbmNobWFyay1vbmx5",
+                "--groups.outbox.sink=memory",
+                "--groups.warmup.enabled=false");
+        groupService = context.getBean(GroupService.class);
+        EmployeeService employeeService = context.getBean(EmployeeService.class);
+
+        root = group();
+        UUID parent = root;
+        for (int i = 1; i < size; i++) {
+            UUID child = group();
+            groupService.attachChild(parent, child);
+            UUID employee = employeeService.createEmployee(new EmployeeRq("employee " + i, i + "@bench.io", "CC",
+                    Integer.toString(100_000 + i), EmployeStatus.ACTIVE)).getId();
+            groupService.assignEmployees(child, new AssignEmployeesRq(List.of(employee)));
+            if ("deep".equals(shape)) {
+                parent = child;
+            }
+            bottom = child;
+        }
+        spare = group();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<EmployeeSummaryDto> transitiveMembers() {
+        return groupService.getTransitiveMembers(root);
+    }
+
+    @Benchmark
+    public void attachAndDetachLeaf() {
+        groupService.attachChild(bottom, spare);
+        groupService.detachChild(bottom, spare);
+    }
+
+    @Benchmark
+    public GroupException rejectCycle() {
+        try {
+            groupService.attachChild(bottom, root);
+            throw new IllegalStateException("cycle accepted");
+        } catch (GroupException ex) {
+            return ex;
+        }
+    }
+
+    private UUID group() {
+        return groupService.createGroup(new GroupRq("g-" + UUID.randomUUID(), "address")).getId();
+    }
+}
@@ -0,0 +1,129 @@
+package com.infragest.infra_groups_service.service;
+
+import com.infragest.infra_groups_service.InfraGroupsServiceApplication;
+import com.infragest.infra_groups_service.enums.EmployeStatus;
+import com.infragest.infra_groups_service.model.AssignEmployeesRq;
+import com.infragest.infra_groups_service.model.EmployeeRq;
+import com.infragest.infra_groups_service.model.GroupRq;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput de escrituras de membresía concurrentes sobre un único grupo, contra el servicio real.
+ *
+ * <p>Cada invocación asigna al grupo un empleado propio del hilo y lo retira (dos transacciones de
+ * membresía). Con escrituras que no se serializan en el grupo, el throughput total crece con el
+ * número de hilos hasta saturar la base de datos; se compara ejecutando con distintos {@code -t}:</p>
+ * <pre>
+ * mvn -Pjmh test-compile exec:exec -Djmh.args="GroupMembershipScalingBenchmark -t 1"
+ * mvn -Pjmh test-compile exec:exec -Djmh.args="GroupMembershipScalingBenchmark -t 8"
+ * </pre>
+ * <p>Por defecto usa H2 en memoria (modo MariaDB); los bloqueos de fila de MariaDB son los que importan
+ * en producción, así que conviene repetirlo contra una instancia real con
+ * {@code -Djmh.args="... -jvmArgsAppend -Dbench.datasource.url=jdbc:mariadb://..."} (más
+ * {@code bench.datasource.username}/{@code bench.datasource.password}).</p>
+ *
+ * @author bunnystring
+ * @since 2026-10-19
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class GroupMembershipScalingBenchmark {
+
+    /**
+     * Miembros que ya tiene el grupo antes de medir.
+     */
+    @Param({"0", "1000"})
+    public int existingMembers;
+
+    private ConfigurableApplicationContext context;
+
+    private GroupService groupService;
+
+    private EmployeeService employeeService;
+
+    private UUID groupId;
+
+    /**
+     * Empleado propio de cada hilo de medición.
+     */
+    @State(Scope.Thread)
+    public static class Worker {
+
+        private UUID employeeId;
+
+        @Setup(Level.Trial)
+        public void setUp(GroupMembershipScalingBenchmark benchmark) {
+            employeeId = benchmark.employee();
+        }
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new SpringApplicationBuilder(InfraGroupsServiceApplication.class).run(
+                "--server.port=0",
+                "--logging.level.root=WARN",
+                "--groups.config.snapshot.enabled=false",
+                "--spring.cloud.refresh.enabled=false",
+                "--eureka.client.enabled=false",
+                "--spring.datasource.url=" + System.getProperty("bench.datasource.url",
+                        "jdbc:h2:mem:membership-" + UUID.randomUUID() + ";MODE=MariaDB;DB_CLOSE_DELAY=-1"),
+                "--spring.datasource.username=" + System.getProperty("bench.datasource.username", "sa"),
+                "--spring.datasource.password=" + System.getProperty("bench.datasource.password", ""),
+                "--spring.datasource.hikari.maximum-pool-size=32",
+                "--spring.jpa.hibernate.ddl-auto=create",
+                "--spring.security.oauth2.resourceserver.jwt.secret=YmVuY2htYXJrLW9ubHktc2VjcmV0LWJlbmNobWFyay1vbmx5",
+                "--groups.outbox.sink=memory",
+                "--groups.warmup.enabled=false");
+        groupService = context.getBean(GroupService.class);
+        employeeService = context.getBean(EmployeeService.class);
+
+        groupId = groupService.createGroup(new GroupRq("g-" + UUID.randomUUID(), "address")).getId();
+        for (int from = 0; from < existingMembers; from += 100) {
+            List<UUID> batch = new ArrayList<>(100);
+            for (int i = from; i < Math.min(existingMembers, from + 100); i++) {
+                batch.add(employee());
+            }
+            groupService.assignEmployees(groupId, new AssignEmployeesRq(batch));
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public void assignAndRemove(Worker worker) {
+        groupService.assignEmployees(groupId, new AssignEmployeesRq(List.of(worker.employeeId)));
+        groupService.removeEmployee(groupId, worker.employeeId);
+    }
+
+    private UUID employee() {
+        String unique = UUID.randomUUID().toString();
+        return employeeService.createEmployee(new EmployeeRq("employee " + unique, unique + "@bench.io", "CC",
+                unique.substring(0, 12), EmployeStatus.ACTIVE)).getId();
+    }
+}
@@ -0,0 +1,164 @@
+package com.infragest.infra_groups_service.concurrency;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.PathContainer;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Filtro que aplica el límite adaptativo de peticiones en curso ({@link AimdConcurrencyLimiter}).
+ *
+ * <p>Se ejecuta antes de {@code JwtAuthFilter}: bajo sobrecarga la petición sobrante se rechaza con
+ * {@code 503} sin validar el token ni tocar la base de datos. Las peticiones asíncronas (listados en
+ * el bulkhead) liberan su lugar al completar el procesamiento asíncrono. Las rutas de larga duración
+ * (SSE) y las de actuator se excluyen.</p>
+ *
+ * @author bunnystring
+ * @since 2026-10-18
+ */
+public class AdaptiveConcurrencyLimitFilter extends OncePerRequestFilter {
+
+    /**
+     * Limitador adaptativo.
+     */
+    private final AimdConcurrencyLimiter limiter;
+
+    /**
+     * Inyección de dependencia: ObjectMapper (cuerpo de la respuesta 503)
+     */
+    private final ObjectMapper objectMapper;
+
+    /**
+     * Rutas excluidas del límite.
+     */
+    private final List<PathPattern> excluded;
+
+    /**
+     * Peticiones rechazadas por el límite.
+     */
+    private final Counter rejected;
+
+    /**
+     * Constructor.
+     *
+     * @param limiter       limitador adaptativo
+     * @param excludedPaths patrones de rutas excluidas
+     * @param objectMapper  serializador JSON
+     * @param meterRegistry registro de métricas
+     */
+    public AdaptiveConcurrencyLimitFilter(AimdConcurrencyLimiter limiter, List<String> excludedPaths,
+                                          ObjectMapper objectMapper, MeterRegistry meterRegistry) {
+        this.limiter = limiter;
+        this.objectMapper = objectMapper;
+        this.excluded = excludedPaths.stream().map(PathPatternParser.defaultInstance::parse).toList();
+        this.rejected = Counter.builder("groups.concurrency.limit.rejected")
+                .description("Requests shed by the adaptive concurrency limit")
+                .register(meterRegistry);
+        Gauge.builder("groups.concurrency.limit", limiter, AimdConcurrencyLimiter::getLimit)
+                .description("Current adaptive in-flight request limit")
+                .register(meterRegistry);
+        Gauge.builder("groups.concurrency.inflight", limiter, AimdConcurrencyLimiter::getInFlight)
+                .description("Requests currently in flight under the adaptive limit")
+                .register(meterRegistry);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        PathContainer path = PathContainer.parsePath(request.getRequestURI().substring(request.getContextPath().length()));
+        return excluded.stream().anyMatch(pattern -> pattern.matches(path));
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        if (!limiter.tryAcquire()) {
+            rejected.increment();
+            response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+            response.setHeader(HttpHeaders.RETRY_AFTER, "1");
+            response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+            objectMapper.writeValue(response.getOutputStream(), Map.of(
+                    "timestamp", LocalDateTime.now(),
+                    "status", HttpStatus.SERVICE_UNAVAILABLE.value(),
+                    "error", "Service Unavailable",
+                    "message", "Server is overloaded, retry later"));
+            return;
+        }
+
+        long start = System.nanoTime();
+        Release release = new Release(start, response);
+        boolean async = false;
+        try {
+            filterChain.doFilter(request, response);
+            if (request.isAsyncStarted()) {
+                request.getAsyncContext().addListener(release);
+                async = true;
+            }
+        } catch (IOException | ServletException | RuntimeException ex) {
+            release.run(true);
+            throw ex;
+        } finally {
+            if (!async) {
+                release.run(false);
+            }
+        }
+    }
+
+    /**
+     * Libera el lugar una sola vez, al terminar de forma síncrona o asíncrona.
+     */
+    private final class Release implements AsyncListener {
+        private final long start;
+        private final HttpServletResponse response;
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        private Release(long start, HttpServletResponse response) {
+            this.start = start;
+            this.response = response;
+        }
+
+        void run(boolean failed) {
+            if (released.compareAndSet(false, true)) {
+                limiter.release(System.nanoTime() - start, failed || response.getStatus() >= 500);
+            }
+        }
+
+        @Override
+        public void onComplete(AsyncEvent event) {
+            run(false);
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event) {
+            run(true);
+        }
+
+        @Override
+        public void onError(AsyncEvent event) {
+            run(true);
+        }
+
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+            event.getAsyncContext().addListener(this);
+        }
+    }
+}
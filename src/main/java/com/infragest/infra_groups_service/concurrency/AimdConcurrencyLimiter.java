@@ -0,0 +1,184 @@
+package com.infragest.infra_groups_service.concurrency;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Límite adaptativo de peticiones en curso con AIMD (aumento aditivo, disminución multiplicativa).
+ *
+ * <p>Las latencias se agregan en ventanas; al cerrar cada ventana su latencia media se compara con
+ * una línea base: la media de la ventana más rápida, que solo sube despacio. Si la media supera
+ * {@code tolerance × base} o hubo errores del servidor, el límite se multiplica por {@code backoff};
+ * si no, y el límite se está usando (en curso ≥ mitad del límite), aumenta en uno. Así el límite
+ * sigue a la capacidad real: cuando MariaDB se ralentiza baja y las peticiones sobrantes se
+ * rechazan de inmediato en lugar de encolarse en Tomcat.</p>
+ *
+ * <p>Registrar una muestra no toma locks: suma sobre la ventana vigente con contadores atómicos.
+ * El hilo que la cierra la sustituye con un compare-and-set y solo él recalcula el límite; las
+ * muestras que llegan tarde a una ventana ya cerrada pueden quedar fuera del cálculo.</p>
+ *
+ * @author bunnystring
+ * @since 2026-10-18
+ */
+public class AimdConcurrencyLimiter {
+
+    /**
+     * Peso con que una ventana más lenta sube la línea base. Es bajo a propósito: cada aumento del límite
+     * alarga la cola un poco, y una base que lo siguiera rápido nunca vería superada la tolerancia.
+     */
+    private static final double BASELINE_DRIFT = 0.01;
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final double backoff;
+    private final double tolerance;
+    private final int windowSize;
+    private final long windowNanos;
+
+    /**
+     * Peticiones en curso.
+     */
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    /**
+     * Límite vigente.
+     */
+    private volatile int limit;
+
+    /**
+     * Ventana que acumula las muestras en curso.
+     */
+    private final AtomicReference<Window> window = new AtomicReference<>(new Window(System.nanoTime()));
+
+    /**
+     * Línea base de latencia; solo la escribe el hilo que cierra una ventana (bajo el monitor).
+     */
+    private double baselineNanos = Double.NaN;
+
+    /**
+     * Crea el limitador.
+     *
+     * @param initialLimit límite inicial
+     * @param minLimit     límite mínimo
+     * @param maxLimit     límite máximo
+     * @param backoff      factor de disminución (0 &lt; backoff &lt; 1)
+     * @param tolerance    múltiplo de la línea base a partir del cual se considera sobrecarga
+     * @param windowSize   muestras por ventana
+     * @param windowMillis duración máxima de una ventana
+     */
+    public AimdConcurrencyLimiter(int initialLimit, int minLimit, int maxLimit, double backoff, double tolerance,
+                                  int windowSize, long windowMillis) {
+        if (minLimit < 1 || maxLimit < minLimit || backoff <= 0 || backoff >= 1 || tolerance < 1) {
+            throw new IllegalArgumentException("Invalid adaptive concurrency limit settings");
+        }
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.backoff = backoff;
+        this.tolerance = tolerance;
+        this.windowSize = windowSize;
+        this.windowNanos = TimeUnit.MILLISECONDS.toNanos(windowMillis);
+        this.limit = Math.max(minLimit, Math.min(maxLimit, initialLimit));
+    }
+
+    /**
+     * Intenta reservar un lugar para una petición.
+     *
+     * @return {@code true} si se admite; en ese caso debe llamarse a {@link #release} al terminar
+     */
+    public boolean tryAcquire() {
+        if (inFlight.incrementAndGet() > limit) {
+            inFlight.decrementAndGet();
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Libera el lugar de una petición admitida y registra su latencia.
+     *
+     * @param latencyNanos latencia de la petición
+     * @param dropped      si la petición terminó con error del servidor o timeout
+     */
+    public void release(long latencyNanos, boolean dropped) {
+        int current = inFlight.getAndDecrement();
+        onSample(latencyNanos, dropped, current);
+    }
+
+    /**
+     * Límite vigente.
+     */
+    public int getLimit() {
+        return limit;
+    }
+
+    /**
+     * Peticiones en curso.
+     */
+    public int getInFlight() {
+        return inFlight.get();
+    }
+
+    private void onSample(long latencyNanos, boolean dropped, int currentInFlight) {
+        Window current = window.get();
+        current.latencySum.add(latencyNanos);
+        if (currentInFlight > current.maxInFlight.get()) {
+            current.maxInFlight.accumulateAndGet(currentInFlight, Math::max);
+        }
+        if (dropped) {
+            current.dropped = true;
+        }
+        int count = current.count.incrementAndGet();
+
+        long now = System.nanoTime();
+        if (count < windowSize && now - current.start < windowNanos) {
+            return;
+        }
+        if (window.compareAndSet(current, new Window(now))) {
+            adjust(current);
+        }
+    }
+
+    /**
+     * Recalcula el límite con una ventana cerrada. Se ejecuta una vez por ventana; el monitor solo
+     * ordena dos cierres consecutivos muy próximos.
+     */
+    private synchronized void adjust(Window closed) {
+        int count = closed.count.get();
+        double average = (double) closed.latencySum.sum() / count;
+        if (Double.isNaN(baselineNanos)) {
+            baselineNanos = average;
+        }
+        boolean overloaded = average > baselineNanos * tolerance;
+        int next = limit;
+        if (closed.dropped || overloaded) {
+            next = Math.max(minLimit, (int) (limit * backoff));
+        } else if (closed.maxInFlight.get() * 2 >= limit) {
+            next = Math.min(maxLimit, limit + 1);
+        }
+        limit = next;
+        if (average < baselineNanos) {
+            baselineNanos = average;
+        } else if (!overloaded || next == minLimit) {
+            // Una ventana sobrecargada solo mueve la base con el límite ya en el mínimo: ahí reducir no baja
+            // la latencia y esta pasa a ser la nueva normalidad
+            baselineNanos += BASELINE_DRIFT * (Math.min(average, baselineNanos * tolerance) - baselineNanos);
+        }
+    }
+
+    /**
+     * Acumuladores de una ventana.
+     */
+    private static final class Window {
+        private final long start;
+        private final LongAdder latencySum = new LongAdder();
+        private final AtomicInteger count = new AtomicInteger();
+        private final AtomicInteger maxInFlight = new AtomicInteger();
+        private volatile boolean dropped;
+
+        private Window(long start) {
+            this.start = start;
+        }
+    }
+}
@@ -0,0 +1,124 @@
+package com.infragest.infra_groups_service.concurrency;
+
+import com.infragest.infra_groups_service.config.datasource.ReadConsistencyContext;
+import com.infragest.infra_groups_service.exception.ServiceOverloadedException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.context.ContextSnapshot;
+import io.micrometer.context.ContextSnapshotFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Compartimento (bulkhead) de ejecución para una clase de rutas.
+ *
+ * <p>Las tareas se ejecutan en un pool acotado con una cola acotada; si ambos están llenos la
+ * petición se rechaza de inmediato con {@link ServiceOverloadedException} en vez de acumularse.
+ * Como cada hilo del pool usa a lo sumo una conexión, el número de hilos es también la parte del
+ * pool de conexiones que esta clase de rutas puede ocupar.</p>
+ *
+ * <p>El {@code SecurityContext}, la marca de {@link ReadConsistencyContext} y la observación en curso
+ * (traza) del hilo que envía la tarea se propagan al hilo que la ejecuta.</p>
+ *
+ * @author bunnystring
+ * @since 2026-10-18
+ */
+public class Bulkhead implements DisposableBean {
+
+    /**
+     * Nombre del compartimento (tag de métricas).
+     */
+    private final String name;
+
+    /**
+     * Pool acotado del compartimento.
+     */
+    private final ThreadPoolExecutor executor;
+
+    /**
+     * Tareas rechazadas por falta de capacidad.
+     */
+    private final Counter rejected;
+
+    /**
+     * Captura los thread-locals registrados (observación y traza en curso).
+     */
+    private final ContextSnapshotFactory snapshots = ContextSnapshotFactory.builder().build();
+
+    /**
+     * Crea el compartimento.
+     *
+     * @param name          nombre
+     * @param threads       hilos (y conexiones) máximos
+     * @param queueCapacity tareas en espera máximas
+     * @param meterRegistry registro de métricas
+     */
+    public Bulkhead(String name, int threads, int queueCapacity, MeterRegistry meterRegistry) {
+        this.name = name;
+        AtomicInteger sequence = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), r -> {
+                    Thread t = new Thread(r, "bulkhead-" + name + "-" + sequence.incrementAndGet());
+                    t.setDaemon(true);
+                    return t;
+                }, new ThreadPoolExecutor.AbortPolicy());
+        this.rejected = Counter.builder("groups.bulkhead.rejected")
+                .description("Tasks rejected because the bulkhead was full")
+                .tag("bulkhead", name)
+                .register(meterRegistry);
+        Gauge.builder("groups.bulkhead.queue", executor, e -> e.getQueue().size())
+                .description("Tasks waiting in the bulkhead queue")
+                .tag("bulkhead", name)
+                .register(meterRegistry);
+        Gauge.builder("groups.bulkhead.active", executor, ThreadPoolExecutor::getActiveCount)
+                .description("Tasks running in the bulkhead")
+                .tag("bulkhead", name)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Ejecuta la tarea en el compartimento.
+     *
+     * @param task tarea
+     * @param <T>  tipo del resultado
+     * @return resultado futuro de la tarea
+     * @throws ServiceOverloadedException si el compartimento está lleno
+     */
+    public <T> CompletableFuture<T> submit(Supplier<T> task) {
+        SecurityContext securityContext = SecurityContextHolder.getContext();
+        boolean primaryRequired = ReadConsistencyContext.isPrimaryRequired();
+        ContextSnapshot snapshot = snapshots.captureAll();
+        try {
+            return CompletableFuture.supplyAsync(() -> {
+                SecurityContextHolder.setContext(securityContext);
+                if (primaryRequired) {
+                    ReadConsistencyContext.requirePrimary();
+                }
+                try (ContextSnapshot.Scope scope = snapshot.setThreadLocals()) {
+                    return task.get();
+                } finally {
+                    ReadConsistencyContext.clear();
+                    SecurityContextHolder.clearContext();
+                }
+            }, executor);
+        } catch (RejectedExecutionException ex) {
+            rejected.increment();
+            throw new ServiceOverloadedException("Bulkhead " + name + " is full", 1);
+        }
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdownNow();
+    }
+}
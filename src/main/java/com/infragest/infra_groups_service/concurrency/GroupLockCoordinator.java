@@ -0,0 +1,122 @@
+package com.infragest.infra_groups_service.concurrency;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Arrays;
+import java.util.UUID;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Coordinador en proceso para operaciones concurrentes sobre un mismo grupo.
+ *
+ * <p>Las escrituras de membresía (asignar/remover empleados) toman el lock compartido
+ * del stripe del grupo, por lo que no se excluyen entre sí, ni en proceso ni en base de datos: allí solo
+ * bloquean las filas de empleados y de relación que cambian, nunca la fila del grupo. Las operaciones
+ * estructurales que deben ver la membresía estable (p. ej. eliminar el grupo) toman el lock exclusivo.</p>
+ *
+ * <p>Los cambios de jerarquía (anidar/desanidar grupos) toman además un lock global de jerarquía,
+ * siempre antes que los locks de grupo: la detección de ciclos depende de rutas que atraviesan
+ * grupos arbitrarios y no solo los dos involucrados. Entre réplicas la misma exclusión la da la fila
+ * centinela {@code infra_group_hierarchy_lock}, bloqueada justo después de este lock.</p>
+ *
+ * <p>Los locks se liberan al completar la transacción activa (commit o rollback), de modo
+ * que la invariante cubre también la ventana entre el fin del método y el commit.</p>
+ *
+ * @author bunnystring
+ * @since 2026-10-18
+ */
+@Component
+public class GroupLockCoordinator {
+
+    /**
+     * Stripes de locks; el grupo se asigna a uno por hash de su id.
+     */
+    private final ReentrantReadWriteLock[] stripes;
+
+    /**
+     * Lock de cambios estructurales de la jerarquía de grupos.
+     */
+    private final ReentrantLock hierarchy = new ReentrantLock();
+
+    /**
+     * Crea el coordinador con el número de stripes configurado (potencia de dos).
+     *
+     * @param stripeCount número de stripes deseado
+     */
+    public GroupLockCoordinator(@Value("${groups.concurrency.lock-stripes:64}") int stripeCount) {
+        int size = Integer.highestOneBit(Math.max(1, stripeCount - 1) << 1);
+        this.stripes = new ReentrantReadWriteLock[size];
+        for (int i = 0; i < size; i++) {
+            stripes[i] = new ReentrantReadWriteLock();
+        }
+    }
+
+    /**
+     * Toma el lock compartido de los grupos indicados hasta el fin de la transacción activa.
+     *
+     * @param groupIds identificadores de los grupos
+     */
+    public void lockShared(UUID... groupIds) {
+        for (int index : stripeIndexes(groupIds)) {
+            holdUntilCompletion(stripes[index].readLock());
+        }
+    }
+
+    /**
+     * Toma el lock exclusivo de los grupos indicados hasta el fin de la transacción activa.
+     *
+     * @param groupIds identificadores de los grupos
+     */
+    public void lockExclusive(UUID... groupIds) {
+        for (int index : stripeIndexes(groupIds)) {
+            holdUntilCompletion(stripes[index].writeLock());
+        }
+    }
+
+    /**
+     * Toma el lock de jerarquía hasta el fin de la transacción activa.
+     * Debe tomarse antes que cualquier lock de grupo.
+     */
+    public void lockHierarchy() {
+        holdUntilCompletion(hierarchy);
+    }
+
+    /**
+     * Calcula los stripes (ordenados y sin repetir) para evitar interbloqueos
+     * cuando una operación involucra varios grupos.
+     */
+    private int[] stripeIndexes(UUID... groupIds) {
+        return Arrays.stream(groupIds)
+                .mapToInt(this::stripeIndex)
+                .distinct()
+                .sorted()
+                .toArray();
+    }
+
+    private int stripeIndex(UUID groupId) {
+        int h = groupId.hashCode();
+        h ^= (h >>> 16);
+        return h & (stripes.length - 1);
+    }
+
+    /**
+     * Adquiere el lock y programa su liberación al completar la transacción.
+     */
+    private void holdUntilCompletion(Lock lock) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            throw new IllegalStateException("Group locks require an active transaction");
+        }
+        lock.lock();
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                lock.unlock();
+            }
+        });
+    }
+}
@@ -0,0 +1,243 @@
+package com.infragest.infra_groups_service.concurrency;
+
+import com.infragest.infra_groups_service.config.datasource.ReadConsistencyContext;
+import com.infragest.infra_groups_service.events.DomainChangeEvent;
+import com.infragest.infra_groups_service.events.RemoteChangeEvent;
+import com.infragest.infra_groups_service.exception.EmployeeException;
+import com.infragest.infra_groups_service.exception.GroupException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+import java.util.function.UnaryOperator;
+
+/**
+ * Coalescencia de lecturas idénticas concurrentes (single-flight).
+ *
+ * <p>Mientras una carga para la clave (operación, id) está en curso, las peticiones idénticas
+ * que llegan esperan y reciben el mismo resultado en lugar de ejecutar otra consulta. Al terminar
+ * la carga la clave se libera: no es una caché, una petición que llega después del resultado vuelve
+ * a ejecutar la carga.</p>
+ *
+ * <p>Cada seguidor espera como mucho {@code groups.singleflight.wait-timeout-ms}; si la carga líder no
+ * termina a tiempo ejecuta la suya propia. Si la carga líder falla, cada seguidor recibe su propia
+ * excepción: una copia de la excepción de negocio o una {@link CoalescedLoadException} que la envuelve,
+ * nunca la instancia del líder (con su traza y sus suprimidas).</p>
+ *
+ * <p>Cada seguidor recibe su propia copia del resultado, hecha con la función de copia de
+ * {@link #execute(String, Object, Object, Supplier, UnaryOperator)}; sin ella el resultado se comparte
+ * y debe ser inmutable. Las lecturas que exigen el primario (read-your-writes) no se unen a cargas
+ * que pueden leer de una réplica.</p>
+ *
+ * <p>Al confirmarse una escritura se olvidan las cargas en curso del agregado afectado (o todas, si el
+ * cambio puede afectar a otros grupos: empleados y jerarquía). Un cambio de membresía o el borrado de
+ * un grupo olvida además las cargas transitivas (operaciones terminadas en {@value #TRANSITIVE_SUFFIX})
+ * de cualquier grupo, porque las de sus ancestros también lo incluyen. Una lectura que empieza después ya no
+ * se une a una carga anterior a la escritura. El olvido ocurre en la fase {@code AFTER_COMMIT}, antes
+ * de que el escritor reciba su respuesta; solo una lectura concurrente con ese intervalo puede unirse
+ * aún a la carga anterior, igual que si hubiera empezado antes de la escritura.</p>
+ *
+ * @author bunnystring
+ * @since 2026-10-18
+ */
+@Component
+public class SingleFlight {
+
+    /**
+     * Sufijo de las operaciones cuyo resultado incluye a los subgrupos del recurso.
+     */
+    public static final String TRANSITIVE_SUFFIX = ".transitive";
+
+    /**
+     * Cargas en curso por clave.
+     */
+    private final ConcurrentHashMap<Key, CompletableFuture<Object>> inFlight = new ConcurrentHashMap<>();
+
+    /**
+     * Registro de métricas.
+     */
+    private final MeterRegistry meterRegistry;
+
+    /**
+     * Contadores ya registrados por (operación, resultado).
+     */
+    private final ConcurrentHashMap<CounterKey, Counter> counters = new ConcurrentHashMap<>();
+
+    /**
+     * Espera máxima de un seguidor sobre la carga líder, en milisegundos.
+     */
+    private final long waitTimeoutMs;
+
+    /**
+     * Constructor para la inyección de dependencias.
+     *
+     * @param meterRegistry registro de métricas
+     * @param waitTimeoutMs espera máxima de un seguidor sobre la carga líder
+     */
+    public SingleFlight(MeterRegistry meterRegistry,
+                        @Value("${groups.singleflight.wait-timeout-ms:5000}") long waitTimeoutMs) {
+        this.meterRegistry = meterRegistry;
+        this.waitTimeoutMs = waitTimeoutMs;
+    }
+
+    /**
+     * Ejecuta la carga o se une a una carga idéntica en curso, compartiendo el resultado (inmutable).
+     *
+     * @param operation nombre de la operación (p. ej. "group.getById")
+     * @param id        identificador del recurso
+     * @param loader    carga a ejecutar si no hay otra en curso
+     * @return resultado de la carga
+     */
+    public <T> T execute(String operation, Object id, Supplier<T> loader) {
+        return execute(operation, id, null, loader, UnaryOperator.identity());
+    }
+
+    /**
+     * Ejecuta la carga o se une a una carga idéntica en curso.
+     *
+     * @param operation nombre de la operación (p. ej. "group.getById")
+     * @param id        identificador del recurso, el que se olvida al confirmarse una escritura
+     * @param variant   variante de la lectura del mismo recurso (p. ej. los campos pedidos), o {@code null}
+     * @param loader    carga a ejecutar si no hay otra en curso
+     * @param copy      copia del resultado entregada a cada seguidor
+     * @return resultado de la carga
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T execute(String operation, Object id, Object variant, Supplier<T> loader, UnaryOperator<T> copy) {
+        Key key = new Key(operation, id, variant, ReadConsistencyContext.isPrimaryRequired());
+        CompletableFuture<Object> own = new CompletableFuture<>();
+        CompletableFuture<Object> existing = inFlight.putIfAbsent(key, own);
+
+        if (existing != null) {
+            try {
+                T value = (T) existing.get(waitTimeoutMs, TimeUnit.MILLISECONDS);
+                counter(operation, "coalesced").increment();
+                return copy.apply(value);
+            } catch (TimeoutException te) {
+                // La carga líder va lenta: no se encadena la espera, se carga de forma independiente
+                counter(operation, "timeout").increment();
+                return loader.get();
+            } catch (ExecutionException ee) {
+                counter(operation, "coalesced").increment();
+                throw forFollower(operation, ee.getCause());
+            } catch (InterruptedException ie) {
+                Thread.currentThread().interrupt();
+                throw new CoalescedLoadException(operation, ie);
+            }
+        }
+
+        counter(operation, "executed").increment();
+        try {
+            T value = loader.get();
+            own.complete(value);
+            return value;
+        } catch (RuntimeException | Error ex) {
+            own.completeExceptionally(ex);
+            throw ex;
+        } finally {
+            inFlight.remove(key, own);
+        }
+    }
+
+    /**
+     * Olvida las cargas en curso afectadas por un cambio confirmado en esta réplica.
+     *
+     * @param event cambio confirmado
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onChange(DomainChangeEvent event) {
+        switch (event.type()) {
+            // Los datos de un empleado y la jerarquía se leen también desde otros grupos
+            case EMPLOYEE_CREATED, EMPLOYEE_UPDATED, EMPLOYEE_DELETED, GROUP_ATTACHED, GROUP_DETACHED -> inFlight.clear();
+            // Las cargas transitivas de los ancestros incluyen a los miembros del grupo
+            case GROUP_MEMBERS_ADDED, GROUP_MEMBERS_REMOVED, GROUP_DELETED -> inFlight.keySet().removeIf(key ->
+                    key.id().equals(event.aggregateId()) || key.operation().endsWith(TRANSITIVE_SUFFIX));
+            default -> forget(event.aggregateId());
+        }
+    }
+
+    /**
+     * Olvida las cargas en curso afectadas por un cambio de otra réplica.
+     *
+     * @param event cambio remoto
+     */
+    @EventListener
+    public void onRemoteChange(RemoteChangeEvent event) {
+        onChange(event.change());
+    }
+
+    /**
+     * Olvida las cargas en curso del recurso: las lecturas siguientes ejecutan una carga nueva. Las
+     * cargas olvidadas terminan igualmente y entregan su resultado a los seguidores que ya esperaban.
+     *
+     * @param id identificador del recurso
+     */
+    public void forget(Object id) {
+        inFlight.keySet().removeIf(key -> key.id().equals(id));
+    }
+
+    /**
+     * Excepción propia de un seguidor a partir del fallo de la carga líder. Las excepciones de negocio
+     * se copian (mismo tipo y mensaje) para conservar su traducción a HTTP.
+     */
+    private static RuntimeException forFollower(String operation, Throwable failure) {
+        if (failure instanceof GroupException ge) {
+            return new GroupException(ge.getMessage(), ge.getType());
+        }
+        if (failure instanceof EmployeeException ee) {
+            return new EmployeeException(ee.getMessage(), ee.getType());
+        }
+        return new CoalescedLoadException(operation, failure);
+    }
+
+    private Counter counter(String operation, String outcome) {
+        return counters.computeIfAbsent(new CounterKey(operation, outcome), k -> Counter.builder("groups.singleflight.calls")
+                .description("Identical concurrent reads executed, coalesced or timed out waiting")
+                .tag("operation", k.operation())
+                .tag("outcome", k.outcome())
+                .register(meterRegistry));
+    }
+
+    /**
+     * Fallo de una carga compartida, entregado a un seguidor con la excepción del líder como causa.
+     */
+    public static class CoalescedLoadException extends RuntimeException {
+
+        /**
+         * Crea la excepción del seguidor.
+         *
+         * @param operation operación coalescida
+         * @param cause     fallo de la carga líder
+         */
+        public CoalescedLoadException(String operation, Throwable cause) {
+            super("Coalesced load failed: " + operation, cause);
+        }
+    }
+
+    /**
+     * Clave de coalescencia (operación, id, variante, primario forzado).
+     */
+    private record Key(String operation, Object id, Object variant, boolean primaryRequired) {
+        private Key {
+            Objects.requireNonNull(operation);
+            Objects.requireNonNull(id);
+        }
+    }
+
+    /**
+     * Clave de los contadores (operación, resultado).
+     */
+    private record CounterKey(String operation, String outcome) {
+    }
+}
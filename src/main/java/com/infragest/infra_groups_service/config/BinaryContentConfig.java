@@ -0,0 +1,59 @@
+package com.infragest.infra_groups_service.config;
+
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileGenerator;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+
+/**
+ * Configuración de formatos binarios (CBOR y Smile) para la negociación de contenido.
+ *
+ * <p>Los controladores siguen respondiendo JSON por defecto; un cliente que envíe
+ * {@code Accept: application/cbor} o {@code Accept: application/x-jackson-smile} recibe
+ * la misma respuesta codificada en binario (y puede enviar el cuerpo con el mismo
+ * {@code Content-Type}). Ambos formatos escriben los {@link java.util.UUID} como valores
+ * binarios de 16 bytes en lugar de cadenas de 36 caracteres (Smile sin la codificación de 7 bits,
+ * que los llevaría a 19).</p>
+ *
+ * <p>Los mappers se construyen con el {@link Jackson2ObjectMapperBuilder} de Spring Boot,
+ * así comparten módulos y opciones (fechas, enums) con el mapper JSON.</p>
+ *
+ * @author bunnystring
+ * @since 2026-10-18
+ */
+@Configuration
+public class BinaryContentConfig {
+
+    /**
+     * Media type de Smile.
+     */
+    public static final String APPLICATION_SMILE_VALUE = "application/x-jackson-smile";
+
+    /**
+     * Conversor CBOR ({@code application/cbor}).
+     *
+     * @param builder builder de ObjectMapper configurado por Spring Boot
+     * @return conversor de mensajes CBOR
+     */
+    @Bean
+    public MappingJackson2CborHttpMessageConverter cborHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2CborHttpMessageConverter(builder.factory(new CBORFactory()).build());
+    }
+
+    /**
+     * Conversor Smile ({@code application/x-jackson-smile}).
+     *
+     * @param builder builder de ObjectMapper configurado por Spring Boot
+     * @return conversor de mensajes Smile
+     */
+    @Bean
+    public MappingJackson2SmileHttpMessageConverter smileHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2SmileHttpMessageConverter(builder.factory(SmileFactory.builder()
+                .disable(SmileGenerator.Feature.ENCODE_BINARY_AS_7BIT)
+                .build()).build());
+    }
+}
@@ -0,0 +1,45 @@
+package com.infragest.infra_groups_service.config;
+
+import com.infragest.infra_groups_service.concurrency.Bulkhead;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Compartimentos de ejecución por clase de rutas.
+ *
+ * <p>Los listados completos ({@code GET /groups}, {@code GET /employees}) se ejecutan en el
+ * bulkhead {@code list}; las consultas puntuales siguen en los hilos de Tomcat. El tamaño del
+ * bulkhead debe ser menor que el pool de conexiones para que siempre queden conexiones libres
+ * para las consultas puntuales.</p>
+ *
+ * @author bunnystring
+ * @since 2026-10-18
+ */
+@Slf4j
+@Configuration
+public class BulkheadConfig {
+
+    /**
+     * Bulkhead de los listados completos.
+     *
+     * @param threads       hilos (y por tanto conexiones) máximos
+     * @param queueCapacity peticiones en espera máximas
+     * @param poolSize      tamaño máximo del pool de conexiones
+     * @param meterRegistry registro de métricas
+     * @return bulkhead {@code list}
+     */
+    @Bean
+    public Bulkhead listBulkhead(@Value("${groups.bulkhead.list.threads:4}") int threads,
+                                 @Value("${groups.bulkhead.list.queue:16}") int queueCapacity,
+                                 @Value("${spring.datasource.hikari.maximum-pool-size:10}") int poolSize,
+                                 MeterRegistry meterRegistry) {
+        if (threads >= poolSize) {
+            log.warn("List bulkhead has {} threads but the connection pool only {}: point lookups may starve",
+                    threads, poolSize);
+        }
+        return new Bulkhead("list", threads, queueCapacity, meterRegistry);
+    }
+}
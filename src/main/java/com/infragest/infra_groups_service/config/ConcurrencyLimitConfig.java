@@ -0,0 +1,80 @@
+package com.infragest.infra_groups_service.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.infragest.infra_groups_service.concurrency.AdaptiveConcurrencyLimitFilter;
+import com.infragest.infra_groups_service.concurrency.AimdConcurrencyLimiter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.List;
+
+/**
+ * Límite adaptativo de peticiones en curso ({@code groups.concurrency-limit.*}).
+ *
+ * <p>El filtro se añade a la cadena de Spring Security antes de {@code JwtAuthFilter}; su registro
+ * como filtro del servlet se desactiva para que no se ejecute dos veces.</p>
+ *
+ * @author bunnystring
+ * @since 2026-10-18
+ */
+@Configuration
+public class ConcurrencyLimitConfig {
+
+    /**
+     * Limitador AIMD.
+     *
+     * @param initialLimit límite inicial
+     * @param minLimit     límite mínimo
+     * @param maxLimit     límite máximo
+     * @param backoff      factor de disminución
+     * @param tolerance    múltiplo de la latencia base considerado sobrecarga
+     * @param windowSize   muestras por ventana
+     * @param windowMillis duración máxima de una ventana
+     * @return limitador
+     */
+    @Bean
+    public AimdConcurrencyLimiter aimdConcurrencyLimiter(
+            @Value("${groups.concurrency-limit.initial:50}") int initialLimit,
+            @Value("${groups.concurrency-limit.min:5}") int minLimit,
+            @Value("${groups.concurrency-limit.max:200}") int maxLimit,
+            @Value("${groups.concurrency-limit.backoff:0.9}") double backoff,
+            @Value("${groups.concurrency-limit.tolerance:2.0}") double tolerance,
+            @Value("${groups.concurrency-limit.window-size:50}") int windowSize,
+            @Value("${groups.concurrency-limit.window-ms:1000}") long windowMillis) {
+        return new AimdConcurrencyLimiter(initialLimit, minLimit, maxLimit, backoff, tolerance, windowSize, windowMillis);
+    }
+
+    /**
+     * Filtro del límite adaptativo.
+     *
+     * @param limiter       limitador
+     * @param excludedPaths rutas excluidas (conexiones largas y sondas)
+     * @param objectMapper  serializador JSON
+     * @param meterRegistry registro de métricas
+     * @return filtro
+     */
+    @Bean
+    public AdaptiveConcurrencyLimitFilter adaptiveConcurrencyLimitFilter(
+            AimdConcurrencyLimiter limiter,
+            @Value("${groups.concurrency-limit.excluded-paths:/groups/stream,/actuator/**}") List<String> excludedPaths,
+            ObjectMapper objectMapper, MeterRegistry meterRegistry) {
+        return new AdaptiveConcurrencyLimitFilter(limiter, excludedPaths, objectMapper, meterRegistry);
+    }
+
+    /**
+     * Evita que el contenedor registre el filtro fuera de la cadena de seguridad.
+     *
+     * @param filter filtro
+     * @return registro desactivado
+     */
+    @Bean
+    public FilterRegistrationBean<AdaptiveConcurrencyLimitFilter> adaptiveConcurrencyLimitFilterRegistration(
+            AdaptiveConcurrencyLimitFilter filter) {
+        FilterRegistrationBean<AdaptiveConcurrencyLimitFilter> registration = new FilterRegistrationBean<>(filter);
+        registration.setEnabled(false);
+        return registration;
+    }
+}
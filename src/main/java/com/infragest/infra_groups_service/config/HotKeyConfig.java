@@ -0,0 +1,40 @@
+package com.infragest.infra_groups_service.config;
+
+import com.infragest.infra_groups_service.hotkeys.HotKeyInterceptor;
+import com.infragest.infra_groups_service.hotkeys.HotKeyRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * Registra {@link HotKeyInterceptor} en las rutas de grupos y empleados
+ * ({@code groups.hotkeys.enabled}, activo por defecto).
+ *
+ * @author bunnystring
+ * @since 2026-10-18
+ */
+@Configuration
+@ConditionalOnProperty(name = "groups.hotkeys.enabled", havingValue = "true", matchIfMissing = true)
+public class HotKeyConfig implements WebMvcConfigurer {
+
+    /**
+     * Inyección de dependencia: HotKeyRegistry
+     */
+    private final HotKeyRegistry registry;
+
+    /**
+     * Constructor.
+     *
+     * @param registry registro de frecuencias
+     */
+    public HotKeyConfig(HotKeyRegistry registry) {
+        this.registry = registry;
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry interceptors) {
+        interceptors.addInterceptor(new HotKeyInterceptor(registry))
+                .addPathPatterns("/groups/**", "/employees/**");
+    }
+}
@@ -0,0 +1,15 @@
+package com.infragest.infra_groups_service.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Habilita las tareas programadas del servicio ({@code @Scheduled}).
+ *
+ * @author bunnystring
+ * @since 2026-10-18
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
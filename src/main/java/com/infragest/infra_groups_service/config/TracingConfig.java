@@ -0,0 +1,66 @@
+package com.infragest.infra_groups_service.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.infragest.infra_groups_service.tracing.InMemorySpanHandler;
+import com.infragest.infra_groups_service.tracing.ObservedJsonHttpMessageConverter;
+import com.infragest.infra_groups_service.tracing.RepositoryObservationPostProcessor;
+import io.micrometer.observation.ObservationRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Spans de las etapas internas de una petición: repositorios, mapeo (ver
+ * {@link com.infragest.infra_groups_service.tracing.TracingStages}), verificación del JWT y
+ * serialización JSON.
+ *
+ * <p>El muestreo se configura con {@code management.tracing.sampling.probability}. Con
+ * {@code groups.tracing.in-memory.enabled=true} los spans terminados se conservan en memoria
+ * ({@link InMemorySpanHandler}) para pruebas.</p>
+ *
+ * @author bunnystring
+ * @since 2026-10-18
+ */
+@Configuration
+public class TracingConfig {
+
+    /**
+     * Observaciones de los repositorios de Spring Data. Estático para no adelantar la creación
+     * de esta configuración al registrar los post-procesadores.
+     *
+     * @param registryProvider proveedor del registro de observaciones
+     * @return post-procesador
+     */
+    @Bean
+    public static RepositoryObservationPostProcessor repositoryObservationPostProcessor(
+            ObjectProvider<ObservationRegistry> registryProvider) {
+        return new RepositoryObservationPostProcessor(registryProvider);
+    }
+
+    /**
+     * Conversor JSON con observación de la serialización; sustituye al de Spring Boot.
+     *
+     * @param objectMapper mapper JSON de Spring Boot
+     * @param registry     registro de observaciones
+     * @return conversor
+     */
+    @Bean
+    public ObservedJsonHttpMessageConverter observedJsonHttpMessageConverter(ObjectMapper objectMapper,
+                                                                             ObservationRegistry registry) {
+        return new ObservedJsonHttpMessageConverter(objectMapper, registry);
+    }
+
+    /**
+     * Reporter de spans en memoria.
+     *
+     * @param capacity spans conservados como máximo
+     * @return reporter
+     */
+    @Bean
+    @ConditionalOnProperty(name = "groups.tracing.in-memory.enabled", havingValue = "true")
+    public InMemorySpanHandler inMemorySpanHandler(@Value("${groups.tracing.in-memory.capacity:1000}") int capacity) {
+        return new InMemorySpanHandler(capacity);
+    }
+}
@@ -0,0 +1,72 @@
+package com.infragest.infra_groups_service.config.datasource;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Set;
+
+/**
+ * Token read-your-writes.
+ *
+ * <p>Las peticiones de escritura devuelven la cabecera {@value #HEADER} con el instante (epoch ms)
+ * hasta el cual el cliente debe leer del primario. Si el cliente la reenvía en sus lecturas y aún
+ * no venció, la petición lee del primario en lugar de una réplica.</p>
+ *
+ * @author bunnystring
+ * @since 2026-10-18
+ */
+public class ConsistencyTokenFilter extends OncePerRequestFilter {
+
+    /**
+     * Cabecera del token.
+     */
+    public static final String HEADER = "X-Consistency-Token";
+
+    private static final Set<String> READ_METHODS = Set.of("GET", "HEAD", "OPTIONS");
+
+    /**
+     * Ventana durante la cual se fuerza el primario tras una escritura.
+     */
+    private final Duration window;
+
+    /**
+     * Constructor.
+     *
+     * @param window ventana read-your-writes
+     */
+    public ConsistencyTokenFilter(Duration window) {
+        this.window = window;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        long now = System.currentTimeMillis();
+        if (!READ_METHODS.contains(request.getMethod())) {
+            response.setHeader(HEADER, Long.toString(now + window.toMillis()));
+        } else if (notExpired(request.getHeader(HEADER), now)) {
+            ReadConsistencyContext.requirePrimary();
+        }
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            ReadConsistencyContext.clear();
+        }
+    }
+
+    private static boolean notExpired(String token, long now) {
+        if (token == null || token.isBlank()) {
+            return false;
+        }
+        try {
+            return Long.parseLong(token.trim()) > now;
+        } catch (NumberFormatException ex) {
+            return false;
+        }
+    }
+}
@@ -0,0 +1,102 @@
+package com.infragest.infra_groups_service.config.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Enrutamiento lectura/escritura del DataSource ({@code groups.datasource.routing.enabled=true}).
+ *
+ * <p>El primario se construye con {@code spring.datasource.*} (incluido {@code spring.datasource.hikari.*})
+ * y las réplicas con {@code groups.datasource.routing.replicas[n]}. El DataSource expuesto a JPA es un
+ * {@link LazyConnectionDataSourceProxy} sobre {@link ReadWriteRoutingDataSource}.</p>
+ *
+ * @author bunnystring
+ * @since 2026-10-18
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "groups.datasource.routing", name = "enabled", havingValue = "true")
+@EnableConfigurationProperties(RoutingDataSourceProperties.class)
+public class DataSourceRoutingConfig {
+
+    /**
+     * DataSource primario (escrituras y lecturas read-your-writes).
+     *
+     * @param dataSourceProperties propiedades {@code spring.datasource}
+     * @return pool del primario
+     */
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties dataSourceProperties) {
+        HikariDataSource dataSource = dataSourceProperties.initializeDataSourceBuilder()
+                .type(HikariDataSource.class)
+                .build();
+        dataSource.setPoolName("primary");
+        return dataSource;
+    }
+
+    /**
+     * DataSource que enruta entre primario y réplicas.
+     *
+     * @param primaryDataSource pool del primario
+     * @param properties        propiedades del enrutamiento
+     * @param meterRegistry     registro de métricas
+     * @return DataSource de enrutamiento
+     */
+    @Bean
+    public ReadWriteRoutingDataSource routingDataSource(HikariDataSource primaryDataSource,
+                                                        RoutingDataSourceProperties properties,
+                                                        MeterRegistry meterRegistry) {
+        List<DataSource> replicas = new ArrayList<>();
+        for (int i = 0; i < properties.replicas().size(); i++) {
+            RoutingDataSourceProperties.Replica replica = properties.replicas().get(i);
+            HikariDataSource dataSource = new HikariDataSource();
+            dataSource.setPoolName("replica-" + i);
+            dataSource.setJdbcUrl(replica.url());
+            dataSource.setUsername(replica.username());
+            dataSource.setPassword(replica.password());
+            dataSource.setMaximumPoolSize(properties.replicaPoolSize());
+            dataSource.setReadOnly(true);
+            // no falla el arranque si la réplica no responde: queda fuera de rotación hasta la próxima validación
+            dataSource.setInitializationFailTimeout(-1);
+            replicas.add(dataSource);
+        }
+        return new ReadWriteRoutingDataSource(primaryDataSource, replicas, properties.healthCheckTimeout(),
+                meterRegistry);
+    }
+
+    /**
+     * DataSource usado por JPA: la conexión real se obtiene en la primera sentencia, cuando ya se
+     * conoce si la transacción es de solo lectura.
+     *
+     * @param routingDataSource DataSource de enrutamiento
+     * @return proxy perezoso
+     */
+    @Bean
+    @Primary
+    public DataSource dataSource(ReadWriteRoutingDataSource routingDataSource) {
+        return new LazyConnectionDataSourceProxy(routingDataSource);
+    }
+
+    /**
+     * Filtro del token read-your-writes.
+     *
+     * @param properties propiedades del enrutamiento
+     * @return filtro
+     */
+    @Bean
+    public ConsistencyTokenFilter consistencyTokenFilter(RoutingDataSourceProperties properties) {
+        return new ConsistencyTokenFilter(properties.readYourWritesWindow());
+    }
+}
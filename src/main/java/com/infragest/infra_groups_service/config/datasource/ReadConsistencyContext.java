@@ -0,0 +1,39 @@
+package com.infragest.infra_groups_service.config.datasource;
+
+/**
+ * Indica, para el hilo actual, que las lecturas deben ir al primario aunque la transacción
+ * sea de solo lectura (read-your-writes tras una escritura reciente del mismo cliente).
+ *
+ * @author bunnystring
+ * @since 2026-10-18
+ */
+public final class ReadConsistencyContext {
+
+    private static final ThreadLocal<Boolean> PRIMARY_REQUIRED = new ThreadLocal<>();
+
+    private ReadConsistencyContext() {
+    }
+
+    /**
+     * Fuerza lecturas en el primario hasta {@link #clear()}.
+     */
+    public static void requirePrimary() {
+        PRIMARY_REQUIRED.set(Boolean.TRUE);
+    }
+
+    /**
+     * Indica si las lecturas del hilo actual deben ir al primario.
+     *
+     * @return true si se forzó el primario
+     */
+    public static boolean isPrimaryRequired() {
+        return PRIMARY_REQUIRED.get() != null;
+    }
+
+    /**
+     * Limpia la marca del hilo actual.
+     */
+    public static void clear() {
+        PRIMARY_REQUIRED.remove();
+    }
+}
@@ -0,0 +1,169 @@
+package com.infragest.infra_groups_service.config.datasource;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * DataSource que envía las transacciones de solo lectura a las réplicas sanas (round-robin) y el
+ * resto al primario.
+ *
+ * <p>Debe usarse detrás de un {@code LazyConnectionDataSourceProxy}: el flag read-only de la
+ * transacción se fija después de {@code doBegin}, así que la conexión real solo puede elegirse
+ * en la primera sentencia.</p>
+ *
+ * <p>Si no hay réplicas sanas o el hilo exige read-your-writes ({@link ReadConsistencyContext}),
+ * la lectura va al primario.</p>
+ *
+ * <p>Los pools de las réplicas se crean fuera del contexto, así que este DataSource los cierra al
+ * destruirse; el primario es un bean propio y lo cierra Spring.</p>
+ *
+ * @author bunnystring
+ * @since 2026-10-18
+ */
+@Slf4j
+public class ReadWriteRoutingDataSource extends AbstractRoutingDataSource implements DisposableBean {
+
+    /**
+     * Clave del primario.
+     */
+    static final String PRIMARY = "primary";
+
+    /**
+     * Réplicas configuradas.
+     */
+    private final List<ReplicaNode> replicas;
+
+    /**
+     * Cursor del round-robin.
+     */
+    private final AtomicInteger cursor = new AtomicInteger();
+
+    /**
+     * Timeout de la validación de réplicas.
+     */
+    private final Duration healthCheckTimeout;
+
+    private final Counter routedPrimary;
+    private final Counter routedReplica;
+    private final Counter readFallback;
+
+    /**
+     * Constructor.
+     *
+     * @param primary            DataSource primario
+     * @param replicas           DataSources de las réplicas
+     * @param healthCheckTimeout timeout de la validación de réplicas
+     * @param meterRegistry      registro de métricas
+     */
+    public ReadWriteRoutingDataSource(DataSource primary, List<DataSource> replicas, Duration healthCheckTimeout,
+                                      MeterRegistry meterRegistry) {
+        this.healthCheckTimeout = healthCheckTimeout;
+        this.replicas = new ArrayList<>(replicas.size());
+        Map<Object, Object> targets = new HashMap<>();
+        targets.put(PRIMARY, primary);
+        for (int i = 0; i < replicas.size(); i++) {
+            ReplicaNode node = new ReplicaNode("replica-" + i, replicas.get(i));
+            this.replicas.add(node);
+            targets.put(node.key, node.dataSource);
+        }
+        setTargetDataSources(targets);
+        setDefaultTargetDataSource(primary);
+
+        this.routedPrimary = Counter.builder("groups.datasource.routed").tag("target", "primary").register(meterRegistry);
+        this.routedReplica = Counter.builder("groups.datasource.routed").tag("target", "replica").register(meterRegistry);
+        this.readFallback = Counter.builder("groups.datasource.read.fallback")
+                .description("Read-only transactions sent to the primary because no replica was healthy")
+                .register(meterRegistry);
+        Gauge.builder("groups.datasource.replicas.healthy", this.replicas,
+                        nodes -> nodes.stream().filter(n -> n.healthy).count())
+                .register(meterRegistry);
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()
+                || ReadConsistencyContext.isPrimaryRequired()) {
+            routedPrimary.increment();
+            return PRIMARY;
+        }
+        int size = replicas.size();
+        int start = Math.floorMod(cursor.getAndIncrement(), Math.max(size, 1));
+        for (int i = 0; i < size; i++) {
+            ReplicaNode node = replicas.get((start + i) % size);
+            if (node.healthy) {
+                routedReplica.increment();
+                return node.key;
+            }
+        }
+        if (size > 0) {
+            readFallback.increment();
+        }
+        routedPrimary.increment();
+        return PRIMARY;
+    }
+
+    /**
+     * Valida periódicamente cada réplica y la saca o devuelve a la rotación.
+     */
+    @Scheduled(fixedDelayString = "${groups.datasource.routing.health-check-interval-ms:5000}")
+    public void checkReplicas() {
+        int timeoutSeconds = (int) Math.max(1, healthCheckTimeout.toSeconds());
+        for (ReplicaNode node : replicas) {
+            boolean healthy;
+            try (Connection connection = node.dataSource.getConnection()) {
+                healthy = connection.isValid(timeoutSeconds);
+            } catch (Exception ex) {
+                healthy = false;
+            }
+            if (healthy != node.healthy) {
+                log.warn("Replica {} is now {}", node.key, healthy ? "healthy" : "unhealthy");
+                node.healthy = healthy;
+            }
+        }
+    }
+
+    /**
+     * Cierra los pools de las réplicas.
+     */
+    @Override
+    public void destroy() {
+        for (ReplicaNode node : replicas) {
+            if (node.dataSource instanceof AutoCloseable closeable) {
+                try {
+                    closeable.close();
+                } catch (Exception ex) {
+                    log.warn("Failed to close replica {}: {}", node.key, ex.getMessage());
+                }
+            }
+        }
+    }
+
+    /**
+     * Réplica con su estado de salud.
+     */
+    private static final class ReplicaNode {
+        private final String key;
+        private final DataSource dataSource;
+        private volatile boolean healthy = true;
+
+        private ReplicaNode(String key, DataSource dataSource) {
+            this.key = key;
+            this.dataSource = dataSource;
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package com.infragest.infra_groups_service.config.datasource;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Propiedades del enrutamiento lectura/escritura ({@code groups.datasource.routing.*}).
+ *
+ * @param enabled              activa el enrutamiento
+ * @param replicas             réplicas de lectura
+ * @param replicaPoolSize      tamaño máximo del pool de cada réplica
+ * @param healthCheckTimeout   timeout de la validación de cada réplica
+ * @param readYourWritesWindow tiempo durante el cual un cliente que escribió lee del primario
+ * @author bunnystring
+ * @since 2026-10-18
+ */
+@ConfigurationProperties(prefix = "groups.datasource.routing")
+public record RoutingDataSourceProperties(boolean enabled,
+                                          @DefaultValue List<Replica> replicas,
+                                          @DefaultValue("10") int replicaPoolSize,
+                                          @DefaultValue("2s") Duration healthCheckTimeout,
+                                          @DefaultValue("5s") Duration readYourWritesWindow) {
+
+    /**
+     * Conexión a una réplica.
+     *
+     * @param url      URL JDBC
+     * @param username usuario
+     * @param password contraseña
+     */
+    public record Replica(String url, String username, String password) {
+    }
+}
@@ -0,0 +1,15 @@
+package com.infragest.infra_groups_service.config.snapshot;
+
+import java.time.Instant;
+import java.util.Map;
+
+/**
+ * Configuración obtenida del config server, aplanada en un único mapa de propiedades.
+ *
+ * @param fetchedAt  instante en que se obtuvo del config server
+ * @param properties propiedades en orden de precedencia (la primera fuente gana)
+ * @author bunnystring
+ * @since 2026-10-18
+ */
+public record ConfigSnapshot(Instant fetchedAt, Map<String, Object> properties) {
+}
@@ -0,0 +1,147 @@
+package com.infragest.infra_groups_service.config.snapshot;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileAttribute;
+import java.nio.file.attribute.PosixFilePermission;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Lee el config server y persiste/lee el snapshot local.
+ *
+ * <p>Se usa tanto durante el bootstrap (antes de que exista el contexto) como desde
+ * {@link ConfigSnapshotRefresher}, por eso no depende de beans de Spring.</p>
+ *
+ * <p>El snapshot contiene la configuración completa tal como la sirve el config server, secretos
+ * incluidos, en claro. En sistemas POSIX el fichero se crea con permisos {@code 600} (solo el usuario
+ * del servicio); en otros sistemas se deben restringir los permisos del directorio. No debe
+ * montarse en volúmenes compartidos ni incluirse en imágenes o copias de seguridad sin cifrar.</p>
+ *
+ * @author bunnystring
+ * @since 2026-10-18
+ */
+public class ConfigSnapshotClient {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    /**
+     * Permisos del snapshot en sistemas POSIX ({@code rw-------}).
+     */
+    private static final FileAttribute<Set<PosixFilePermission>> OWNER_ONLY =
+            PosixFilePermissions.asFileAttribute(PosixFilePermissions.fromString("rw-------"));
+
+    /**
+     * Parámetros del snapshot.
+     */
+    private final ConfigSnapshotSettings settings;
+
+    /**
+     * Cliente HTTP del config server.
+     */
+    private final HttpClient httpClient;
+
+    /**
+     * Constructor.
+     *
+     * @param settings parámetros del snapshot
+     */
+    public ConfigSnapshotClient(ConfigSnapshotSettings settings) {
+        this.settings = settings;
+        this.httpClient = HttpClient.newBuilder().connectTimeout(settings.timeout()).build();
+    }
+
+    /**
+     * Obtiene la configuración del config server ({@code GET {uri}/{name}/{profiles}[/{label}]}).
+     *
+     * @return configuración aplanada
+     * @throws IOException          si el config server no responde o responde con error
+     * @throws InterruptedException si se interrumpe la petición
+     */
+    public ConfigSnapshot fetch() throws IOException, InterruptedException {
+        String base = settings.uri().endsWith("/") ? settings.uri() : settings.uri() + "/";
+        String url = base + settings.name() + "/" + settings.profiles()
+                + (settings.label() == null ? "" : "/" + settings.label());
+        HttpRequest request = HttpRequest.newBuilder(URI.create(url))
+                .timeout(settings.timeout())
+                .header("Accept", "application/json")
+                .GET()
+                .build();
+        HttpResponse<String> response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() != 200) {
+            throw new IOException("Config server responded " + response.statusCode() + " for " + url);
+        }
+        return new ConfigSnapshot(Instant.now(), flatten(MAPPER.readTree(response.body())));
+    }
+
+    /**
+     * Lee el snapshot local si existe y es legible.
+     *
+     * @return snapshot, o vacío si no hay
+     */
+    public Optional<ConfigSnapshot> read() {
+        Path path = settings.path();
+        if (!Files.isReadable(path)) {
+            return Optional.empty();
+        }
+        try {
+            JsonNode root = MAPPER.readTree(path.toFile());
+            @SuppressWarnings("unchecked")
+            Map<String, Object> properties = MAPPER.convertValue(root.get("properties"), LinkedHashMap.class);
+            return Optional.of(new ConfigSnapshot(Instant.ofEpochMilli(root.get("fetchedAt").asLong()), properties));
+        } catch (IOException | RuntimeException ex) {
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Persiste el snapshot de forma atómica (fichero temporal + move), legible solo por el propietario.
+     *
+     * @param snapshot configuración a guardar
+     * @throws IOException si no se puede escribir
+     */
+    public void save(ConfigSnapshot snapshot) throws IOException {
+        Path path = settings.path().toAbsolutePath();
+        Files.createDirectories(path.getParent());
+        Path tmp = path.getFileSystem().supportedFileAttributeViews().contains("posix")
+                ? Files.createTempFile(path.getParent(), path.getFileName().toString(), ".tmp", OWNER_ONLY)
+                : Files.createTempFile(path.getParent(), path.getFileName().toString(), ".tmp");
+        Map<String, Object> root = new LinkedHashMap<>();
+        root.put("fetchedAt", snapshot.fetchedAt().toEpochMilli());
+        root.put("source", settings.uri());
+        root.put("properties", snapshot.properties());
+        Files.writeString(tmp, MAPPER.writeValueAsString(root), StandardCharsets.UTF_8);
+        Files.move(tmp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * Aplana las {@code propertySources} del Environment del config server; vienen de mayor a
+     * menor precedencia, así que la primera aparición de cada clave gana.
+     */
+    private static Map<String, Object> flatten(JsonNode environment) {
+        Map<String, Object> properties = new LinkedHashMap<>();
+        for (JsonNode source : environment.path("propertySources")) {
+            source.path("source").fields().forEachRemaining(entry -> {
+                JsonNode value = entry.getValue();
+                properties.putIfAbsent(entry.getKey(), value.isNumber() ? value.numberValue()
+                        : value.isBoolean() ? value.booleanValue()
+                        : value.isNull() ? "" : value.asText());
+            });
+        }
+        return properties;
+    }
+}
@@ -0,0 +1,97 @@
+package com.infragest.infra_groups_service.config.snapshot;
+
+import org.apache.commons.logging.Log;
+import org.springframework.boot.context.config.ConfigData;
+import org.springframework.boot.context.config.ConfigDataLoader;
+import org.springframework.boot.context.config.ConfigDataLoaderContext;
+import org.springframework.boot.logging.DeferredLogFactory;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Carga la configuración del import {@code configsnapshot:}.
+ *
+ * <p>Si existe un snapshot local se usa inmediatamente, sin esperar al config server;
+ * {@link ConfigSnapshotRefresher} lo actualiza después en segundo plano. Si no existe, se obtiene
+ * del config server de forma síncrona (primer arranque) y se guarda.</p>
+ *
+ * <p>Si el snapshot supera {@code groups.config.snapshot.max-age} se trata como ausente: se consulta
+ * el config server de forma síncrona y, si no responde, el arranque falla con
+ * {@code spring.cloud.config.fail-fast=true} o continúa con el snapshot caducado y un aviso.</p>
+ *
+ * <p>Con {@code groups.config.snapshot.enabled=false} no se carga nada (procesamiento AOT,
+ * entrenamiento CDS). Sin snapshot ni config server el arranque falla si {@code spring.cloud.config.fail-fast=true};
+ * si no, se arranca con una fuente vacía que el refresco completará.</p>
+ *
+ * @author bunnystring
+ * @since 2026-10-18
+ */
+public class ConfigSnapshotLoader implements ConfigDataLoader<ConfigSnapshotResource> {
+
+    private final Log log;
+
+    /**
+     * Constructor invocado por Spring Boot durante el bootstrap.
+     *
+     * @param logFactory fábrica de logs diferidos
+     */
+    public ConfigSnapshotLoader(DeferredLogFactory logFactory) {
+        this.log = logFactory.getLog(ConfigSnapshotLoader.class);
+    }
+
+    @Override
+    public ConfigData load(ConfigDataLoaderContext context, ConfigSnapshotResource resource) {
+        if (!resource.getSettings().enabled()) {
+            return ConfigData.EMPTY;
+        }
+        ConfigSnapshotClient client = new ConfigSnapshotClient(resource.getSettings());
+
+        Optional<ConfigSnapshot> snapshot = client.read();
+        boolean expired = snapshot.isPresent() && resource.getSettings().isExpired(snapshot.get(), Instant.now());
+        if (snapshot.isPresent() && !expired) {
+            log.info("Starting from config snapshot " + resource + " fetched at " + snapshot.get().fetchedAt());
+            return data(snapshot.get());
+        }
+
+        try {
+            ConfigSnapshot fetched = client.fetch();
+            saveQuietly(client, fetched);
+            log.info("Loaded configuration from config server " + resource);
+            return data(fetched);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while loading configuration " + resource, ex);
+        } catch (Exception ex) {
+            if (expired && resource.getSettings().failFast()) {
+                throw new IllegalStateException("Config snapshot fetched at " + snapshot.get().fetchedAt()
+                        + " exceeds max-age " + resource.getSettings().maxAge()
+                        + " and config server unavailable: " + resource, ex);
+            }
+            if (expired) {
+                log.warn("Config snapshot fetched at " + snapshot.get().fetchedAt() + " exceeds max-age "
+                        + resource.getSettings().maxAge() + " and config server unavailable, starting from it: " + ex);
+                return data(snapshot.get());
+            }
+            if (resource.getSettings().failFast()) {
+                throw new IllegalStateException("No config snapshot and config server unavailable: " + resource, ex);
+            }
+            log.warn("No config snapshot and config server unavailable, starting without remote configuration: "
+                    + ex);
+            return data(null);
+        }
+    }
+
+    private void saveQuietly(ConfigSnapshotClient client, ConfigSnapshot snapshot) {
+        try {
+            client.save(snapshot);
+        } catch (Exception ex) {
+            log.warn("Could not write config snapshot: " + ex.getMessage());
+        }
+    }
+
+    private static ConfigData data(ConfigSnapshot snapshot) {
+        return new ConfigData(List.of(new ConfigSnapshotPropertySource(snapshot)));
+    }
+}
@@ -0,0 +1,40 @@
+package com.infragest.infra_groups_service.config.snapshot;
+
+import org.springframework.boot.context.config.ConfigDataLocation;
+import org.springframework.boot.context.config.ConfigDataLocationResolver;
+import org.springframework.boot.context.config.ConfigDataLocationResolverContext;
+import org.springframework.boot.context.config.Profiles;
+
+import java.util.List;
+
+/**
+ * Resuelve el import {@code configsnapshot:}. Se resuelve por perfil, igual que {@code configserver:},
+ * para pedir al config server la configuración de los perfiles activos.
+ *
+ * @author bunnystring
+ * @since 2026-10-18
+ */
+public class ConfigSnapshotLocationResolver implements ConfigDataLocationResolver<ConfigSnapshotResource> {
+
+    /**
+     * Prefijo del import.
+     */
+    public static final String PREFIX = "configsnapshot:";
+
+    @Override
+    public boolean isResolvable(ConfigDataLocationResolverContext context, ConfigDataLocation location) {
+        return location.hasPrefix(PREFIX);
+    }
+
+    @Override
+    public List<ConfigSnapshotResource> resolve(ConfigDataLocationResolverContext context, ConfigDataLocation location) {
+        return List.of();
+    }
+
+    @Override
+    public List<ConfigSnapshotResource> resolveProfileSpecific(ConfigDataLocationResolverContext context,
+                                                               ConfigDataLocation location, Profiles profiles) {
+        ConfigSnapshotSettings settings = ConfigSnapshotSettings.from(context.getBinder(), profiles.getAccepted());
+        return List.of(new ConfigSnapshotResource(settings, location.isOptional()));
+    }
+}
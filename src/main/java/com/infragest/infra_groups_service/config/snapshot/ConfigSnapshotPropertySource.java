@@ -0,0 +1,39 @@
+package com.infragest.infra_groups_service.config.snapshot;
+
+import org.springframework.core.env.MapPropertySource;
+
+import java.time.Instant;
+import java.util.Map;
+
+/**
+ * Fuente de propiedades con la configuración del config server (desde snapshot o recién obtenida).
+ *
+ * @author bunnystring
+ * @since 2026-10-18
+ */
+public class ConfigSnapshotPropertySource extends MapPropertySource {
+
+    /**
+     * Nombre de la fuente en el Environment.
+     */
+    public static final String NAME = "configsnapshot";
+
+    /**
+     * Instante en que se obtuvo la configuración del config server, o {@code null} si no hay.
+     */
+    private final Instant fetchedAt;
+
+    /**
+     * Constructor.
+     *
+     * @param snapshot configuración, o {@code null} para una fuente vacía
+     */
+    public ConfigSnapshotPropertySource(ConfigSnapshot snapshot) {
+        super(NAME, snapshot == null ? Map.of() : Map.copyOf(snapshot.properties()));
+        this.fetchedAt = snapshot == null ? null : snapshot.fetchedAt();
+    }
+
+    public Instant getFetchedAt() {
+        return fetchedAt;
+    }
+}
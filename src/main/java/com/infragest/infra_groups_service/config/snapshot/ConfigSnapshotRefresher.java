@@ -0,0 +1,201 @@
+package com.infragest.infra_groups_service.config.snapshot;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.cloud.context.environment.EnvironmentChangeEvent;
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.env.ConfigurableEnvironment;
+import org.springframework.core.env.PropertySource;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Refresca en segundo plano la configuración cargada por {@code configsnapshot:}.
+ *
+ * <p>Tras el arranque (y luego periódicamente) consulta el config server; si responde, guarda el
+ * snapshot, reemplaza la fuente de propiedades y publica un {@link EnvironmentChangeEvent} con las
+ * claves cambiadas, con lo que se re-vinculan los {@code @ConfigurationProperties} y los niveles de
+ * log. Los valores inyectados con {@code @Value} se leen solo al crear el bean.</p>
+ *
+ * @author bunnystring
+ * @since 2026-10-18
+ */
+@Slf4j
+@Component
+public class ConfigSnapshotRefresher {
+
+    /**
+     * Inyección de dependencia: ApplicationContext (fuente del EnvironmentChangeEvent)
+     */
+    private final ApplicationContext applicationContext;
+
+    /**
+     * Inyección de dependencia: ConfigurableEnvironment
+     */
+    private final ConfigurableEnvironment environment;
+
+    /**
+     * Latencia de refresco exitoso.
+     */
+    private final Timer refreshSuccess;
+
+    /**
+     * Latencia de refresco fallido.
+     */
+    private final Timer refreshFailure;
+
+    /**
+     * Hilo del refresco, para no bloquear el arranque ni el scheduler.
+     */
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(r -> {
+        Thread t = new Thread(r, "config-snapshot-refresh");
+        t.setDaemon(true);
+        return t;
+    });
+
+    /**
+     * Evita refrescos solapados.
+     */
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    /**
+     * Constructor.
+     *
+     * @param applicationContext contexto de la aplicación
+     * @param environment        entorno
+     * @param meterRegistry      registro de métricas
+     */
+    public ConfigSnapshotRefresher(ApplicationContext applicationContext, ConfigurableEnvironment environment,
+                                   MeterRegistry meterRegistry) {
+        this.applicationContext = applicationContext;
+        this.environment = environment;
+        this.refreshSuccess = Timer.builder("groups.config.refresh")
+                .description("Config server refresh latency")
+                .tag("outcome", "success")
+                .register(meterRegistry);
+        this.refreshFailure = Timer.builder("groups.config.refresh")
+                .description("Config server refresh latency")
+                .tag("outcome", "failure")
+                .register(meterRegistry);
+        Gauge.builder("groups.config.snapshot.age", this, ConfigSnapshotRefresher::snapshotAgeSeconds)
+                .description("Age of the configuration currently applied, in seconds")
+                .baseUnit("seconds")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Primer refresco tras el arranque.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void onReady() {
+        refreshAsync();
+    }
+
+    /**
+     * Refresco periódico.
+     */
+    @Scheduled(initialDelayString = "${groups.config.snapshot.refresh-interval-ms:300000}",
+            fixedDelayString = "${groups.config.snapshot.refresh-interval-ms:300000}")
+    public void scheduledRefresh() {
+        refreshAsync();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * Lanza un refresco en segundo plano si el snapshot está activo y no hay otro en curso.
+     */
+    public void refreshAsync() {
+        if (current() == null || !running.compareAndSet(false, true)) {
+            return;
+        }
+        executor.execute(() -> {
+            try {
+                refresh();
+            } finally {
+                running.set(false);
+            }
+        });
+    }
+
+    /**
+     * Obtiene la configuración del config server y la aplica si cambió.
+     */
+    void refresh() {
+        ConfigSnapshotSettings settings = ConfigSnapshotSettings.from(Binder.get(environment),
+                Arrays.asList(environment.getActiveProfiles()));
+        ConfigSnapshotClient client = new ConfigSnapshotClient(settings);
+        long start = System.nanoTime();
+        ConfigSnapshot fetched;
+        try {
+            fetched = client.fetch();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            return;
+        } catch (Exception ex) {
+            refreshFailure.record(Duration.ofNanos(System.nanoTime() - start));
+            log.warn("Config refresh failed, keeping current configuration: {}", ex.toString());
+            ConfigSnapshotPropertySource applied = current();
+            if (applied != null && applied.getFetchedAt() != null && settings.isExpired(
+                    new ConfigSnapshot(applied.getFetchedAt(), Map.of()), Instant.now())) {
+                log.warn("Applied configuration was fetched at {} and exceeds max-age {}",
+                        applied.getFetchedAt(), settings.maxAge());
+            }
+            return;
+        }
+        refreshSuccess.record(Duration.ofNanos(System.nanoTime() - start));
+
+        try {
+            client.save(fetched);
+        } catch (Exception ex) {
+            log.warn("Could not write config snapshot {}: {}", settings.path(), ex.getMessage());
+        }
+
+        ConfigSnapshotPropertySource previous = current();
+        Set<String> changed = changedKeys(previous == null ? Map.of() : previous.getSource(), fetched.properties());
+        environment.getPropertySources().replace(ConfigSnapshotPropertySource.NAME,
+                new ConfigSnapshotPropertySource(fetched));
+        if (!changed.isEmpty()) {
+            log.info("Configuration refreshed, {} keys changed", changed.size());
+            applicationContext.publishEvent(new EnvironmentChangeEvent(applicationContext, changed));
+        }
+    }
+
+    private ConfigSnapshotPropertySource current() {
+        PropertySource<?> source = environment.getPropertySources().get(ConfigSnapshotPropertySource.NAME);
+        return source instanceof ConfigSnapshotPropertySource snapshot ? snapshot : null;
+    }
+
+    private double snapshotAgeSeconds() {
+        ConfigSnapshotPropertySource source = current();
+        Instant fetchedAt = source == null ? null : source.getFetchedAt();
+        return fetchedAt == null ? Double.NaN : Duration.between(fetchedAt, Instant.now()).toMillis() / 1000.0;
+    }
+
+    private static Set<String> changedKeys(Map<String, Object> before, Map<String, Object> after) {
+        Set<String> keys = new HashSet<>(before.keySet());
+        keys.addAll(after.keySet());
+        keys.removeIf(key -> Objects.equals(before.get(key), after.get(key)));
+        return keys;
+    }
+}
@@ -0,0 +1,50 @@
+package com.infragest.infra_groups_service.config.snapshot;
+
+import org.springframework.boot.context.config.ConfigDataResource;
+
+import java.util.Objects;
+
+/**
+ * Recurso {@code configsnapshot:} resuelto para un conjunto de perfiles.
+ *
+ * @author bunnystring
+ * @since 2026-10-18
+ */
+public class ConfigSnapshotResource extends ConfigDataResource {
+
+    /**
+     * Parámetros del snapshot.
+     */
+    private final ConfigSnapshotSettings settings;
+
+    /**
+     * Constructor.
+     *
+     * @param settings parámetros del snapshot
+     * @param optional si el import es opcional
+     */
+    public ConfigSnapshotResource(ConfigSnapshotSettings settings, boolean optional) {
+        super(optional);
+        this.settings = settings;
+    }
+
+    public ConfigSnapshotSettings getSettings() {
+        return settings;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return o instanceof ConfigSnapshotResource other && settings.equals(other.settings);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(settings);
+    }
+
+    @Override
+    public String toString() {
+        return "configsnapshot:" + settings.uri() + "/" + settings.name() + "/" + settings.profiles()
+                + " (" + settings.path() + ")";
+    }
+}
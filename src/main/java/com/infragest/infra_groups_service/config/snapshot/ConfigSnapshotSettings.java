@@ -0,0 +1,63 @@
+package com.infragest.infra_groups_service.config.snapshot;
+
+import org.springframework.boot.context.properties.bind.Binder;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collection;
+
+/**
+ * Parámetros del snapshot local de configuración.
+ *
+ * <p>Reutiliza las propiedades {@code spring.cloud.config.*} (uri, name, label, fail-fast) para
+ * que el origen de la configuración no cambie respecto al import {@code configserver:}.</p>
+ *
+ * @param enabled  si el snapshot está activo ({@code groups.config.snapshot.enabled})
+ * @param uri      URI del config server
+ * @param name     nombre de la aplicación en el config server
+ * @param profiles perfiles separados por coma
+ * @param label    label (rama) o {@code null}
+ * @param path     fichero del snapshot
+ * @param timeout  timeout de la petición al config server
+ * @param failFast si el arranque debe fallar cuando no hay snapshot ni config server
+ * @param maxAge   antigüedad máxima del snapshot para arrancar sin consultar al config server, o
+ *                 {@code null} sin límite
+ * @author bunnystring
+ * @since 2026-10-18
+ */
+public record ConfigSnapshotSettings(boolean enabled, String uri, String name, String profiles, String label,
+                                     Path path, Duration timeout, boolean failFast, Duration maxAge) {
+
+    /**
+     * Lee los parámetros del entorno.
+     *
+     * @param binder   binder del entorno
+     * @param profiles perfiles activos
+     * @return parámetros del snapshot
+     */
+    public static ConfigSnapshotSettings from(Binder binder, Collection<String> profiles) {
+        String applicationName = binder.bind("spring.application.name", String.class).orElse("application");
+        return new ConfigSnapshotSettings(
+                binder.bind("groups.config.snapshot.enabled", Boolean.class).orElse(true),
+                binder.bind("spring.cloud.config.uri", String.class).orElse("http://localhost:8888"),
+                binder.bind("spring.cloud.config.name", String.class).orElse(applicationName),
+                profiles.isEmpty() ? "default" : String.join(",", profiles),
+                binder.bind("spring.cloud.config.label", String.class).orElse(null),
+                binder.bind("groups.config.snapshot.path", Path.class).orElse(Path.of("config-snapshot.json")),
+                binder.bind("groups.config.snapshot.timeout", Duration.class).orElse(Duration.ofSeconds(5)),
+                binder.bind("spring.cloud.config.fail-fast", Boolean.class).orElse(false),
+                binder.bind("groups.config.snapshot.max-age", Duration.class).orElse(null));
+    }
+
+    /**
+     * Indica si el snapshot supera la antigüedad máxima.
+     *
+     * @param snapshot snapshot a comprobar
+     * @param now      instante actual
+     * @return true si hay límite y el snapshot lo supera
+     */
+    public boolean isExpired(ConfigSnapshot snapshot, Instant now) {
+        return maxAge != null && snapshot.fetchedAt().plus(maxAge).isBefore(now);
+    }
+}
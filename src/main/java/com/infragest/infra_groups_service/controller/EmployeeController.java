@@ -1,9 +1,16 @@
 package com.infragest.infra_groups_service.controller;
 
+import com.infragest.infra_groups_service.concurrency.Bulkhead;
 import com.infragest.infra_groups_service.model.EmployeeRq;
 import com.infragest.infra_groups_service.model.EmployeeRs;
+import com.infragest.infra_groups_service.model.EmployeeStatusRq;
+import com.infragest.infra_groups_service.model.EmployeeStatusRs;
+import com.infragest.infra_groups_service.model.FieldSelection;
+import com.infragest.infra_groups_service.model.LookupRq;
+import com.infragest.infra_groups_service.model.LookupRs;
 import com.infragest.infra_groups_service.service.EmployeeService;
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.ArraySchema;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
@@ -16,7 +23,9 @@ import org.springframework.web.ErrorResponse;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
+import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
 
 @RestController
 @RequestMapping("/employees")
@@ -28,12 +37,19 @@ public class EmployeeController {
      */
     private final EmployeeService employeeService;
 
+    /**
+     * Inyección de la dependencia: listBulkhead.
+     */
+    private final Bulkhead listBulkhead;
+
     /**
      * Constructor para la inyección de dependencias.
      * @param employeeService
+     * @param listBulkhead
      */
-    public EmployeeController(EmployeeService employeeService) {
+    public EmployeeController(EmployeeService employeeService, Bulkhead listBulkhead) {
         this.employeeService = employeeService;
+        this.listBulkhead = listBulkhead;
     }
 
     /**
@@ -69,11 +85,17 @@ public class EmployeeController {
                             array = @ArraySchema(schema = @Schema(implementation = EmployeeRs.class))
                     )),
             @ApiResponse(responseCode = "500", description = "Error interno del servidor",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorResponse.class))),
+            @ApiResponse(responseCode = "503", description = "Capacidad de listados agotada; reintentar tras Retry-After",
                     content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorResponse.class)))
     })
     @GetMapping
-    public ResponseEntity<List<EmployeeRs>> listEmployees() {
-        return ResponseEntity.ok(employeeService.listEmployees());
+    public CompletableFuture<ResponseEntity<List<EmployeeRs>>> listEmployees(
+            @Parameter(description = "Campos a incluir (ej. fullName,email). Por defecto todos")
+            @RequestParam(required = false) Set<String> fields) {
+        FieldSelection selection = FieldSelection.of(fields, null);
+        // El listado completo se ejecuta en el bulkhead de listados para no ocupar hilos ni conexiones de las consultas puntuales
+        return listBulkhead.submit(() -> ResponseEntity.ok(employeeService.listEmployees(selection)));
     }
 
     /**
@@ -94,8 +116,32 @@ public class EmployeeController {
                     content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorResponse.class)))
     })
     @GetMapping("/{id}")
-    public ResponseEntity<EmployeeRs> getById(@PathVariable UUID id) {
-        return ResponseEntity.ok(employeeService.getById(id));
+    public ResponseEntity<EmployeeRs> getById(
+            @PathVariable UUID id,
+            @Parameter(description = "Campos a incluir (ej. fullName,email). Por defecto todos")
+            @RequestParam(required = false) Set<String> fields) {
+        return ResponseEntity.ok(employeeService.getById(id, FieldSelection.of(fields, null)));
+    }
+
+    /**
+     * Recupera varios empleados por id en una sola petición.
+     *
+     * @param rq ids a resolver (máximo {@value LookupRq#MAX_IDS})
+     * @return empleados por id, con los inexistentes en {@code missing}
+     */
+    @Operation(summary = "Buscar empleados por lote", description = "Recupera varios empleados por sus UUID; " +
+            "la respuesta se indexa por id y los inexistentes se devuelven en null y en 'missing'")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Empleados encontrados",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = LookupRs.class))),
+            @ApiResponse(responseCode = "400", description = "Solicitud inválida / demasiados ids",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorResponse.class))),
+            @ApiResponse(responseCode = "500", description = "Error interno del servidor",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorResponse.class)))
+    })
+    @PostMapping("/lookup")
+    public ResponseEntity<LookupRs<EmployeeRs>> lookup(@Valid @RequestBody LookupRq rq) {
+        return ResponseEntity.ok(employeeService.lookupEmployees(rq.getIds()));
     }
 
     /**
@@ -122,6 +168,28 @@ public class EmployeeController {
         return ResponseEntity.ok(employeeService.updateEmployee(id, rq));
     }
 
+    /**
+     * Cambia el estado de varios empleados en una sola petición.
+     *
+     * @param rq ids (máximo {@value LookupRq#MAX_IDS}), estado y si se retiran de sus grupos
+     * @return resultado por empleado
+     */
+    @Operation(summary = "Cambiar estado por lote", description = "Aplica el estado a varios empleados con " +
+            "sentencias por conjunto; con removeFromGroups=true (solo INACTIVE) los retira además de todos sus grupos " +
+            "en la misma transacción. Devuelve el resultado por empleado (UPDATED, UNCHANGED o NOT_FOUND)")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Estados aplicados",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = EmployeeStatusRs.class))),
+            @ApiResponse(responseCode = "400", description = "Solicitud inválida / demasiados ids / limpieza con estado ACTIVE",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorResponse.class))),
+            @ApiResponse(responseCode = "500", description = "Error interno del servidor",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorResponse.class)))
+    })
+    @PatchMapping("/status")
+    public ResponseEntity<EmployeeStatusRs> updateStatuses(@Valid @RequestBody EmployeeStatusRq rq) {
+        return ResponseEntity.ok(employeeService.updateStatuses(rq));
+    }
+
     /**
      * Elimina un empleado por ID.
      *
@@ -1,23 +1,38 @@
 package com.infragest.infra_groups_service.controller;
 
+import com.infragest.infra_groups_service.concurrency.Bulkhead;
+import com.infragest.infra_groups_service.events.GroupChangeStream;
 import com.infragest.infra_groups_service.model.AssignEmployeesRq;
+import com.infragest.infra_groups_service.model.EmployeeSummaryDto;
+import com.infragest.infra_groups_service.model.FieldSelection;
+import com.infragest.infra_groups_service.model.GroupFilter;
 import com.infragest.infra_groups_service.model.GroupMembersEmailRs;
 import com.infragest.infra_groups_service.model.GroupRq;
 import com.infragest.infra_groups_service.model.GroupRs;
+import com.infragest.infra_groups_service.model.LookupRq;
+import com.infragest.infra_groups_service.model.LookupRs;
+import com.infragest.infra_groups_service.model.MembershipQueryRq;
+import com.infragest.infra_groups_service.model.MembershipQueryRs;
+import com.infragest.infra_groups_service.model.MembershipTransferRs;
 import com.infragest.infra_groups_service.service.GroupService;
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.ArraySchema;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import jakarta.validation.Valid;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.ErrorResponse;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.util.List;
+import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * Controller REST para gestionar Groups.
@@ -34,13 +49,27 @@ public class GroupsController {
      */
     private final GroupService groupService;
 
+    /**
+     * Inyección de la dependencia: groupChangeStream
+     */
+    private final GroupChangeStream groupChangeStream;
+
+    /**
+     * Inyección de la dependencia: listBulkhead
+     */
+    private final Bulkhead listBulkhead;
+
     /**
      * Constructor para la inyección de dependencias.
      * @param groupService
+     * @param groupChangeStream
+     * @param listBulkhead
      */
-    public GroupsController(GroupService groupService)
+    public GroupsController(GroupService groupService, GroupChangeStream groupChangeStream, Bulkhead listBulkhead)
     {
         this.groupService = groupService;
+        this.groupChangeStream = groupChangeStream;
+        this.listBulkhead = listBulkhead;
     }
 
     @Operation(summary = "Crear grupo", description = "Crea un nuevo grupo con el payload proporcionado")
@@ -66,18 +95,56 @@ public class GroupsController {
      * Lista los grupos
      * @return List<GroupRs>
      */
-    @Operation(summary = "Listar grupos", description = "Devuelve la lista de todos los grupos")
+    @Operation(summary = "Listar grupos", description = "Devuelve la lista de grupos; admite filtro y orden por número de miembros")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Lista de grupos",
                     content = @Content(mediaType = "application/json",
                             array = @ArraySchema(schema = @Schema(implementation = GroupRs.class))
                     )),
             @ApiResponse(responseCode = "500", description = "Error interno del servidor",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorResponse.class))),
+            @ApiResponse(responseCode = "503", description = "Capacidad de listados agotada; reintentar tras Retry-After",
                     content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorResponse.class)))
     })
     @GetMapping
-    public ResponseEntity<List<GroupRs>> listGroups() {
-        return ResponseEntity.ok(groupService.listGroups());
+    public CompletableFuture<ResponseEntity<List<GroupRs>>> listGroups(
+            @Parameter(description = "Campos a incluir (ej. name,address). Por defecto todos")
+            @RequestParam(required = false) Set<String> fields,
+            @Parameter(description = "Asociaciones a incluir (employees)")
+            @RequestParam(required = false) Set<String> expand,
+            @Parameter(description = "Número mínimo de miembros")
+            @RequestParam(required = false) Long minMembers,
+            @Parameter(description = "Número máximo de miembros")
+            @RequestParam(required = false) Long maxMembers,
+            @Parameter(description = "Ordenamiento: propiedad[,asc|desc] (name, memberCount, createdAt, updatedAt)")
+            @RequestParam(required = false) String sort) {
+        FieldSelection selection = FieldSelection.of(fields, expand);
+        GroupFilter filter = GroupFilter.of(minMembers, maxMembers, sort);
+        // El listado completo se ejecuta en el bulkhead de listados para no ocupar hilos ni conexiones de las consultas puntuales
+        return listBulkhead.submit(() -> ResponseEntity.ok(groupService.listGroups(selection, filter)));
+    }
+
+    /**
+     * Suscripción en vivo a los cambios de grupos (Server-Sent Events).
+     * GET /groups/stream
+     */
+    @Operation(summary = "Suscribirse a cambios de grupos",
+            description = "Emite por SSE los cambios confirmados de grupos y membresías. " +
+                    "Admite filtrar por groupIds y reanudar con la cabecera Last-Event-ID; " +
+                    "un evento 'reset' indica que el cliente debe volver a leer el estado completo.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Flujo de eventos",
+                    content = @Content(mediaType = MediaType.TEXT_EVENT_STREAM_VALUE)),
+            @ApiResponse(responseCode = "400", description = "UUID inválido",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorResponse.class)))
+    })
+    @GetMapping(path = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter stream(
+            @Parameter(description = "Grupos a observar. Por defecto todos")
+            @RequestParam(required = false) Set<UUID> groupIds,
+            @Parameter(description = "Último id de evento recibido, para reanudar")
+            @RequestHeader(value = "Last-Event-ID", required = false) Long lastEventId) {
+        return groupChangeStream.subscribe(groupIds, lastEventId);
     }
 
     /**
@@ -95,11 +162,57 @@ public class GroupsController {
                     content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorResponse.class)))
     })
     @GetMapping("/{id}")
-    public ResponseEntity<GroupRs> getGroupById(@PathVariable UUID id) {
-        GroupRs dto = groupService.getById(id);
+    public ResponseEntity<GroupRs> getGroupById(
+            @PathVariable UUID id,
+            @Parameter(description = "Campos a incluir (ej. name,address). Por defecto todos")
+            @RequestParam(required = false) Set<String> fields,
+            @Parameter(description = "Asociaciones a incluir (employees)")
+            @RequestParam(required = false) Set<String> expand) {
+        GroupRs dto = groupService.getById(id, FieldSelection.of(fields, expand));
         return ResponseEntity.ok(dto);
     }
 
+    /**
+     * Obtiene varios grupos por ID en una sola petición.
+     */
+    @Operation(summary = "Buscar grupos por lote", description = "Recupera varios grupos (con sus miembros) por sus UUID; " +
+            "la respuesta se indexa por id y los inexistentes se devuelven en null y en 'missing'")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Grupos encontrados",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = LookupRs.class))),
+            @ApiResponse(responseCode = "400", description = "Solicitud inválida / demasiados ids",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorResponse.class))),
+            @ApiResponse(responseCode = "500", description = "Error interno del servidor",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorResponse.class)))
+    })
+    @PostMapping("/lookup")
+    public ResponseEntity<LookupRs<GroupRs>> lookup(@Valid @RequestBody LookupRq rq) {
+        return ResponseEntity.ok(groupService.lookupGroups(rq.getIds()));
+    }
+
+    /**
+     * Evalúa una expresión de conjuntos sobre la membresía de grupos.
+     *
+     * POST /groups/membership/query
+     */
+    @Operation(summary = "Consultar membresía por expresión",
+            description = "Evalúa uniones (OR), intersecciones (AND) y diferencias (MINUS) sobre los miembros " +
+                    "directos de los grupos y devuelve ids, correos o solo el total.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Resultado de la expresión",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = MembershipQueryRs.class))),
+            @ApiResponse(responseCode = "400", description = "Expresión inválida",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorResponse.class))),
+            @ApiResponse(responseCode = "404", description = "Grupo no encontrado",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorResponse.class))),
+            @ApiResponse(responseCode = "500", description = "Error interno del servidor",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorResponse.class)))
+    })
+    @PostMapping("/membership/query")
+    public ResponseEntity<MembershipQueryRs> queryMembership(@Valid @RequestBody MembershipQueryRq rq) {
+        return ResponseEntity.ok(groupService.queryMembership(rq));
+    }
+
     /**
      * Actualiza un grupo.
      */
@@ -190,6 +303,72 @@ public class GroupsController {
         return ResponseEntity.noContent().build();
     }
 
+    /**
+     * Copia los miembros activos del grupo en otro grupo.
+     * POST /groups/{id}/members/copy/{targetId}
+     */
+    @Operation(summary = "Copiar miembros a otro grupo",
+            description = "Añade al grupo destino los miembros activos del grupo, en una sola transacción y sin " +
+                    "cargar la membresía. Se omiten los inactivos y los que ya pertenecen al destino.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Miembros copiados",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = MembershipTransferRs.class))),
+            @ApiResponse(responseCode = "400", description = "UUID inválido / origen y destino iguales",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorResponse.class))),
+            @ApiResponse(responseCode = "404", description = "Grupo no encontrado",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorResponse.class))),
+            @ApiResponse(responseCode = "500", description = "Error interno del servidor",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorResponse.class)))
+    })
+    @PostMapping("/{id}/members/copy/{targetId}")
+    public ResponseEntity<MembershipTransferRs> copyMembers(@PathVariable("id") UUID id,
+                                                            @PathVariable("targetId") UUID targetId) {
+        return ResponseEntity.ok(groupService.copyMembers(id, targetId));
+    }
+
+    /**
+     * Mueve los miembros activos del grupo a otro grupo.
+     * POST /groups/{id}/members/move/{targetId}
+     */
+    @Operation(summary = "Mover miembros a otro grupo",
+            description = "Añade al grupo destino los miembros activos del grupo y los retira del origen, en una sola " +
+                    "transacción. Los inactivos no se mueven y permanecen en el origen.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Miembros movidos",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = MembershipTransferRs.class))),
+            @ApiResponse(responseCode = "400", description = "UUID inválido / origen y destino iguales",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorResponse.class))),
+            @ApiResponse(responseCode = "404", description = "Grupo no encontrado",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorResponse.class))),
+            @ApiResponse(responseCode = "500", description = "Error interno del servidor",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorResponse.class)))
+    })
+    @PostMapping("/{id}/members/move/{targetId}")
+    public ResponseEntity<MembershipTransferRs> moveMembers(@PathVariable("id") UUID id,
+                                                            @PathVariable("targetId") UUID targetId) {
+        return ResponseEntity.ok(groupService.moveMembers(id, targetId));
+    }
+
+    /**
+     * Retira a todos los miembros directos del grupo.
+     * DELETE /groups/{id}/members
+     */
+    @Operation(summary = "Vaciar grupo", description = "Retira a todos los miembros directos del grupo con una sola sentencia")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Grupo vaciado",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = MembershipTransferRs.class))),
+            @ApiResponse(responseCode = "400", description = "UUID inválido",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorResponse.class))),
+            @ApiResponse(responseCode = "404", description = "Grupo no encontrado",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorResponse.class))),
+            @ApiResponse(responseCode = "500", description = "Error interno del servidor",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorResponse.class)))
+    })
+    @DeleteMapping("/{id}/members")
+    public ResponseEntity<MembershipTransferRs> clearMembers(@PathVariable("id") UUID id) {
+        return ResponseEntity.ok(groupService.clearMembers(id));
+    }
+
     /**
      * Devuelve los correos electrónicos de los miembros del grupo.
      * GET /groups/{id}/members/emails
@@ -208,7 +387,76 @@ public class GroupsController {
                     content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorResponse.class)))
     })
     @GetMapping("/{id}/members/emails")
-    public ResponseEntity<List<String>> getGroupMembersEmails(@PathVariable UUID id) {
-        return ResponseEntity.ok(groupService.getGroupMembersEmails(id));
+    public ResponseEntity<List<String>> getGroupMembersEmails(
+            @PathVariable UUID id,
+            @Parameter(description = "Incluir los miembros de todos los subgrupos")
+            @RequestParam(name = "transitive", defaultValue = "false") boolean transitive) {
+        return ResponseEntity.ok(groupService.getGroupMembersEmails(id, transitive));
+    }
+
+    /**
+     * Devuelve los miembros del grupo y de todos sus subgrupos.
+     *
+     * GET /groups/{id}/members/transitive
+     */
+    @Operation(summary = "Obtener miembros transitivos del grupo",
+            description = "Devuelve, sin repetir, los empleados del grupo y de todos sus subgrupos anidados.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Miembros del grupo y sus subgrupos",
+                    content = @Content(mediaType = "application/json",
+                            array = @ArraySchema(schema = @Schema(implementation = EmployeeSummaryDto.class)))),
+            @ApiResponse(responseCode = "404", description = "Grupo no encontrado",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorResponse.class))),
+            @ApiResponse(responseCode = "500", description = "Error interno del servidor",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorResponse.class)))
+    })
+    @GetMapping("/{id}/members/transitive")
+    public ResponseEntity<List<EmployeeSummaryDto>> getTransitiveMembers(@PathVariable UUID id) {
+        return ResponseEntity.ok(groupService.getTransitiveMembers(id));
+    }
+
+    /**
+     * Anida un grupo bajo otro.
+     *
+     * PUT /groups/{parentId}/children/{childId}
+     */
+    @Operation(summary = "Anidar grupo",
+            description = "Anida el grupo hijo (con sus subgrupos) bajo el grupo padre. Si ya tenía padre, se mueve.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "204", description = "Grupo anidado", content = @Content),
+            @ApiResponse(responseCode = "404", description = "Grupo no encontrado",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorResponse.class))),
+            @ApiResponse(responseCode = "409", description = "El anidamiento formaría un ciclo",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorResponse.class))),
+            @ApiResponse(responseCode = "500", description = "Error interno del servidor",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorResponse.class)))
+    })
+    @PutMapping("/{parentId}/children/{childId}")
+    public ResponseEntity<Void> attachChild(@PathVariable("parentId") UUID parentId,
+                                            @PathVariable("childId") UUID childId) {
+        groupService.attachChild(parentId, childId);
+        return ResponseEntity.noContent().build();
+    }
+
+    /**
+     * Saca un grupo de su padre.
+     *
+     * DELETE /groups/{parentId}/children/{childId}
+     */
+    @Operation(summary = "Desanidar grupo", description = "Saca el grupo hijo (con sus subgrupos) del grupo padre")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "204", description = "Grupo desanidado", content = @Content),
+            @ApiResponse(responseCode = "400", description = "El grupo no es hijo directo del padre",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorResponse.class))),
+            @ApiResponse(responseCode = "404", description = "Grupo no encontrado",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorResponse.class))),
+            @ApiResponse(responseCode = "500", description = "Error interno del servidor",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorResponse.class)))
+    })
+    @DeleteMapping("/{parentId}/children/{childId}")
+    public ResponseEntity<Void> detachChild(@PathVariable("parentId") UUID parentId,
+                                            @PathVariable("childId") UUID childId) {
+        groupService.detachChild(parentId, childId);
+        return ResponseEntity.noContent().build();
     }
 }
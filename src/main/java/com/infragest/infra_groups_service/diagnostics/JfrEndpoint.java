@@ -0,0 +1,199 @@
+package com.infragest.infra_groups_service.diagnostics;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.endpoint.SecurityContext;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.boot.actuate.endpoint.web.WebEndpointResponse;
+import org.springframework.core.io.InputStreamResource;
+import org.springframework.core.io.Resource;
+import org.springframework.http.HttpStatus;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+import org.springframework.util.MimeTypeUtils;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.security.Principal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Endpoint de actuator {@code jfr}: perfila el servicio en caliente con Java Flight Recorder.
+ *
+ * <ul>
+ *     <li>{@code GET /actuator/jfr?seconds=30}: graba y devuelve el fichero {@code .jfr}
+ *     (abrir con JDK Mission Control o {@code jfr print}).</li>
+ *     <li>{@code GET /actuator/jfr/summary?seconds=30&top=20}: graba y devuelve solo el resumen
+ *     de métodos calientes, sitios de asignación y contención.</li>
+ * </ul>
+ *
+ * <p>La petición queda bloqueada mientras dura la grabación, acotada por
+ * {@code groups.jfr.max-seconds}. Solo los principales de {@code groups.jfr.operators} pueden
+ * usarlo; la lista vacía lo deja deshabilitado para todos.</p>
+ *
+ * @author bunnystring
+ * @since 2026-10-18
+ */
+@Slf4j
+@Component
+@Endpoint(id = "jfr")
+public class JfrEndpoint {
+
+    /**
+     * Selector del resumen.
+     */
+    private static final String SUMMARY = "summary";
+
+    /**
+     * Inyección de dependencia: JfrProfiler
+     */
+    private final JfrProfiler profiler;
+
+    /**
+     * Principales (emails del token) autorizados.
+     */
+    private final List<String> operators;
+
+    private final int defaultSeconds;
+    private final int maxSeconds;
+    private final int defaultTop;
+
+    /**
+     * Constructor.
+     *
+     * @param profiler       grabador de JFR
+     * @param operators      principales autorizados
+     * @param defaultSeconds duración por defecto
+     * @param maxSeconds     duración máxima
+     * @param defaultTop     sitios por categoría por defecto en el resumen
+     */
+    public JfrEndpoint(JfrProfiler profiler,
+                       @Value("${groups.jfr.operators:}") List<String> operators,
+                       @Value("${groups.jfr.default-seconds:30}") int defaultSeconds,
+                       @Value("${groups.jfr.max-seconds:120}") int maxSeconds,
+                       @Value("${groups.jfr.default-top:20}") int defaultTop) {
+        this.profiler = profiler;
+        this.operators = operators;
+        this.defaultSeconds = defaultSeconds;
+        this.maxSeconds = maxSeconds;
+        this.defaultTop = defaultTop;
+    }
+
+    /**
+     * Graba y devuelve el fichero de la grabación.
+     *
+     * @param securityContext contexto de seguridad de la petición
+     * @param seconds         duración de la grabación
+     * @return fichero {@code .jfr}
+     */
+    @ReadOperation(produces = "application/octet-stream")
+    public WebEndpointResponse<Object> recording(SecurityContext securityContext, @Nullable Integer seconds) {
+        WebEndpointResponse<Object> denied = checkAccess(securityContext, seconds);
+        if (denied != null) {
+            return denied;
+        }
+        Path file = null;
+        try {
+            file = profiler.record(Duration.ofSeconds(seconds(seconds)));
+            // El fichero temporal se borra al cerrar el stream, una vez enviada la respuesta
+            Resource body = new InputStreamResource(Files.newInputStream(file, StandardOpenOption.DELETE_ON_CLOSE));
+            return new WebEndpointResponse<>(body);
+        } catch (IllegalStateException ex) {
+            deleteQuietly(file);
+            return error(WebEndpointResponse.STATUS_TOO_MANY_REQUESTS, ex.getMessage());
+        } catch (IOException ex) {
+            deleteQuietly(file);
+            log.error("JFR recording failed", ex);
+            return error(WebEndpointResponse.STATUS_INTERNAL_SERVER_ERROR, "JFR recording failed");
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            deleteQuietly(file);
+            return error(WebEndpointResponse.STATUS_SERVICE_UNAVAILABLE, "JFR recording interrupted");
+        }
+    }
+
+    /**
+     * Graba y devuelve el resumen de los N sitios más calientes.
+     *
+     * @param securityContext contexto de seguridad de la petición
+     * @param view            debe ser {@code summary}
+     * @param seconds         duración de la grabación
+     * @param top             sitios por categoría
+     * @return resumen
+     */
+    @ReadOperation
+    public WebEndpointResponse<Object> summary(SecurityContext securityContext, @Selector String view,
+                                               @Nullable Integer seconds, @Nullable Integer top) {
+        if (!SUMMARY.equals(view)) {
+            return error(WebEndpointResponse.STATUS_NOT_FOUND, "Unknown JFR view: " + view);
+        }
+        WebEndpointResponse<Object> denied = checkAccess(securityContext, seconds);
+        if (denied != null) {
+            return denied;
+        }
+        Path file = null;
+        try {
+            file = profiler.record(Duration.ofSeconds(seconds(seconds)));
+            return new WebEndpointResponse<>(profiler.summarize(file, top == null || top < 1 ? defaultTop : top));
+        } catch (IllegalStateException ex) {
+            return error(WebEndpointResponse.STATUS_TOO_MANY_REQUESTS, ex.getMessage());
+        } catch (IOException ex) {
+            log.error("JFR recording failed", ex);
+            return error(WebEndpointResponse.STATUS_INTERNAL_SERVER_ERROR, "JFR recording failed");
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            return error(WebEndpointResponse.STATUS_SERVICE_UNAVAILABLE, "JFR recording interrupted");
+        } finally {
+            deleteQuietly(file);
+        }
+    }
+
+    /**
+     * Comprueba el operador y la duración pedida.
+     *
+     * @return respuesta de error, o {@code null} si la petición es válida
+     */
+    private WebEndpointResponse<Object> checkAccess(SecurityContext securityContext, @Nullable Integer seconds) {
+        Principal principal = securityContext.getPrincipal();
+        if (principal == null || !operators.contains(principal.getName())) {
+            log.warn("JFR endpoint denied to {}", principal != null ? principal.getName() : "anonymous");
+            return error(HttpStatus.FORBIDDEN.value(), "Not an authorized operator");
+        }
+        if (seconds != null && (seconds < 1 || seconds > maxSeconds)) {
+            return error(WebEndpointResponse.STATUS_BAD_REQUEST, "seconds must be between 1 and " + maxSeconds);
+        }
+        return null;
+    }
+
+    private int seconds(@Nullable Integer seconds) {
+        return seconds != null ? seconds : defaultSeconds;
+    }
+
+    /**
+     * Respuesta de error en JSON; el tipo se fija explícitamente porque la grabación se declara
+     * como {@code application/octet-stream}.
+     */
+    private static WebEndpointResponse<Object> error(int status, String message) {
+        return new WebEndpointResponse<>(Map.of(
+                "timestamp", LocalDateTime.now(),
+                "status", status,
+                "message", message), status, MimeTypeUtils.APPLICATION_JSON);
+    }
+
+    private static void deleteQuietly(@Nullable Path file) {
+        if (file != null) {
+            try {
+                Files.deleteIfExists(file);
+            } catch (IOException ex) {
+                log.warn("Could not delete JFR file {}: {}", file, ex.toString());
+            }
+        }
+    }
+}
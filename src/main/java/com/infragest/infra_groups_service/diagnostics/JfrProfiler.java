@@ -0,0 +1,172 @@
+package com.infragest.infra_groups_service.diagnostics;
+
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedClass;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordedStackTrace;
+import jdk.jfr.consumer.RecordingFile;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.ParseException;
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Grabaciones de Java Flight Recorder bajo demanda, acotadas en tiempo.
+ *
+ * <p>Usa la configuración {@code profile} del JDK (muestreo de CPU cada 10-20 ms, muestreo de
+ * asignaciones, contención de monitores y parks). Solo puede haber una grabación en curso.</p>
+ *
+ * @author bunnystring
+ * @since 2026-10-18
+ */
+@Slf4j
+@Component
+public class JfrProfiler {
+
+    /**
+     * Prefijo de los frames de la aplicación.
+     */
+    private static final String APPLICATION_PACKAGE = "com.infragest.";
+
+    /**
+     * Indica si hay una grabación en curso.
+     */
+    private final AtomicBoolean recording = new AtomicBoolean();
+
+    /**
+     * Graba durante el tiempo indicado y vuelca la grabación a un fichero temporal.
+     *
+     * @param duration duración de la grabación
+     * @return fichero {@code .jfr}; el llamante debe borrarlo
+     * @throws IllegalStateException si ya hay una grabación en curso
+     * @throws IOException           si falla el volcado
+     * @throws InterruptedException  si se interrumpe la espera
+     */
+    public Path record(Duration duration) throws IOException, InterruptedException {
+        if (!recording.compareAndSet(false, true)) {
+            throw new IllegalStateException("A JFR recording is already in progress");
+        }
+        try (Recording jfr = new Recording(profileConfiguration())) {
+            jfr.setName("groups-on-demand");
+            jfr.setToDisk(true);
+            log.info("Starting on-demand JFR recording for {} s", duration.toSeconds());
+            jfr.start();
+            Thread.sleep(duration.toMillis());
+            jfr.stop();
+            Path file = Files.createTempFile("groups-", ".jfr");
+            jfr.dump(file);
+            log.info("JFR recording dumped: {} bytes", Files.size(file));
+            return file;
+        } finally {
+            recording.set(false);
+        }
+    }
+
+    /**
+     * Resume una grabación en los N sitios más calientes de cada categoría.
+     *
+     * @param file grabación
+     * @param top  sitios por categoría
+     * @return resumen
+     * @throws IOException si no se puede leer la grabación
+     */
+    public JfrSummary summarize(Path file, int top) throws IOException {
+        Map<String, Long> hotMethods = new HashMap<>();
+        Map<String, Long> applicationMethods = new HashMap<>();
+        Map<String, Long> allocationSites = new HashMap<>();
+        Map<String, Long> lockSites = new HashMap<>();
+        long samples = 0;
+
+        try (RecordingFile events = new RecordingFile(file)) {
+            while (events.hasMoreEvents()) {
+                RecordedEvent event = events.readEvent();
+                RecordedStackTrace stack = event.getStackTrace();
+                if (stack == null || stack.getFrames().isEmpty()) {
+                    continue;
+                }
+                switch (event.getEventType().getName()) {
+                    case "jdk.ExecutionSample" -> {
+                        samples++;
+                        hotMethods.merge(frame(stack.getFrames().get(0)), 1L, Long::sum);
+                        String applicationFrame = firstApplicationFrame(stack);
+                        if (applicationFrame != null) {
+                            applicationMethods.merge(applicationFrame, 1L, Long::sum);
+                        }
+                    }
+                    case "jdk.ObjectAllocationSample" -> allocationSites.merge(
+                            frame(stack.getFrames().get(0)) + " <" + className(event, "objectClass") + ">",
+                            event.getLong("weight"), Long::sum);
+                    case "jdk.JavaMonitorEnter", "jdk.ThreadPark" -> lockSites.merge(
+                            siteOf(stack), event.getDuration().toNanos(), Long::sum);
+                    default -> {
+                        // Otros eventos del perfil no forman parte del resumen
+                    }
+                }
+            }
+        }
+        return new JfrSummary(samples,
+                top(hotMethods, top), top(applicationMethods, top), top(allocationSites, top), top(lockSites, top));
+    }
+
+    /**
+     * Configuración {@code profile} del JDK.
+     */
+    private static Configuration profileConfiguration() throws IOException {
+        try {
+            return Configuration.getConfiguration("profile");
+        } catch (ParseException ex) {
+            throw new IOException("Invalid JFR profile configuration", ex);
+        }
+    }
+
+    /**
+     * Primer frame de la aplicación en la pila (el método propio que originó el trabajo).
+     */
+    private static String firstApplicationFrame(RecordedStackTrace stack) {
+        for (RecordedFrame frame : stack.getFrames()) {
+            if (frame.isJavaFrame() && frame.getMethod().getType().getName().startsWith(APPLICATION_PACKAGE)) {
+                return frame(frame);
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Sitio de una espera: el primer frame de la aplicación o, si no hay, el frame superior.
+     */
+    private static String siteOf(RecordedStackTrace stack) {
+        String applicationFrame = firstApplicationFrame(stack);
+        return applicationFrame != null ? applicationFrame : frame(stack.getFrames().get(0));
+    }
+
+    private static String frame(RecordedFrame frame) {
+        String method = frame.getMethod().getType().getName() + "." + frame.getMethod().getName();
+        return frame.getLineNumber() > 0 ? method + ":" + frame.getLineNumber() : method;
+    }
+
+    private static String className(RecordedEvent event, String field) {
+        RecordedClass type = event.getClass(field);
+        return type != null ? type.getName() : "?";
+    }
+
+    private static List<JfrSummary.Hotspot> top(Map<String, Long> values, int limit) {
+        long total = values.values().stream().mapToLong(Long::longValue).sum();
+        return values.entrySet().stream()
+                .sorted(Map.Entry.<String, Long>comparingByValue(Comparator.reverseOrder()))
+                .limit(limit)
+                .map(e -> new JfrSummary.Hotspot(e.getKey(), e.getValue(),
+                        total == 0 ? 0 : Math.round(e.getValue() * 10000.0 / total) / 100.0))
+                .toList();
+    }
+}
@@ -0,0 +1,32 @@
+package com.infragest.infra_groups_service.diagnostics;
+
+import java.util.List;
+
+/**
+ * Resumen de una grabación de JFR.
+ *
+ * @param executionSamples   muestras de CPU tomadas
+ * @param hotMethods         métodos con más muestras en la cima de la pila (tiempo propio)
+ * @param applicationMethods primer método de la aplicación en las pilas muestreadas
+ * @param allocationSites    sitios de asignación por bytes estimados, con la clase asignada
+ * @param lockSites          sitios con más tiempo bloqueado en monitores o parks (ns)
+ *
+ * @author bunnystring
+ * @since 2026-10-18
+ */
+public record JfrSummary(long executionSamples,
+                         List<Hotspot> hotMethods,
+                         List<Hotspot> applicationMethods,
+                         List<Hotspot> allocationSites,
+                         List<Hotspot> lockSites) {
+
+    /**
+     * Sitio caliente.
+     *
+     * @param site    método (y línea) o sitio
+     * @param value   muestras, bytes o nanosegundos según la categoría
+     * @param percent porcentaje sobre el total de la categoría
+     */
+    public record Hotspot(String site, long value, double percent) {
+    }
+}
@@ -8,17 +8,19 @@ import lombok.*;
  * Entidad que representa un empleado del sistema.
  * Contiene datos personales y el estado del empleado.
  *
+ * <p>La igualdad se basa solo en el id, de modo que añadir empleados a la colección de un grupo
+ * no recorre todos sus campos al calcular el hash.</p>
+ *
  * @author bunnystring
  * @since 2025-11-07
  */
 @Builder
 @Data
-@EqualsAndHashCode(callSuper = true)
 @NoArgsConstructor
 @AllArgsConstructor
 @Entity
 @Table(name = "infra_employees")
-public class Employees extends BaseEntity{
+public class Employees extends BaseEntity {
 
     /**
      * Nombre completo del empleado.
@@ -51,4 +53,27 @@ public class Employees extends BaseEntity{
     @Column(nullable = false)
     private EmployeStatus status;
 
+    /**
+     * Dos empleados son iguales si tienen el mismo id; uno sin persistir solo es igual a sí mismo.
+     *
+     * @param o objeto a comparar
+     * @return {@code true} si es el mismo empleado
+     */
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof Employees other)) return false;
+        return getId() != null && getId().equals(other.getId());
+    }
+
+    /**
+     * Hash constante por clase: no cambia cuando Hibernate asigna el id al persistir.
+     *
+     * @return hash del empleado
+     */
+    @Override
+    public int hashCode() {
+        return Employees.class.hashCode();
+    }
+
 }
@@ -2,6 +2,9 @@ package com.infragest.infra_groups_service.entity;
 
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.ColumnDefault;
+import org.hibernate.annotations.Formula;
+import org.hibernate.annotations.OptimisticLock;
 
 import java.util.HashSet;
 import java.util.Set;
@@ -20,7 +23,8 @@ import java.util.Set;
 @NoArgsConstructor(access = AccessLevel.PROTECTED)
 @EqualsAndHashCode(callSuper = true)
 @Entity
-@Table(name = "infra_groups")
+@Table(name = "infra_groups",
+        indexes = @Index(name = "idx_infra_groups_member_count", columnList = "member_count"))
 public class Group extends BaseEntity{
 
     /**
@@ -35,12 +39,39 @@ public class Group extends BaseEntity{
     @Column(nullable = false)
     private String address;
 
+    /**
+     * Número de miembros indexado: la base que la reconciliación mantiene y en la que se pliegan
+     * periódicamente los stripes de {@link GroupMemberCount}. Es el que se usa para ordenar y filtrar
+     * por tamaño, por lo que puede ir por detrás del valor exacto hasta un intervalo del plegado
+     * ({@code groups.member-count.fold-interval-ms}). JPA nunca la sobrescribe en un UPDATE.
+     */
+    @Builder.Default
+    @ColumnDefault("0")
+    @Column(name = "member_count", nullable = false, updatable = false)
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private Long indexedMemberCount = 0L;
+
+    /**
+     * Número de miembros del grupo (desnormalizado): la base más los stripes de {@link GroupMemberCount}.
+     *
+     * Las escrituras de membresía suman su variación a un stripe y nunca actualizan la fila del grupo,
+     * así no se esperan entre sí. Leerlo cuesta a lo sumo {@link GroupMemberCount#STRIPES} filas,
+     * sin importar el tamaño del grupo. Es el valor exacto que se devuelve; para ordenar y filtrar
+     * se usa {@link #indexedMemberCount}.
+     */
+    @Builder.Default
+    @Formula("(member_count + COALESCE((SELECT SUM(c.delta) FROM infra_group_member_counts c WHERE c.group_id = id), 0))")
+    private Long memberCount = 0L;
+
     /**
      * Empleados asociados al grupo.
      *
      * Relación Many-To-Many mediante la tabla "infra_group_employees".
+     * Los cambios de membresía no incrementan la versión del grupo.
      */
     @Builder.Default
+    @OptimisticLock(excluded = true)
     @ManyToMany
     @JoinTable(
             name = "infra_group_employees",
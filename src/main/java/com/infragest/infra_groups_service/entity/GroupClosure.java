@@ -0,0 +1,59 @@
+package com.infragest.infra_groups_service.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.io.Serializable;
+import java.util.UUID;
+
+/**
+ * Fila de la tabla de cierre (closure table) de la jerarquía de grupos.
+ *
+ * Contiene un par (ancestro, descendiente) por cada ruta de la jerarquía, incluida la ruta
+ * de cada grupo consigo mismo con profundidad 0. La profundidad 1 identifica al padre directo.
+ * Se mantiene en cada cambio estructural, de modo que resolver los descendientes de un grupo
+ * es una lectura indexada por {@code ancestor_id}.
+ *
+ * @author bunnystring
+ * @since 2026-10-18
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@IdClass(GroupClosure.Key.class)
+@Table(name = "infra_group_closure",
+        indexes = @Index(name = "idx_group_closure_descendant", columnList = "descendant_id, depth"))
+public class GroupClosure {
+
+    /**
+     * Grupo ancestro.
+     */
+    @Id
+    @Column(name = "ancestor_id", nullable = false)
+    private UUID ancestorId;
+
+    /**
+     * Grupo descendiente.
+     */
+    @Id
+    @Column(name = "descendant_id", nullable = false)
+    private UUID descendantId;
+
+    /**
+     * Distancia entre ancestro y descendiente (0 = el mismo grupo).
+     */
+    @Column(name = "depth", nullable = false)
+    private int depth;
+
+    /**
+     * Clave compuesta (ancestro, descendiente).
+     */
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Key implements Serializable {
+        private UUID ancestorId;
+        private UUID descendantId;
+    }
+}
@@ -0,0 +1,34 @@
+package com.infragest.infra_groups_service.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+/**
+ * Fila centinela que serializa los cambios de jerarquía entre réplicas.
+ *
+ * La tabla tiene una sola fila ({@link #SENTINEL_ID}); cada cambio estructural la bloquea
+ * ({@code SELECT ... FOR UPDATE}) antes de leer rutas de la tabla de cierre, de modo que la
+ * detección de ciclos de una transacción ve ya confirmados los cambios de la anterior.
+ *
+ * @author bunnystring
+ * @since 2026-10-18
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(name = "infra_group_hierarchy_lock")
+public class GroupHierarchyLock {
+
+    /**
+     * Id de la única fila.
+     */
+    public static final int SENTINEL_ID = 1;
+
+    /**
+     * Identificador de la fila.
+     */
+    @Id
+    @Column(name = "id", nullable = false)
+    private Integer id;
+}
@@ -0,0 +1,53 @@
+package com.infragest.infra_groups_service.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.Immutable;
+
+import java.io.Serializable;
+import java.util.UUID;
+
+/**
+ * Fila de la tabla de relación grupo-empleado ({@code infra_group_employees}), de solo lectura.
+ *
+ * La relación se mantiene desde {@link Group#getEmployees()} y con sentencias nativas; esta entidad
+ * solo permite consultar y bloquear ({@code SELECT ... FOR UPDATE}) las filas de relación sin
+ * unirse a {@code infra_groups}, de modo que las escrituras de membresía no bloquean la fila del grupo.
+ *
+ * @author bunnystring
+ * @since 2026-10-19
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Immutable
+@IdClass(GroupMember.Key.class)
+@Table(name = "infra_group_employees")
+public class GroupMember {
+
+    /**
+     * Grupo.
+     */
+    @Id
+    @Column(name = "group_id", nullable = false)
+    private UUID groupId;
+
+    /**
+     * Empleado miembro del grupo.
+     */
+    @Id
+    @Column(name = "employee_id", nullable = false)
+    private UUID employeeId;
+
+    /**
+     * Clave compuesta (grupo, empleado).
+     */
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Key implements Serializable {
+        private UUID groupId;
+        private UUID employeeId;
+    }
+}
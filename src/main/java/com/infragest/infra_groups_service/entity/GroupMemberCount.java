@@ -0,0 +1,63 @@
+package com.infragest.infra_groups_service.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.io.Serializable;
+import java.util.UUID;
+
+/**
+ * Fracción (stripe) del número de miembros de un grupo.
+ *
+ * Cada escritura de membresía suma su variación a uno de los {@link #STRIPES} stripes del grupo,
+ * elegido al azar, en lugar de actualizar {@code infra_groups.member_count}: dos escrituras
+ * concurrentes sobre el mismo grupo solo se esperan si coinciden en stripe. El total es
+ * {@code member_count} más la suma de los stripes (ver {@link Group#getMemberCount()}).
+ *
+ * @author bunnystring
+ * @since 2026-10-19
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@IdClass(GroupMemberCount.Key.class)
+@Table(name = "infra_group_member_counts")
+public class GroupMemberCount {
+
+    /**
+     * Número de stripes por grupo.
+     */
+    public static final int STRIPES = 16;
+
+    /**
+     * Grupo.
+     */
+    @Id
+    @Column(name = "group_id", nullable = false)
+    private UUID groupId;
+
+    /**
+     * Stripe, entre 0 y {@link #STRIPES} - 1.
+     */
+    @Id
+    @Column(name = "stripe", nullable = false)
+    private int stripe;
+
+    /**
+     * Variación acumulada en este stripe (puede ser negativa).
+     */
+    @Column(name = "delta", nullable = false)
+    private long delta;
+
+    /**
+     * Clave compuesta (grupo, stripe).
+     */
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Key implements Serializable {
+        private UUID groupId;
+        private int stripe;
+    }
+}
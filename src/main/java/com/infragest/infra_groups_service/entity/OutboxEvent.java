@@ -0,0 +1,82 @@
+package com.infragest.infra_groups_service.entity;
+
+import com.infragest.infra_groups_service.enums.ChangeEventType;
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.ColumnDefault;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Evento de cambio registrado en la tabla outbox.
+ *
+ * Se inserta en la misma transacción que la escritura que lo origina y un relay
+ * lo entrega después. El id autoincremental define el orden de entrega.
+ *
+ * @author bunnystring
+ * @since 2026-10-18
+ */
+@Builder
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(name = "infra_outbox_events",
+        indexes = @Index(name = "idx_outbox_published_at", columnList = "published_at"))
+public class OutboxEvent {
+
+    /**
+     * Secuencia del evento (orden de entrega).
+     */
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    /**
+     * Tipo de agregado (GROUP / EMPLOYEE).
+     */
+    @Column(name = "aggregate_type", nullable = false, length = 32)
+    private String aggregateType;
+
+    /**
+     * Identificador del agregado afectado.
+     */
+    @Column(name = "aggregate_id", nullable = false)
+    private UUID aggregateId;
+
+    /**
+     * Tipo de evento (persistido como STRING).
+     */
+    @Enumerated(EnumType.STRING)
+    @Column(name = "event_type", nullable = false, length = 64)
+    private ChangeEventType eventType;
+
+    /**
+     * Contenido del evento en JSON compacto.
+     */
+    @Column(name = "payload", nullable = false, columnDefinition = "text")
+    private String payload;
+
+    /**
+     * Fecha y hora en que se registró el evento. La asigna la base de datos al insertar, no el reloj
+     * de la réplica, para compararla con otras marcas de la misma base; es {@code null} en un evento
+     * recién guardado hasta volver a leerlo.
+     */
+    @ColumnDefault("CURRENT_TIMESTAMP(6)")
+    @Column(name = "created_at", nullable = false, insertable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    /**
+     * Fecha y hora de entrega; {@code null} mientras esté pendiente.
+     */
+    @Column(name = "published_at")
+    private LocalDateTime publishedAt;
+
+    /**
+     * Réplica que registró el evento ({@code null} en eventos anteriores a esta columna).
+     */
+    @Column(name = "origin", length = 64)
+    private String origin;
+
+}
@@ -0,0 +1,39 @@
+package com.infragest.infra_groups_service.enums;
+
+/**
+ * Tipos de eventos de cambio publicados por el servicio (outbox).
+ * Cada tipo pertenece a un agregado ({@code GROUP} o {@code EMPLOYEE}).
+ *
+ * @author bunnystring
+ * @since 2026-10-18
+ */
+public enum ChangeEventType {
+    GROUP_CREATED("GROUP"),
+    GROUP_UPDATED("GROUP"),
+    GROUP_DELETED("GROUP"),
+    GROUP_MEMBERS_ADDED("GROUP"),
+    GROUP_MEMBERS_REMOVED("GROUP"),
+    GROUP_ATTACHED("GROUP"),
+    GROUP_DETACHED("GROUP"),
+    EMPLOYEE_CREATED("EMPLOYEE"),
+    EMPLOYEE_UPDATED("EMPLOYEE"),
+    EMPLOYEE_DELETED("EMPLOYEE");
+
+    /**
+     * Tipo de agregado al que pertenece el evento.
+     */
+    private final String aggregateType;
+
+    ChangeEventType(String aggregateType) {
+        this.aggregateType = aggregateType;
+    }
+
+    /**
+     * Obtiene el tipo de agregado del evento.
+     *
+     * @return "GROUP" o "EMPLOYEE"
+     */
+    public String getAggregateType() {
+        return aggregateType;
+    }
+}
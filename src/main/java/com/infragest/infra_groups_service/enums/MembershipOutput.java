@@ -0,0 +1,22 @@
+package com.infragest.infra_groups_service.enums;
+
+/**
+ * Formato del resultado de una consulta de membresía.
+ *
+ * @author bunnystring
+ * @since 2026-10-18
+ */
+public enum MembershipOutput {
+    /**
+     * Ids de los empleados (y el total).
+     */
+    IDS,
+    /**
+     * Correos de los empleados (y el total).
+     */
+    EMAILS,
+    /**
+     * Solo el total.
+     */
+    COUNT
+}
@@ -0,0 +1,22 @@
+package com.infragest.infra_groups_service.enums;
+
+/**
+ * Operaciones de conjuntos sobre la membresía de grupos.
+ *
+ * @author bunnystring
+ * @since 2026-10-18
+ */
+public enum SetOperation {
+    /**
+     * Unión: miembros de al menos uno de los operandos.
+     */
+    OR,
+    /**
+     * Intersección: miembros de todos los operandos.
+     */
+    AND,
+    /**
+     * Diferencia: miembros del primer operando que no están en ninguno de los demás.
+     */
+    MINUS
+}
@@ -0,0 +1,22 @@
+package com.infragest.infra_groups_service.enums;
+
+/**
+ * Resultado por empleado de un cambio de estado por lote.
+ *
+ * @author bunnystring
+ * @since 2026-10-18
+ */
+public enum StatusChangeOutcome {
+    /**
+     * El estado cambió.
+     */
+    UPDATED,
+    /**
+     * El empleado ya tenía el estado solicitado.
+     */
+    UNCHANGED,
+    /**
+     * El empleado no existe.
+     */
+    NOT_FOUND
+}
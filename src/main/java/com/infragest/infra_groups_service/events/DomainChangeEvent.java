@@ -0,0 +1,21 @@
+package com.infragest.infra_groups_service.events;
+
+import com.infragest.infra_groups_service.enums.ChangeEventType;
+
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Evento de aplicación publicado junto con cada registro del outbox.
+ *
+ * <p>Se publica dentro de la transacción de escritura; los oyentes que deban reaccionar
+ * solo a cambios confirmados usan {@code @TransactionalEventListener(phase = AFTER_COMMIT)}.</p>
+ *
+ * @param type        tipo de evento
+ * @param aggregateId identificador del agregado afectado
+ * @param payload     contenido del evento
+ * @author bunnystring
+ * @since 2026-10-18
+ */
+public record DomainChangeEvent(ChangeEventType type, UUID aggregateId, Map<String, Object> payload) {
+}
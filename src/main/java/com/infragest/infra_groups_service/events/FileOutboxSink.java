@@ -0,0 +1,62 @@
+package com.infragest.infra_groups_service.events;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+/**
+ * Sink en archivo: agrega cada mensaje como una línea JSON (JSON Lines).
+ * Útil como sustituto de un broker en pruebas y entornos locales.
+ *
+ * @author bunnystring
+ * @since 2026-10-18
+ */
+@Component
+@ConditionalOnProperty(prefix = "groups.outbox", name = "sink", havingValue = "file")
+public class FileOutboxSink implements OutboxSink {
+
+    /**
+     * Archivo destino.
+     */
+    private final Path file;
+
+    /**
+     * Mapper para serializar los mensajes.
+     */
+    private final ObjectMapper objectMapper;
+
+    /**
+     * Constructor.
+     *
+     * @param file         ruta del archivo destino
+     * @param objectMapper mapper JSON de la aplicación
+     */
+    public FileOutboxSink(@Value("${groups.outbox.file:./outbox-events.jsonl}") Path file, ObjectMapper objectMapper) {
+        this.file = file;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public synchronized void deliver(List<OutboxMessage> batch) throws IOException {
+        Path parent = file.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        try (BufferedWriter writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8,
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
+            for (OutboxMessage message : batch) {
+                writer.write(objectMapper.writeValueAsString(message));
+                writer.newLine();
+            }
+        }
+    }
+}
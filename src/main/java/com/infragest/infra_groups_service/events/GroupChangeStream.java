@@ -0,0 +1,455 @@
+package com.infragest.infra_groups_service.events;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Difusión en vivo (Server-Sent Events) de los cambios de grupos.
+ *
+ * <p>Los cambios confirmados de {@code GroupServiceImpl} se guardan en un ring buffer acotado
+ * con una secuencia creciente (usada como {@code id} del evento SSE) y se reparten a los
+ * suscriptores. Un cliente que se reconecta con {@code Last-Event-ID} recibe los eventos
+ * posteriores que sigan en el buffer; si ya no están, recibe un evento {@code reset} y debe
+ * volver a leer el estado completo.</p>
+ *
+ * <p>Cada suscriptor tiene una cola acotada drenada por un pool pequeño compartido, así un
+ * suscriptor inactivo no ocupa hilos. Si un cliente lento llena su cola se cierra su conexión
+ * (backpressure) y puede reanudar desde su último id.</p>
+ *
+ * <p>El envío SSE es bloqueante: un cliente que deja de leer (TCP lleno) retiene el hilo que le
+ * escribe. Un envío que supera {@code groups.stream.send-timeout-ms} marca al suscriptor como
+ * atascado: se retira y se cierra su conexión, y el pool suma un hilo mientras ese envío siga
+ * bloqueado, de modo que los demás suscriptores siguen recibiendo. La compensación está acotada
+ * por {@code groups.stream.max-stalled-sends}.</p>
+ *
+ * <p>La secuencia es local a la réplica: la reanudación asume que el cliente vuelve a la misma
+ * instancia o acepta un {@code reset}.</p>
+ *
+ * @author bunnystring
+ * @since 2026-10-18
+ */
+@Slf4j
+@Component
+public class GroupChangeStream {
+
+    /**
+     * Nombre del evento que indica al cliente que debe resincronizar.
+     */
+    private static final String RESET_EVENT = "reset";
+
+    /**
+     * Marcador de heartbeat encolado en suscriptores inactivos.
+     */
+    private static final Notification HEARTBEAT = new Notification(-1, null, null, null, null);
+
+    /**
+     * Ring buffer de notificaciones recientes.
+     */
+    private final Notification[] ring;
+
+    /**
+     * Secuencia de la próxima notificación (la primera es 1).
+     */
+    private long nextSequence = 1;
+
+    /**
+     * Suscriptores activos.
+     */
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+
+    /**
+     * Pool que drena las colas de los suscriptores.
+     */
+    private final ExecutorService dispatcher;
+
+    /**
+     * Capacidad de la cola de cada suscriptor.
+     */
+    private final int subscriberQueueCapacity;
+
+    /**
+     * Timeout de la conexión SSE.
+     */
+    private final long emitterTimeoutMs;
+
+    /**
+     * Tiempo máximo de un envío antes de considerar atascado al suscriptor, en nanosegundos.
+     */
+    private final long sendTimeoutNanos;
+
+    /**
+     * Número máximo de hilos extra para compensar envíos atascados.
+     */
+    private final int maxStalledSends;
+
+    /**
+     * Tamaño base del pool de envío.
+     */
+    private final int dispatcherThreads;
+
+    /**
+     * Envíos atascados que todavía retienen un hilo del pool.
+     */
+    private int stalledSends;
+
+    /**
+     * Suscriptores desconectados por no consumir a tiempo.
+     */
+    private final Counter overflowCounter;
+
+    /**
+     * Suscriptores desconectados por un envío atascado.
+     */
+    private final Counter stalledCounter;
+
+    /**
+     * Constructor.
+     *
+     * @param bufferSize              tamaño del ring buffer
+     * @param subscriberQueueCapacity capacidad de la cola de cada suscriptor
+     * @param dispatcherThreads       hilos que drenan las colas
+     * @param emitterTimeoutMs        timeout de la conexión SSE
+     * @param sendTimeoutMs           tiempo máximo de un envío antes de retirar al suscriptor
+     * @param maxStalledSends         hilos extra como máximo para compensar envíos atascados
+     * @param meterRegistry           registro de métricas
+     */
+    public GroupChangeStream(@Value("${groups.stream.buffer-size:4096}") int bufferSize,
+                             @Value("${groups.stream.subscriber-queue:256}") int subscriberQueueCapacity,
+                             @Value("${groups.stream.dispatcher-threads:2}") int dispatcherThreads,
+                             @Value("${groups.stream.timeout-ms:1800000}") long emitterTimeoutMs,
+                             @Value("${groups.stream.send-timeout-ms:5000}") long sendTimeoutMs,
+                             @Value("${groups.stream.max-stalled-sends:32}") int maxStalledSends,
+                             MeterRegistry meterRegistry) {
+        this.ring = new Notification[bufferSize];
+        this.subscriberQueueCapacity = subscriberQueueCapacity;
+        this.emitterTimeoutMs = emitterTimeoutMs;
+        this.sendTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(sendTimeoutMs);
+        this.maxStalledSends = maxStalledSends;
+        this.dispatcherThreads = dispatcherThreads;
+        this.dispatcher = new ThreadPoolExecutor(dispatcherThreads, dispatcherThreads, 0L, TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<>(), r -> {
+                    Thread t = new Thread(r, "group-stream-dispatcher");
+                    t.setDaemon(true);
+                    return t;
+                });
+        this.overflowCounter = Counter.builder("groups.stream.subscribers.overflowed")
+                .description("SSE subscribers disconnected because their queue was full")
+                .register(meterRegistry);
+        this.stalledCounter = Counter.builder("groups.stream.subscribers.stalled")
+                .description("SSE subscribers disconnected because a send blocked past the send timeout")
+                .register(meterRegistry);
+        Gauge.builder("groups.stream.subscribers", subscribers, Set::size)
+                .description("Active SSE subscribers")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Registra un suscriptor.
+     *
+     * @param groupIds    grupos de interés; vacío o {@code null} para todos
+     * @param lastEventId último id recibido por el cliente, o {@code null}
+     * @return emisor SSE de la suscripción
+     */
+    public SseEmitter subscribe(Set<UUID> groupIds, Long lastEventId) {
+        SseEmitter emitter = newEmitter(emitterTimeoutMs);
+        Subscriber subscriber = new Subscriber(emitter, groupIds == null ? Set.of() : Set.copyOf(groupIds),
+                new ArrayBlockingQueue<>(subscriberQueueCapacity));
+        emitter.onCompletion(() -> subscribers.remove(subscriber));
+        emitter.onTimeout(() -> subscribers.remove(subscriber));
+        emitter.onError(ex -> subscribers.remove(subscriber));
+
+        synchronized (this) {
+            if (lastEventId != null) {
+                replay(subscriber, lastEventId);
+            }
+            subscribers.add(subscriber);
+        }
+        schedule(subscriber);
+        return emitter;
+    }
+
+    /**
+     * Recibe los cambios confirmados y los reparte a los suscriptores interesados.
+     *
+     * @param event evento de cambio
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onChange(DomainChangeEvent event) {
+        if (!"GROUP".equals(event.type().getAggregateType())) {
+            return;
+        }
+        Notification notification;
+        synchronized (this) {
+            notification = new Notification(nextSequence, event.type().name(), event.aggregateId(),
+                    event.payload(), Instant.now());
+            ring[(int) (nextSequence % ring.length)] = notification;
+            nextSequence++;
+            for (Subscriber subscriber : subscribers) {
+                if (subscriber.accepts(notification) && !subscriber.queue.offer(notification)) {
+                    overflow(subscriber);
+                }
+            }
+        }
+        for (Subscriber subscriber : subscribers) {
+            if (!subscriber.queue.isEmpty()) {
+                schedule(subscriber);
+            }
+        }
+    }
+
+    /**
+     * Reparte también los cambios hechos por otras réplicas.
+     *
+     * @param event cambio remoto
+     */
+    @EventListener
+    public void onRemoteChange(RemoteChangeEvent event) {
+        onChange(event.change());
+    }
+
+    /**
+     * Envía un heartbeat a los suscriptores sin tráfico pendiente para mantener viva la conexión.
+     */
+    @Scheduled(fixedDelayString = "${groups.stream.heartbeat-ms:30000}")
+    public void heartbeat() {
+        for (Subscriber subscriber : subscribers) {
+            if (subscriber.queue.isEmpty() && subscriber.queue.offer(HEARTBEAT)) {
+                schedule(subscriber);
+            }
+        }
+    }
+
+    /**
+     * Retira a los suscriptores cuyo envío en curso supera el tiempo máximo y compensa el pool
+     * con un hilo por cada envío que sigue bloqueado.
+     */
+    @Scheduled(fixedDelayString = "${groups.stream.stall-check-ms:1000}")
+    public void checkStalledSends() {
+        long now = System.nanoTime();
+        for (Subscriber subscriber : subscribers) {
+            long started = subscriber.sendStartedNanos;
+            if (started != 0 && now - started > sendTimeoutNanos) {
+                stall(subscriber);
+            }
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        subscribers.forEach(s -> s.emitter.complete());
+        dispatcher.shutdownNow();
+    }
+
+    /**
+     * Encola en el suscriptor los eventos del buffer posteriores a {@code lastEventId}.
+     * Debe llamarse con el monitor tomado.
+     */
+    private void replay(Subscriber subscriber, long lastEventId) {
+        long oldest = Math.max(1, nextSequence - ring.length);
+        if (lastEventId < oldest - 1 || lastEventId >= nextSequence) {
+            subscriber.resetRequired = true;
+            return;
+        }
+        for (long seq = lastEventId + 1; seq < nextSequence; seq++) {
+            Notification n = ring[(int) (seq % ring.length)];
+            if (subscriber.accepts(n) && !subscriber.queue.offer(n)) {
+                subscriber.queue.clear();
+                subscriber.resetRequired = true;
+                return;
+            }
+        }
+    }
+
+    private void overflow(Subscriber subscriber) {
+        overflowCounter.increment();
+        subscribers.remove(subscriber);
+        subscriber.queue.clear();
+        subscriber.closing = true;
+        schedule(subscriber);
+    }
+
+    /**
+     * Desconecta a un suscriptor atascado. Su hilo sigue bloqueado hasta que el envío falle o termine;
+     * mientras tanto el pool crece en uno (hasta {@link #maxStalledSends}).
+     */
+    private void stall(Subscriber subscriber) {
+        if (!subscribers.remove(subscriber)) {
+            return;
+        }
+        stalledCounter.increment();
+        subscriber.queue.clear();
+        log.debug("SSE subscriber stalled for more than {} ms, disconnecting",
+                TimeUnit.NANOSECONDS.toMillis(sendTimeoutNanos));
+        synchronized (dispatcher) {
+            if (stalledSends < maxStalledSends) {
+                stalledSends++;
+                subscriber.compensated = true;
+                ThreadPoolExecutor pool = (ThreadPoolExecutor) dispatcher;
+                pool.setMaximumPoolSize(dispatcherThreads + stalledSends);
+                pool.setCorePoolSize(dispatcherThreads + stalledSends);
+            } else {
+                log.warn("{} SSE sends are stalled; not adding more dispatcher threads", stalledSends);
+            }
+        }
+        try {
+            subscriber.emitter.completeWithError(new IOException("SSE send timed out"));
+        } catch (RuntimeException ex) {
+            log.debug("Could not close stalled SSE subscriber: {}", ex.getMessage());
+        }
+    }
+
+    /**
+     * Devuelve al pool el hilo extra de un envío atascado que ya terminó.
+     */
+    private void releaseCompensation(Subscriber subscriber) {
+        synchronized (dispatcher) {
+            if (subscriber.compensated) {
+                subscriber.compensated = false;
+                stalledSends--;
+                ThreadPoolExecutor pool = (ThreadPoolExecutor) dispatcher;
+                pool.setCorePoolSize(dispatcherThreads + stalledSends);
+                pool.setMaximumPoolSize(dispatcherThreads + stalledSends);
+            }
+        }
+    }
+
+    /**
+     * Crea el emisor SSE de una suscripción.
+     *
+     * @param timeoutMs timeout de la conexión
+     * @return emisor
+     */
+    SseEmitter newEmitter(long timeoutMs) {
+        return new SseEmitter(timeoutMs);
+    }
+
+    private void schedule(Subscriber subscriber) {
+        if (subscriber.draining.compareAndSet(false, true)) {
+            try {
+                dispatcher.execute(() -> drain(subscriber));
+            } catch (RuntimeException ex) {
+                subscriber.draining.set(false);
+            }
+        }
+    }
+
+    /**
+     * Envía los eventos encolados de un suscriptor; un único hilo drena cada suscriptor a la vez.
+     */
+    private void drain(Subscriber subscriber) {
+        try {
+            if (subscriber.resetRequired) {
+                subscriber.resetRequired = false;
+                send(subscriber, SseEmitter.event().name(RESET_EVENT).data(Map.of()));
+            }
+            Notification n;
+            while ((n = subscriber.queue.poll()) != null) {
+                if (n == HEARTBEAT) {
+                    send(subscriber, SseEmitter.event().comment("heartbeat"));
+                } else {
+                    send(subscriber, SseEmitter.event()
+                            .id(Long.toString(n.sequence()))
+                            .name(n.type())
+                            .data(n.toData()));
+                }
+            }
+            if (subscriber.closing) {
+                subscriber.emitter.complete();
+            }
+        } catch (IOException | IllegalStateException ex) {
+            log.debug("SSE subscriber disconnected: {}", ex.getMessage());
+            // Un suscriptor atascado ya se cerró al retirarlo
+            if (subscribers.remove(subscriber) || subscriber.closing) {
+                subscriber.emitter.completeWithError(ex);
+            }
+        } finally {
+            subscriber.draining.set(false);
+            releaseCompensation(subscriber);
+        }
+        if (!subscriber.queue.isEmpty() && subscribers.contains(subscriber)) {
+            schedule(subscriber);
+        }
+    }
+
+    /**
+     * Envía un evento registrando su inicio para la detección de envíos atascados.
+     */
+    private void send(Subscriber subscriber, SseEmitter.SseEventBuilder event) throws IOException {
+        if (!subscribers.contains(subscriber) && !subscriber.closing) {
+            // Retirado mientras drenaba (p. ej. atascado): no se escribe más en su conexión
+            throw new IllegalStateException("SSE subscriber removed");
+        }
+        subscriber.sendStartedNanos = System.nanoTime();
+        try {
+            subscriber.emitter.send(event);
+        } finally {
+            subscriber.sendStartedNanos = 0;
+        }
+    }
+
+    /**
+     * Notificación de cambio de grupo.
+     */
+    private record Notification(long sequence, String type, UUID groupId, Map<String, Object> payload,
+                                Instant occurredAt) {
+
+        Map<String, Object> toData() {
+            Map<String, Object> data = new LinkedHashMap<>();
+            data.put("sequence", sequence);
+            data.put("type", type);
+            data.put("groupId", groupId);
+            data.put("occurredAt", occurredAt);
+            data.putAll(payload);
+            return data;
+        }
+    }
+
+    /**
+     * Suscriptor SSE con su filtro y su cola acotada.
+     */
+    private static final class Subscriber {
+        private final SseEmitter emitter;
+        private final Set<UUID> groupIds;
+        private final Queue<Notification> queue;
+        private final AtomicBoolean draining = new AtomicBoolean();
+        private volatile boolean resetRequired;
+        private volatile boolean closing;
+        private volatile long sendStartedNanos;
+        private boolean compensated;
+
+        private Subscriber(SseEmitter emitter, Set<UUID> groupIds, Queue<Notification> queue) {
+            this.emitter = emitter;
+            this.groupIds = groupIds;
+            this.queue = queue;
+        }
+
+        private boolean accepts(Notification n) {
+            return groupIds.isEmpty() || groupIds.contains(n.groupId());
+        }
+    }
+}
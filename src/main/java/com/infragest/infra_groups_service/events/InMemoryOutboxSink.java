@@ -0,0 +1,60 @@
+package com.infragest.infra_groups_service.events;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+
+/**
+ * Sink en memoria: conserva los últimos mensajes entregados (acotado).
+ * Solo para pruebas y benchmarks ({@code groups.outbox.sink=memory}): los eventos no salen del proceso.
+ *
+ * @author bunnystring
+ * @since 2026-10-18
+ */
+@Component
+@ConditionalOnProperty(prefix = "groups.outbox", name = "sink", havingValue = "memory")
+public class InMemoryOutboxSink implements OutboxSink {
+
+    /**
+     * Mensajes retenidos.
+     */
+    private final Deque<OutboxMessage> messages = new ArrayDeque<>();
+
+    /**
+     * Máximo de mensajes retenidos.
+     */
+    private final int capacity;
+
+    /**
+     * Constructor.
+     *
+     * @param capacity máximo de mensajes retenidos
+     */
+    public InMemoryOutboxSink(@Value("${groups.outbox.memory-capacity:10000}") int capacity) {
+        this.capacity = capacity;
+    }
+
+    @Override
+    public synchronized void deliver(List<OutboxMessage> batch) {
+        for (OutboxMessage message : batch) {
+            if (messages.size() == capacity) {
+                messages.removeFirst();
+            }
+            messages.addLast(message);
+        }
+    }
+
+    /**
+     * Devuelve una copia de los mensajes retenidos en orden de entrega.
+     *
+     * @return mensajes entregados
+     */
+    public synchronized List<OutboxMessage> getMessages() {
+        return new ArrayList<>(messages);
+    }
+}
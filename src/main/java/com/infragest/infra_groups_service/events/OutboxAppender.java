@@ -0,0 +1,124 @@
+package com.infragest.infra_groups_service.events;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.infragest.infra_groups_service.entity.OutboxEvent;
+import com.infragest.infra_groups_service.enums.ChangeEventType;
+import com.infragest.infra_groups_service.repository.OutboxBatchRepository;
+import com.infragest.infra_groups_service.repository.OutboxEventRepository;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Registra eventos de cambio en el outbox dentro de la transacción de la escritura.
+ *
+ * <p>Exige una transacción activa: si la escritura hace rollback, el evento también.
+ * Además publica un {@link DomainChangeEvent} de aplicación para los oyentes en proceso.</p>
+ *
+ * @author bunnystring
+ * @since 2026-10-18
+ */
+@Component
+public class OutboxAppender {
+
+    /**
+     * Inyección de dependencia: OutboxEventRepository
+     */
+    private final OutboxEventRepository outboxEventRepository;
+
+    /**
+     * Inyección de dependencia: OutboxBatchRepository
+     */
+    private final OutboxBatchRepository outboxBatchRepository;
+
+    /**
+     * Mapper para serializar el contenido del evento.
+     */
+    private final ObjectMapper objectMapper;
+
+    /**
+     * Publicador de eventos de aplicación.
+     */
+    private final ApplicationEventPublisher eventPublisher;
+
+    /**
+     * Inyección de dependencia: ReplicaIdentity
+     */
+    private final ReplicaIdentity replicaIdentity;
+
+    /**
+     * Constructor para la inyección de dependencias.
+     *
+     * @param outboxEventRepository repositorio del outbox
+     * @param outboxBatchRepository repositorio de inserciones por lote del outbox
+     * @param objectMapper          mapper JSON de la aplicación
+     * @param eventPublisher        publicador de eventos de aplicación
+     * @param replicaIdentity       identidad de esta réplica (origen de los eventos)
+     */
+    public OutboxAppender(OutboxEventRepository outboxEventRepository, OutboxBatchRepository outboxBatchRepository,
+                          ObjectMapper objectMapper, ApplicationEventPublisher eventPublisher,
+                          ReplicaIdentity replicaIdentity) {
+        this.outboxEventRepository = outboxEventRepository;
+        this.outboxBatchRepository = outboxBatchRepository;
+        this.objectMapper = objectMapper;
+        this.eventPublisher = eventPublisher;
+        this.replicaIdentity = replicaIdentity;
+    }
+
+    /**
+     * Registra un evento de cambio.
+     *
+     * @param type        tipo de evento
+     * @param aggregateId identificador del agregado afectado
+     * @param payload     contenido compacto del evento
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void append(ChangeEventType type, UUID aggregateId, Map<String, Object> payload) {
+        outboxEventRepository.save(toEvent(type, aggregateId, payload));
+        eventPublisher.publishEvent(new DomainChangeEvent(type, aggregateId, payload));
+    }
+
+    /**
+     * Registra un evento del mismo tipo por cada agregado, con sentencias de varias filas
+     * en lugar de una inserción por evento. Los eventos conservan el orden del mapa.
+     *
+     * @param type     tipo de evento
+     * @param payloads contenido de cada evento por id de agregado
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void appendAll(ChangeEventType type, Map<UUID, Map<String, Object>> payloads) {
+        if (payloads.isEmpty()) {
+            return;
+        }
+        List<OutboxEvent> events = new ArrayList<>(payloads.size());
+        payloads.forEach((aggregateId, payload) -> events.add(toEvent(type, aggregateId, payload)));
+        outboxBatchRepository.insertAll(events);
+        payloads.forEach((aggregateId, payload) ->
+                eventPublisher.publishEvent(new DomainChangeEvent(type, aggregateId, payload)));
+    }
+
+    private OutboxEvent toEvent(ChangeEventType type, UUID aggregateId, Map<String, Object> payload) {
+        return OutboxEvent.builder()
+                .aggregateType(type.getAggregateType())
+                .aggregateId(aggregateId)
+                .eventType(type)
+                .payload(toJson(payload))
+                .origin(replicaIdentity.getId())
+                .build();
+    }
+
+    private String toJson(Map<String, Object> payload) {
+        try {
+            return objectMapper.writeValueAsString(payload);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Unable to serialize outbox payload", e);
+        }
+    }
+}
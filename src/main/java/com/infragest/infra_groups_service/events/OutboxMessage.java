@@ -0,0 +1,33 @@
+package com.infragest.infra_groups_service.events;
+
+import com.infragest.infra_groups_service.entity.OutboxEvent;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Mensaje entregado a un {@link OutboxSink}.
+ *
+ * @param sequence      secuencia del evento en el outbox (orden de entrega)
+ * @param aggregateType tipo de agregado
+ * @param aggregateId   identificador del agregado
+ * @param eventType     tipo de evento
+ * @param payload       contenido JSON
+ * @param createdAt     fecha de registro
+ * @author bunnystring
+ * @since 2026-10-18
+ */
+public record OutboxMessage(long sequence, String aggregateType, UUID aggregateId, String eventType,
+                            String payload, LocalDateTime createdAt) {
+
+    /**
+     * Crea el mensaje a partir del registro del outbox.
+     *
+     * @param e registro del outbox
+     * @return mensaje a entregar
+     */
+    public static OutboxMessage from(OutboxEvent e) {
+        return new OutboxMessage(e.getId(), e.getAggregateType(), e.getAggregateId(),
+                e.getEventType().name(), e.getPayload(), e.getCreatedAt());
+    }
+}
@@ -0,0 +1,189 @@
+package com.infragest.infra_groups_service.events;
+
+import com.infragest.infra_groups_service.entity.OutboxEvent;
+import com.infragest.infra_groups_service.repository.OutboxEventRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Relay que entrega los eventos pendientes del outbox al {@link OutboxSink}.
+ *
+ * <p>Cada ciclo bloquea el siguiente lote en orden de secuencia, lo entrega y lo marca como
+ * publicado en la misma transacción. Si la entrega falla el lote queda pendiente y se reintenta
+ * en el siguiente ciclo (at-least-once); como nunca se salta un lote, el orden por agregado se
+ * mantiene.</p>
+ *
+ * <p>El destino se elige con {@code groups.outbox.sink} ({@code file}, o {@code memory} en pruebas);
+ * no tiene valor por defecto y el arranque falla si no se configura.</p>
+ *
+ * @author bunnystring
+ * @since 2026-10-18
+ */
+@Slf4j
+@Component
+public class OutboxRelay {
+
+    /**
+     * Inyección de dependencia: OutboxEventRepository
+     */
+    private final OutboxEventRepository outboxEventRepository;
+
+    /**
+     * Destino de entrega.
+     */
+    private final OutboxSink sink;
+
+    /**
+     * Transacción de cada lote.
+     */
+    private final TransactionTemplate tx;
+
+    /**
+     * Tamaño máximo de lote.
+     */
+    private final int batchSize;
+
+    /**
+     * Retención de eventos ya entregados.
+     */
+    private final Duration retention;
+
+    /**
+     * Eventos entregados.
+     */
+    private final Counter deliveredCounter;
+
+    /**
+     * Lotes fallidos.
+     */
+    private final Counter failedCounter;
+
+    /**
+     * Retraso entre el registro y la entrega de cada evento.
+     */
+    private final Timer deliveryLag;
+
+    /**
+     * Antigüedad (ms) del evento pendiente más antiguo.
+     */
+    private final AtomicLong oldestPendingAgeMs = new AtomicLong();
+
+    /**
+     * Constructor para la inyección de dependencias.
+     *
+     * @param outboxEventRepository repositorio del outbox
+     * @param sinks                 destino de entrega configurado en {@code groups.outbox.sink}
+     * @param transactionManager    gestor de transacciones
+     * @param meterRegistry         registro de métricas
+     * @param batchSize             tamaño de lote
+     * @param retentionHours        horas de retención de eventos entregados
+     */
+    public OutboxRelay(OutboxEventRepository outboxEventRepository,
+                       ObjectProvider<OutboxSink> sinks,
+                       PlatformTransactionManager transactionManager,
+                       MeterRegistry meterRegistry,
+                       @Value("${groups.outbox.batch-size:200}") int batchSize,
+                       @Value("${groups.outbox.retention-hours:24}") long retentionHours) {
+        this.outboxEventRepository = outboxEventRepository;
+        this.sink = sinks.getIfAvailable(() -> {
+            throw new IllegalStateException("No outbox sink configured: set groups.outbox.sink (file)");
+        });
+        this.tx = new TransactionTemplate(transactionManager);
+        this.batchSize = batchSize;
+        this.retention = Duration.ofHours(retentionHours);
+        this.deliveredCounter = Counter.builder("groups.outbox.delivered")
+                .description("Outbox events delivered to the sink")
+                .register(meterRegistry);
+        this.failedCounter = Counter.builder("groups.outbox.failed.batches")
+                .description("Outbox batches whose delivery failed and will be retried")
+                .register(meterRegistry);
+        this.deliveryLag = Timer.builder("groups.outbox.lag")
+                .description("Time between appending an event and delivering it")
+                .register(meterRegistry);
+        Gauge.builder("groups.outbox.oldest.pending.age", oldestPendingAgeMs, AtomicLong::get)
+                .description("Age in milliseconds of the oldest undelivered event")
+                .baseUnit("milliseconds")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Entrega lotes mientras haya eventos pendientes.
+     */
+    @Scheduled(fixedDelayString = "${groups.outbox.relay-interval-ms:1000}")
+    public void relay() {
+        try {
+            int delivered;
+            do {
+                delivered = tx.execute(status -> relayBatch());
+            } while (delivered == batchSize);
+        } catch (RuntimeException ex) {
+            failedCounter.increment();
+            log.warn("Outbox delivery failed, batch will be retried: {}", ex.getMessage());
+        } finally {
+            updateOldestPendingAge();
+        }
+    }
+
+    /**
+     * Entrega y marca un lote.
+     *
+     * @return número de eventos entregados
+     */
+    private int relayBatch() {
+        List<OutboxEvent> batch = outboxEventRepository.findUnpublished(PageRequest.of(0, batchSize));
+        if (batch.isEmpty()) {
+            return 0;
+        }
+        try {
+            sink.deliver(batch.stream().map(OutboxMessage::from).toList());
+        } catch (Exception e) {
+            throw new IllegalStateException("Outbox sink rejected batch starting at " + batch.get(0).getId(), e);
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        outboxEventRepository.markPublished(batch.stream().map(OutboxEvent::getId).toList(), now);
+        for (OutboxEvent event : batch) {
+            deliveryLag.record(Duration.between(event.getCreatedAt(), now));
+        }
+        deliveredCounter.increment(batch.size());
+        return batch.size();
+    }
+
+    /**
+     * Elimina los eventos entregados fuera del periodo de retención.
+     */
+    @Scheduled(fixedDelayString = "${groups.outbox.cleanup-interval-ms:3600000}")
+    public void purgeDelivered() {
+        try {
+            Integer deleted = tx.execute(status ->
+                    outboxEventRepository.deletePublishedBefore(LocalDateTime.now().minus(retention)));
+            log.debug("Purged {} delivered outbox events", deleted);
+        } catch (RuntimeException ex) {
+            log.warn("Outbox purge failed: {}", ex.getMessage());
+        }
+    }
+
+    private void updateOldestPendingAge() {
+        try {
+            LocalDateTime oldest = outboxEventRepository.findOldestUnpublishedCreatedAt();
+            oldestPendingAgeMs.set(oldest == null ? 0 : Duration.between(oldest, LocalDateTime.now()).toMillis());
+        } catch (RuntimeException ex) {
+            log.debug("Unable to compute outbox pending age: {}", ex.getMessage());
+        }
+    }
+}
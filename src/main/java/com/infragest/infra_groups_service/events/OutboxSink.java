@@ -0,0 +1,24 @@
+package com.infragest.infra_groups_service.events;
+
+import java.util.List;
+
+/**
+ * Destino de entrega de los eventos del outbox.
+ *
+ * <p>La entrega es at-least-once: un lote puede reenviarse si falla la confirmación,
+ * por lo que los consumidores deben ser idempotentes (usando {@code sequence}).
+ * Los mensajes llegan en orden de secuencia, lo que garantiza el orden por agregado.</p>
+ *
+ * @author bunnystring
+ * @since 2026-10-18
+ */
+public interface OutboxSink {
+
+    /**
+     * Entrega un lote de mensajes. Si lanza una excepción el lote se reintenta completo.
+     *
+     * @param batch mensajes en orden de secuencia
+     * @throws Exception si la entrega falla
+     */
+    void deliver(List<OutboxMessage> batch) throws Exception;
+}
@@ -0,0 +1,19 @@
+package com.infragest.infra_groups_service.events;
+
+import java.time.LocalDateTime;
+
+/**
+ * Evento de aplicación publicado cuando se lee del outbox un cambio confirmado por otra réplica.
+ *
+ * <p>Se publica fuera de transacción: los oyentes usan {@code @EventListener} y deben invalidar o
+ * actualizar exactamente las claves afectadas por {@link #change()}.</p>
+ *
+ * @param change    cambio, con el mismo contenido que el {@link DomainChangeEvent} original
+ * @param version   id del evento en el outbox
+ * @param origin    réplica que hizo el cambio
+ * @param createdAt fecha de registro del cambio
+ * @author bunnystring
+ * @since 2026-10-18
+ */
+public record RemoteChangeEvent(DomainChangeEvent change, long version, String origin, LocalDateTime createdAt) {
+}
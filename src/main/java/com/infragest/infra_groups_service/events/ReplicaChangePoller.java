@@ -0,0 +1,278 @@
+package com.infragest.infra_groups_service.events;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.infragest.infra_groups_service.config.datasource.ReadConsistencyContext;
+import com.infragest.infra_groups_service.entity.OutboxEvent;
+import com.infragest.infra_groups_service.repository.OutboxEventRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Canal de invalidación entre réplicas sobre MariaDB, sin broker externo.
+ *
+ * <p>El id autoincremental del outbox actúa como versión de cambio monótona. Cada réplica sondea
+ * el primario con un cursor ({@code id > cursor}, por clave primaria) y publica un
+ * {@link RemoteChangeEvent} por cada cambio hecho por otra réplica; los propios ya se aplicaron
+ * localmente al confirmar. El retraso queda acotado por {@code groups.invalidation.poll-interval-ms}.</p>
+ *
+ * <p>Los ids se asignan al insertar pero se confirman en otro orden, así que un id menor puede
+ * aparecer después de que el cursor lo haya superado. Los huecos se recuerdan y se vuelven a
+ * consultar hasta {@code groups.invalidation.gap-timeout-ms}; pasado ese plazo se asume que su
+ * transacción se revirtió.</p>
+ *
+ * <p>El retraso de propagación se mide entre {@code created_at}, que asigna la base al insertar, y la
+ * hora de la base devuelta por la misma consulta de sondeo: ambos salen del mismo reloj, sin depender
+ * del reloj ni de la zona horaria de cada réplica.</p>
+ *
+ * @author bunnystring
+ * @since 2026-10-18
+ */
+@Slf4j
+@Component
+public class ReplicaChangePoller {
+
+    /**
+     * Huecos máximos que se rastrean de una vez (p. ej. tras una purga masiva se descartan).
+     */
+    private static final int MAX_TRACKED_GAP = 10_000;
+
+    private static final TypeReference<Map<String, Object>> PAYLOAD_TYPE = new TypeReference<>() {
+    };
+
+    /**
+     * Inyección de dependencia: OutboxEventRepository
+     */
+    private final OutboxEventRepository outboxEventRepository;
+
+    /**
+     * Inyección de dependencia: ReplicaIdentity
+     */
+    private final ReplicaIdentity replicaIdentity;
+
+    /**
+     * Mapper para leer el contenido de los eventos.
+     */
+    private final ObjectMapper objectMapper;
+
+    /**
+     * Publicador de eventos de aplicación.
+     */
+    private final ApplicationEventPublisher eventPublisher;
+
+    /**
+     * Transacción de solo lectura de cada consulta.
+     */
+    private final TransactionTemplate readOnlyTx;
+
+    private final boolean enabled;
+    private final int batchSize;
+    private final long gapTimeoutNanos;
+
+    /**
+     * Último id leído; {@code null} hasta inicializarlo al arrancar.
+     */
+    private Long cursor;
+
+    /**
+     * Ids saltados por el cursor aún no vistos, con su plazo (nanoTime).
+     */
+    private final Map<Long, Long> gaps = new HashMap<>();
+
+    /**
+     * Tiempo entre el registro de un cambio remoto y su aplicación en esta réplica.
+     */
+    private final Timer propagationLag;
+
+    private final MeterRegistry meterRegistry;
+
+    /**
+     * Constructor.
+     *
+     * @param outboxEventRepository repositorio del outbox
+     * @param replicaIdentity       identidad de esta réplica
+     * @param objectMapper          mapper JSON
+     * @param eventPublisher        publicador de eventos de aplicación
+     * @param transactionManager    gestor de transacciones
+     * @param meterRegistry         registro de métricas
+     * @param enabled               si el sondeo está activo
+     * @param batchSize             eventos por consulta
+     * @param gapTimeoutMillis      plazo de espera de un hueco
+     */
+    public ReplicaChangePoller(OutboxEventRepository outboxEventRepository,
+                               ReplicaIdentity replicaIdentity,
+                               ObjectMapper objectMapper,
+                               ApplicationEventPublisher eventPublisher,
+                               PlatformTransactionManager transactionManager,
+                               MeterRegistry meterRegistry,
+                               @Value("${groups.invalidation.enabled:true}") boolean enabled,
+                               @Value("${groups.invalidation.batch-size:500}") int batchSize,
+                               @Value("${groups.invalidation.gap-timeout-ms:30000}") long gapTimeoutMillis) {
+        this.outboxEventRepository = outboxEventRepository;
+        this.replicaIdentity = replicaIdentity;
+        this.objectMapper = objectMapper;
+        this.eventPublisher = eventPublisher;
+        this.readOnlyTx = new TransactionTemplate(transactionManager);
+        this.readOnlyTx.setReadOnly(true);
+        this.enabled = enabled;
+        this.batchSize = batchSize;
+        this.gapTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(gapTimeoutMillis);
+        this.meterRegistry = meterRegistry;
+        this.propagationLag = Timer.builder("groups.invalidation.lag")
+                .description("Time between a change being recorded by another replica and applied here")
+                .register(meterRegistry);
+        Gauge.builder("groups.invalidation.gaps", this, poller -> poller.trackedGaps())
+                .description("Outbox ids skipped by the cursor and still awaited")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Sitúa el cursor en el último cambio existente. Se ejecuta antes que los demás oyentes de
+     * arranque (p. ej. la carga del índice de membresía), de modo que lo confirmado después de
+     * esta lectura se aplica por sondeo.
+     */
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void initCursor() {
+        if (!enabled) {
+            return;
+        }
+        Long max = onPrimary(outboxEventRepository::findMaxId);
+        cursor = max != null ? max : 0L;
+        log.info("Replica change poller started at version {} as {}", cursor, replicaIdentity.getId());
+    }
+
+    /**
+     * Lee y publica los cambios nuevos de otras réplicas.
+     */
+    @Scheduled(fixedDelayString = "${groups.invalidation.poll-interval-ms:500}")
+    public synchronized void poll() {
+        if (cursor == null) {
+            return;
+        }
+        try {
+            List<Object[]> batch;
+            do {
+                long after = cursor;
+                batch = onPrimary(() -> outboxEventRepository.findAfter(after, PageRequest.of(0, batchSize)));
+                for (Object[] row : batch) {
+                    OutboxEvent event = (OutboxEvent) row[0];
+                    trackGaps(event.getId());
+                    cursor = event.getId();
+                    dispatch(event, row[1]);
+                }
+            } while (batch.size() == batchSize);
+            recheckGaps();
+        } catch (RuntimeException ex) {
+            log.warn("Replica change poll failed, will retry: {}", ex.toString());
+        }
+    }
+
+    private void trackGaps(long id) {
+        long missing = id - cursor - 1;
+        if (missing <= 0) {
+            return;
+        }
+        if (missing > MAX_TRACKED_GAP) {
+            log.warn("Skipping {} missing outbox ids before {}", missing, id);
+            return;
+        }
+        long deadline = System.nanoTime() + gapTimeoutNanos;
+        for (long gap = cursor + 1; gap < id; gap++) {
+            gaps.put(gap, deadline);
+        }
+    }
+
+    private void recheckGaps() {
+        if (gaps.isEmpty()) {
+            return;
+        }
+        long now = System.nanoTime();
+        gaps.values().removeIf(deadline -> now - deadline >= 0);
+        if (gaps.isEmpty()) {
+            return;
+        }
+        List<Long> ids = new ArrayList<>(gaps.keySet());
+        for (Object[] row : onPrimary(() -> outboxEventRepository.findByIdIn(ids))) {
+            OutboxEvent event = (OutboxEvent) row[0];
+            gaps.remove(event.getId());
+            dispatch(event, row[1]);
+        }
+    }
+
+    /**
+     * Publica un cambio de otra réplica y registra su retraso.
+     *
+     * @param event evento leído
+     * @param dbNow hora de la base en la consulta que lo leyó
+     */
+    private void dispatch(OutboxEvent event, Object dbNow) {
+        if (Objects.equals(replicaIdentity.getId(), event.getOrigin())) {
+            return;
+        }
+        DomainChangeEvent change = new DomainChangeEvent(event.getEventType(), event.getAggregateId(),
+                readPayload(event));
+        try {
+            eventPublisher.publishEvent(new RemoteChangeEvent(change, event.getId(), event.getOrigin(),
+                    event.getCreatedAt()));
+        } catch (RuntimeException ex) {
+            log.error("Remote change listener failed for outbox event {}", event.getId(), ex);
+        }
+        propagationLag.record(Duration.between(event.getCreatedAt(), ((Timestamp) dbNow).toLocalDateTime()));
+        Counter.builder("groups.invalidation.applied")
+                .description("Changes from other replicas applied on this replica")
+                .tag("type", event.getEventType().name())
+                .register(meterRegistry)
+                .increment();
+    }
+
+    private Map<String, Object> readPayload(OutboxEvent event) {
+        try {
+            return objectMapper.readValue(event.getPayload(), PAYLOAD_TYPE);
+        } catch (IOException ex) {
+            log.warn("Unreadable payload in outbox event {}: {}", event.getId(), ex.toString());
+            return Map.of();
+        }
+    }
+
+    private synchronized int trackedGaps() {
+        return gaps.size();
+    }
+
+    /**
+     * Consulta en el primario: las réplicas de lectura añadirían su propio retraso.
+     */
+    private <T> T onPrimary(Supplier<T> query) {
+        ReadConsistencyContext.requirePrimary();
+        try {
+            return readOnlyTx.execute(status -> query.get());
+        } finally {
+            ReadConsistencyContext.clear();
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package com.infragest.infra_groups_service.events;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+import java.util.UUID;
+
+/**
+ * Identidad de esta réplica, registrada como origen de cada evento del outbox.
+ *
+ * <p>Usa el id de instancia de Eureka si está configurado; si no, un UUID aleatorio por arranque.</p>
+ *
+ * @author bunnystring
+ * @since 2026-10-18
+ */
+@Component
+public class ReplicaIdentity {
+
+    /**
+     * Identificador de la réplica.
+     */
+    private final String id;
+
+    /**
+     * Constructor.
+     *
+     * @param instanceId id de instancia configurado (opcional)
+     */
+    public ReplicaIdentity(@Value("${eureka.instance.instance-id:}") String instanceId) {
+        this.id = StringUtils.hasText(instanceId) ? instanceId : UUID.randomUUID().toString();
+    }
+
+    /**
+     * @return identificador de la réplica
+     */
+    public String getId() {
+        return id;
+    }
+}
@@ -1,5 +1,10 @@
 package com.infragest.infra_groups_service.exception;
 
+/**
+ * Excepción de negocio para el módulo Employee.
+ *
+ * <p>Igual que {@link GroupException}, solo {@link Type#INTERNAL_SERVER} captura stack trace.</p>
+ */
 public class EmployeeException extends RuntimeException {
 
     /**
@@ -17,7 +22,7 @@ public class EmployeeException extends RuntimeException {
     private final Type type;
 
     public EmployeeException(String message, Type type) {
-        super(message);
+        super(message, null, true, type == Type.INTERNAL_SERVER);
         this.type = type;
     }
 
@@ -1,5 +1,6 @@
 package com.infragest.infra_groups_service.exception;
 
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.ExceptionHandler;
@@ -81,6 +82,24 @@ public class GlobalExceptionHandler {
                 ));
     }
 
+    /**
+     * Maneja {@link ServiceOverloadedException} y devuelve 503 con {@code Retry-After}.
+     *
+     * @param ex excepción de sobrecarga
+     * @return ResponseEntity con status 503
+     */
+    @ExceptionHandler(ServiceOverloadedException.class)
+    public ResponseEntity<?> handleServiceOverloaded(ServiceOverloadedException ex) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, Long.toString(ex.getRetryAfterSeconds()))
+                .body(Map.of(
+                        "timestamp", LocalDateTime.now(),
+                        "status", HttpStatus.SERVICE_UNAVAILABLE.value(),
+                        "error", "Service Unavailable",
+                        "message", ex.getMessage()
+                ));
+    }
+
     /**
      * Maneja excepciones no controladas y devuelve 500.
      *
@@ -5,6 +5,10 @@ package com.infragest.infra_groups_service.exception;
  * unchecked para permitir rollback automático en transacciones gestionadas por Spring.
  * Contiene un {@link Type} que clasifica el error.
  *
+ * <p>Los resultados de negocio esperados (no encontrado, duplicado, solicitud inválida) no capturan
+ * stack trace: se lanzan con frecuencia y la traza no aporta información. Solo
+ * {@link Type#INTERNAL_SERVER} conserva la traza para diagnóstico.</p>
+ *
  * @author bunnystring
  * @since 2025-11-08
  */
@@ -32,7 +36,7 @@ public class GroupException extends RuntimeException {
      * @param type    tipo de excepción
      */
     public GroupException(String message, Type type) {
-      super(message);
+      super(message, null, true, type == Type.INTERNAL_SERVER);
       this.type = type;
     }
 
@@ -0,0 +1,38 @@
+package com.infragest.infra_groups_service.exception;
+
+/**
+ * Excepción lanzada cuando el servicio rechaza una petición por falta de capacidad
+ * (por ejemplo, un bulkhead con la cola llena). Se responde con {@code 503}.
+ *
+ * <p>Se lanza precisamente bajo sobrecarga, por lo que no captura stack trace.</p>
+ *
+ * @author bunnystring
+ * @since 2026-10-18
+ */
+public class ServiceOverloadedException extends RuntimeException {
+
+    /**
+     * Segundos sugeridos antes de reintentar.
+     */
+    private final long retryAfterSeconds;
+
+    /**
+     * Crea una nueva {@code ServiceOverloadedException}.
+     *
+     * @param message           mensaje descriptivo
+     * @param retryAfterSeconds segundos sugeridos antes de reintentar
+     */
+    public ServiceOverloadedException(String message, long retryAfterSeconds) {
+        super(message, null, true, false);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    /**
+     * Obtiene los segundos sugeridos antes de reintentar.
+     *
+     * @return segundos
+     */
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
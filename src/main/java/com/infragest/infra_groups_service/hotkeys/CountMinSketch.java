@@ -0,0 +1,100 @@
+package com.infragest.infra_groups_service.hotkeys;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Sketch count-min concurrente para claves de 128 bits (UUID).
+ *
+ * <p>Cada fila usa un hash independiente; la estimación de una clave es el mínimo de sus
+ * contadores y nunca subestima la frecuencia real. El error aditivo es como mucho
+ * {@code e · total / width} con probabilidad {@code 1 - e^-depth}. {@link #halve()} envejece todos los
+ * contadores para que el sketch refleje el tráfico reciente.</p>
+ *
+ * @author bunnystring
+ * @since 2026-10-18
+ */
+public class CountMinSketch {
+
+    /**
+     * Semillas por fila (constantes impares arbitrarias).
+     */
+    private static final long[] SEEDS = {
+            0x9E3779B97F4A7C15L, 0xC2B2AE3D27D4EB4FL, 0x165667B19E3779F9L, 0xD6E8FEB86659FD93L,
+            0xFF51AFD7ED558CCDL, 0xC4CEB9FE1A85EC53L, 0x94D049BB133111EBL, 0xBF58476D1CE4E5B9L
+    };
+
+    private final int depth;
+    private final int width;
+    private final int mask;
+
+    /**
+     * Contadores, fila tras fila.
+     */
+    private final AtomicLongArray counters;
+
+    /**
+     * Crea el sketch.
+     *
+     * @param depth filas (1 a 8)
+     * @param width columnas por fila; se redondea a potencia de dos
+     */
+    public CountMinSketch(int depth, int width) {
+        if (depth < 1 || depth > SEEDS.length || width < 1) {
+            throw new IllegalArgumentException("Invalid count-min sketch dimensions");
+        }
+        this.depth = depth;
+        this.width = Integer.highestOneBit(Math.max(1, width - 1) << 1);
+        this.mask = this.width - 1;
+        this.counters = new AtomicLongArray(depth * this.width);
+    }
+
+    /**
+     * Suma una ocurrencia de la clave.
+     *
+     * @param high 64 bits altos de la clave
+     * @param low  64 bits bajos de la clave
+     * @return frecuencia estimada tras sumar
+     */
+    public long add(long high, long low) {
+        long min = Long.MAX_VALUE;
+        for (int row = 0; row < depth; row++) {
+            min = Math.min(min, counters.incrementAndGet(row * width + index(high, low, row)));
+        }
+        return min;
+    }
+
+    /**
+     * Frecuencia estimada de la clave.
+     *
+     * @param high 64 bits altos de la clave
+     * @param low  64 bits bajos de la clave
+     * @return estimación
+     */
+    public long estimate(long high, long low) {
+        long min = Long.MAX_VALUE;
+        for (int row = 0; row < depth; row++) {
+            min = Math.min(min, counters.get(row * width + index(high, low, row)));
+        }
+        return min;
+    }
+
+    /**
+     * Divide todos los contadores entre dos.
+     */
+    public void halve() {
+        for (int i = 0; i < counters.length(); i++) {
+            long value;
+            do {
+                value = counters.get(i);
+            } while (value != 0 && !counters.compareAndSet(i, value, value >>> 1));
+        }
+    }
+
+    private int index(long high, long low, int row) {
+        long h = (high ^ Long.rotateLeft(low, 29)) * SEEDS[row];
+        h ^= h >>> 33;
+        h *= 0xFF51AFD7ED558CCDL;
+        h ^= h >>> 33;
+        return (int) h & mask;
+    }
+}
@@ -0,0 +1,79 @@
+package com.infragest.infra_groups_service.hotkeys;
+
+import com.infragest.infra_groups_service.controller.EmployeeController;
+import com.infragest.infra_groups_service.controller.GroupsController;
+import jakarta.servlet.DispatcherType;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Registra en {@link HotKeyRegistry} los ids de grupo y empleado de la ruta de cada petición.
+ *
+ * <p>En {@link GroupsController} las variables {@code id}, {@code groupId}, {@code parentId},
+ * {@code childId} y {@code targetId} son grupos y {@code employeeId} es un empleado; en {@link EmployeeController}
+ * {@code id} es un empleado. Los ids mal formados se ignoran (el controlador responde 400).</p>
+ *
+ * @author bunnystring
+ * @since 2026-10-18
+ */
+public class HotKeyInterceptor implements HandlerInterceptor {
+
+    /**
+     * Inyección de dependencia: HotKeyRegistry
+     */
+    private final HotKeyRegistry registry;
+
+    /**
+     * Constructor.
+     *
+     * @param registry registro de frecuencias
+     */
+    public HotKeyInterceptor(HotKeyRegistry registry) {
+        this.registry = registry;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (request.getDispatcherType() != DispatcherType.REQUEST || !(handler instanceof HandlerMethod method)) {
+            return true;
+        }
+        @SuppressWarnings("unchecked")
+        Map<String, String> variables =
+                (Map<String, String>) request.getAttribute(HandlerMapping.URI_TEMPLATE_VARIABLES_ATTRIBUTE);
+        if (variables == null || variables.isEmpty()) {
+            return true;
+        }
+        Class<?> controller = method.getBeanType();
+        if (controller == GroupsController.class) {
+            variables.forEach((name, value) -> {
+                switch (name) {
+                    case "id", "groupId", "parentId", "childId", "targetId" -> record(HotKeyRegistry.Kind.GROUP, value);
+                    case "employeeId" -> record(HotKeyRegistry.Kind.EMPLOYEE, value);
+                    default -> {
+                        // Otras variables de ruta no son claves
+                    }
+                }
+            });
+        } else if (controller == EmployeeController.class) {
+            String id = variables.get("id");
+            if (id != null) {
+                record(HotKeyRegistry.Kind.EMPLOYEE, id);
+            }
+        }
+        return true;
+    }
+
+    private void record(HotKeyRegistry.Kind kind, String value) {
+        try {
+            registry.record(kind, UUID.fromString(value));
+        } catch (IllegalArgumentException ex) {
+            // id mal formado: lo rechaza el controlador
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package com.infragest.infra_groups_service.hotkeys;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Frecuencia de acceso por clase de clave, alimentada desde los ids de ruta de los controladores.
+ *
+ * <p>Las frecuencias se reducen a la mitad cada {@code groups.hotkeys.decay-interval-ms}, de modo
+ * que el top refleja el tráfico de los últimos minutos.</p>
+ *
+ * @author bunnystring
+ * @since 2026-10-18
+ */
+@Component
+public class HotKeyRegistry {
+
+    /**
+     * Clase de clave.
+     */
+    public enum Kind {
+        GROUP, EMPLOYEE
+    }
+
+    /**
+     * Tracker por clase.
+     */
+    private final Map<Kind, HotKeyTracker> trackers = new EnumMap<>(Kind.class);
+
+    /**
+     * Constructor.
+     *
+     * @param depth    filas del sketch
+     * @param width    columnas del sketch
+     * @param capacity tamaño del top-K por clase
+     */
+    public HotKeyRegistry(@Value("${groups.hotkeys.depth:4}") int depth,
+                          @Value("${groups.hotkeys.width:4096}") int width,
+                          @Value("${groups.hotkeys.top:100}") int capacity) {
+        for (Kind kind : Kind.values()) {
+            trackers.put(kind, new HotKeyTracker(depth, width, capacity));
+        }
+    }
+
+    /**
+     * Registra un acceso.
+     *
+     * @param kind clase de clave
+     * @param key  clave
+     */
+    public void record(Kind kind, UUID key) {
+        trackers.get(kind).record(key);
+    }
+
+    /**
+     * Tracker de una clase de clave.
+     *
+     * @param kind clase de clave
+     * @return tracker
+     */
+    public HotKeyTracker tracker(Kind kind) {
+        return trackers.get(kind);
+    }
+
+    /**
+     * Envejecimiento periódico.
+     */
+    @Scheduled(fixedDelayString = "${groups.hotkeys.decay-interval-ms:60000}")
+    public void decay() {
+        trackers.values().forEach(HotKeyTracker::decay);
+    }
+}
@@ -0,0 +1,151 @@
+package com.infragest.infra_groups_service.hotkeys;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Frecuencia de acceso de una clase de claves (grupos o empleados) con top-K aproximado.
+ *
+ * <p>Cada acceso suma en un {@link CountMinSketch}. El top-K se mantiene en un mapa de tamaño
+ * fijo: las claves que ya están en él solo actualizan su estimación, y una clave nueva solo toma
+ * el lock si su estimación supera el mínimo actual del top (el caso frecuente, una clave fría,
+ * no bloquea).</p>
+ *
+ * @author bunnystring
+ * @since 2026-10-18
+ */
+public class HotKeyTracker {
+
+    private final CountMinSketch sketch;
+    private final int capacity;
+
+    /**
+     * Claves del top con su última estimación.
+     */
+    private final Map<UUID, Long> top;
+
+    /**
+     * Estimación mínima para entrar en el top (0 mientras no esté lleno).
+     */
+    private volatile long threshold;
+
+    /**
+     * Accesos registrados (envejece junto con el sketch).
+     */
+    private final AtomicLong total = new AtomicLong();
+
+    /**
+     * Crea el tracker.
+     *
+     * @param depth    filas del sketch
+     * @param width    columnas del sketch
+     * @param capacity tamaño del top-K
+     */
+    public HotKeyTracker(int depth, int width, int capacity) {
+        this.sketch = new CountMinSketch(depth, width);
+        this.capacity = capacity;
+        this.top = new ConcurrentHashMap<>(capacity * 2);
+    }
+
+    /**
+     * Registra un acceso a la clave.
+     *
+     * @param key clave
+     */
+    public void record(UUID key) {
+        total.incrementAndGet();
+        long estimate = sketch.add(key.getMostSignificantBits(), key.getLeastSignificantBits());
+        if (top.replace(key, estimate) != null || estimate <= threshold) {
+            return;
+        }
+        synchronized (this) {
+            if (top.replace(key, estimate) != null) {
+                return;
+            }
+            if (top.size() < capacity) {
+                top.put(key, estimate);
+                updateThreshold();
+                return;
+            }
+            // Un solo recorrido: la más fría se sustituye y la siguiente fija el nuevo umbral
+            UUID coldestKey = null;
+            long coldest = Long.MAX_VALUE;
+            long runnerUp = Long.MAX_VALUE;
+            for (Map.Entry<UUID, Long> entry : top.entrySet()) {
+                long value = entry.getValue();
+                if (value < coldest) {
+                    runnerUp = coldest;
+                    coldest = value;
+                    coldestKey = entry.getKey();
+                } else if (value < runnerUp) {
+                    runnerUp = value;
+                }
+            }
+            if (coldestKey == null || estimate <= coldest) {
+                threshold = coldest;
+                return;
+            }
+            top.remove(coldestKey);
+            top.put(key, estimate);
+            threshold = Math.min(runnerUp, estimate);
+        }
+    }
+
+    /**
+     * Claves más frecuentes.
+     *
+     * @param limit número máximo de claves
+     * @return claves ordenadas de mayor a menor frecuencia estimada
+     */
+    public List<HotKey> hottest(int limit) {
+        long accesses = Math.max(total.get(), 1);
+        return top.entrySet().stream()
+                .sorted(Map.Entry.<UUID, Long>comparingByValue(Comparator.reverseOrder()))
+                .limit(limit)
+                .map(e -> new HotKey(e.getKey(), e.getValue(), (double) e.getValue() / accesses))
+                .toList();
+    }
+
+    /**
+     * Accesos registrados en la ventana actual.
+     *
+     * @return total envejecido
+     */
+    public long total() {
+        return total.get();
+    }
+
+    /**
+     * Envejece las frecuencias a la mitad.
+     */
+    public synchronized void decay() {
+        sketch.halve();
+        total.updateAndGet(value -> value >>> 1);
+        top.replaceAll((key, value) -> value >>> 1);
+        top.values().removeIf(value -> value == 0);
+        updateThreshold();
+    }
+
+    private Map.Entry<UUID, Long> coldest() {
+        return top.entrySet().stream().min(Map.Entry.comparingByValue()).orElse(null);
+    }
+
+    private void updateThreshold() {
+        Map.Entry<UUID, Long> coldest = top.size() < capacity ? null : coldest();
+        threshold = coldest == null ? 0 : coldest.getValue();
+    }
+
+    /**
+     * Clave caliente.
+     *
+     * @param id       clave
+     * @param estimate frecuencia estimada en la ventana
+     * @param share    fracción estimada de los accesos
+     */
+    public record HotKey(UUID id, long estimate, double share) {
+    }
+}
@@ -0,0 +1,92 @@
+package com.infragest.infra_groups_service.hotkeys;
+
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Endpoint de actuator {@code hotkeys}: grupos y empleados más accedidos en la ventana actual.
+ *
+ * <ul>
+ *     <li>{@code GET /actuator/hotkeys?limit=20}: top de ambas clases.</li>
+ *     <li>{@code GET /actuator/hotkeys/group} o {@code /employee}: top de una clase.</li>
+ * </ul>
+ *
+ * @author bunnystring
+ * @since 2026-10-18
+ */
+@Component
+@Endpoint(id = "hotkeys")
+public class HotKeysEndpoint {
+
+    /**
+     * Claves devueltas por defecto.
+     */
+    private static final int DEFAULT_LIMIT = 20;
+
+    /**
+     * Inyección de dependencia: HotKeyRegistry
+     */
+    private final HotKeyRegistry registry;
+
+    /**
+     * Constructor.
+     *
+     * @param registry registro de frecuencias
+     */
+    public HotKeysEndpoint(HotKeyRegistry registry) {
+        this.registry = registry;
+    }
+
+    /**
+     * Top de todas las clases de clave.
+     *
+     * @param limit claves por clase
+     * @return informe por clase
+     */
+    @ReadOperation
+    public Map<String, Report> hotKeys(@Nullable Integer limit) {
+        Map<String, Report> reports = new LinkedHashMap<>();
+        for (HotKeyRegistry.Kind kind : HotKeyRegistry.Kind.values()) {
+            reports.put(kind.name().toLowerCase(Locale.ROOT), report(kind, limit));
+        }
+        return reports;
+    }
+
+    /**
+     * Top de una clase de clave.
+     *
+     * @param kind  {@code group} o {@code employee}
+     * @param limit claves devueltas
+     * @return informe, o {@code null} (404) si la clase no existe
+     */
+    @ReadOperation
+    public Report hotKeysOf(@Selector String kind, @Nullable Integer limit) {
+        try {
+            return report(HotKeyRegistry.Kind.valueOf(kind.toUpperCase(Locale.ROOT)), limit);
+        } catch (IllegalArgumentException ex) {
+            return null;
+        }
+    }
+
+    private Report report(HotKeyRegistry.Kind kind, @Nullable Integer limit) {
+        HotKeyTracker tracker = registry.tracker(kind);
+        return new Report(tracker.total(), tracker.hottest(limit == null || limit < 1 ? DEFAULT_LIMIT : limit));
+    }
+
+    /**
+     * Informe de una clase de clave.
+     *
+     * @param accesses accesos registrados en la ventana (envejecidos)
+     * @param keys     claves más frecuentes
+     */
+    public record Report(long accesses, List<HotKeyTracker.HotKey> keys) {
+    }
+}
@@ -0,0 +1,379 @@
+package com.infragest.infra_groups_service.membership;
+
+import com.infragest.infra_groups_service.config.datasource.ReadConsistencyContext;
+import com.infragest.infra_groups_service.events.DomainChangeEvent;
+import com.infragest.infra_groups_service.events.RemoteChangeEvent;
+import com.infragest.infra_groups_service.exception.GroupException;
+import com.infragest.infra_groups_service.model.MembershipExpression;
+import com.infragest.infra_groups_service.repository.GroupsRepository;
+import com.infragest.infra_groups_service.util.MessageException;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.roaringbitmap.FastAggregation;
+import org.roaringbitmap.RoaringBitmap;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.ToDoubleFunction;
+import java.util.stream.Stream;
+
+/**
+ * Índice en memoria de la membresía directa de los grupos como bitmaps comprimidos (Roaring).
+ *
+ * <p>Cada empleado recibe un ordinal denso al aparecer por primera vez y cada grupo guarda el
+ * bitmap de los ordinales de sus miembros. Las expresiones de unión, intersección y diferencia
+ * se evalúan sobre los bitmaps sin acceder a la base de datos.</p>
+ *
+ * <p>El índice se construye al arrancar desde {@code infra_group_employees}, se actualiza con los
+ * cambios confirmados de esta réplica y con los de otras réplicas (vía {@link RemoteChangeEvent}),
+ * y se reconstruye periódicamente como red de seguridad. Los cambios confirmados durante una reconstrucción se
+ * re-aplican sobre el índice nuevo antes de publicarlo. La carga completa lee siempre del primario.</p>
+ *
+ * @author bunnystring
+ * @since 2026-10-18
+ */
+@Slf4j
+@Component
+public class GroupMembershipIndex {
+
+    /**
+     * Inyección de dependencia: GroupsRepository
+     */
+    private final GroupsRepository groupRepository;
+
+    /**
+     * Transacción de solo lectura para la carga completa.
+     */
+    private final TransactionTemplate readOnlyTx;
+
+    /**
+     * Protege {@link #state} y {@link #pending}; las consultas toman el lock de lectura.
+     */
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    /**
+     * Serializa las reconstrucciones.
+     */
+    private final Object rebuildMonitor = new Object();
+
+    /**
+     * Estado publicado del índice.
+     */
+    private State state = new State();
+
+    /**
+     * Cambios recibidos durante una reconstrucción en curso; {@code null} si no hay ninguna.
+     */
+    private List<DomainChangeEvent> pending;
+
+    /**
+     * Indica si el índice se construyó al menos una vez.
+     */
+    private volatile boolean ready;
+
+    /**
+     * Duración de las reconstrucciones.
+     */
+    private final Timer rebuildTimer;
+
+    /**
+     * Constructor.
+     *
+     * @param groupRepository    repositorio de grupos
+     * @param transactionManager gestor de transacciones
+     * @param meterRegistry      registro de métricas
+     */
+    public GroupMembershipIndex(GroupsRepository groupRepository, PlatformTransactionManager transactionManager,
+                                MeterRegistry meterRegistry) {
+        this.groupRepository = groupRepository;
+        this.readOnlyTx = new TransactionTemplate(transactionManager);
+        this.readOnlyTx.setReadOnly(true);
+        this.rebuildTimer = Timer.builder("groups.membership.index.rebuild")
+                .description("Full rebuild of the membership bitmap index")
+                .register(meterRegistry);
+        gauge(meterRegistry, "groups.membership.index.groups", "Groups in the membership index", s -> s.groups.size());
+        gauge(meterRegistry, "groups.membership.index.employees", "Employee ordinals in the membership index",
+                s -> s.employees.size());
+        gauge(meterRegistry, "groups.membership.index.bytes", "Serialized size of the membership bitmaps",
+                s -> s.groups.values().stream().mapToLong(RoaringBitmap::getLongSizeInBytes).sum());
+    }
+
+    /**
+     * Construye el índice al arrancar la aplicación.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void onStartup() {
+        scheduledRebuild();
+    }
+
+    /**
+     * Reconstrucción periódica.
+     */
+    @Scheduled(initialDelayString = "${groups.membership.index.rebuild-interval-ms:600000}",
+            fixedDelayString = "${groups.membership.index.rebuild-interval-ms:600000}")
+    public void scheduledRebuild() {
+        try {
+            rebuild();
+        } catch (RuntimeException ex) {
+            log.error("Membership index rebuild failed", ex);
+        }
+    }
+
+    /**
+     * Aplica los cambios de membresía confirmados.
+     *
+     * @param event evento de cambio
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onChange(DomainChangeEvent event) {
+        switch (event.type()) {
+            case GROUP_CREATED, GROUP_DELETED, GROUP_MEMBERS_ADDED, GROUP_MEMBERS_REMOVED -> {
+                Lock writeLock = lock.writeLock();
+                writeLock.lock();
+                try {
+                    if (pending != null) {
+                        pending.add(event);
+                    }
+                    apply(state, event);
+                } finally {
+                    writeLock.unlock();
+                }
+            }
+            default -> {
+                // Los demás eventos no cambian la membresía
+            }
+        }
+    }
+
+    /**
+     * Aplica los cambios de membresía hechos por otras réplicas.
+     *
+     * @param event cambio remoto
+     */
+    @EventListener
+    public void onRemoteChange(RemoteChangeEvent event) {
+        onChange(event.change());
+    }
+
+    /**
+     * Reconstruye el índice completo desde la base de datos y lo publica.
+     */
+    public void rebuild() {
+        synchronized (rebuildMonitor) {
+            doRebuild();
+        }
+    }
+
+    /**
+     * Evalúa una expresión de conjuntos.
+     *
+     * @param expression expresión (ya validada)
+     * @param withIds    si se deben materializar los ids del resultado
+     * @return total y, si se pidió, ids de los empleados
+     * @throws GroupException si la expresión referencia un grupo inexistente
+     */
+    public Evaluation evaluate(MembershipExpression expression, boolean withIds) {
+        ensureReady();
+        Lock readLock = lock.readLock();
+        readLock.lock();
+        try {
+            RoaringBitmap result = evaluate(state, expression);
+            if (!withIds) {
+                return new Evaluation(result.getLongCardinality(), null);
+            }
+            List<UUID> ids = new ArrayList<>(result.getCardinality());
+            result.forEach((int ordinal) -> ids.add(state.employees.get(ordinal)));
+            return new Evaluation(ids.size(), ids);
+        } finally {
+            readLock.unlock();
+        }
+    }
+
+    private void ensureReady() {
+        if (!ready) {
+            synchronized (rebuildMonitor) {
+                if (!ready) {
+                    doRebuild();
+                }
+            }
+        }
+    }
+
+    private void doRebuild() {
+        Lock writeLock = lock.writeLock();
+        writeLock.lock();
+        try {
+            pending = new ArrayList<>();
+        } finally {
+            writeLock.unlock();
+        }
+
+        long start = System.nanoTime();
+        State fresh = null;
+        // Una réplica con retraso omitiría cambios confirmados antes de la carga, que ya no llegan como pendientes
+        boolean primaryRequired = ReadConsistencyContext.isPrimaryRequired();
+        ReadConsistencyContext.requirePrimary();
+        try {
+            fresh = readOnlyTx.execute(status -> load());
+        } finally {
+            if (!primaryRequired) {
+                ReadConsistencyContext.clear();
+            }
+            writeLock.lock();
+            try {
+                if (fresh != null) {
+                    // Los cambios confirmados durante la carga pueden no estar en ella; re-aplicarlos es idempotente
+                    for (DomainChangeEvent event : pending) {
+                        apply(fresh, event);
+                    }
+                    state = fresh;
+                    ready = true;
+                }
+                pending = null;
+            } finally {
+                writeLock.unlock();
+            }
+        }
+        rebuildTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        log.info("Membership index rebuilt: {} groups, {} employees", fresh.groups.size(), fresh.employees.size());
+    }
+
+    private State load() {
+        State fresh = new State();
+        for (UUID groupId : groupRepository.findAllIds()) {
+            fresh.groups.put(groupId, new RoaringBitmap());
+        }
+        try (Stream<Object[]> pairs = groupRepository.streamAllMemberPairs()) {
+            pairs.forEach(row -> fresh.groups
+                    .computeIfAbsent((UUID) row[0], id -> new RoaringBitmap())
+                    .add(fresh.ordinal((UUID) row[1])));
+        }
+        fresh.groups.values().forEach(RoaringBitmap::runOptimize);
+        return fresh;
+    }
+
+    /**
+     * Aplica un cambio sobre un estado. Debe llamarse con el lock de escritura tomado.
+     */
+    private static void apply(State target, DomainChangeEvent event) {
+        UUID groupId = event.aggregateId();
+        switch (event.type()) {
+            case GROUP_CREATED -> target.groups.putIfAbsent(groupId, new RoaringBitmap());
+            case GROUP_DELETED -> target.groups.remove(groupId);
+            case GROUP_MEMBERS_ADDED -> {
+                RoaringBitmap members = target.groups.computeIfAbsent(groupId, id -> new RoaringBitmap());
+                employeeIds(event).forEach(employeeId -> members.add(target.ordinal(employeeId)));
+            }
+            case GROUP_MEMBERS_REMOVED -> {
+                RoaringBitmap members = target.groups.get(groupId);
+                if (members != null) {
+                    for (UUID employeeId : employeeIds(event)) {
+                        Integer ordinal = target.ordinals.get(employeeId);
+                        if (ordinal != null) {
+                            members.remove(ordinal);
+                        }
+                    }
+                }
+            }
+            default -> {
+                // Sin efecto sobre la membresía
+            }
+        }
+    }
+
+    /**
+     * Ids de empleados del evento; en los cambios remotos llegan como texto desde el JSON del outbox.
+     */
+    private static List<UUID> employeeIds(DomainChangeEvent event) {
+        Object ids = event.payload().get("employeeIds");
+        if (!(ids instanceof Collection<?> c)) {
+            return List.of();
+        }
+        List<UUID> result = new ArrayList<>(c.size());
+        for (Object id : c) {
+            result.add(id instanceof UUID uuid ? uuid : UUID.fromString(id.toString()));
+        }
+        return result;
+    }
+
+    /**
+     * Evalúa recursivamente la expresión. El bitmap devuelto puede ser el propio de un grupo:
+     * no debe modificarse.
+     */
+    private static RoaringBitmap evaluate(State source, MembershipExpression node) {
+        if (node.isLeaf()) {
+            RoaringBitmap members = source.groups.get(node.getGroup());
+            if (members == null) {
+                throw new GroupException(MessageException.GROUP_NOT_FOUND.render(node.getGroup()),
+                        GroupException.Type.NOT_FOUND);
+            }
+            return members;
+        }
+        List<RoaringBitmap> operands = new ArrayList<>(node.getArgs().size());
+        for (MembershipExpression arg : node.getArgs()) {
+            operands.add(evaluate(source, arg));
+        }
+        return switch (node.getOp()) {
+            case OR -> FastAggregation.or(operands.iterator());
+            case AND -> FastAggregation.and(operands.iterator());
+            case MINUS -> RoaringBitmap.andNot(operands.get(0),
+                    FastAggregation.or(operands.subList(1, operands.size()).iterator()));
+        };
+    }
+
+    private void gauge(MeterRegistry registry, String name, String description, ToDoubleFunction<State> value) {
+        Gauge.builder(name, this, index -> {
+                    Lock readLock = index.lock.readLock();
+                    readLock.lock();
+                    try {
+                        return value.applyAsDouble(index.state);
+                    } finally {
+                        readLock.unlock();
+                    }
+                })
+                .description(description)
+                .register(registry);
+    }
+
+    /**
+     * Resultado de una evaluación.
+     *
+     * @param count total de empleados
+     * @param ids   ids de los empleados, o {@code null} si no se pidieron
+     */
+    public record Evaluation(long count, List<UUID> ids) {
+    }
+
+    /**
+     * Diccionario de ordinales y bitmaps por grupo.
+     */
+    private static final class State {
+        private final Map<UUID, RoaringBitmap> groups = new HashMap<>();
+        private final Map<UUID, Integer> ordinals = new HashMap<>();
+        private final List<UUID> employees = new ArrayList<>();
+
+        private int ordinal(UUID employeeId) {
+            return ordinals.computeIfAbsent(employeeId, id -> {
+                employees.add(id);
+                return employees.size() - 1;
+            });
+        }
+    }
+}
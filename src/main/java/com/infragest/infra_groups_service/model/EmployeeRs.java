@@ -1,6 +1,7 @@
 package com.infragest.infra_groups_service.model;
 
 import com.infragest.infra_groups_service.enums.EmployeStatus;
+import com.fasterxml.jackson.annotation.JsonInclude;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
@@ -10,6 +11,7 @@ import java.util.UUID;
 
 /**
  * DTO de respuesta con información completa del empleado.
+ * Las respuestas parciales usan {@link Sparse}.
  */
 @Data
 @NoArgsConstructor
@@ -26,4 +28,12 @@ public class EmployeeRs {
     private LocalDateTime updatedAt;
     private Long version;
 
+    /**
+     * Respuesta parcial ({@code fields=}, ver {@link FieldSelection}): los campos no solicitados
+     * quedan en {@code null} y no se serializan.
+     */
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    public static class Sparse extends EmployeeRs {
+    }
+
 }
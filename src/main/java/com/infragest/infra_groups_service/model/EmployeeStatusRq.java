@@ -0,0 +1,44 @@
+package com.infragest.infra_groups_service.model;
+
+import com.infragest.infra_groups_service.enums.EmployeStatus;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * DTO para cambiar el estado de varios empleados en una sola operación.
+ *
+ * @author bunnystring
+ * @since 2026-10-18
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class EmployeeStatusRq {
+
+    /**
+     * Identificadores (UUID) de los empleados; los repetidos se procesan una vez.
+     */
+    @NotEmpty(message = "ids no puede estar vacío")
+    @Size(max = LookupRq.MAX_IDS, message = "ids admite como máximo " + LookupRq.MAX_IDS + " elementos")
+    private List<UUID> ids;
+
+    /**
+     * Estado a aplicar.
+     */
+    @NotNull(message = "status es obligatorio")
+    private EmployeStatus status;
+
+    /**
+     * Si es {@code true}, retira a los empleados de todos sus grupos en la misma transacción.
+     * Solo se admite con estado {@code INACTIVE}.
+     */
+    private boolean removeFromGroups;
+
+}
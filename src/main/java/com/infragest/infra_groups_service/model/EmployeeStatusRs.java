@@ -0,0 +1,70 @@
+package com.infragest.infra_groups_service.model;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.infragest.infra_groups_service.enums.EmployeStatus;
+import com.infragest.infra_groups_service.enums.StatusChangeOutcome;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * DTO de respuesta del cambio de estado por lote.
+ *
+ * @author bunnystring
+ * @since 2026-10-18
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class EmployeeStatusRs {
+
+    /**
+     * Estado aplicado.
+     */
+    private EmployeStatus status;
+
+    /**
+     * Resultado por empleado, en el orden de la petición.
+     */
+    private Map<UUID, Result> results;
+
+    /**
+     * Número de empleados cuyo estado cambió.
+     */
+    private int updated;
+
+    /**
+     * Número de relaciones grupo-empleado eliminadas.
+     */
+    private int removedMemberships;
+
+    /**
+     * Resultado del cambio para un empleado.
+     */
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    public static class Result {
+
+        /**
+         * Resultado del cambio de estado.
+         */
+        private StatusChangeOutcome outcome;
+
+        /**
+         * Estado anterior ({@code null} si el empleado no existe).
+         */
+        private EmployeStatus previousStatus;
+
+        /**
+         * Grupos de los que se retiró al empleado ({@code null} si no se pidió la limpieza).
+         */
+        private List<UUID> removedFromGroups;
+    }
+
+}
@@ -0,0 +1,62 @@
+package com.infragest.infra_groups_service.model;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import com.infragest.infra_groups_service.enums.EmployeStatus;
+
+import java.io.IOException;
+import java.util.Collection;
+import java.util.UUID;
+
+/**
+ * Serializa los miembros de un grupo escribiendo cada campo directamente en el {@link JsonGenerator}.
+ *
+ * <p>Produce la misma salida que la serialización por bean de {@link EmployeeSummaryDto}
+ * ({@code id, fullName, email, status}, con nulos explícitos), pero sin reflexión por elemento ni
+ * DTOs intermedios. El id y el estado se escriben con los serializadores configurados en el
+ * mapper, por lo que CBOR y Smile siguen escribiendo el UUID como binario.</p>
+ *
+ * @author bunnystring
+ * @since 2026-10-18
+ */
+public class EmployeeSummariesSerializer extends StdSerializer<Collection<? extends EmployeeSummaryView>> {
+
+    /**
+     * Constructor usado por {@code @JsonSerialize}.
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public EmployeeSummariesSerializer() {
+        super((Class) Collection.class);
+    }
+
+    @Override
+    public void serialize(Collection<? extends EmployeeSummaryView> members, JsonGenerator gen,
+                          SerializerProvider provider) throws IOException {
+        JsonSerializer<Object> uuidSerializer = provider.findValueSerializer(UUID.class);
+        JsonSerializer<Object> statusSerializer = provider.findValueSerializer(EmployeStatus.class);
+
+        gen.writeStartArray(members, members.size());
+        for (EmployeeSummaryView member : members) {
+            gen.writeStartObject(member);
+            gen.writeFieldName("id");
+            writeValue(member.getId(), uuidSerializer, gen, provider);
+            gen.writeStringField("fullName", member.getFullName());
+            gen.writeStringField("email", member.getEmail());
+            gen.writeFieldName("status");
+            writeValue(member.getStatus(), statusSerializer, gen, provider);
+            gen.writeEndObject();
+        }
+        gen.writeEndArray();
+    }
+
+    private static void writeValue(Object value, JsonSerializer<Object> serializer, JsonGenerator gen,
+                                   SerializerProvider provider) throws IOException {
+        if (value == null) {
+            gen.writeNull();
+        } else {
+            serializer.serialize(value, gen, provider);
+        }
+    }
+}
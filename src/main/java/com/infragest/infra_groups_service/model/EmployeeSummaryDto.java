@@ -19,7 +19,7 @@ import java.util.UUID;
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
-public class EmployeeSummaryDto {
+public class EmployeeSummaryDto implements EmployeeSummaryView {
 
     /**
      * Identificador único del empleado (UUID).
@@ -0,0 +1,37 @@
+package com.infragest.infra_groups_service.model;
+
+import com.infragest.infra_groups_service.enums.EmployeStatus;
+
+import java.util.UUID;
+
+/**
+ * Vista de solo lectura de los campos de un empleado que se publican como miembro de un grupo.
+ *
+ * <p>La implementa {@link EmployeeSummaryDto}, construido directamente desde la consulta de resumen
+ * de miembros; {@link EmployeeSummariesSerializer} escribe sus campos sin serialización por bean.</p>
+ *
+ * @author bunnystring
+ * @since 2026-10-18
+ */
+public interface EmployeeSummaryView {
+
+    /**
+     * @return identificador del empleado
+     */
+    UUID getId();
+
+    /**
+     * @return nombre completo
+     */
+    String getFullName();
+
+    /**
+     * @return correo electrónico
+     */
+    String getEmail();
+
+    /**
+     * @return estado del empleado
+     */
+    EmployeStatus getStatus();
+}
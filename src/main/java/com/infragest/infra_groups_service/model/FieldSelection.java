@@ -0,0 +1,105 @@
+package com.infragest.infra_groups_service.model;
+
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.Locale;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Selección de campos y expansiones solicitada por el cliente
+ * mediante los parámetros {@code fields=} y {@code expand=}.
+ *
+ * <p>Sin parámetros se devuelve la representación completa (comportamiento histórico).
+ * Con {@code fields} solo se seleccionan esas columnas (más {@code id}); las asociaciones
+ * solo se cargan si se piden en {@code expand} (o como campo, p. ej. {@code fields=name,employees}).</p>
+ *
+ * @param fields          campos escalares solicitados; {@code null} significa todos
+ * @param expandEmployees si se debe cargar la asociación {@code employees}
+ * @author bunnystring
+ * @since 2026-10-18
+ */
+public record FieldSelection(Set<String> fields, boolean expandEmployees) {
+
+    /**
+     * Nombre de la expansión de empleados.
+     */
+    public static final String EMPLOYEES = "employees";
+
+    /**
+     * Representación completa, incluyendo empleados.
+     */
+    public static final FieldSelection ALL = new FieldSelection(null, true);
+
+    /**
+     * Construye la selección a partir de los parámetros de la petición.
+     *
+     * @param fields campos solicitados (puede ser {@code null})
+     * @param expand asociaciones a expandir (puede ser {@code null})
+     * @return selección normalizada
+     */
+    public static FieldSelection of(Collection<String> fields, Collection<String> expand) {
+        if (fields == null && expand == null) {
+            return ALL;
+        }
+        Set<String> requested = normalize(fields);
+        Set<String> expansions = normalize(expand);
+        boolean expandEmployees = expansions.contains(EMPLOYEES) || requested.remove(EMPLOYEES);
+        return new FieldSelection(fields == null ? null : requested, expandEmployees);
+    }
+
+    /**
+     * Indica si se solicitaron todos los campos escalares.
+     *
+     * @return true si no se restringieron los campos
+     */
+    public boolean allFields() {
+        return fields == null;
+    }
+
+    /**
+     * Devuelve los atributos a seleccionar, siempre incluyendo {@code id} en primer lugar.
+     *
+     * @param available atributos disponibles del recurso, en orden
+     * @return atributos a consultar
+     */
+    public Set<String> attributes(Collection<String> available) {
+        Set<String> result = new LinkedHashSet<>();
+        result.add("id");
+        for (String attribute : available) {
+            if (allFields() || fields.contains(attribute.toLowerCase(Locale.ROOT))) {
+                result.add(attribute);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Devuelve los campos solicitados que no existen en el recurso.
+     *
+     * @param available atributos disponibles del recurso
+     * @return campos desconocidos (vacío si todos son válidos)
+     */
+    public Set<String> unknown(Collection<String> available) {
+        if (allFields()) {
+            return Set.of();
+        }
+        Set<String> known = normalize(available);
+        Set<String> unknown = new TreeSet<>(fields);
+        unknown.removeAll(known);
+        unknown.remove("id");
+        return unknown;
+    }
+
+    private static Set<String> normalize(Collection<String> values) {
+        Set<String> result = new TreeSet<>();
+        if (values != null) {
+            for (String value : values) {
+                if (value != null && !value.isBlank()) {
+                    result.add(value.trim().toLowerCase(Locale.ROOT));
+                }
+            }
+        }
+        return result;
+    }
+}
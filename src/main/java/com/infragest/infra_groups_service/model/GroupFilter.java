@@ -0,0 +1,88 @@
+package com.infragest.infra_groups_service.model;
+
+import com.infragest.infra_groups_service.exception.GroupException;
+import com.infragest.infra_groups_service.util.MessageException;
+import org.springframework.data.domain.Sort;
+
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Filtro y ordenamiento para el listado de grupos.
+ *
+ * <p>Permite filtrar por número de miembros ({@code minMembers}/{@code maxMembers}) y ordenar
+ * con el formato {@code sort=propiedad[,asc|desc]} sobre las propiedades permitidas.</p>
+ *
+ * <p>El número de miembros se filtra y ordena sobre la columna indexada
+ * ({@link #MEMBER_COUNT_ATTRIBUTE}), que puede ir por detrás del valor devuelto hasta un intervalo
+ * del plegado de stripes.</p>
+ *
+ * @param minMembers número mínimo de miembros (inclusive), o {@code null}
+ * @param maxMembers número máximo de miembros (inclusive), o {@code null}
+ * @param sort       ordenamiento a aplicar
+ * @author bunnystring
+ * @since 2026-10-18
+ */
+public record GroupFilter(Long minMembers, Long maxMembers, Sort sort) {
+
+    /**
+     * Propiedades por las que se permite ordenar.
+     */
+    public static final List<String> SORTABLE = List.of("name", "memberCount", "createdAt", "updatedAt");
+
+    /**
+     * Atributo de la entidad sobre el que se filtra y ordena por número de miembros.
+     */
+    public static final String MEMBER_COUNT_ATTRIBUTE = "indexedMemberCount";
+
+    /**
+     * Sin filtro ni ordenamiento.
+     */
+    public static final GroupFilter NONE = new GroupFilter(null, null, Sort.unsorted());
+
+    /**
+     * Construye el filtro a partir de los parámetros de la petición.
+     *
+     * @param minMembers mínimo de miembros
+     * @param maxMembers máximo de miembros
+     * @param sort       expresión {@code propiedad[,asc|desc]}
+     * @return filtro normalizado
+     * @throws GroupException con Type.BAD_REQUEST si la propiedad, la dirección o el rango no son válidos
+     */
+    public static GroupFilter of(Long minMembers, Long maxMembers, String sort) {
+        if (minMembers == null && maxMembers == null && (sort == null || sort.isBlank())) {
+            return NONE;
+        }
+        if ((minMembers != null && minMembers < 0) || (minMembers != null && maxMembers != null && minMembers > maxMembers)) {
+            throw new GroupException(MessageException.INVALID_REQUEST, GroupException.Type.BAD_REQUEST);
+        }
+        return new GroupFilter(minMembers, maxMembers, parseSort(sort));
+    }
+
+    /**
+     * Indica si el filtro restringe o reordena el listado.
+     *
+     * @return true si no hay filtro ni ordenamiento
+     */
+    public boolean isNone() {
+        return minMembers == null && maxMembers == null && sort.isUnsorted();
+    }
+
+    private static Sort parseSort(String sort) {
+        if (sort == null || sort.isBlank()) {
+            return Sort.unsorted();
+        }
+        String[] parts = sort.split(",");
+        String property = SORTABLE.stream()
+                .filter(p -> p.equalsIgnoreCase(parts[0].trim()))
+                .findFirst()
+                .orElseThrow(() -> new GroupException(
+                        MessageException.INVALID_SORT.render(sort), GroupException.Type.BAD_REQUEST));
+        Sort.Direction direction = parts.length > 1
+                ? Sort.Direction.fromOptionalString(parts[1].trim().toUpperCase(Locale.ROOT))
+                .orElseThrow(() -> new GroupException(
+                        MessageException.INVALID_SORT.render(sort), GroupException.Type.BAD_REQUEST))
+                : Sort.Direction.ASC;
+        return Sort.by(direction, "memberCount".equals(property) ? MEMBER_COUNT_ATTRIBUTE : property);
+    }
+}
@@ -1,16 +1,25 @@
 package com.infragest.infra_groups_service.model;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import io.swagger.v3.oas.annotations.media.ArraySchema;
+import io.swagger.v3.oas.annotations.media.Schema;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
 import java.time.LocalDateTime;
-import java.util.Set;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
 import java.util.UUID;
 
 /**
  * DTO de respuesta para un Group.
+ * La representación completa serializa todos los campos, incluso los nulos; las respuestas parciales
+ * usan {@link Sparse}.
  *
  * @author bunnystring
  * @since 2025-11-08
@@ -46,9 +55,52 @@ public class GroupRs {
      */
     private LocalDateTime updatedAt;
 
+    /**
+     * Número de miembros del grupo.
+     */
+    private Long memberCount;
+
     /**
      * Empleados asociados al grupo en forma resumida.
+     * Se lee de la consulta de resumen de miembros (ver {@link EmployeeSummaryView}), se serializa en
+     * streaming y se deserializa como {@link EmployeeSummaryDto}.
+     */
+    @JsonSerialize(using = EmployeeSummariesSerializer.class)
+    @JsonDeserialize(contentAs = EmployeeSummaryDto.class)
+    @ArraySchema(schema = @Schema(implementation = EmployeeSummaryDto.class))
+    private Collection<? extends EmployeeSummaryView> employees;
+
+    /**
+     * Copia independiente de la respuesta, del mismo tipo (completa o {@link Sparse}), con la lista de
+     * miembros y sus resúmenes también copiados.
+     *
+     * @return copia de la respuesta
+     */
+    public GroupRs copy() {
+        GroupRs copy = this instanceof Sparse ? new Sparse() : new GroupRs();
+        copy.setId(id);
+        copy.setName(name);
+        copy.setAddress(address);
+        copy.setCreatedAt(createdAt);
+        copy.setUpdatedAt(updatedAt);
+        copy.setMemberCount(memberCount);
+        if (employees != null) {
+            List<EmployeeSummaryDto> members = new ArrayList<>(employees.size());
+            for (EmployeeSummaryView e : employees) {
+                members.add(new EmployeeSummaryDto(e.getId(), e.getFullName(), e.getEmail(), e.getStatus()));
+            }
+            copy.setEmployees(members);
+        }
+        return copy;
+    }
+
+    /**
+     * Respuesta parcial ({@code fields=} / {@code expand=}, ver {@link FieldSelection}): los campos no
+     * solicitados quedan en {@code null} y no se serializan. Un campo solicitado cuyo valor es
+     * {@code null} tampoco aparece.
      */
-    private Set<EmployeeSummaryDto> employees;
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    public static class Sparse extends GroupRs {
+    }
 
 }
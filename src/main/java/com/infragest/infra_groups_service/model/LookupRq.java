@@ -0,0 +1,35 @@
+package com.infragest.infra_groups_service.model;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * DTO para la búsqueda por lote de recursos por id.
+ *
+ * @author bunnystring
+ * @since 2026-10-18
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class LookupRq {
+
+    /**
+     * Número máximo de ids por petición.
+     */
+    public static final int MAX_IDS = 5000;
+
+    /**
+     * Identificadores (UUID) a resolver; los repetidos se resuelven una vez.
+     */
+    @NotEmpty(message = "ids no puede estar vacío")
+    @Size(max = MAX_IDS, message = "ids admite como máximo " + MAX_IDS + " elementos")
+    private List<UUID> ids;
+
+}
@@ -0,0 +1,33 @@
+package com.infragest.infra_groups_service.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * DTO de respuesta de la búsqueda por lote.
+ *
+ * @param <T> tipo del recurso
+ * @author bunnystring
+ * @since 2026-10-18
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class LookupRs<T> {
+
+    /**
+     * Recursos por id, en el orden de la petición; los ids inexistentes tienen valor {@code null}.
+     */
+    private Map<UUID, T> results;
+
+    /**
+     * Ids que no existen.
+     */
+    private List<UUID> missing;
+
+}
@@ -0,0 +1,47 @@
+package com.infragest.infra_groups_service.model;
+
+import com.infragest.infra_groups_service.enums.SetOperation;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Nodo de una expresión de conjuntos sobre la membresía de grupos.
+ *
+ * Un nodo es una hoja ({@code group}: los miembros directos del grupo) o una operación
+ * ({@code op} sobre {@code args}). Por ejemplo, "miembros de A que no están en B":
+ * <pre>{"op": "MINUS", "args": [{"group": "A"}, {"group": "B"}]}</pre>
+ *
+ * @author bunnystring
+ * @since 2026-10-18
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class MembershipExpression {
+
+    /**
+     * Grupo de la hoja; {@code null} en los nodos de operación.
+     */
+    private UUID group;
+
+    /**
+     * Operación del nodo; {@code null} en las hojas.
+     */
+    private SetOperation op;
+
+    /**
+     * Operandos de la operación.
+     */
+    private List<MembershipExpression> args;
+
+    /**
+     * Indica si el nodo es una hoja.
+     */
+    public boolean isLeaf() {
+        return group != null;
+    }
+}
@@ -0,0 +1,30 @@
+package com.infragest.infra_groups_service.model;
+
+import com.infragest.infra_groups_service.enums.MembershipOutput;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * DTO de una consulta de membresía por expresión de conjuntos.
+ *
+ * @author bunnystring
+ * @since 2026-10-18
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class MembershipQueryRq {
+
+    /**
+     * Expresión a evaluar.
+     */
+    @NotNull(message = "expression es obligatorio")
+    private MembershipExpression expression;
+
+    /**
+     * Formato del resultado; por defecto {@link MembershipOutput#IDS}.
+     */
+    private MembershipOutput output = MembershipOutput.IDS;
+}
@@ -0,0 +1,40 @@
+package com.infragest.infra_groups_service.model;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * DTO de respuesta de una consulta de membresía.
+ * Solo se serializa la lista correspondiente al formato solicitado.
+ *
+ * @author bunnystring
+ * @since 2026-10-18
+ */
+@Data
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class MembershipQueryRs {
+
+    /**
+     * Número de empleados que cumplen la expresión.
+     */
+    private long count;
+
+    /**
+     * Ids de los empleados (formato IDS).
+     */
+    private List<UUID> ids;
+
+    /**
+     * Correos de los empleados (formato EMAILS).
+     */
+    private List<String> emails;
+}
@@ -0,0 +1,54 @@
+package com.infragest.infra_groups_service.model;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.UUID;
+
+/**
+ * DTO de respuesta de las operaciones de membresía por conjunto (copiar, mover, vaciar).
+ * En el vaciado solo se informan el grupo y las relaciones eliminadas.
+ *
+ * @author bunnystring
+ * @since 2026-10-18
+ */
+@Data
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class MembershipTransferRs {
+
+    /**
+     * Grupo de origen (o grupo vaciado).
+     */
+    private UUID sourceGroupId;
+
+    /**
+     * Grupo de destino.
+     */
+    private UUID targetGroupId;
+
+    /**
+     * Empleados añadidos al grupo de destino.
+     */
+    private Integer added;
+
+    /**
+     * Empleados activos que ya pertenecían al grupo de destino.
+     */
+    private Integer alreadyMembers;
+
+    /**
+     * Empleados inactivos que no se copiaron (y, al mover, permanecen en el origen).
+     */
+    private Integer skippedInactive;
+
+    /**
+     * Relaciones eliminadas del grupo de origen.
+     */
+    private Integer removed;
+}
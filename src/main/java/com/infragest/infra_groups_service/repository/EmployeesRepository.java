@@ -1,8 +1,17 @@
 package com.infragest.infra_groups_service.repository;
 
 import com.infragest.infra_groups_service.entity.Employees;
+import com.infragest.infra_groups_service.enums.EmployeStatus;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -36,4 +45,38 @@ public interface EmployeesRepository extends JpaRepository<Employees, UUID> {
      */
     Optional<Employees> findByEmail(String email);
 
+    /**
+     * Obtiene los correos de los empleados indicados.
+     * @param ids ids de los empleados
+     * @return correos (sin orden garantizado)
+     */
+    @Query("SELECT e.email FROM Employees e WHERE e.id IN :ids")
+    List<String> findEmailsByIdIn(@Param("ids") Collection<UUID> ids);
+
+    /**
+     * Obtiene y bloquea id, email, estado y nombre completo de los empleados indicados.
+     * El bloqueo evita que el estado cambie entre la lectura y la actualización por lote.
+     *
+     * @param ids ids de los empleados
+     * @return filas (id, email, estado, nombre completo) de los empleados existentes
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT e.id, e.email, e.status, e.fullName FROM Employees e WHERE e.id IN :ids")
+    List<Object[]> lockStatusSummaries(@Param("ids") Collection<UUID> ids);
+
+    /**
+     * Cambia el estado de los empleados indicados que aún no lo tienen, en una sola sentencia.
+     * Al ser una actualización masiva, incrementa la versión y la fecha de actualización explícitamente.
+     *
+     * @param ids       ids de los empleados
+     * @param status    estado a aplicar
+     * @param updatedAt fecha de actualización
+     * @return número de empleados actualizados
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Employees e SET e.status = :status, e.updatedAt = :updatedAt, e.version = e.version + 1 " +
+            "WHERE e.id IN :ids AND e.status <> :status")
+    int updateStatus(@Param("ids") Collection<UUID> ids, @Param("status") EmployeStatus status,
+                     @Param("updatedAt") LocalDateTime updatedAt);
+
 }
@@ -0,0 +1,129 @@
+package com.infragest.infra_groups_service.repository;
+
+import com.infragest.infra_groups_service.entity.GroupClosure;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Repositorio de la tabla de cierre de la jerarquía de grupos.
+ *
+ * Las escrituras son sentencias set-based sobre la tabla; las lecturas transitivas
+ * son un único join indexado por {@code ancestor_id}.
+ *
+ * @author bunnystring
+ * @since 2026-10-18
+ */
+public interface GroupClosureRepository extends JpaRepository<GroupClosure, GroupClosure.Key> {
+
+    /**
+     * Inserta la fila (grupo, grupo, 0) si no existe.
+     *
+     * @param groupId id del grupo
+     * @return filas insertadas
+     */
+    @Modifying
+    @Query(value = "INSERT IGNORE INTO infra_group_closure (ancestor_id, descendant_id, depth) VALUES (:groupId, :groupId, 0)",
+            nativeQuery = true)
+    int insertSelf(@Param("groupId") UUID groupId);
+
+    /**
+     * Inserta la fila propia de todos los grupos que no la tengan (grupos anteriores a la jerarquía).
+     *
+     * @return filas insertadas
+     */
+    @Modifying
+    @Query(value = "INSERT IGNORE INTO infra_group_closure (ancestor_id, descendant_id, depth) SELECT id, id, 0 FROM infra_groups",
+            nativeQuery = true)
+    int insertMissingSelfRows();
+
+    /**
+     * Comprueba si existe una ruta de {@code ancestorId} a {@code descendantId} (incluye el mismo grupo).
+     */
+    boolean existsByAncestorIdAndDescendantId(UUID ancestorId, UUID descendantId);
+
+    /**
+     * Comprueba si el grupo tiene hijos directos.
+     */
+    @Query("SELECT COUNT(c) > 0 FROM GroupClosure c WHERE c.ancestorId = :groupId AND c.depth = 1")
+    boolean hasChildren(@Param("groupId") UUID groupId);
+
+    /**
+     * Obtiene el padre directo del grupo.
+     */
+    @Query("SELECT c.ancestorId FROM GroupClosure c WHERE c.descendantId = :groupId AND c.depth = 1")
+    Optional<UUID> findParentId(@Param("groupId") UUID groupId);
+
+    /**
+     * Obtiene los hijos directos del grupo.
+     */
+    @Query("SELECT c.descendantId FROM GroupClosure c WHERE c.ancestorId = :groupId AND c.depth = 1")
+    List<UUID> findChildIds(@Param("groupId") UUID groupId);
+
+    /**
+     * Devuelve los correos (sin repetir) de los miembros del grupo y de todos sus descendientes.
+     *
+     * @param rootId grupo raíz
+     * @return correos de los miembros transitivos
+     */
+    @Query("SELECT DISTINCT e.email FROM GroupClosure c JOIN Group g ON g.id = c.descendantId JOIN g.employees e "
+            + "WHERE c.ancestorId = :rootId")
+    List<String> findTransitiveMemberEmails(@Param("rootId") UUID rootId);
+
+    /**
+     * Devuelve los miembros (sin repetir) del grupo y de todos sus descendientes.
+     * Cada fila contiene: id, nombre completo, email y estado del empleado.
+     *
+     * @param rootId grupo raíz
+     * @return filas de resumen de los miembros transitivos
+     */
+    @Query("SELECT DISTINCT e.id, e.fullName, e.email, e.status FROM GroupClosure c "
+            + "JOIN Group g ON g.id = c.descendantId JOIN g.employees e WHERE c.ancestorId = :rootId")
+    List<Object[]> findTransitiveMemberSummaries(@Param("rootId") UUID rootId);
+
+    /**
+     * Enlaza el subárbol de {@code childId} bajo {@code parentId}: una fila por cada par
+     * (ancestro del padre, descendiente del hijo).
+     *
+     * @return filas insertadas
+     */
+    @Modifying(flushAutomatically = true)
+    @Query(value = "INSERT INTO infra_group_closure (ancestor_id, descendant_id, depth) "
+            + "SELECT a.ancestor_id, d.descendant_id, a.depth + d.depth + 1 "
+            + "FROM infra_group_closure a JOIN infra_group_closure d "
+            + "ON a.descendant_id = :parentId AND d.ancestor_id = :childId",
+            nativeQuery = true)
+    int attach(@Param("parentId") UUID parentId, @Param("childId") UUID childId);
+
+    /**
+     * Separa el subárbol de {@code childId} de sus ancestros: borra las rutas que entran al
+     * subárbol desde fuera de él, conservando las internas.
+     *
+     * Las subconsultas van envueltas en tablas derivadas: MySQL/MariaDB no permiten leer en un
+     * {@code DELETE} la misma tabla que se borra salvo materializándola antes.
+     *
+     * @return filas borradas
+     */
+    @Modifying(flushAutomatically = true)
+    @Query(value = "DELETE FROM infra_group_closure "
+            + "WHERE descendant_id IN (SELECT s.id FROM (SELECT descendant_id AS id FROM infra_group_closure "
+            + "WHERE ancestor_id = :childId) s) "
+            + "AND ancestor_id IN (SELECT p.id FROM (SELECT ancestor_id AS id FROM infra_group_closure "
+            + "WHERE descendant_id = :childId AND depth > 0) p)",
+            nativeQuery = true)
+    int detach(@Param("childId") UUID childId);
+
+    /**
+     * Borra todas las filas en que el grupo es descendiente (el grupo debe ser una hoja).
+     *
+     * @return filas borradas
+     */
+    @Modifying
+    @Query("DELETE FROM GroupClosure c WHERE c.descendantId = :groupId")
+    int deleteLeaf(@Param("groupId") UUID groupId);
+}
@@ -0,0 +1,40 @@
+package com.infragest.infra_groups_service.repository;
+
+import com.infragest.infra_groups_service.entity.GroupHierarchyLock;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+
+import java.util.Optional;
+
+/**
+ * Repositorio de la fila centinela de la jerarquía de grupos.
+ *
+ * @author bunnystring
+ * @since 2026-10-18
+ */
+public interface GroupHierarchyLockRepository extends JpaRepository<GroupHierarchyLock, Integer> {
+
+    /**
+     * Bloquea la fila centinela ({@code SELECT ... FOR UPDATE}) hasta el fin de la transacción.
+     *
+     * @return id de la fila, vacío si aún no existe
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT l.id FROM GroupHierarchyLock l WHERE l.id = " + GroupHierarchyLock.SENTINEL_ID)
+    Optional<Integer> lockSentinel();
+
+    /**
+     * Crea la fila centinela si no existe. Solo se usa cuando {@link #lockSentinel()} no la encontró:
+     * un {@code INSERT IGNORE} sobre una fila existente toma un lock compartido que, combinado con el
+     * {@code FOR UPDATE} posterior, interbloquearía dos transacciones concurrentes.
+     *
+     * @return filas insertadas
+     */
+    @Modifying
+    @Query(value = "INSERT IGNORE INTO infra_group_hierarchy_lock (id) VALUES (" + GroupHierarchyLock.SENTINEL_ID + ")",
+            nativeQuery = true)
+    int insertSentinel();
+}
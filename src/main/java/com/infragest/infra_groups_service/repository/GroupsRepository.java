@@ -1,9 +1,27 @@
 package com.infragest.infra_groups_service.repository;
 
 import com.infragest.infra_groups_service.entity.Group;
+import com.infragest.infra_groups_service.entity.GroupMemberCount;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
 
 /**
  * Repositorio JPA para la entidad {@link Group}.
@@ -37,4 +55,281 @@ public interface GroupsRepository extends JpaRepository<Group, UUID> {
      * @return true si existe o false en caso de que no exista
      */
     boolean existsByEmployees_Id(UUID employeeId);
+
+    /**
+     * Devuelve, de entre los ids indicados, los empleados que ya pertenecen al grupo.
+     * Consulta solo la tabla de relación, sin cargar la colección completa.
+     *
+     * @param groupId     identificador del grupo
+     * @param employeeIds ids de empleados a comprobar
+     * @return ids que ya son miembros del grupo
+     */
+    @Query("SELECT e.id FROM Group g JOIN g.employees e WHERE g.id = :groupId AND e.id IN :employeeIds")
+    Set<UUID> findMemberIds(@Param("groupId") UUID groupId, @Param("employeeIds") Collection<UUID> employeeIds);
+
+    /**
+     * Inserta la relación grupo-empleado para los empleados activos indicados.
+     * Escribe únicamente en {@code infra_group_employees}: no incrementa la versión del grupo.
+     * Las filas ya existentes se ignoran, por lo que es idempotente ante asignaciones concurrentes.
+     *
+     * @param groupId     identificador del grupo
+     * @param employeeIds ids de empleados a asignar
+     * @return número de filas insertadas
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query(value = "INSERT IGNORE INTO infra_group_employees (group_id, employee_id) " +
+            "SELECT :groupId, e.id FROM infra_employees e " +
+            "WHERE e.id IN (:employeeIds) AND e.status = 'ACTIVE'", nativeQuery = true)
+    int insertMembers(@Param("groupId") UUID groupId, @Param("employeeIds") Collection<UUID> employeeIds);
+
+    /**
+     * Elimina del grupo las relaciones de los empleados indicados sin tocar la fila del grupo.
+     *
+     * @param groupId     identificador del grupo
+     * @param employeeIds ids de los empleados
+     * @return número de filas eliminadas
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query(value = "DELETE FROM infra_group_employees WHERE group_id = :groupId AND employee_id IN (:employeeIds)",
+            nativeQuery = true)
+    int deleteMembers(@Param("groupId") UUID groupId, @Param("employeeIds") Collection<UUID> employeeIds);
+
+    /**
+     * Elimina la relación grupo-empleado sin tocar la fila del grupo.
+     *
+     * @param groupId    identificador del grupo
+     * @param employeeId identificador del empleado
+     * @return número de filas eliminadas (0 si el empleado no pertenecía al grupo)
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query(value = "DELETE FROM infra_group_employees WHERE group_id = :groupId AND employee_id = :employeeId",
+            nativeQuery = true)
+    int deleteMember(@Param("groupId") UUID groupId, @Param("employeeId") UUID employeeId);
+
+    /**
+     * Devuelve y bloquea los miembros directos de un grupo. Solo quedan bloqueadas las filas de relación
+     * (no la fila del grupo): ningún otro escritor puede borrarlas hasta el fin de la transacción.
+     *
+     * @param groupId identificador del grupo
+     * @return ids de los miembros
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT m.employeeId FROM GroupMember m WHERE m.groupId = :groupId")
+    List<UUID> lockMemberIds(@Param("groupId") UUID groupId);
+
+    /**
+     * Devuelve y bloquea, de entre los empleados indicados, los que ya pertenecen al grupo.
+     * Solo quedan bloqueadas las filas de relación encontradas.
+     *
+     * @param groupId     identificador del grupo
+     * @param employeeIds ids de empleados a comprobar
+     * @return ids que ya son miembros del grupo
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT m.employeeId FROM GroupMember m WHERE m.groupId = :groupId AND m.employeeId IN :employeeIds")
+    Set<UUID> lockMemberIds(@Param("groupId") UUID groupId, @Param("employeeIds") Collection<UUID> employeeIds);
+
+    /**
+     * Devuelve y bloquea id y estado de los miembros directos de un grupo. Quedan bloqueadas las relaciones
+     * y los empleados, no la fila del grupo: ni la membresía ni el estado leídos cambian hasta el fin de
+     * la transacción, y ninguna asignación de esos empleados puede intercalarse.
+     *
+     * @param groupId identificador del grupo
+     * @return filas (id, estado) de los miembros
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT e.id, e.status FROM GroupMember m JOIN Employees e ON e.id = m.employeeId WHERE m.groupId = :groupId")
+    List<Object[]> lockMemberStatuses(@Param("groupId") UUID groupId);
+
+    /**
+     * Devuelve, sin bloquear, los grupos de los que son miembros los empleados indicados.
+     *
+     * @param employeeIds ids de los empleados
+     * @return ids de los grupos, sin repetir
+     */
+    @Query("SELECT DISTINCT m.groupId FROM GroupMember m WHERE m.employeeId IN :employeeIds")
+    List<UUID> findGroupIdsByEmployeeIds(@Param("employeeIds") Collection<UUID> employeeIds);
+
+    /**
+     * Devuelve y bloquea las relaciones grupo-empleado de los empleados indicados como pares
+     * (id del grupo, id del empleado). Solo quedan bloqueadas las filas de relación, no las de los grupos.
+     *
+     * @param employeeIds ids de los empleados
+     * @return pares de membresía
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT m.groupId, m.employeeId FROM GroupMember m WHERE m.employeeId IN :employeeIds")
+    List<Object[]> lockMemberPairsByEmployeeIds(@Param("employeeIds") Collection<UUID> employeeIds);
+
+    /**
+     * Elimina todas las relaciones grupo-empleado de los empleados indicados sin tocar las filas de los grupos.
+     *
+     * @param employeeIds ids de los empleados
+     * @return número de filas eliminadas
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query(value = "DELETE FROM infra_group_employees WHERE employee_id IN (:employeeIds)", nativeQuery = true)
+    int deleteMembershipsOfEmployees(@Param("employeeIds") Collection<UUID> employeeIds);
+
+    /**
+     * Devuelve los datos resumidos de los miembros de los grupos indicados.
+     * Cada fila contiene: id del grupo, id, nombre completo, email y estado del empleado.
+     *
+     * @param groupIds ids de los grupos
+     * @return filas de resumen de miembros
+     */
+    @Query("SELECT g.id, e.id, e.fullName, e.email, e.status FROM Group g JOIN g.employees e WHERE g.id IN :groupIds")
+    List<Object[]> findMemberSummaries(@Param("groupIds") Collection<UUID> groupIds);
+
+    /**
+     * Obtiene los ids de todos los grupos.
+     *
+     * @return ids de los grupos
+     */
+    @Query("SELECT g.id FROM Group g")
+    List<UUID> findAllIds();
+
+    /**
+     * Ids de los grupos con más miembros, de mayor a menor.
+     *
+     * @param pageable tamaño de la página
+     * @return ids de los grupos
+     */
+    @Query("SELECT g.id FROM Group g ORDER BY g.indexedMemberCount DESC")
+    List<UUID> findIdsByLargestMemberCount(Pageable pageable);
+
+    /**
+     * Recorre todas las relaciones grupo-empleado como pares (id del grupo, id del empleado).
+     * Debe consumirse dentro de una transacción y cerrarse al terminar.
+     *
+     * @return pares de membresía
+     */
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "1000"))
+    @Query("SELECT g.id, e.id FROM Group g JOIN g.employees e")
+    Stream<Object[]> streamAllMemberPairs();
+
+    /**
+     * Lista los grupos cuyo número de miembros indexado está en el rango indicado.
+     *
+     * @param min  mínimo de miembros (inclusive)
+     * @param max  máximo de miembros (inclusive)
+     * @param sort ordenamiento
+     * @return grupos en el rango
+     */
+    List<Group> findByIndexedMemberCountBetween(long min, long max, Sort sort);
+
+    /**
+     * Obtiene el número de miembros de un grupo sin cargar la colección.
+     *
+     * @param id identificador del grupo
+     * @return Optional con el número de miembros, vacío si el grupo no existe
+     */
+    @Query("SELECT g.memberCount FROM Group g WHERE g.id = :id")
+    Optional<Long> findMemberCountById(@Param("id") UUID id);
+
+    /**
+     * Suma {@code delta} al número de miembros del grupo en un stripe elegido al azar.
+     * No toca la fila del grupo: dos ajustes concurrentes del mismo grupo solo se esperan si
+     * coinciden en stripe. La primera escritura en un stripe crea su fila.
+     *
+     * @param id    identificador del grupo
+     * @param delta variación (positiva o negativa)
+     */
+    default void adjustMemberCount(UUID id, long delta) {
+        addToMemberCountStripe(id, ThreadLocalRandom.current().nextInt(GroupMemberCount.STRIPES), delta);
+    }
+
+    /**
+     * Suma {@code delta} a un stripe del número de miembros del grupo, creándolo si no existe,
+     * en una única sentencia.
+     *
+     * @param id     identificador del grupo
+     * @param stripe stripe
+     * @param delta  variación
+     * @return número de filas afectadas
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query(value = "INSERT INTO infra_group_member_counts (group_id, stripe, delta) VALUES (:id, :stripe, :delta) " +
+            "ON DUPLICATE KEY UPDATE delta = delta + :delta", nativeQuery = true)
+    int addToMemberCountStripe(@Param("id") UUID id, @Param("stripe") int stripe, @Param("delta") long delta);
+
+    /**
+     * Elimina el grupo solo si no tiene relaciones en {@code infra_group_employees}.
+     * Comprueba las filas y no member_count, de modo que cubre también asignaciones de otra réplica
+     * aún no reflejadas en el contador.
+     *
+     * @param id identificador del grupo
+     * @return número de filas eliminadas (0 si no existe o aún tiene miembros)
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query(value = "DELETE FROM infra_groups WHERE id = :id " +
+            "AND NOT EXISTS (SELECT 1 FROM infra_group_employees ge WHERE ge.group_id = :id)", nativeQuery = true)
+    int deleteIfEmpty(@Param("id") UUID id);
+
+    /**
+     * Elimina los stripes del número de miembros de un grupo.
+     *
+     * @param id identificador del grupo
+     * @return número de filas eliminadas
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query(value = "DELETE FROM infra_group_member_counts WHERE group_id = :id", nativeQuery = true)
+    int deleteMemberCountStripes(@Param("id") UUID id);
+
+    /**
+     * Devuelve, sin bloquear, los grupos con stripes pendientes de plegar en member_count.
+     *
+     * @return ids de los grupos, sin repetir
+     */
+    @Query("SELECT DISTINCT c.groupId FROM GroupMemberCount c")
+    List<UUID> findGroupIdsWithMemberCountStripes();
+
+    /**
+     * Bloquea las filas de los grupos indicados, en orden de id, antes de plegar sus stripes: la
+     * reconciliación también escribe la fila del grupo antes de leer los stripes.
+     *
+     * @param groupIds ids de los grupos
+     * @return ids de los grupos bloqueados
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT g.id FROM Group g WHERE g.id IN :groupIds ORDER BY g.id")
+    List<UUID> lockGroupIds(@Param("groupIds") Collection<UUID> groupIds);
+
+    /**
+     * Devuelve y bloquea los stripes de los grupos indicados. Una escritura de membresía que quiera
+     * sumar a uno de ellos espera al fin de la transacción, y si para entonces el stripe se ha borrado
+     * lo vuelve a crear, de modo que ninguna variación se pierde.
+     *
+     * @param groupIds ids de los grupos
+     * @return stripes de los grupos
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT c FROM GroupMemberCount c WHERE c.groupId IN :groupIds")
+    List<GroupMemberCount> lockMemberCountStripes(@Param("groupIds") Collection<UUID> groupIds);
+
+    /**
+     * Devuelve los grupos cuyo member_count no coincide con las filas de {@code infra_group_employees}.
+     *
+     * @return ids de grupos con desviación
+     */
+    @Query("SELECT g.id FROM Group g WHERE g.memberCount <> SIZE(g.employees)")
+    List<UUID> findMemberCountDrift();
+
+    /**
+     * Corrige la base de member_count de los grupos indicados que sigan con desviación, de modo que
+     * base + stripes coincida con las filas de {@code infra_group_employees}. No toca los stripes,
+     * así un ajuste concurrente sobre ellos no se pierde.
+     *
+     * @param groupIds ids de los grupos a corregir
+     * @return número de grupos corregidos
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query(value = "UPDATE infra_groups g SET g.member_count = " +
+            "(SELECT COUNT(*) FROM infra_group_employees ge WHERE ge.group_id = g.id) - " +
+            "COALESCE((SELECT SUM(c.delta) FROM infra_group_member_counts c WHERE c.group_id = g.id), 0) " +
+            "WHERE g.id IN (:groupIds) " +
+            "AND g.member_count + COALESCE((SELECT SUM(c.delta) FROM infra_group_member_counts c WHERE c.group_id = g.id), 0) " +
+            "<> (SELECT COUNT(*) FROM infra_group_employees ge WHERE ge.group_id = g.id)",
+            nativeQuery = true)
+    int repairMemberCounts(@Param("groupIds") Collection<UUID> groupIds);
 }
@@ -0,0 +1,112 @@
+package com.infragest.infra_groups_service.repository;
+
+import com.infragest.infra_groups_service.entity.GroupMemberCount;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Query;
+import org.springframework.stereotype.Repository;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Repositorio para aplicar la variación del número de miembros de varios grupos con una sola sentencia
+ * y para plegar los stripes en {@code infra_groups.member_count}.
+ *
+ * <p>Cada grupo puede recibir una variación distinta, por lo que se construye un
+ * {@code INSERT ... VALUES ... ON DUPLICATE KEY UPDATE} nativo de varias filas por cada bloque de
+ * {@value #CHUNK_SIZE} grupos, todas sobre un mismo stripe elegido al azar
+ * (ver {@link GroupMemberCount}).</p>
+ *
+ * @author bunnystring
+ * @since 2026-10-19
+ */
+@Repository
+public class MemberCountBatchRepository {
+
+    /**
+     * Número máximo de filas por sentencia.
+     */
+    private static final int CHUNK_SIZE = 500;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    /**
+     * Suma a cada grupo su variación, creando el stripe si no existe.
+     *
+     * @param deltas variación (positiva o negativa) por id de grupo
+     */
+    public void addAll(Map<UUID, Long> deltas) {
+        int stripe = ThreadLocalRandom.current().nextInt(GroupMemberCount.STRIPES);
+        List<Map.Entry<UUID, Long>> entries = new ArrayList<>(deltas.entrySet());
+        for (int from = 0; from < entries.size(); from += CHUNK_SIZE) {
+            List<Map.Entry<UUID, Long>> chunk = entries.subList(from, Math.min(from + CHUNK_SIZE, entries.size()));
+            StringBuilder sql = new StringBuilder(96 + chunk.size() * 24)
+                    .append("INSERT INTO infra_group_member_counts (group_id, stripe, delta) VALUES ");
+            for (int i = 0; i < chunk.size(); i++) {
+                if (i > 0) {
+                    sql.append(", ");
+                }
+                sql.append("(:g").append(i).append(", :stripe, :d").append(i).append(')');
+            }
+            sql.append(" ON DUPLICATE KEY UPDATE delta = delta + VALUES(delta)");
+            Query query = entityManager.createNativeQuery(sql.toString()).setParameter("stripe", stripe);
+            for (int i = 0; i < chunk.size(); i++) {
+                query.setParameter("g" + i, chunk.get(i).getKey())
+                        .setParameter("d" + i, chunk.get(i).getValue());
+            }
+            query.executeUpdate();
+        }
+    }
+
+    /**
+     * Suma los stripes indicados a member_count de su grupo y los elimina. Los stripes deben estar
+     * bloqueados por la transacción en curso; solo se eliminan esas filas, no las que otra escritura
+     * haya creado después.
+     *
+     * @param stripes stripes bloqueados
+     */
+    public void fold(List<GroupMemberCount> stripes) {
+        Map<UUID, Long> sums = new HashMap<>();
+        stripes.forEach(c -> sums.merge(c.getGroupId(), c.getDelta(), Long::sum));
+        sums.values().removeIf(sum -> sum == 0);
+        List<Map.Entry<UUID, Long>> entries = new ArrayList<>(sums.entrySet());
+        for (int from = 0; from < entries.size(); from += CHUNK_SIZE) {
+            List<Map.Entry<UUID, Long>> chunk = entries.subList(from, Math.min(from + CHUNK_SIZE, entries.size()));
+            StringBuilder sql = new StringBuilder(96 + chunk.size() * 40)
+                    .append("UPDATE infra_groups SET member_count = member_count + CASE id");
+            for (int i = 0; i < chunk.size(); i++) {
+                sql.append(" WHEN :g").append(i).append(" THEN :d").append(i);
+            }
+            sql.append(" END WHERE id IN (");
+            for (int i = 0; i < chunk.size(); i++) {
+                sql.append(i > 0 ? ", :g" : ":g").append(i);
+            }
+            Query query = entityManager.createNativeQuery(sql.append(')').toString());
+            for (int i = 0; i < chunk.size(); i++) {
+                query.setParameter("g" + i, chunk.get(i).getKey())
+                        .setParameter("d" + i, chunk.get(i).getValue());
+            }
+            query.executeUpdate();
+        }
+        for (int from = 0; from < stripes.size(); from += CHUNK_SIZE) {
+            List<GroupMemberCount> chunk = stripes.subList(from, Math.min(from + CHUNK_SIZE, stripes.size()));
+            StringBuilder sql = new StringBuilder(64 + chunk.size() * 16)
+                    .append("DELETE FROM infra_group_member_counts WHERE (group_id, stripe) IN (");
+            for (int i = 0; i < chunk.size(); i++) {
+                sql.append(i > 0 ? ", " : "").append("(:g").append(i).append(", :s").append(i).append(')');
+            }
+            Query query = entityManager.createNativeQuery(sql.append(')').toString());
+            for (int i = 0; i < chunk.size(); i++) {
+                query.setParameter("g" + i, chunk.get(i).getGroupId())
+                        .setParameter("s" + i, chunk.get(i).getStripe());
+            }
+            query.executeUpdate();
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package com.infragest.infra_groups_service.repository;
+
+import com.infragest.infra_groups_service.entity.OutboxEvent;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Query;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+/**
+ * Repositorio para registrar varios eventos del outbox con una sola sentencia.
+ *
+ * <p>El id de {@link OutboxEvent} es autoincremental, por lo que Hibernate no agrupa sus inserciones
+ * en lotes JDBC; aquí se construye un {@code INSERT ... VALUES} nativo de varias filas por cada bloque
+ * de {@value #CHUNK_SIZE} eventos. Las filas reciben ids consecutivos en el orden de la lista.</p>
+ *
+ * @author bunnystring
+ * @since 2026-10-18
+ */
+@Repository
+public class OutboxBatchRepository {
+
+    /**
+     * Número máximo de filas por sentencia.
+     */
+    private static final int CHUNK_SIZE = 500;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    /**
+     * Inserta los eventos indicados (sin id) con sentencias de varias filas.
+     *
+     * @param events eventos a registrar
+     * @return número de filas insertadas
+     */
+    public int insertAll(List<OutboxEvent> events) {
+        int inserted = 0;
+        for (int from = 0; from < events.size(); from += CHUNK_SIZE) {
+            List<OutboxEvent> chunk = events.subList(from, Math.min(from + CHUNK_SIZE, events.size()));
+            StringBuilder sql = new StringBuilder(64 + chunk.size() * 48)
+                    .append("INSERT INTO infra_outbox_events (aggregate_type, aggregate_id, event_type, payload, origin) VALUES ");
+            for (int i = 0; i < chunk.size(); i++) {
+                if (i > 0) {
+                    sql.append(", ");
+                }
+                sql.append("(:t").append(i).append(", :a").append(i).append(", :e").append(i)
+                        .append(", :p").append(i).append(", :o").append(i).append(')');
+            }
+            Query query = entityManager.createNativeQuery(sql.toString());
+            for (int i = 0; i < chunk.size(); i++) {
+                OutboxEvent event = chunk.get(i);
+                query.setParameter("t" + i, event.getAggregateType())
+                        .setParameter("a" + i, event.getAggregateId())
+                        .setParameter("e" + i, event.getEventType().name())
+                        .setParameter("p" + i, event.getPayload())
+                        .setParameter("o" + i, event.getOrigin());
+            }
+            inserted += query.executeUpdate();
+        }
+        return inserted;
+    }
+}
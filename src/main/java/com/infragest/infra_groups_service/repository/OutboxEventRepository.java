@@ -0,0 +1,91 @@
+package com.infragest.infra_groups_service.repository;
+
+import com.infragest.infra_groups_service.entity.OutboxEvent;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Repositorio JPA para la entidad {@link OutboxEvent}.
+ *
+ * @author bunnystring
+ * @since 2026-10-18
+ */
+public interface OutboxEventRepository extends JpaRepository<OutboxEvent, Long> {
+
+    /**
+     * Obtiene y bloquea el siguiente lote de eventos pendientes en orden de secuencia.
+     * El bloqueo serializa relays de distintas réplicas y preserva el orden de entrega.
+     *
+     * @param page tamaño del lote
+     * @return eventos pendientes
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT e FROM OutboxEvent e WHERE e.publishedAt IS NULL ORDER BY e.id")
+    List<OutboxEvent> findUnpublished(Pageable page);
+
+    /**
+     * Eventos posteriores a una versión, en orden de id (todos, entregados o no), cada uno con la hora
+     * actual de la base de datos para medir su retraso con el mismo reloj que asignó created_at.
+     *
+     * @param after último id ya leído
+     * @param page  tamaño del lote
+     * @return filas (evento, hora de la base)
+     */
+    @Query("SELECT e, CURRENT_TIMESTAMP FROM OutboxEvent e WHERE e.id > :after ORDER BY e.id")
+    List<Object[]> findAfter(@Param("after") long after, Pageable page);
+
+    /**
+     * Eventos con los ids indicados, cada uno con la hora actual de la base de datos.
+     *
+     * @param ids ids de los eventos
+     * @return filas (evento, hora de la base)
+     */
+    @Query("SELECT e, CURRENT_TIMESTAMP FROM OutboxEvent e WHERE e.id IN :ids")
+    List<Object[]> findByIdIn(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Id del último evento registrado.
+     *
+     * @return id, o {@code null} si la tabla está vacía
+     */
+    @Query("SELECT MAX(e.id) FROM OutboxEvent e")
+    Long findMaxId();
+
+    /**
+     * Marca eventos como entregados.
+     *
+     * @param ids         ids de los eventos
+     * @param publishedAt fecha de entrega
+     * @return número de eventos marcados
+     */
+    @Modifying
+    @Query("UPDATE OutboxEvent e SET e.publishedAt = :publishedAt WHERE e.id IN :ids")
+    int markPublished(@Param("ids") Collection<Long> ids, @Param("publishedAt") LocalDateTime publishedAt);
+
+    /**
+     * Fecha de creación del evento pendiente más antiguo.
+     *
+     * @return fecha, o {@code null} si no hay pendientes
+     */
+    @Query("SELECT MIN(e.createdAt) FROM OutboxEvent e WHERE e.publishedAt IS NULL")
+    LocalDateTime findOldestUnpublishedCreatedAt();
+
+    /**
+     * Elimina los eventos entregados antes de la fecha indicada.
+     *
+     * @param before límite de fecha de entrega
+     * @return número de eventos eliminados
+     */
+    @Modifying
+    @Query("DELETE FROM OutboxEvent e WHERE e.publishedAt < :before")
+    int deletePublishedBefore(@Param("before") LocalDateTime before);
+}
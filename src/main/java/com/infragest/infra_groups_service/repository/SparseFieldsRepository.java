@@ -0,0 +1,103 @@
+package com.infragest.infra_groups_service.repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Order;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Repository;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Repositorio para lecturas con selección parcial de columnas.
+ *
+ * <p>Construye una consulta de tuplas que selecciona únicamente los atributos pedidos
+ * (cada uno con su nombre como alias), sin materializar la entidad ni sus asociaciones.</p>
+ *
+ * @author bunnystring
+ * @since 2026-10-18
+ */
+@Repository
+public class SparseFieldsRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    /**
+     * Selecciona los atributos indicados de una entidad.
+     *
+     * @param entityClass clase de la entidad
+     * @param attributes  atributos a seleccionar (nombres de propiedad JPA)
+     * @param id          id de la fila a leer, o {@code null} para leer todas
+     * @return tuplas con los atributos solicitados
+     */
+    public List<Tuple> findFields(Class<?> entityClass, Collection<String> attributes, UUID id) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<?> root = select(query, entityClass, attributes);
+
+        if (id != null) {
+            query.where(cb.equal(root.get("id"), id));
+        }
+        return entityManager.createQuery(query).getResultList();
+    }
+
+    /**
+     * Selecciona los atributos indicados de todas las filas cuyo atributo numérico
+     * esté en el rango dado, con el ordenamiento indicado.
+     *
+     * @param entityClass    clase de la entidad
+     * @param attributes     atributos a seleccionar (nombres de propiedad JPA)
+     * @param rangeAttribute atributo numérico a filtrar
+     * @param min            mínimo (inclusive), o {@code null}
+     * @param max            máximo (inclusive), o {@code null}
+     * @param sort           ordenamiento
+     * @return tuplas con los atributos solicitados
+     */
+    public List<Tuple> findFields(Class<?> entityClass, Collection<String> attributes,
+                                  String rangeAttribute, Long min, Long max, Sort sort) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<?> root = select(query, entityClass, attributes);
+
+        List<Predicate> predicates = new ArrayList<>(2);
+        if (min != null) {
+            predicates.add(cb.ge(root.<Long>get(rangeAttribute), min));
+        }
+        if (max != null) {
+            predicates.add(cb.le(root.<Long>get(rangeAttribute), max));
+        }
+        query.where(predicates.toArray(Predicate[]::new));
+
+        List<Order> orders = new ArrayList<>();
+        for (Sort.Order order : sort) {
+            orders.add(order.isAscending()
+                    ? cb.asc(root.get(order.getProperty()))
+                    : cb.desc(root.get(order.getProperty())));
+        }
+        query.orderBy(orders);
+        return entityManager.createQuery(query).getResultList();
+    }
+
+    /**
+     * Crea la raíz de la consulta y selecciona los atributos usando su nombre como alias.
+     */
+    private Root<?> select(CriteriaQuery<Tuple> query, Class<?> entityClass, Collection<String> attributes) {
+        Root<?> root = query.from(entityClass);
+        List<Selection<?>> selections = new ArrayList<>(attributes.size());
+        for (String attribute : attributes) {
+            selections.add(root.get(attribute).alias(attribute));
+        }
+        query.multiselect(selections);
+        return root;
+    }
+}
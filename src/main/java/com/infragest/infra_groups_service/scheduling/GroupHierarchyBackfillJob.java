@@ -0,0 +1,47 @@
+package com.infragest.infra_groups_service.scheduling;
+
+import com.infragest.infra_groups_service.service.GroupService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * Tarea de arranque que completa la tabla de cierre de la jerarquía con la fila propia
+ * de los grupos creados antes de que existieran los grupos anidados.
+ *
+ * <p>Los grupos nuevos ya la reciben al crearse, por lo que basta con ejecutarla al arrancar.</p>
+ *
+ * @author bunnystring
+ * @since 2026-10-18
+ */
+@Slf4j
+@Component
+public class GroupHierarchyBackfillJob {
+
+    /**
+     * Inyección de dependencia: GroupService
+     */
+    private final GroupService groupService;
+
+    /**
+     * Constructor para la inyección de dependencias.
+     *
+     * @param groupService servicio de grupos
+     */
+    public GroupHierarchyBackfillJob(GroupService groupService) {
+        this.groupService = groupService;
+    }
+
+    /**
+     * Completa la jerarquía al arrancar la aplicación.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void onStartup() {
+        try {
+            groupService.backfillHierarchy();
+        } catch (RuntimeException ex) {
+            log.error("Group hierarchy backfill failed", ex);
+        }
+    }
+}
@@ -0,0 +1,95 @@
+package com.infragest.infra_groups_service.scheduling;
+
+import com.infragest.infra_groups_service.service.GroupService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Tarea que reconcilia el número de miembros desnormalizado ({@code member_count})
+ * con las filas reales de {@code infra_group_employees}.
+ *
+ * <p>Se ejecuta al arrancar (completa grupos existentes antes de la columna) y
+ * periódicamente según {@code groups.member-count.reconcile-cron}. Además, cada
+ * {@code groups.member-count.fold-interval-ms} pliega los stripes en la columna indexada por la que
+ * se ordena y filtra el listado.</p>
+ *
+ * @author bunnystring
+ * @since 2026-10-18
+ */
+@Slf4j
+@Component
+public class MemberCountReconciliationJob {
+
+    /**
+     * Inyección de dependencia: GroupService
+     */
+    private final GroupService groupService;
+
+    /**
+     * Grupos corregidos por la reconciliación.
+     */
+    private final Counter repairedCounter;
+
+    /**
+     * Grupos cuyos stripes se han plegado.
+     */
+    private final Counter foldedCounter;
+
+    /**
+     * Constructor para la inyección de dependencias.
+     *
+     * @param groupService  servicio de grupos
+     * @param meterRegistry registro de métricas
+     */
+    public MemberCountReconciliationJob(GroupService groupService, MeterRegistry meterRegistry) {
+        this.groupService = groupService;
+        this.repairedCounter = Counter.builder("groups.member_count.repaired")
+                .description("Groups whose member_count drifted and was repaired")
+                .register(meterRegistry);
+        this.foldedCounter = Counter.builder("groups.member_count.folded")
+                .description("Groups whose member_count stripes were folded into the indexed column")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Reconcilia al arrancar la aplicación.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void onStartup() {
+        reconcile();
+    }
+
+    /**
+     * Reconcilia periódicamente.
+     */
+    @Scheduled(cron = "${groups.member-count.reconcile-cron:0 30 3 * * *}")
+    public void reconcile() {
+        try {
+            int repaired = groupService.reconcileMemberCounts();
+            repairedCounter.increment(repaired);
+            log.info("member_count reconciliation finished, {} groups repaired", repaired);
+        } catch (RuntimeException ex) {
+            log.error("member_count reconciliation failed", ex);
+        }
+    }
+
+    /**
+     * Pliega periódicamente los stripes en member_count.
+     */
+    @Scheduled(fixedDelayString = "${groups.member-count.fold-interval-ms:60000}",
+            initialDelayString = "${groups.member-count.fold-interval-ms:60000}")
+    public void fold() {
+        try {
+            int folded = groupService.foldMemberCounts();
+            foldedCounter.increment(folded);
+            log.debug("member_count fold finished, {} groups folded", folded);
+        } catch (RuntimeException ex) {
+            log.error("member_count fold failed", ex);
+        }
+    }
+}
@@ -1,5 +1,7 @@
 package com.infragest.infra_groups_service.security;
 
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -18,8 +20,11 @@ public class JwtAuthFilter extends OncePerRequestFilter {
 
     private final JwtUtil jwtUtil;
 
-    public JwtAuthFilter(JwtUtil jwtUtil) {
+    private final ObservationRegistry observationRegistry;
+
+    public JwtAuthFilter(JwtUtil jwtUtil, ObservationRegistry observationRegistry) {
         this.jwtUtil = jwtUtil;
+        this.observationRegistry = observationRegistry;
     }
 
     @Override
@@ -31,8 +36,23 @@ public class JwtAuthFilter extends OncePerRequestFilter {
         if (authHeader != null && authHeader.startsWith("Bearer ")) {
             String token = authHeader.substring(7);
 
-            if (jwtUtil.validateToken(token)) {
-                String email = jwtUtil.getEmailFromToken(token);
+            // Span propio para separar el coste de verificar la firma del resto de la petición
+            Observation observation = Observation.createNotStarted("groups.jwt.verify", observationRegistry)
+                    .contextualName("jwt verify")
+                    .start();
+            boolean valid;
+            String email = null;
+            try (Observation.Scope scope = observation.openScope()) {
+                valid = jwtUtil.validateToken(token);
+                if (valid) {
+                    email = jwtUtil.getEmailFromToken(token);
+                }
+                observation.lowCardinalityKeyValue("outcome", valid ? "valid" : "invalid");
+            } finally {
+                observation.stop();
+            }
+
+            if (valid) {
                 Authentication authentication = new UsernamePasswordAuthenticationToken(
                         email,
                         null,
@@ -1,5 +1,8 @@
 package com.infragest.infra_groups_service.security;
 
+import com.infragest.infra_groups_service.concurrency.AdaptiveConcurrencyLimitFilter;
+import com.infragest.infra_groups_service.security.ratelimit.RateLimitFilter;
+import jakarta.servlet.DispatcherType;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
@@ -22,13 +25,28 @@ public class SecurityConfig {
      */
     private final JwtAuthFilter jwtAuthFilter;
 
+    /**
+     * Filtro de admisión por llamante; se ejecuta con el principal ya autenticado.
+     */
+    private final RateLimitFilter rateLimitFilter;
+
+    /**
+     * Filtro del límite adaptativo de peticiones en curso; se ejecuta antes de validar el token.
+     */
+    private final AdaptiveConcurrencyLimitFilter concurrencyLimitFilter;
+
     /**
      * Constructor para la inyección de dependencias.
      *
-     * @param jwtAuthFilter filtro que valida tokens JWT y construye la autenticación
+     * @param jwtAuthFilter   filtro que valida tokens JWT y construye la autenticación
+     * @param rateLimitFilter filtro que limita las peticiones por principal y clase de ruta
+     * @param concurrencyLimitFilter filtro que rechaza peticiones por encima del límite adaptativo
      */
-    public SecurityConfig(JwtAuthFilter jwtAuthFilter) {
+    public SecurityConfig(JwtAuthFilter jwtAuthFilter, RateLimitFilter rateLimitFilter,
+                          AdaptiveConcurrencyLimitFilter concurrencyLimitFilter) {
         this.jwtAuthFilter = jwtAuthFilter;
+        this.rateLimitFilter = rateLimitFilter;
+        this.concurrencyLimitFilter = concurrencyLimitFilter;
     }
 
     /**
@@ -43,10 +61,14 @@ public class SecurityConfig {
         http
                 .csrf(csrf -> csrf.disable())
                 .authorizeHttpRequests(auth -> auth
+                        // el dispatch ASYNC (SSE) reutiliza una petición ya autenticada en el dispatch inicial
+                        .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
                         .anyRequest().authenticated()   // TODAS las rutas deben ir autenticadas por token
                 )
                 .sessionManagement(sess -> sess.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
-                .addFilterBefore(jwtAuthFilter, UsernamePasswordAuthenticationFilter.class);
+                .addFilterBefore(jwtAuthFilter, UsernamePasswordAuthenticationFilter.class)
+                .addFilterBefore(concurrencyLimitFilter, JwtAuthFilter.class)
+                .addFilterAfter(rateLimitFilter, JwtAuthFilter.class);
 
         return http.build();
     }
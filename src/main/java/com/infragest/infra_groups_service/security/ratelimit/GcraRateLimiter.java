@@ -0,0 +1,92 @@
+package com.infragest.infra_groups_service.security.ratelimit;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Limitador por clave con GCRA (Generic Cell Rate Algorithm), equivalente a un token bucket.
+ *
+ * <p>Cada bucket guarda solo el "theoretical arrival time" (TAT) en un {@link AtomicLong}; admitir
+ * una petición es un compare-and-set, sin locks ni hilos de recarga. Un bucket con TAT en el pasado
+ * está lleno y equivale a uno nuevo, por lo que se puede desalojar sin cambiar el comportamiento.</p>
+ *
+ * @author bunnystring
+ * @since 2026-10-18
+ */
+public class GcraRateLimiter {
+
+    /**
+     * Buckets por (principal, clase de ruta).
+     */
+    private final Map<Key, AtomicLong> buckets = new ConcurrentHashMap<>();
+
+    /**
+     * Intenta admitir una petición.
+     *
+     * @param principal llamante
+     * @param limit     límite de la clase de ruta
+     * @return 0 si se admite; si no, nanosegundos hasta que se admitiría
+     */
+    public long tryAcquire(String principal, Limit limit) {
+        long now = System.nanoTime();
+        AtomicLong tat = buckets.computeIfAbsent(new Key(principal, limit.route()), k -> new AtomicLong(now));
+        while (true) {
+            long current = tat.get();
+            long next = Math.max(current, now) + limit.intervalNanos();
+            long excess = next - now - limit.burstNanos();
+            if (excess > 0) {
+                return excess;
+            }
+            if (tat.compareAndSet(current, next)) {
+                return 0;
+            }
+        }
+    }
+
+    /**
+     * Desaloja los buckets llenos (sin actividad reciente).
+     *
+     * @return buckets desalojados
+     */
+    public int evictIdle() {
+        long now = System.nanoTime();
+        int before = buckets.size();
+        buckets.values().removeIf(tat -> tat.get() - now <= 0);
+        return Math.max(0, before - buckets.size());
+    }
+
+    /**
+     * Número de buckets activos.
+     */
+    public int size() {
+        return buckets.size();
+    }
+
+    /**
+     * Límite precalculado de una clase de ruta.
+     *
+     * @param route         nombre de la clase de ruta
+     * @param intervalNanos intervalo entre peticiones a la tasa sostenida
+     * @param burstNanos    tolerancia correspondiente a la ráfaga
+     */
+    public record Limit(String route, long intervalNanos, long burstNanos) {
+
+        /**
+         * Crea el límite a partir de una tasa y una ráfaga.
+         *
+         * @param route nombre de la clase de ruta
+         * @param rate  peticiones por segundo
+         * @param burst ráfaga máxima
+         * @return límite
+         */
+        public static Limit of(String route, double rate, int burst) {
+            long interval = (long) (TimeUnit.SECONDS.toNanos(1) / rate);
+            return new Limit(route, interval, interval * Math.max(1, burst));
+        }
+    }
+
+    private record Key(String principal, String route) {
+    }
+}
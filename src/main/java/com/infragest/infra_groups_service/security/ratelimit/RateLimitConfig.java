@@ -0,0 +1,60 @@
+package com.infragest.infra_groups_service.security.ratelimit;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Beans de la limitación de peticiones por llamante.
+ *
+ * <p>El filtro se añade a la cadena de Spring Security (después de {@code JwtAuthFilter}); su
+ * registro como filtro del servlet se desactiva para que no se ejecute fuera de la cadena.</p>
+ *
+ * @author bunnystring
+ * @since 2026-10-18
+ */
+@Configuration
+@EnableConfigurationProperties(RateLimitProperties.class)
+public class RateLimitConfig {
+
+    /**
+     * Limitador GCRA compartido.
+     *
+     * @return limitador
+     */
+    @Bean
+    public GcraRateLimiter gcraRateLimiter() {
+        return new GcraRateLimiter();
+    }
+
+    /**
+     * Filtro de admisión por llamante.
+     *
+     * @param properties    propiedades de la limitación
+     * @param limiter       limitador
+     * @param objectMapper  serializador JSON
+     * @param meterRegistry registro de métricas
+     * @return filtro
+     */
+    @Bean
+    public RateLimitFilter rateLimitFilter(RateLimitProperties properties, GcraRateLimiter limiter,
+                                           ObjectMapper objectMapper, MeterRegistry meterRegistry) {
+        return new RateLimitFilter(properties, limiter, objectMapper, meterRegistry);
+    }
+
+    /**
+     * Evita que el contenedor registre el filtro fuera de la cadena de seguridad.
+     *
+     * @param rateLimitFilter filtro
+     * @return registro desactivado
+     */
+    @Bean
+    public FilterRegistrationBean<RateLimitFilter> rateLimitFilterRegistration(RateLimitFilter rateLimitFilter) {
+        FilterRegistrationBean<RateLimitFilter> registration = new FilterRegistrationBean<>(rateLimitFilter);
+        registration.setEnabled(false);
+        return registration;
+    }
+}
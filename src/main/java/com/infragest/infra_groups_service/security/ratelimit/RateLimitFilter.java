@@ -0,0 +1,189 @@
+package com.infragest.infra_groups_service.security.ratelimit;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.PathContainer;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Filtro de admisión por llamante: limita las peticiones de cada principal autenticado por
+ * clase de ruta (ver {@link RateLimitProperties}) y responde {@code 429} con {@code Retry-After}
+ * cuando se agota su cuota.
+ *
+ * <p>Se ejecuta justo después de {@code JwtAuthFilter}, por lo que el principal ya está en el
+ * {@code SecurityContext}. Así un proceso batch que recorre los listados completos agota solo su
+ * propio bucket de esa clase de ruta, sin afectar a los llamantes interactivos.</p>
+ *
+ * @author bunnystring
+ * @since 2026-10-18
+ */
+@Slf4j
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    /**
+     * Nombre de la clase de ruta por defecto.
+     */
+    static final String DEFAULT_ROUTE = "default";
+
+    /**
+     * Propiedades de la limitación.
+     */
+    private final RateLimitProperties properties;
+
+    /**
+     * Limitador GCRA.
+     */
+    private final GcraRateLimiter limiter;
+
+    /**
+     * Inyección de dependencia: ObjectMapper (cuerpo de la respuesta 429)
+     */
+    private final ObjectMapper objectMapper;
+
+    /**
+     * Registro de métricas (contadores por ruta y principal).
+     */
+    private final MeterRegistry meterRegistry;
+
+    /**
+     * Clases de ruta compiladas, en orden de evaluación.
+     */
+    private final List<RouteMatcher> routes;
+
+    /**
+     * Límite de la clase de ruta por defecto.
+     */
+    private final GcraRateLimiter.Limit defaultLimit;
+
+    /**
+     * Constructor.
+     *
+     * @param properties    propiedades de la limitación
+     * @param limiter       limitador
+     * @param objectMapper  serializador JSON
+     * @param meterRegistry registro de métricas
+     */
+    public RateLimitFilter(RateLimitProperties properties, GcraRateLimiter limiter, ObjectMapper objectMapper,
+                           MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.limiter = limiter;
+        this.objectMapper = objectMapper;
+        this.meterRegistry = meterRegistry;
+        this.defaultLimit = limit(DEFAULT_ROUTE, properties.defaultRate(), properties.defaultBurst());
+        PathPatternParser parser = PathPatternParser.defaultInstance;
+        this.routes = properties.routes().stream()
+                .map(route -> new RouteMatcher(
+                        route.methods().stream().map(String::toUpperCase).collect(Collectors.toUnmodifiableSet()),
+                        route.paths().stream().map(parser::parse).toList(),
+                        limit(route.name(), route.rate(), route.burst())))
+                .toList();
+        Gauge.builder("groups.ratelimit.buckets", limiter, GcraRateLimiter::size)
+                .description("Active per-caller rate limit buckets")
+                .register(meterRegistry);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !properties.enabled();
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || authentication.getName() == null) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        GcraRateLimiter.Limit limit = resolve(request);
+        long waitNanos = limiter.tryAcquire(authentication.getName(), limit);
+        if (waitNanos == 0) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        Counter.builder("groups.ratelimit.rejected")
+                .description("Requests rejected by the per-caller rate limit")
+                .tag("route", limit.route())
+                .tag("principal", authentication.getName())
+                .register(meterRegistry)
+                .increment();
+        log.debug("Rate limit exceeded for {} on route class {}", authentication.getName(), limit.route());
+
+        long retryAfterSeconds = Math.max(1, (waitNanos + TimeUnit.SECONDS.toNanos(1) - 1) / TimeUnit.SECONDS.toNanos(1));
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, Long.toString(retryAfterSeconds));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), Map.of(
+                "timestamp", LocalDateTime.now(),
+                "status", HttpStatus.TOO_MANY_REQUESTS.value(),
+                "error", "Too Many Requests",
+                "message", "Rate limit exceeded for route class " + limit.route()));
+    }
+
+    /**
+     * Desaloja periódicamente los buckets sin actividad.
+     */
+    @Scheduled(fixedDelayString = "${groups.ratelimit.eviction-interval-ms:60000}")
+    public void evictIdleBuckets() {
+        int evicted = limiter.evictIdle();
+        if (evicted > 0) {
+            log.debug("Evicted {} idle rate limit buckets", evicted);
+        }
+    }
+
+    private GcraRateLimiter.Limit resolve(HttpServletRequest request) {
+        if (routes.isEmpty()) {
+            return defaultLimit;
+        }
+        PathContainer path = PathContainer.parsePath(request.getRequestURI().substring(request.getContextPath().length()));
+        for (RouteMatcher route : routes) {
+            if (route.matches(request.getMethod(), path)) {
+                return route.limit();
+            }
+        }
+        return defaultLimit;
+    }
+
+    private static GcraRateLimiter.Limit limit(String route, double rate, int burst) {
+        if (rate <= 0 || burst <= 0) {
+            throw new IllegalArgumentException("Rate limit for route class " + route + " must have rate and burst > 0");
+        }
+        return GcraRateLimiter.Limit.of(route, rate, burst);
+    }
+
+    /**
+     * Clase de ruta compilada.
+     */
+    private record RouteMatcher(Set<String> methods, List<PathPattern> paths, GcraRateLimiter.Limit limit) {
+
+        boolean matches(String method, PathContainer path) {
+            return (methods.isEmpty() || methods.contains(method))
+                    && paths.stream().anyMatch(pattern -> pattern.matches(path));
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package com.infragest.infra_groups_service.security.ratelimit;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.util.List;
+
+/**
+ * Propiedades de la limitación de peticiones por llamante ({@code groups.ratelimit.*}).
+ *
+ * <p>Cada petición autenticada se clasifica en la primera clase de ruta que coincide (método y
+ * patrón de path); si ninguna coincide se usa la clase {@code default}. Cada par
+ * (principal, clase de ruta) tiene su propio bucket.</p>
+ *
+ * @param enabled      activa la limitación
+ * @param defaultRate  peticiones por segundo sostenidas de la clase {@code default}
+ * @param defaultBurst ráfaga máxima de la clase {@code default}
+ * @param routes       clases de ruta, evaluadas en orden
+ * @author bunnystring
+ * @since 2026-10-18
+ */
+@ConfigurationProperties(prefix = "groups.ratelimit")
+public record RateLimitProperties(@DefaultValue("true") boolean enabled,
+                                  @DefaultValue("50") double defaultRate,
+                                  @DefaultValue("100") int defaultBurst,
+                                  @DefaultValue List<Route> routes) {
+
+    /**
+     * Clase de ruta con su propio límite.
+     *
+     * @param name    nombre (se usa como tag de métricas)
+     * @param methods métodos HTTP; vacío para todos
+     * @param paths   patrones de path ({@code PathPattern})
+     * @param rate    peticiones por segundo sostenidas
+     * @param burst   ráfaga máxima
+     */
+    public record Route(String name, @DefaultValue List<String> methods, @DefaultValue List<String> paths,
+                        double rate, int burst) {
+    }
+}
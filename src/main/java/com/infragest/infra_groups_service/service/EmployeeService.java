@@ -1,8 +1,13 @@
 package com.infragest.infra_groups_service.service;
 
 import com.infragest.infra_groups_service.model.EmployeeRq;
+import com.infragest.infra_groups_service.model.FieldSelection;
 import com.infragest.infra_groups_service.model.EmployeeRs;
+import com.infragest.infra_groups_service.model.EmployeeStatusRq;
+import com.infragest.infra_groups_service.model.EmployeeStatusRs;
+import com.infragest.infra_groups_service.model.LookupRs;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.UUID;
 
@@ -27,6 +32,14 @@ public interface EmployeeService {
      */
     List<EmployeeRs> listEmployees();
 
+    /**
+     * Devuelve la lista de todos los empleados con los campos solicitados.
+     *
+     * @param selection campos a incluir
+     * @return lista de {@link EmployeeRs}
+     */
+    List<EmployeeRs> listEmployees(FieldSelection selection);
+
     /**
      * Recupera un empleado por su id.
      *
@@ -35,6 +48,23 @@ public interface EmployeeService {
      */
     EmployeeRs getById(UUID id);
 
+    /**
+     * Recupera un empleado por su id con los campos solicitados.
+     *
+     * @param id        identificador del empleado
+     * @param selection campos a incluir
+     * @return {@link EmployeeRs} si existe
+     */
+    EmployeeRs getById(UUID id, FieldSelection selection);
+
+    /**
+     * Recupera varios empleados por id en una sola operación.
+     *
+     * @param ids identificadores de los empleados
+     * @return empleados por id, con los inexistentes en {@code missing}
+     */
+    LookupRs<EmployeeRs> lookupEmployees(Collection<UUID> ids);
+
     /**
      * Crea un nuevo empleado.
      *
@@ -52,6 +82,15 @@ public interface EmployeeService {
      */
     EmployeeRs updateEmployee(UUID id, EmployeeRq rq);
 
+    /**
+     * Cambia el estado de varios empleados en una sola operación y, opcionalmente,
+     * los retira de todos sus grupos en la misma transacción.
+     *
+     * @param rq ids, estado a aplicar y si se retiran de sus grupos
+     * @return resultado por empleado
+     */
+    EmployeeStatusRs updateStatuses(EmployeeStatusRq rq);
+
     /**
      * Elimina un empleado por id.
      *
@@ -1,10 +1,18 @@
 package com.infragest.infra_groups_service.service;
 
 import com.infragest.infra_groups_service.model.AssignEmployeesRq;
+import com.infragest.infra_groups_service.model.EmployeeSummaryDto;
+import com.infragest.infra_groups_service.model.FieldSelection;
+import com.infragest.infra_groups_service.model.GroupFilter;
 import com.infragest.infra_groups_service.model.GroupMembersEmailRs;
 import com.infragest.infra_groups_service.model.GroupRq;
 import com.infragest.infra_groups_service.model.GroupRs;
+import com.infragest.infra_groups_service.model.LookupRs;
+import com.infragest.infra_groups_service.model.MembershipQueryRq;
+import com.infragest.infra_groups_service.model.MembershipQueryRs;
+import com.infragest.infra_groups_service.model.MembershipTransferRs;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.UUID;
 
@@ -26,11 +34,26 @@ public interface GroupService {
      */
     List<GroupRs> listGroups();
 
+    /**
+     * Lista los grupos con los campos y expansiones solicitados, filtrados y ordenados.
+     */
+    List<GroupRs> listGroups(FieldSelection selection, GroupFilter filter);
+
     /**
      * Obtiene un grupo por ID.
      */
     GroupRs getById(UUID id);
 
+    /**
+     * Obtiene un grupo por ID con los campos y expansiones solicitados.
+     */
+    GroupRs getById(UUID id, FieldSelection selection);
+
+    /**
+     * Obtiene varios grupos por ID en una sola operación.
+     */
+    LookupRs<GroupRs> lookupGroups(Collection<UUID> ids);
+
     /**
      * Actualiza un grupo.
      */
@@ -51,6 +74,21 @@ public interface GroupService {
      */
     void removeEmployee(UUID groupId, UUID employeeId);
 
+    /**
+     * Copia los miembros activos de un grupo en otro.
+     */
+    MembershipTransferRs copyMembers(UUID sourceId, UUID targetId);
+
+    /**
+     * Mueve los miembros activos de un grupo a otro.
+     */
+    MembershipTransferRs moveMembers(UUID sourceId, UUID targetId);
+
+    /**
+     * Retira a todos los miembros directos de un grupo.
+     */
+    MembershipTransferRs clearMembers(UUID id);
+
 
     /**
      * Obtiene los correos electrónicos de los miembros de un grupo identificado por su UUID.
@@ -60,4 +98,54 @@ public interface GroupService {
      * @throws RuntimeException Si ocurre un error de validación o acceso a datos (mapea a los tipos de excepción/HTTP que use tu app).
      */
     List<String>  getGroupMembersEmails(UUID id);
+
+    /**
+     * Obtiene los correos de los miembros del grupo y, si se indica, de todos sus subgrupos.
+     *
+     * @param id         UUID del grupo
+     * @param transitive {@code true} para incluir los miembros de los subgrupos
+     * @return correos sin repetir
+     */
+    List<String> getGroupMembersEmails(UUID id, boolean transitive);
+
+    /**
+     * Obtiene los miembros del grupo y de todos sus subgrupos, sin repetir.
+     */
+    List<EmployeeSummaryDto> getTransitiveMembers(UUID id);
+
+    /**
+     * Evalúa una expresión de unión/intersección/diferencia sobre la membresía de grupos.
+     */
+    MembershipQueryRs queryMembership(MembershipQueryRq rq);
+
+    /**
+     * Anida un grupo bajo otro; si ya tenía padre, se mueve.
+     */
+    void attachChild(UUID parentId, UUID childId);
+
+    /**
+     * Saca un grupo (con su subárbol) de su padre.
+     */
+    void detachChild(UUID parentId, UUID childId);
+
+    /**
+     * Completa la tabla de cierre con los grupos creados antes de la jerarquía.
+     *
+     * @return filas insertadas
+     */
+    int backfillHierarchy();
+
+    /**
+     * Detecta y corrige desviaciones del número de miembros desnormalizado.
+     *
+     * @return número de grupos corregidos
+     */
+    int reconcileMemberCounts();
+
+    /**
+     * Pliega las variaciones pendientes del número de miembros en la columna indexada.
+     *
+     * @return número de grupos plegados
+     */
+    int foldMemberCounts();
 }
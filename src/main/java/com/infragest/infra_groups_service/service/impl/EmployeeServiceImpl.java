@@ -1,22 +1,45 @@
 package com.infragest.infra_groups_service.service.impl;
 
+import com.infragest.infra_groups_service.concurrency.GroupLockCoordinator;
 import com.infragest.infra_groups_service.entity.Employees;
 import com.infragest.infra_groups_service.entity.Group;
+import com.infragest.infra_groups_service.enums.ChangeEventType;
 import com.infragest.infra_groups_service.enums.EmployeStatus;
+import com.infragest.infra_groups_service.enums.StatusChangeOutcome;
+import com.infragest.infra_groups_service.events.OutboxAppender;
 import com.infragest.infra_groups_service.exception.EmployeeException;
 import com.infragest.infra_groups_service.model.EmployeeRq;
 import com.infragest.infra_groups_service.model.EmployeeRs;
+import com.infragest.infra_groups_service.model.EmployeeStatusRq;
+import com.infragest.infra_groups_service.model.EmployeeStatusRs;
 import com.infragest.infra_groups_service.model.EmployeeSummaryDto;
+import com.infragest.infra_groups_service.model.FieldSelection;
+import com.infragest.infra_groups_service.model.LookupRs;
 import com.infragest.infra_groups_service.repository.EmployeesRepository;
 import com.infragest.infra_groups_service.repository.GroupsRepository;
+import com.infragest.infra_groups_service.repository.MemberCountBatchRepository;
+import com.infragest.infra_groups_service.repository.SparseFieldsRepository;
 import com.infragest.infra_groups_service.service.EmployeeService;
+import com.infragest.infra_groups_service.tracing.TracingStages;
 import com.infragest.infra_groups_service.util.MessageException;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.TupleElement;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.dao.DataAccessException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
 import java.util.UUID;
 import java.util.stream.Collectors;
 
@@ -33,6 +56,17 @@ import java.util.stream.Collectors;
 @Service
 public class EmployeeServiceImpl implements EmployeeService {
 
+    /**
+     * Atributos escalares de Employees que se pueden solicitar con {@code fields=} (además de id).
+     */
+    private static final List<String> EMPLOYEE_ATTRIBUTES = List.of(
+            "fullName", "email", "status", "documentType", "documentNumber", "createdAt", "updatedAt", "version");
+
+    /**
+     * Número de ids por consulta {@code IN} en las búsquedas por lote.
+     */
+    private static final int LOOKUP_CHUNK_SIZE = 500;
+
     /**
      * Inyección de dependencia: EmployeesRepository
      */
@@ -43,14 +77,52 @@ public class EmployeeServiceImpl implements EmployeeService {
      */
     private final GroupsRepository groupsRepository;
 
+    /**
+     * Inyección de dependencia: SparseFieldsRepository
+     */
+    private final SparseFieldsRepository sparseFieldsRepository;
+
+    /**
+     * Inyección de dependencia: OutboxAppender
+     */
+    private final OutboxAppender outbox;
+
+    /**
+     * Inyección de dependencia: TracingStages
+     */
+    private final TracingStages tracing;
+
+    /**
+     * Inyección de dependencia: GroupLockCoordinator
+     */
+    private final GroupLockCoordinator groupLocks;
+
+    /**
+     * Inyección de dependencia: MemberCountBatchRepository
+     */
+    private final MemberCountBatchRepository memberCountBatchRepository;
+
     /**
      * Crea un constructor con los repositorios necesarios para el servicio.
      * @param employeesRepository
      * @param groupsRepository
+     * @param sparseFieldsRepository
+     * @param outbox
+     * @param tracing
+     * @param groupLocks
+     * @param memberCountBatchRepository
      */
-    public EmployeeServiceImpl(EmployeesRepository employeesRepository, GroupsRepository groupsRepository) {
+    public EmployeeServiceImpl(EmployeesRepository employeesRepository, GroupsRepository groupsRepository,
+                               SparseFieldsRepository sparseFieldsRepository, OutboxAppender outbox,
+                               TracingStages tracing, GroupLockCoordinator groupLocks,
+                               MemberCountBatchRepository memberCountBatchRepository) {
         this.employeesRepository = employeesRepository;
         this.groupsRepository = groupsRepository;
+        this.sparseFieldsRepository = sparseFieldsRepository;
+        this.outbox = outbox;
+        this.tracing = tracing;
+        this.groupLocks = groupLocks;
+        this.memberCountBatchRepository = memberCountBatchRepository;
     }
 
     /**
@@ -63,6 +135,7 @@ public class EmployeeServiceImpl implements EmployeeService {
      * @throws EmployeeException con Type.INTERNAL_SERVER si ocurre un error de persistencia
      */
     @Override
+    @Transactional
     public EmployeeRs createEmployee(EmployeeRq rq) {
         if (rq == null) {
             log.warn("createEmployee called with null request");
@@ -75,7 +148,7 @@ public class EmployeeServiceImpl implements EmployeeService {
             // Validación: email único (case-insensitive)
             if (employeesRepository.existsByEmailIgnoreCase(email)) {
                 log.warn("Attempt to create employee with existing email: {}", email);
-                throw new EmployeeException(String.format(MessageException.EMPLOYEE_ALREADY_EXISTS, email),
+                throw new EmployeeException(MessageException.EMPLOYEE_ALREADY_EXISTS.render(email),
                         EmployeeException.Type.BAD_REQUEST);
             }
 
@@ -88,6 +161,8 @@ public class EmployeeServiceImpl implements EmployeeService {
             e.setStatus(rq.getStatus() == null ? EmployeStatus.ACTIVE : rq.getStatus());
 
             Employees saved = employeesRepository.save(e);
+            outbox.append(ChangeEventType.EMPLOYEE_CREATED, saved.getId(),
+                    Map.of("email", saved.getEmail(), "status", saved.getStatus()));
             return toRs(saved);
         } catch (DataAccessException dae) {
             log.error("Error saving employee: {}", rq, dae);
@@ -106,10 +181,32 @@ public class EmployeeServiceImpl implements EmployeeService {
     @Transactional(readOnly = true)
     public List<EmployeeRs> listEmployees() {
         try {
-            return employeesRepository.findAll()
-                    .stream()
-                    .map(this::toRs)
-                    .collect(Collectors.toList());
+            return tracing.mapAll("employee", employeesRepository.findAll(), this::toRs);
+        } catch (DataAccessException dae) {
+            log.error("Error reading employees", dae);
+            throw new EmployeeException(MessageException.DATABASE_ERROR, EmployeeException.Type.INTERNAL_SERVER);
+        }
+    }
+
+    /**
+     * Devuelve la lista de empleados seleccionando solo las columnas solicitadas.
+     *
+     * @param selection campos a incluir
+     * @return lista de {@link EmployeeRs} parciales
+     * @throws EmployeeException con Type.BAD_REQUEST si se solicitan campos desconocidos
+     * @throws EmployeeException con Type.INTERNAL_SERVER si ocurre un error de lectura
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public List<EmployeeRs> listEmployees(FieldSelection selection) {
+        if (selection.allFields()) {
+            return listEmployees();
+        }
+        validateFields(selection);
+        try {
+            return tracing.mapAll("employee",
+                    sparseFieldsRepository.findFields(Employees.class, selection.attributes(EMPLOYEE_ATTRIBUTES), null),
+                    this::toRs);
         } catch (DataAccessException dae) {
             log.error("Error reading employees", dae);
             throw new EmployeeException(MessageException.DATABASE_ERROR, EmployeeException.Type.INTERNAL_SERVER);
@@ -129,13 +226,13 @@ public class EmployeeServiceImpl implements EmployeeService {
     @Transactional(readOnly = true)
     public EmployeeRs getById(UUID id) {
         if (id == null) {
-            throw new EmployeeException(String.format(MessageException.INVALID_UUID, "null"), EmployeeException.Type.BAD_REQUEST);
+            throw new EmployeeException(MessageException.INVALID_UUID.render("null"), EmployeeException.Type.BAD_REQUEST);
         }
         try {
             return employeesRepository.findById(id)
-                    .map(this::toRs)
+                    .map(e -> tracing.map("employee", e, this::toRs))
                     .orElseThrow(() -> {
-                        String msg = String.format(MessageException.EMPLOYEE_NOT_FOUND, id);
+                        String msg = MessageException.EMPLOYEE_NOT_FOUND.render(id);
                         log.debug("Employee not found: {}", id);
                         return new EmployeeException(msg, EmployeeException.Type.NOT_FOUND);
                     });
@@ -145,6 +242,78 @@ public class EmployeeServiceImpl implements EmployeeService {
         }
     }
 
+    /**
+     * Recupera varios empleados por id con consultas {@code IN} de hasta {@value #LOOKUP_CHUNK_SIZE} ids.
+     *
+     * @param ids identificadores de los empleados; los repetidos se resuelven una vez
+     * @return empleados por id en el orden pedido, con los inexistentes en {@code null} y en {@code missing}
+     * @throws EmployeeException con Type.BAD_REQUEST si la lista es nula o contiene nulos
+     * @throws EmployeeException con Type.INTERNAL_SERVER si ocurre un error de lectura
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public LookupRs<EmployeeRs> lookupEmployees(Collection<UUID> ids) {
+        if (ids == null || ids.stream().anyMatch(Objects::isNull)) {
+            throw new EmployeeException(MessageException.INVALID_REQUEST, EmployeeException.Type.BAD_REQUEST);
+        }
+        List<UUID> distinct = new ArrayList<>(new LinkedHashSet<>(ids));
+        try {
+            Map<UUID, EmployeeRs> found = new HashMap<>(distinct.size() * 2);
+            for (int from = 0; from < distinct.size(); from += LOOKUP_CHUNK_SIZE) {
+                List<UUID> chunk = distinct.subList(from, Math.min(from + LOOKUP_CHUNK_SIZE, distinct.size()));
+                for (Employees e : employeesRepository.findAllById(chunk)) {
+                    found.put(e.getId(), toRs(e));
+                }
+            }
+            Map<UUID, EmployeeRs> results = new LinkedHashMap<>(distinct.size() * 2);
+            List<UUID> missing = new ArrayList<>();
+            for (UUID id : distinct) {
+                EmployeeRs rs = found.get(id);
+                results.put(id, rs);
+                if (rs == null) {
+                    missing.add(id);
+                }
+            }
+            return new LookupRs<>(results, missing);
+        } catch (DataAccessException dae) {
+            log.error("Error looking up {} employees", distinct.size(), dae);
+            throw new EmployeeException(MessageException.DATABASE_ERROR, EmployeeException.Type.INTERNAL_SERVER);
+        }
+    }
+
+    /**
+     * Recupera un empleado por su identificador seleccionando solo las columnas solicitadas.
+     *
+     * @param id        UUID del empleado; no puede ser {@code null}
+     * @param selection campos a incluir
+     * @return {@link EmployeeRs} parcial del empleado encontrado
+     * @throws EmployeeException con Type.BAD_REQUEST si {@code id} es {@code null} o hay campos desconocidos
+     * @throws EmployeeException con Type.NOT_FOUND si no existe el empleado
+     * @throws EmployeeException con Type.INTERNAL_SERVER si ocurre un error de lectura
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public EmployeeRs getById(UUID id, FieldSelection selection) {
+        if (selection.allFields()) {
+            return getById(id);
+        }
+        if (id == null) {
+            throw new EmployeeException(MessageException.INVALID_UUID.render("null"), EmployeeException.Type.BAD_REQUEST);
+        }
+        validateFields(selection);
+        try {
+            List<Tuple> rows = sparseFieldsRepository.findFields(Employees.class, selection.attributes(EMPLOYEE_ATTRIBUTES), id);
+            if (rows.isEmpty()) {
+                log.debug("Employee not found: {}", id);
+                throw new EmployeeException(MessageException.EMPLOYEE_NOT_FOUND.render(id), EmployeeException.Type.NOT_FOUND);
+            }
+            return toRs(rows.get(0));
+        } catch (DataAccessException dae) {
+            log.error("Error reading employee by id {}", id, dae);
+            throw new EmployeeException(MessageException.DATABASE_ERROR, EmployeeException.Type.INTERNAL_SERVER);
+        }
+    }
+
     /**
      * Actualiza un empleado existente.
      *
@@ -159,7 +328,7 @@ public class EmployeeServiceImpl implements EmployeeService {
     @Transactional
     public EmployeeRs updateEmployee(UUID id, EmployeeRq rq) {
         if (id == null) {
-            throw new EmployeeException(String.format(MessageException.INVALID_UUID, "null"), EmployeeException.Type.BAD_REQUEST);
+            throw new EmployeeException(MessageException.INVALID_UUID.render("null"), EmployeeException.Type.BAD_REQUEST);
         }
         if (rq == null) {
             throw new EmployeeException(MessageException.INVALID_REQUEST, EmployeeException.Type.BAD_REQUEST);
@@ -169,7 +338,7 @@ public class EmployeeServiceImpl implements EmployeeService {
         try {
             Employees existing = employeesRepository.findById(id)
                     .orElseThrow(() -> {
-                        String msg = String.format(MessageException.EMPLOYEE_NOT_FOUND, id);
+                        String msg = MessageException.EMPLOYEE_NOT_FOUND.render(id);
                         log.debug("Employee not found for update: {}", id);
                         return new EmployeeException(msg, EmployeeException.Type.NOT_FOUND);
                     });
@@ -177,7 +346,7 @@ public class EmployeeServiceImpl implements EmployeeService {
             if (newEmail != null && !newEmail.equalsIgnoreCase(existing.getEmail())) {
                 if (employeesRepository.existsByEmailIgnoreCase(newEmail)) {
                     log.warn("Attempt to change employee {} email to existing email {}", id, newEmail);
-                    throw new EmployeeException(String.format(MessageException.EMPLOYEE_ALREADY_EXISTS, newEmail),
+                    throw new EmployeeException(MessageException.EMPLOYEE_ALREADY_EXISTS.render(newEmail),
                             EmployeeException.Type.BAD_REQUEST);
                 }
                 existing.setEmail(newEmail);
@@ -197,6 +366,8 @@ public class EmployeeServiceImpl implements EmployeeService {
             }
 
             Employees saved = employeesRepository.save(existing);
+            outbox.append(ChangeEventType.EMPLOYEE_UPDATED, saved.getId(),
+                    Map.of("email", saved.getEmail(), "status", saved.getStatus()));
             return toRs(saved);
         } catch (DataAccessException dae) {
             log.error("Error updating employee id {} payload {}", id, rq, dae);
@@ -204,6 +375,121 @@ public class EmployeeServiceImpl implements EmployeeService {
         }
     }
 
+    /**
+     * Cambia el estado de varios empleados con sentencias por conjunto, en bloques de
+     * {@value #LOOKUP_CHUNK_SIZE} ids: lectura con bloqueo del estado actual, una actualización masiva y,
+     * si se pide, el borrado de sus relaciones con grupos y una única variación de member_count por grupo
+     * afectado. El número de sentencias depende del número de bloques, no del de empleados ni de grupos.
+     *
+     * <p>Como en el resto de escrituras de membresía, el lock en proceso de los grupos se toma antes que
+     * cualquier bloqueo de filas: con limpieza, los grupos se leen primero sin bloquear y se toma su lock
+     * compartido. Después se bloquean los empleados, de modo que una asignación concurrente espera al commit
+     * y ya los ve inactivos, y ya no puede aparecer ninguna relación nueva suya; por último se releen sus
+     * relaciones con bloqueo (solo la tabla de relación, no las filas de los grupos), así el evento publica
+     * exactamente los pares eliminados. Un grupo que gane un miembro entre la primera lectura y el bloqueo
+     * de los empleados queda sin lock en proceso, como las escrituras de otra réplica: su coherencia la dan
+     * los bloqueos de filas.</p>
+     *
+     * @param rq ids, estado a aplicar y si se retiran de sus grupos
+     * @return resultado por empleado en el orden pedido
+     * @throws EmployeeException con Type.BAD_REQUEST si la petición es inválida o se pide limpieza con estado ACTIVE
+     * @throws EmployeeException con Type.INTERNAL_SERVER si ocurre un error de persistencia
+     */
+    @Override
+    @Transactional
+    public EmployeeStatusRs updateStatuses(EmployeeStatusRq rq) {
+        if (rq == null || rq.getIds() == null || rq.getIds().stream().anyMatch(Objects::isNull) || rq.getStatus() == null) {
+            throw new EmployeeException(MessageException.INVALID_REQUEST, EmployeeException.Type.BAD_REQUEST);
+        }
+        EmployeStatus status = rq.getStatus();
+        if (rq.isRemoveFromGroups() && status != EmployeStatus.INACTIVE) {
+            log.warn("Bulk status change to {} requested with group cleanup", status);
+            throw new EmployeeException(MessageException.OPERATION_NOT_ALLOWED.render("removeFromGroups requires status INACTIVE"),
+                    EmployeeException.Type.BAD_REQUEST);
+        }
+        List<UUID> distinct = new ArrayList<>(new LinkedHashSet<>(rq.getIds()));
+        try {
+            if (rq.isRemoveFromGroups()) {
+                // Lock en proceso de los grupos antes de bloquear filas, en el mismo orden que asignar o reconciliar
+                Set<UUID> groups = new HashSet<>();
+                for (List<UUID> chunk : chunks(distinct)) {
+                    groups.addAll(groupsRepository.findGroupIdsByEmployeeIds(chunk));
+                }
+                if (!groups.isEmpty()) {
+                    groupLocks.lockShared(groups.toArray(UUID[]::new));
+                }
+            }
+
+            // Estado actual (id, email, estado) de los existentes, bloqueados hasta el commit
+            Map<UUID, Object[]> current = new HashMap<>(distinct.size() * 2);
+            for (List<UUID> chunk : chunks(distinct)) {
+                for (Object[] row : employeesRepository.lockStatusSummaries(chunk)) {
+                    current.put((UUID) row[0], row);
+                }
+            }
+            List<UUID> existing = distinct.stream().filter(current::containsKey).toList();
+            List<UUID> changed = existing.stream().filter(id -> current.get(id)[2] != status).toList();
+
+            LocalDateTime now = LocalDateTime.now();
+            int updated = 0;
+            for (List<UUID> chunk : chunks(changed)) {
+                updated += employeesRepository.updateStatus(chunk, status, now);
+            }
+
+            Map<UUID, List<UUID>> groupsByEmployee = new HashMap<>();
+            Map<UUID, List<UUID>> employeesByGroup = new LinkedHashMap<>();
+            int removedMemberships = 0;
+            if (rq.isRemoveFromGroups() && !existing.isEmpty()) {
+                for (List<UUID> chunk : chunks(existing)) {
+                    for (Object[] pair : groupsRepository.lockMemberPairsByEmployeeIds(chunk)) {
+                        UUID groupId = (UUID) pair[0];
+                        UUID employeeId = (UUID) pair[1];
+                        employeesByGroup.computeIfAbsent(groupId, k -> new ArrayList<>()).add(employeeId);
+                        groupsByEmployee.computeIfAbsent(employeeId, k -> new ArrayList<>()).add(groupId);
+                    }
+                }
+                if (!employeesByGroup.isEmpty()) {
+                    // La variación de cada grupo sale de los pares bloqueados: una fila por grupo
+                    Map<UUID, Long> deltas = new HashMap<>(employeesByGroup.size() * 2);
+                    employeesByGroup.forEach((groupId, employeeIds) -> deltas.put(groupId, -(long) employeeIds.size()));
+                    memberCountBatchRepository.addAll(deltas);
+                    for (List<UUID> chunk : chunks(existing)) {
+                        removedMemberships += groupsRepository.deleteMembershipsOfEmployees(chunk);
+                    }
+                }
+            }
+
+            Map<UUID, Map<String, Object>> employeeEvents = new LinkedHashMap<>(changed.size() * 2);
+            for (UUID id : changed) {
+                employeeEvents.put(id, Map.of("email", current.get(id)[1], "status", status));
+            }
+            outbox.appendAll(ChangeEventType.EMPLOYEE_UPDATED, employeeEvents);
+            Map<UUID, Map<String, Object>> groupEvents = new LinkedHashMap<>(employeesByGroup.size() * 2);
+            employeesByGroup.forEach((groupId, employeeIds) -> groupEvents.put(groupId, Map.of("employeeIds", employeeIds)));
+            outbox.appendAll(ChangeEventType.GROUP_MEMBERS_REMOVED, groupEvents);
+
+            Set<UUID> changedIds = new HashSet<>(changed);
+            Map<UUID, EmployeeStatusRs.Result> results = new LinkedHashMap<>(distinct.size() * 2);
+            for (UUID id : distinct) {
+                Object[] row = current.get(id);
+                if (row == null) {
+                    results.put(id, new EmployeeStatusRs.Result(StatusChangeOutcome.NOT_FOUND, null, null));
+                    continue;
+                }
+                results.put(id, new EmployeeStatusRs.Result(
+                        changedIds.contains(id) ? StatusChangeOutcome.UPDATED : StatusChangeOutcome.UNCHANGED,
+                        (EmployeStatus) row[2],
+                        rq.isRemoveFromGroups() ? groupsByEmployee.getOrDefault(id, List.of()) : null));
+            }
+            log.info("Status {} applied to {} of {} employees; {} memberships removed from {} groups",
+                    status, updated, distinct.size(), removedMemberships, employeesByGroup.size());
+            return new EmployeeStatusRs(status, results, updated, removedMemberships);
+        } catch (DataAccessException dae) {
+            log.error("Error changing status of {} employees to {}", distinct.size(), status, dae);
+            throw new EmployeeException(MessageException.DATABASE_ERROR, EmployeeException.Type.INTERNAL_SERVER);
+        }
+    }
+
     /**
      * Elimina un empleado por su identificador.
      *
@@ -216,22 +502,23 @@ public class EmployeeServiceImpl implements EmployeeService {
     @Transactional
     public void deleteEmployee(UUID id) {
         if (id == null) {
-            throw new EmployeeException(String.format(MessageException.INVALID_UUID, "null"), EmployeeException.Type.BAD_REQUEST);
+            throw new EmployeeException(MessageException.INVALID_UUID.render("null"), EmployeeException.Type.BAD_REQUEST);
         }
         try {
             Employees existing = employeesRepository.findById(id)
                     .orElseThrow(() -> {
-                        String msg = String.format(MessageException.EMPLOYEE_NOT_FOUND, id);
+                        String msg = MessageException.EMPLOYEE_NOT_FOUND.render(id);
                         log.debug("Employee not found for deletion: {}", id);
                         return new EmployeeException(msg, EmployeeException.Type.NOT_FOUND);
                     });
 
             // Validar si el empleado existe en por lo menos un grupo.
             if (groupsRepository.existsByEmployees_Id(existing.getId())) {
-                throw new EmployeeException(String.format(MessageException.EMPLOYEE_CANNOT_BE_REMOVED_FROM_GROUP, existing.getId()), EmployeeException.Type.BAD_REQUEST);
+                throw new EmployeeException(MessageException.EMPLOYEE_CANNOT_BE_REMOVED_FROM_GROUP.render(existing.getId()), EmployeeException.Type.BAD_REQUEST);
             }
 
             employeesRepository.delete(existing);
+            outbox.append(ChangeEventType.EMPLOYEE_DELETED, id, Map.of());
             log.info("Employee {} deleted", id);
         } catch (DataAccessException dae) {
             log.error("Error deleting employee {}", id, dae);
@@ -260,6 +547,60 @@ public class EmployeeServiceImpl implements EmployeeService {
         return r;
     }
 
+    /**
+     * Mapea una tupla de columnas seleccionadas a {@link EmployeeRs}; los campos no seleccionados quedan en null.
+     *
+     * @param t tupla con alias iguales a los nombres de atributo
+     * @return DTO de respuesta parcial
+     */
+    private EmployeeRs toRs(Tuple t) {
+        EmployeeRs r = new EmployeeRs.Sparse();
+        for (TupleElement<?> element : t.getElements()) {
+            Object value = t.get(element);
+            switch (element.getAlias()) {
+                case "id" -> r.setId((UUID) value);
+                case "fullName" -> r.setFullName((String) value);
+                case "email" -> r.setEmail((String) value);
+                case "status" -> r.setStatus((EmployeStatus) value);
+                case "documentType" -> r.setDocumentType((String) value);
+                case "documentNumber" -> r.setDocumentNumber((String) value);
+                case "createdAt" -> r.setCreatedAt((LocalDateTime) value);
+                case "updatedAt" -> r.setUpdatedAt((LocalDateTime) value);
+                case "version" -> r.setVersion((Long) value);
+                default -> log.debug("Ignoring unexpected employee attribute {}", element.getAlias());
+            }
+        }
+        return r;
+    }
+
+    /**
+     * Parte la lista en bloques de {@value #LOOKUP_CHUNK_SIZE} elementos para las consultas {@code IN}.
+     *
+     * @param ids lista a partir
+     * @return vistas consecutivas de la lista
+     */
+    private static List<List<UUID>> chunks(List<UUID> ids) {
+        List<List<UUID>> chunks = new ArrayList<>(ids.size() / LOOKUP_CHUNK_SIZE + 1);
+        for (int from = 0; from < ids.size(); from += LOOKUP_CHUNK_SIZE) {
+            chunks.add(ids.subList(from, Math.min(from + LOOKUP_CHUNK_SIZE, ids.size())));
+        }
+        return chunks;
+    }
+
+    /**
+     * Valida que los campos solicitados existan en Employees.
+     *
+     * @param selection selección a validar
+     * @throws EmployeeException con Type.BAD_REQUEST si hay campos desconocidos
+     */
+    private void validateFields(FieldSelection selection) {
+        Set<String> unknown = selection.unknown(EMPLOYEE_ATTRIBUTES);
+        if (!unknown.isEmpty()) {
+            log.warn("Unknown employee fields requested: {}", unknown);
+            throw new EmployeeException(MessageException.INVALID_FIELDS.render(unknown), EmployeeException.Type.BAD_REQUEST);
+        }
+    }
+
     /**
      * Mapea entidad {@link Employees} a {@link EmployeeSummaryDto} (resumen).
      *
@@ -1,17 +1,34 @@
 package com.infragest.infra_groups_service.service.impl;
 
+import com.infragest.infra_groups_service.concurrency.GroupLockCoordinator;
+import com.infragest.infra_groups_service.concurrency.SingleFlight;
 import com.infragest.infra_groups_service.entity.Employees;
 import com.infragest.infra_groups_service.entity.Group;
+import com.infragest.infra_groups_service.entity.GroupMemberCount;
+import com.infragest.infra_groups_service.enums.ChangeEventType;
+import com.infragest.infra_groups_service.enums.EmployeStatus;
+import com.infragest.infra_groups_service.enums.MembershipOutput;
+import com.infragest.infra_groups_service.events.OutboxAppender;
 import com.infragest.infra_groups_service.exception.GroupException;
+import com.infragest.infra_groups_service.membership.GroupMembershipIndex;
 import com.infragest.infra_groups_service.model.*;
 import com.infragest.infra_groups_service.repository.EmployeesRepository;
+import com.infragest.infra_groups_service.repository.GroupClosureRepository;
+import com.infragest.infra_groups_service.repository.GroupHierarchyLockRepository;
 import com.infragest.infra_groups_service.repository.GroupsRepository;
+import com.infragest.infra_groups_service.repository.MemberCountBatchRepository;
+import com.infragest.infra_groups_service.repository.SparseFieldsRepository;
 import com.infragest.infra_groups_service.service.GroupService;
+import com.infragest.infra_groups_service.tracing.TracingStages;
 import com.infragest.infra_groups_service.util.MessageException;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.TupleElement;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.dao.DataAccessException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.time.LocalDateTime;
 import java.util.*;
@@ -27,6 +44,21 @@ import java.util.stream.Collectors;
 @Service
 public class GroupServiceImpl implements GroupService {
 
+    /**
+     * Atributos escalares de Group que se pueden solicitar con {@code fields=} (además de id).
+     */
+    private static final List<String> GROUP_ATTRIBUTES = List.of("name", "address", "createdAt", "updatedAt", "memberCount");
+
+    /**
+     * Número de ids por consulta {@code IN} en las búsquedas por lote.
+     */
+    private static final int LOOKUP_CHUNK_SIZE = 500;
+
+    /**
+     * Número máximo de nodos de una expresión de membresía.
+     */
+    private static final int MAX_EXPRESSION_NODES = 256;
+
     /**
      * Inyección de dependencia: GroupsRepository
      */
@@ -37,15 +69,96 @@ public class GroupServiceImpl implements GroupService {
      */
     private final EmployeesRepository employeeRepository;
 
+    /**
+     * Inyección de dependencia: GroupClosureRepository
+     */
+    private final GroupClosureRepository groupClosureRepository;
+
+    /**
+     * Inyección de dependencia: GroupHierarchyLockRepository
+     */
+    private final GroupHierarchyLockRepository hierarchyLockRepository;
+
+    /**
+     * Inyección de dependencia: GroupLockCoordinator
+     */
+    private final GroupLockCoordinator groupLocks;
+
+    /**
+     * Inyección de dependencia: SparseFieldsRepository
+     */
+    private final SparseFieldsRepository sparseFieldsRepository;
+
+    /**
+     * Inyección de dependencia: MemberCountBatchRepository
+     */
+    private final MemberCountBatchRepository memberCountBatchRepository;
+
+    /**
+     * Inyección de dependencia: OutboxAppender
+     */
+    private final OutboxAppender outbox;
+
+    /**
+     * Inyección de dependencia: SingleFlight
+     */
+    private final SingleFlight singleFlight;
+
+    /**
+     * Inyección de dependencia: GroupMembershipIndex
+     */
+    private final GroupMembershipIndex membershipIndex;
+
+    /**
+     * Inyección de dependencia: TracingStages
+     */
+    private final TracingStages tracing;
+
+    /**
+     * Transacción de solo lectura usada por las cargas coalescidas.
+     */
+    private final TransactionTemplate readOnlyTx;
+
     /**
      * Crea un constructor con los repositorios necesarios para el servicio.
      * @param groupRepository
      * @param employeeRepository
+     * @param sparseFieldsRepository
+     * @param memberCountBatchRepository
+     * @param groupClosureRepository
+     * @param hierarchyLockRepository
+     * @param groupLocks
+     * @param outbox
+     * @param singleFlight
+     * @param membershipIndex
+     * @param tracing
+     * @param transactionManager
      */
     public GroupServiceImpl(GroupsRepository groupRepository,
-                            EmployeesRepository employeeRepository) {
+                            EmployeesRepository employeeRepository,
+                            SparseFieldsRepository sparseFieldsRepository,
+                            MemberCountBatchRepository memberCountBatchRepository,
+                            GroupClosureRepository groupClosureRepository,
+                            GroupHierarchyLockRepository hierarchyLockRepository,
+                            GroupLockCoordinator groupLocks,
+                            OutboxAppender outbox,
+                            SingleFlight singleFlight,
+                            GroupMembershipIndex membershipIndex,
+                            TracingStages tracing,
+                            PlatformTransactionManager transactionManager) {
         this.groupRepository = groupRepository;
         this.employeeRepository = employeeRepository;
+        this.sparseFieldsRepository = sparseFieldsRepository;
+        this.memberCountBatchRepository = memberCountBatchRepository;
+        this.groupClosureRepository = groupClosureRepository;
+        this.hierarchyLockRepository = hierarchyLockRepository;
+        this.groupLocks = groupLocks;
+        this.outbox = outbox;
+        this.singleFlight = singleFlight;
+        this.membershipIndex = membershipIndex;
+        this.tracing = tracing;
+        this.readOnlyTx = new TransactionTemplate(transactionManager);
+        this.readOnlyTx.setReadOnly(true);
     }
 
     /**
@@ -56,6 +169,7 @@ public class GroupServiceImpl implements GroupService {
      * @throws GroupException si ocurre un error de persistencia
      */
     @Override
+    @Transactional
     public GroupRs createGroup(GroupRq rq) {
         String name = rq.getName() == null ? "" : rq.getName().trim();
 
@@ -63,7 +177,7 @@ public class GroupServiceImpl implements GroupService {
             if (groupRepository.existsByNameIgnoreCase(name)) {
                 log.warn("Attempt to create group with existing name: {}", name);
                 throw new GroupException(
-                        String.format(MessageException.GROUP_ALREADY_EXISTS, name),
+                        MessageException.GROUP_ALREADY_EXISTS.render(name),
                         GroupException.Type.BAD_REQUEST
                 );
             }
@@ -75,7 +189,12 @@ public class GroupServiceImpl implements GroupService {
                     .build();
 
             Group saved = groupRepository.save(g);
-            return toRs(saved);
+            groupClosureRepository.insertSelf(saved.getId());
+            outbox.append(ChangeEventType.GROUP_CREATED, saved.getId(),
+                    Map.of("name", saved.getName(), "address", saved.getAddress()));
+            GroupRs rs = toScalarRs(saved);
+            rs.setEmployees(Collections.emptyList());
+            return rs;
         } catch (org.springframework.dao.DataAccessException dae) {
             log.error("Error saving Group: {}", rq, dae);
             throw new GroupException(MessageException.DATABASE_ERROR, GroupException.Type.INTERNAL_SERVER);
@@ -92,18 +211,60 @@ public class GroupServiceImpl implements GroupService {
     @Transactional(readOnly = true)
     public List<GroupRs> listGroups() {
         try {
-            return groupRepository.findAll()
-                    .stream()
-                    .map(this::toRs)
-                    .collect(Collectors.toList());
+            return withMembers(tracing.mapAll("group", groupRepository.findAll(), this::toScalarRs));
         } catch (org.springframework.dao.DataAccessException dae) {
             log.error("Error reading from repository", dae);
             throw new GroupException(MessageException.DATABASE_ERROR, GroupException.Type.INTERNAL_SERVER);
         }
     }
 
+    /**
+     * Devuelve la lista de grupos con los campos y expansiones solicitados,
+     * filtrada y ordenada por número de miembros u otras propiedades.
+     * Solo se seleccionan las columnas pedidas y los empleados se consultan únicamente si se expanden.
+     *
+     * @param selection campos y expansiones solicitados
+     * @param filter    filtro por número de miembros y ordenamiento
+     * @return lista de GroupRs
+     * @throws GroupException si se solicitan campos desconocidos o falla la lectura
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public List<GroupRs> listGroups(FieldSelection selection, GroupFilter filter) {
+        if (FieldSelection.ALL.equals(selection)) {
+            if (filter.isNone()) {
+                return listGroups();
+            }
+            try {
+                return withMembers(tracing.mapAll("group", groupRepository.findByIndexedMemberCountBetween(
+                                filter.minMembers() == null ? 0L : filter.minMembers(),
+                                filter.maxMembers() == null ? Long.MAX_VALUE : filter.maxMembers(),
+                                filter.sort()),
+                        this::toScalarRs));
+            } catch (DataAccessException dae) {
+                log.error("Error reading from repository", dae);
+                throw new GroupException(MessageException.DATABASE_ERROR, GroupException.Type.INTERNAL_SERVER);
+            }
+        }
+        validateFields(selection);
+        try {
+            List<GroupRs> groups = tracing.mapAll("group", sparseFieldsRepository
+                    .findFields(Group.class, selection.attributes(GROUP_ATTRIBUTES),
+                            GroupFilter.MEMBER_COUNT_ATTRIBUTE, filter.minMembers(), filter.maxMembers(), filter.sort()),
+                    this::toRs);
+            if (selection.expandEmployees()) {
+                attachMembers(groups, findMemberSummaries(groups.stream().map(GroupRs::getId).toList()));
+            }
+            return groups;
+        } catch (DataAccessException dae) {
+            log.error("Error reading from repository", dae);
+            throw new GroupException(MessageException.DATABASE_ERROR, GroupException.Type.INTERNAL_SERVER);
+        }
+    }
+
     /**
      * Recupera un grupo por su id.
+     * Las lecturas concurrentes del mismo id comparten una única carga en curso.
      *
      * @param id identificador del grupo
      * @return GroupRs si existe
@@ -111,16 +272,130 @@ public class GroupServiceImpl implements GroupService {
      */
     @Override
     public GroupRs getById(UUID id) {
+        return getById(id, FieldSelection.ALL);
+    }
+
+    /**
+     * Recupera un grupo por su id con los campos y expansiones solicitados.
+     * Las lecturas concurrentes idénticas comparten una única carga en curso.
+     *
+     * @param id        identificador del grupo
+     * @param selection campos y expansiones solicitados
+     * @return GroupRs si existe
+     * @throws GroupException si el grupo no existe, se piden campos desconocidos o falla la lectura
+     */
+    @Override
+    public GroupRs getById(UUID id, FieldSelection selection) {
         if (id == null) {
             log.error("getById called with null id");
-            throw new GroupException(String.format(MessageException.INVALID_UUID, "null"), GroupException.Type.BAD_REQUEST);
+            throw new GroupException(MessageException.INVALID_UUID.render("null"), GroupException.Type.BAD_REQUEST);
+        }
+
+        if (FieldSelection.ALL.equals(selection)) {
+            return singleFlight.execute("group.getById", id, null,
+                    () -> readOnlyTx.execute(status -> loadById(id)), GroupRs::copy);
+        }
+        validateFields(selection);
+        return singleFlight.execute("group.getById", id, selection,
+                () -> readOnlyTx.execute(status -> loadSparseById(id, selection)), GroupRs::copy);
+    }
+
+    /**
+     * Recupera varios grupos por id con consultas {@code IN} de hasta {@value #LOOKUP_CHUNK_SIZE} ids.
+     * Los miembros de cada bloque se leen con una única consulta de resumen.
+     *
+     * @param ids identificadores de los grupos; los repetidos se resuelven una vez
+     * @return grupos por id en el orden pedido, con los inexistentes en {@code null} y en {@code missing}
+     * @throws GroupException con Type.BAD_REQUEST si la lista es nula o contiene nulos
+     * @throws GroupException con Type.INTERNAL_SERVER si falla la lectura
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public LookupRs<GroupRs> lookupGroups(Collection<UUID> ids) {
+        if (ids == null || ids.stream().anyMatch(Objects::isNull)) {
+            throw new GroupException(MessageException.INVALID_REQUEST, GroupException.Type.BAD_REQUEST);
+        }
+        List<UUID> distinct = new ArrayList<>(new LinkedHashSet<>(ids));
+        try {
+            Map<UUID, GroupRs> found = new HashMap<>(distinct.size() * 2);
+            for (int from = 0; from < distinct.size(); from += LOOKUP_CHUNK_SIZE) {
+                List<UUID> chunk = distinct.subList(from, Math.min(from + LOOKUP_CHUNK_SIZE, distinct.size()));
+                List<GroupRs> groups = groupRepository.findAllById(chunk).stream()
+                        .map(this::toScalarRs)
+                        .collect(Collectors.toList());
+                if (!groups.isEmpty()) {
+                    attachMembers(groups, groupRepository.findMemberSummaries(
+                            groups.stream().map(GroupRs::getId).toList()));
+                }
+                groups.forEach(g -> found.put(g.getId(), g));
+            }
+            Map<UUID, GroupRs> results = new LinkedHashMap<>(distinct.size() * 2);
+            List<UUID> missing = new ArrayList<>();
+            for (UUID id : distinct) {
+                GroupRs rs = found.get(id);
+                results.put(id, rs);
+                if (rs == null) {
+                    missing.add(id);
+                }
+            }
+            return new LookupRs<>(results, missing);
+        } catch (DataAccessException dae) {
+            log.error("Error looking up {} groups", distinct.size(), dae);
+            throw new GroupException(MessageException.DATABASE_ERROR, GroupException.Type.INTERNAL_SERVER);
+        }
+    }
+
+    /**
+     * Carga solo las columnas solicitadas del grupo y, si se expanden, sus miembros.
+     *
+     * @param id        identificador del grupo
+     * @param selection campos y expansiones solicitados
+     * @return GroupRs parcial
+     */
+    private GroupRs loadSparseById(UUID id, FieldSelection selection) {
+        try {
+            List<Tuple> rows = sparseFieldsRepository.findFields(Group.class, selection.attributes(GROUP_ATTRIBUTES), id);
+            if (rows.isEmpty()) {
+                log.debug("Group not found: {}", id);
+                throw new GroupException(MessageException.GROUP_NOT_FOUND.render(id), GroupException.Type.NOT_FOUND);
+            }
+            GroupRs r = toRs(rows.get(0));
+            if (selection.expandEmployees()) {
+                attachMembers(List.of(r), groupRepository.findMemberSummaries(List.of(id)));
+            }
+            return r;
+        } catch (DataAccessException dae) {
+            log.error("Error reading Group by id {}", id, dae);
+            throw new GroupException(MessageException.DATABASE_ERROR, GroupException.Type.INTERNAL_SERVER);
         }
+    }
+
+    /**
+     * Valida que los campos solicitados existan en Group.
+     *
+     * @param selection selección a validar
+     * @throws GroupException con Type.BAD_REQUEST si hay campos desconocidos
+     */
+    private void validateFields(FieldSelection selection) {
+        Set<String> unknown = selection.unknown(GROUP_ATTRIBUTES);
+        if (!unknown.isEmpty()) {
+            log.warn("Unknown group fields requested: {}", unknown);
+            throw new GroupException(MessageException.INVALID_FIELDS.render(unknown), GroupException.Type.BAD_REQUEST);
+        }
+    }
 
+    /**
+     * Carga el grupo y lo mapea a GroupRs.
+     *
+     * @param id identificador del grupo
+     * @return GroupRs si existe
+     */
+    private GroupRs loadById(UUID id) {
         try {
             return groupRepository.findById(id)
-                    .map(this::toRs)
+                    .map(g -> withMembers(tracing.map("group", g, this::toScalarRs)))
                     .orElseThrow(() -> {
-                        String msg = String.format(MessageException.GROUP_NOT_FOUND, id);
+                        String msg = MessageException.GROUP_NOT_FOUND.render(id);
                         log.debug("Group not found: {}", id);
                         return new GroupException(msg, GroupException.Type.NOT_FOUND);
                     });
@@ -139,11 +414,12 @@ public class GroupServiceImpl implements GroupService {
      * @throws RuntimeException si no existe el grupo o falla la persistencia
      */
     @Override
+    @Transactional
     public GroupRs updateGroup(UUID id, GroupRq rq) {
 
         if (id == null) {
             log.warn("updateGroup called with null id");
-            throw new GroupException(String.format(MessageException.INVALID_UUID, "null"), GroupException.Type.BAD_REQUEST);
+            throw new GroupException(MessageException.INVALID_UUID.render("null"), GroupException.Type.BAD_REQUEST);
         }
         if (rq == null) {
             log.warn("updateGroup called with null request for id {}", id);
@@ -159,7 +435,7 @@ public class GroupServiceImpl implements GroupService {
         try {
             Group existing = groupRepository.findById(id)
                     .orElseThrow(() -> {
-                        String msg = String.format(MessageException.GROUP_NOT_FOUND, id);
+                        String msg = MessageException.GROUP_NOT_FOUND.render(id);
                         log.debug("Group not found for update: {}", id);
                         return new GroupException(msg, GroupException.Type.NOT_FOUND);
                     });
@@ -169,7 +445,7 @@ public class GroupServiceImpl implements GroupService {
                 if (groupRepository.existsByNameIgnoreCase(newName)) {
                     log.warn("Attempt to rename group {} to an existing name: {}", id, newName);
                     throw new GroupException(
-                            String.format(MessageException.GROUP_ALREADY_EXISTS, newName),
+                            MessageException.GROUP_ALREADY_EXISTS.render(newName),
                             GroupException.Type.BAD_REQUEST
                     );
                 }
@@ -183,7 +459,9 @@ public class GroupServiceImpl implements GroupService {
 
             // persistir cambios
             Group saved = groupRepository.save(existing);
-            return toRs(saved);
+            outbox.append(ChangeEventType.GROUP_UPDATED, saved.getId(),
+                    Map.of("name", saved.getName(), "address", saved.getAddress()));
+            return withMembers(toScalarRs(saved));
 
         } catch (DataAccessException dae) {
             log.error("Error updating Group id {} with payload {}", id, rq, dae);
@@ -198,29 +476,46 @@ public class GroupServiceImpl implements GroupService {
      * @throws RuntimeException si no existe el grupo o falla la eliminación
      */
     @Override
+    @Transactional
     public void deleteGroup(UUID id) {
         if (id == null) {
             log.warn("deleteGroup called with null id");
-            throw new GroupException(String.format(MessageException.INVALID_UUID, "null"), GroupException.Type.BAD_REQUEST);
+            throw new GroupException(MessageException.INVALID_UUID.render("null"), GroupException.Type.BAD_REQUEST);
         }
         try {
-            Group existing = groupRepository.findById(id)
+            // Excluir cambios de jerarquía y escrituras de membresía concurrentes mientras se valida que el grupo esté vacío
+            lockHierarchy();
+            groupLocks.lockExclusive(id);
+
+            long memberCount = groupRepository.findMemberCountById(id)
                     .orElseThrow(() -> {
-                        String msg = String.format(MessageException.GROUP_NOT_FOUND, id);
+                        String msg = MessageException.GROUP_NOT_FOUND.render(id);
                         log.debug("Group not found for deletion: {}", id);
                         return new GroupException(msg, GroupException.Type.NOT_FOUND);
                     });
 
-            // Regla de negocio: no permitir eliminar un grupo que tenga empleados asociados
-            if (existing.getEmployees() != null && !existing.getEmployees().isEmpty()) {
+            // Un grupo con subgrupos no se elimina: dejaría huérfano su subárbol
+            if (groupClosureRepository.hasChildren(id)) {
+                log.warn("Attempt to delete group {} which still has child groups", id);
+                throw new GroupException(
+                        MessageException.GROUP_DELETE_NOT_ALLOWED.render(id),
+                        GroupException.Type.BAD_REQUEST
+                );
+            }
+
+            // Regla de negocio: no permitir eliminar un grupo que tenga empleados asociados.
+            // El borrado condicional cubre también asignaciones concurrentes desde otra réplica.
+            if (memberCount > 0 || groupRepository.deleteIfEmpty(id) == 0) {
                 log.warn("Attempt to delete group {} which still has employees", id);
                 throw new GroupException(
-                        String.format(MessageException.GROUP_DELETE_NOT_ALLOWED, id),
+                        MessageException.GROUP_DELETE_NOT_ALLOWED.render(id),
                         GroupException.Type.BAD_REQUEST
                 );
             }
 
-            groupRepository.delete(existing);
+            groupClosureRepository.deleteLeaf(id);
+            groupRepository.deleteMemberCountStripes(id);
+            outbox.append(ChangeEventType.GROUP_DELETED, id, Map.of());
             log.info("Group {} deleted", id);
         } catch (DataAccessException dae) {
             log.error("Error deleting Group id {}", id, dae);
@@ -233,7 +528,7 @@ public class GroupServiceImpl implements GroupService {
      *
      * @param id identificador del grupo
      * @param rq request con lista de employeeIds
-     * @return grupo actualizado
+     * @return grupo actualizado con todos sus miembros, leídos con la consulta de resumen
      * @throws RuntimeException si el grupo no existe, si la lista es inválida,
      *                          si faltan empleados o falla la persistencia
      */
@@ -242,7 +537,7 @@ public class GroupServiceImpl implements GroupService {
     public GroupRs assignEmployees(UUID id, AssignEmployeesRq rq) {
         if (id == null) {
             log.warn("assignEmployees called with null group id");
-            throw new GroupException(String.format(MessageException.INVALID_UUID, "null"), GroupException.Type.BAD_REQUEST);
+            throw new GroupException(MessageException.INVALID_UUID.render("null"), GroupException.Type.BAD_REQUEST);
         }
         if (rq == null || rq.getEmployeeIds() == null || rq.getEmployeeIds().isEmpty()) {
             log.warn("assignEmployees called with invalid employee list for group {}", id);
@@ -259,19 +554,23 @@ public class GroupServiceImpl implements GroupService {
         }
 
         try {
-            Group existing = groupRepository.findById(id)
-                    .orElseThrow(() -> {
-                        String msg = String.format(MessageException.GROUP_NOT_FOUND, id);
-                        log.debug("Group not found for assignEmployees: {}", id);
-                        return new GroupException(msg, GroupException.Type.NOT_FOUND);
-                    });
+            // El lock se toma antes de comprobar la existencia para que un borrado no se cuele entre ambos.
+            // Es compartido: las escrituras de membresía del mismo grupo no se excluyen entre sí.
+            groupLocks.lockShared(id);
+
+            if (!groupRepository.existsById(id)) {
+                log.debug("Group not found for assignEmployees: {}", id);
+                throw new GroupException(MessageException.GROUP_NOT_FOUND.render(id), GroupException.Type.NOT_FOUND);
+            }
 
-            // Recuperar empleados por ids
-            List<Employees> found = employeeRepository.findAllById(requestedIds);
+            // Recuperar (id, email, estado, nombre) de los empleados, bloqueados: su estado no cambia hasta el commit.
+            // Toda inserción de una relación bloquea antes a su empleado, así que tampoco puede aparecer
+            // otra relación (id, empleado) entre la comprobación de pertenencia y la inserción.
+            List<Object[]> found = employeeRepository.lockStatusSummaries(requestedIds);
 
             // Comprobar si hay ids faltantes
             Set<UUID> foundIds = found.stream()
-                    .map(Employees::getId)
+                    .map(row -> (UUID) row[0])
                     .collect(Collectors.toSet());
 
             Set<UUID> missing = new HashSet<>(requestedIds);
@@ -281,27 +580,27 @@ public class GroupServiceImpl implements GroupService {
                 log.info("Employee not found when assigning to group {}: {}", id, missingId);
             }
 
-            // Comprobar estado y pertenencia actual
-            Set<UUID> existingEmployeeIds = existing.getEmployees() == null
+            // Comprobar pertenencia actual solo para los ids solicitados (sin cargar la colección)
+            Set<UUID> existingEmployeeIds = foundIds.isEmpty()
                     ? Collections.emptySet()
-                    : existing.getEmployees().stream()
-                    .map(Employees::getId)
-                    .collect(Collectors.toSet());
+                    : groupRepository.findMemberIds(id, foundIds);
 
             // // Filtra empleados activos que no estén registrados en el grupo y genera advertencias si el empleado está inactivo o ya pertenece al grupo.
-            List<Employees> toAssign = found.stream()
-                    .filter(e -> {
-                        boolean alreadyInGroup = existingEmployeeIds.contains(e.getId());
-                        boolean isActive = e.getStatus() != null && "ACTIVE".equalsIgnoreCase(String.valueOf(e.getStatus()));
+            List<Object[]> assigned = found.stream()
+                    .filter(row -> {
+                        UUID employeeId = (UUID) row[0];
+                        boolean alreadyInGroup = existingEmployeeIds.contains(employeeId);
+                        boolean isActive = row[2] == EmployeStatus.ACTIVE;
                         if (alreadyInGroup) {
-                            log.warn("Attempt to assign employee {} who is already in group {}", e.getId(), id);
+                            log.warn("Attempt to assign employee {} who is already in group {}", employeeId, id);
                         }
                         if (!isActive) {
-                            log.warn("Attempt to assign inactive employee {} to group {}", e.getId(), id);
+                            log.warn("Attempt to assign inactive employee {} to group {}", employeeId, id);
                         }
                         return !alreadyInGroup && isActive;
                     })
-                    .collect(Collectors.toList());
+                    .toList();
+            List<UUID> toAssign = assigned.stream().map(row -> (UUID) row[0]).toList();
 
             if (toAssign.isEmpty()) {
                 throw new GroupException(
@@ -310,15 +609,17 @@ public class GroupServiceImpl implements GroupService {
                 );
             }
 
-            // Asignar todos los empleados (añadir al Set)
-            if (existing.getEmployees() == null) {
-                existing.setEmployees(new HashSet<>(toAssign));
-            } else {
-                existing.getEmployees().addAll(toAssign);
-            }
+            // Insertar solo las filas de relación; la fila del grupo (y su versión) no se modifica.
+            // Con los empleados bloqueados se insertan exactamente los de toAssign.
+            int inserted = groupRepository.insertMembers(id, toAssign);
+            groupRepository.adjustMemberCount(id, inserted);
+            outbox.append(ChangeEventType.GROUP_MEMBERS_ADDED, id, Map.of("employeeIds", toAssign));
+            log.debug("{} employees assigned to group {}", inserted, id);
 
-            Group saved = groupRepository.save(existing);
-            return toRs(saved);
+            // La membresía completa se lee como filas de resumen, sin cargar las entidades de los miembros
+            return groupRepository.findById(id)
+                    .map(g -> withMembers(toScalarRs(g)))
+                    .orElseThrow(() -> new GroupException(MessageException.GROUP_NOT_FOUND.render(id), GroupException.Type.NOT_FOUND));
 
         } catch (DataAccessException dae) {
             log.error("Error assigning employees to Group id {} with payload {}", id, rq, dae);
@@ -334,48 +635,43 @@ public class GroupServiceImpl implements GroupService {
      * @throws RuntimeException si el grupo o el empleado no existen o el empleado no pertenece al grupo
      */
     @Override
+    @Transactional
     public void removeEmployee(UUID groupId, UUID employeeId) {
 
         if (groupId == null) {
             log.warn("removeEmployee called with null groupId");
-            throw new GroupException(String.format(MessageException.INVALID_UUID, "null"), GroupException.Type.BAD_REQUEST);
+            throw new GroupException(MessageException.INVALID_UUID.render("null"), GroupException.Type.BAD_REQUEST);
         }
         if (employeeId == null) {
             log.warn("removeEmployee called with null employeeId for group {}", groupId);
-            throw new GroupException(String.format(MessageException.INVALID_UUID, "null"), GroupException.Type.BAD_REQUEST);
+            throw new GroupException(MessageException.INVALID_UUID.render("null"), GroupException.Type.BAD_REQUEST);
         }
 
         try {
-            Group existing = groupRepository.findById(groupId)
-                    .orElseThrow(() -> {
-                        String msg = String.format(MessageException.GROUP_NOT_FOUND, groupId);
-                        log.debug("Group not found for removeEmployee: {}", groupId);
-                        return new GroupException(msg, GroupException.Type.NOT_FOUND);
-                    });
+            groupLocks.lockShared(groupId);
 
-            Employees employee = employeeRepository.findById(employeeId)
-                    .orElseThrow(() -> {
-                        String msg = String.format(MessageException.EMPLOYEE_NOT_FOUND, employeeId);
-                        log.debug("Employee not found for removeEmployee: {}", employeeId);
-                        return new GroupException(msg, GroupException.Type.BAD_REQUEST);
-                    });
+            if (!groupRepository.existsById(groupId)) {
+                log.debug("Group not found for removeEmployee: {}", groupId);
+                throw new GroupException(MessageException.GROUP_NOT_FOUND.render(groupId), GroupException.Type.NOT_FOUND);
+            }
 
-            // Comprobar pertenencia
-            boolean belongs = existing.getEmployees() != null &&
-                    existing.getEmployees().stream()
-                            .anyMatch(e -> Objects.equals(e.getId(), employeeId));
+            if (!employeeRepository.existsById(employeeId)) {
+                log.debug("Employee not found for removeEmployee: {}", employeeId);
+                throw new GroupException(MessageException.EMPLOYEE_NOT_FOUND.render(employeeId), GroupException.Type.BAD_REQUEST);
+            }
 
-            if (!belongs) {
+            // Remover la relación directamente; si no se borró ninguna fila el empleado no pertenecía al grupo
+            // (o la retiró una escritura concurrente, que publica su propio evento)
+            int removed = groupRepository.deleteMember(groupId, employeeId);
+            if (removed == 0) {
                 log.warn("Attempt to remove employee {} who is not in group {}", employeeId, groupId);
-                String msg = MessageException.EMPLOYEE_NOT_IN_GROUP != null
-                        ? String.format(MessageException.EMPLOYEE_NOT_IN_GROUP, employeeId)
-                        : String.format("Employee %s is not a member of group %s", employeeId, groupId);
-                throw new GroupException(msg, GroupException.Type.BAD_REQUEST);
+                throw new GroupException(
+                        MessageException.EMPLOYEE_NOT_IN_GROUP.render(employeeId),
+                        GroupException.Type.BAD_REQUEST
+                );
             }
-
-            // Remover la relación y persistir
-            existing.getEmployees().removeIf(e -> Objects.equals(e.getId(), employeeId));
-            groupRepository.save(existing);
+            groupRepository.adjustMemberCount(groupId, -removed);
+            outbox.append(ChangeEventType.GROUP_MEMBERS_REMOVED, groupId, Map.of("employeeIds", List.of(employeeId)));
             log.info("Employee {} removed from group {}", employeeId, groupId);
 
         } catch (DataAccessException dae) {
@@ -386,44 +682,561 @@ public class GroupServiceImpl implements GroupService {
     }
 
     /**
-     * Mapea una entidad Group a su DTO GroupRs.
+     * Copia los miembros activos de {@code sourceId} en {@code targetId}.
+     *
+     * @param sourceId grupo origen
+     * @param targetId grupo destino
+     * @return empleados añadidos, ya presentes e inactivos omitidos
+     * @throws GroupException con Type.BAD_REQUEST si los ids son nulos o iguales
+     * @throws GroupException con Type.NOT_FOUND si alguno de los grupos no existe
+     */
+    @Override
+    @Transactional
+    public MembershipTransferRs copyMembers(UUID sourceId, UUID targetId) {
+        return transferMembers(sourceId, targetId, false);
+    }
+
+    /**
+     * Mueve los miembros activos de {@code sourceId} a {@code targetId}; los inactivos permanecen en el origen.
+     *
+     * @param sourceId grupo origen
+     * @param targetId grupo destino
+     * @return empleados añadidos, ya presentes, inactivos omitidos y relaciones eliminadas del origen
+     * @throws GroupException con Type.BAD_REQUEST si los ids son nulos o iguales
+     * @throws GroupException con Type.NOT_FOUND si alguno de los grupos no existe
+     */
+    @Override
+    @Transactional
+    public MembershipTransferRs moveMembers(UUID sourceId, UUID targetId) {
+        return transferMembers(sourceId, targetId, true);
+    }
+
+    /**
+     * Retira a todos los miembros directos del grupo con sentencias por bloques de
+     * {@value #LOOKUP_CHUNK_SIZE} relaciones.
+     *
+     * @param id identificador del grupo
+     * @return relaciones eliminadas
+     * @throws GroupException con Type.BAD_REQUEST si {@code id} es {@code null}
+     * @throws GroupException con Type.NOT_FOUND si el grupo no existe
+     */
+    @Override
+    @Transactional
+    public MembershipTransferRs clearMembers(UUID id) {
+        if (id == null) {
+            log.warn("clearMembers called with null id");
+            throw new GroupException(MessageException.INVALID_UUID.render("null"), GroupException.Type.BAD_REQUEST);
+        }
+        try {
+            groupLocks.lockShared(id);
+            if (!groupRepository.existsById(id)) {
+                log.debug("Group not found for clearMembers: {}", id);
+                throw new GroupException(MessageException.GROUP_NOT_FOUND.render(id), GroupException.Type.NOT_FOUND);
+            }
+
+            // Relaciones bloqueadas: nadie más puede borrarlas, y el DELETE se limita a ellas (no a las que
+            // una asignación concurrente añada después), así el evento publica exactamente las eliminadas
+            List<UUID> memberIds = groupRepository.lockMemberIds(id);
+            int removed = 0;
+            for (List<UUID> chunk : chunks(memberIds)) {
+                removed += groupRepository.deleteMembers(id, chunk);
+            }
+            if (removed > 0) {
+                groupRepository.adjustMemberCount(id, -removed);
+                outbox.append(ChangeEventType.GROUP_MEMBERS_REMOVED, id, Map.of("employeeIds", memberIds));
+            }
+            log.info("{} members cleared from group {}", removed, id);
+            return MembershipTransferRs.builder()
+                    .sourceGroupId(id)
+                    .removed(removed)
+                    .build();
+        } catch (DataAccessException dae) {
+            log.error("Error clearing members of group {}", id, dae);
+            throw new GroupException(MessageException.DATABASE_ERROR, GroupException.Type.INTERNAL_SERVER);
+        }
+    }
+
+    /**
+     * Copia (y, si {@code move}, retira del origen) los miembros activos con sentencias por bloques de
+     * {@value #LOOKUP_CHUNK_SIZE} relaciones sobre {@code infra_group_employees}, con las mismas reglas que
+     * {@link #assignEmployees} (solo activos, sin duplicados). El número de sentencias depende del número
+     * de bloques, no del tamaño de los grupos.
+     *
+     * <p>No se bloquea la fila de ningún grupo. Se bloquean las relaciones del origen con sus empleados y
+     * las relaciones del destino con esos mismos empleados: la inserción añade exactamente {@code toAdd}
+     * (toda inserción de una relación bloquea antes a su empleado) y el borrado del origen se limita a los
+     * activos leídos, de modo que los eventos publican exactamente las filas cambiadas.</p>
+     */
+    private MembershipTransferRs transferMembers(UUID sourceId, UUID targetId, boolean move) {
+        if (sourceId == null || targetId == null) {
+            log.warn("transferMembers called with null group id (source {}, target {})", sourceId, targetId);
+            throw new GroupException(MessageException.INVALID_UUID.render("null"), GroupException.Type.BAD_REQUEST);
+        }
+        if (sourceId.equals(targetId)) {
+            throw new GroupException(MessageException.OPERATION_NOT_ALLOWED.render("source and target groups must differ"),
+                    GroupException.Type.BAD_REQUEST);
+        }
+        try {
+            // Escritura de membresía en ambos grupos: lock compartido, en el orden del coordinador
+            groupLocks.lockShared(sourceId, targetId);
+            requireGroupExists(sourceId);
+            requireGroupExists(targetId);
+
+            List<UUID> active = new ArrayList<>();
+            int inactive = 0;
+            for (Object[] row : groupRepository.lockMemberStatuses(sourceId)) {
+                if (row[1] == EmployeStatus.ACTIVE) {
+                    active.add((UUID) row[0]);
+                } else {
+                    inactive++;
+                }
+            }
+            Set<UUID> shared = new HashSet<>();
+            for (List<UUID> chunk : chunks(active)) {
+                shared.addAll(groupRepository.lockMemberIds(targetId, chunk));
+            }
+            List<UUID> toAdd = active.stream().filter(employeeId -> !shared.contains(employeeId)).toList();
+            if (inactive > 0) {
+                log.warn("{} inactive members of group {} are not copied to group {}", inactive, sourceId, targetId);
+            }
+
+            int added = 0;
+            for (List<UUID> chunk : chunks(toAdd)) {
+                added += groupRepository.insertMembers(targetId, chunk);
+            }
+            int removed = 0;
+            if (move) {
+                for (List<UUID> chunk : chunks(active)) {
+                    removed += groupRepository.deleteMembers(sourceId, chunk);
+                }
+            }
+            if (added > 0) {
+                groupRepository.adjustMemberCount(targetId, added);
+                outbox.append(ChangeEventType.GROUP_MEMBERS_ADDED, targetId, Map.of("employeeIds", toAdd));
+            }
+            if (removed > 0) {
+                groupRepository.adjustMemberCount(sourceId, -removed);
+                outbox.append(ChangeEventType.GROUP_MEMBERS_REMOVED, sourceId, Map.of("employeeIds", active));
+            }
+            log.info("{} members of group {} {} group {} ({} already members, {} inactive skipped)",
+                    added, sourceId, move ? "moved to" : "copied to", targetId, shared.size(), inactive);
+
+            return MembershipTransferRs.builder()
+                    .sourceGroupId(sourceId)
+                    .targetGroupId(targetId)
+                    .added(added)
+                    .alreadyMembers(shared.size())
+                    .skippedInactive(inactive)
+                    .removed(move ? removed : null)
+                    .build();
+        } catch (DataAccessException dae) {
+            log.error("Error transferring members from group {} to group {}", sourceId, targetId, dae);
+            throw new GroupException(MessageException.DATABASE_ERROR, GroupException.Type.INTERNAL_SERVER);
+        }
+    }
+
+    /**
+     * Anida {@code childId} (con todo su subárbol) bajo {@code parentId}.
+     *
+     * Si el hijo ya tenía otro padre se mueve; si ya era hijo de {@code parentId} no hace nada.
+     * Se rechaza si {@code parentId} es el propio hijo o uno de sus descendientes (ciclo).
+     *
+     * @param parentId grupo padre
+     * @param childId  grupo hijo
+     * @throws GroupException si algún grupo no existe, si se formaría un ciclo o falla la persistencia
+     */
+    @Override
+    @Transactional
+    public void attachChild(UUID parentId, UUID childId) {
+        requireIds(parentId, childId);
+        if (parentId.equals(childId)) {
+            throw new GroupException(MessageException.GROUP_HIERARCHY_CYCLE.render(childId), GroupException.Type.CONFLICT);
+        }
+        try {
+            // La detección de ciclos lee rutas de toda la jerarquía: los cambios estructurales se serializan,
+            // también entre réplicas
+            lockHierarchy();
+            requireGroupExists(parentId);
+            requireGroupExists(childId);
+
+            // Grupos anteriores a la jerarquía pueden no tener aún su fila propia
+            groupClosureRepository.insertSelf(parentId);
+            groupClosureRepository.insertSelf(childId);
+
+            if (groupClosureRepository.existsByAncestorIdAndDescendantId(childId, parentId)) {
+                log.warn("Attempt to nest group {} under its descendant {}", childId, parentId);
+                throw new GroupException(MessageException.GROUP_HIERARCHY_CYCLE.render(childId), GroupException.Type.CONFLICT);
+            }
+
+            Optional<UUID> currentParent = groupClosureRepository.findParentId(childId);
+            if (currentParent.filter(parentId::equals).isPresent()) {
+                return;
+            }
+            if (currentParent.isPresent()) {
+                groupClosureRepository.detach(childId);
+                outbox.append(ChangeEventType.GROUP_DETACHED, currentParent.get(), Map.of("childId", childId));
+            }
+
+            int paths = groupClosureRepository.attach(parentId, childId);
+            outbox.append(ChangeEventType.GROUP_ATTACHED, parentId, Map.of("childId", childId));
+            log.info("Group {} nested under {} ({} paths added)", childId, parentId, paths);
+        } catch (DataAccessException dae) {
+            log.error("Error nesting group {} under {}", childId, parentId, dae);
+            throw new GroupException(MessageException.DATABASE_ERROR, GroupException.Type.INTERNAL_SERVER);
+        }
+    }
+
+    /**
+     * Saca {@code childId} (con todo su subárbol) de {@code parentId}; pasa a ser un grupo raíz.
+     *
+     * @param parentId grupo padre
+     * @param childId  grupo hijo
+     * @throws GroupException si algún grupo no existe, si no es hijo directo o falla la persistencia
+     */
+    @Override
+    @Transactional
+    public void detachChild(UUID parentId, UUID childId) {
+        requireIds(parentId, childId);
+        try {
+            lockHierarchy();
+            requireGroupExists(parentId);
+            requireGroupExists(childId);
+
+            if (groupClosureRepository.findParentId(childId).filter(parentId::equals).isEmpty()) {
+                log.warn("Attempt to detach group {} which is not a child of {}", childId, parentId);
+                throw new GroupException(MessageException.GROUP_NOT_CHILD.render(childId), GroupException.Type.BAD_REQUEST);
+            }
+
+            int paths = groupClosureRepository.detach(childId);
+            outbox.append(ChangeEventType.GROUP_DETACHED, parentId, Map.of("childId", childId));
+            log.info("Group {} detached from {} ({} paths removed)", childId, parentId, paths);
+        } catch (DataAccessException dae) {
+            log.error("Error detaching group {} from {}", childId, parentId, dae);
+            throw new GroupException(MessageException.DATABASE_ERROR, GroupException.Type.INTERNAL_SERVER);
+        }
+    }
+
+    /**
+     * Inserta la fila propia de la tabla de cierre para los grupos que no la tienen.
+     *
+     * @return filas insertadas
+     * @throws GroupException si falla la persistencia
+     */
+    @Override
+    @Transactional
+    public int backfillHierarchy() {
+        try {
+            lockHierarchy();
+            int inserted = groupClosureRepository.insertMissingSelfRows();
+            if (inserted > 0) {
+                log.info("Group hierarchy backfilled for {} groups", inserted);
+            }
+            return inserted;
+        } catch (DataAccessException dae) {
+            log.error("Error backfilling group hierarchy", dae);
+            throw new GroupException(MessageException.DATABASE_ERROR, GroupException.Type.INTERNAL_SERVER);
+        }
+    }
+
+    /**
+     * Devuelve los miembros del grupo y de todos sus descendientes con una única lectura
+     * sobre la tabla de cierre.
+     *
+     * @param id UUID del grupo raíz
+     * @return miembros transitivos sin repetir
+     * @throws GroupException si el id es nulo, el grupo no existe o falla la lectura
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public List<EmployeeSummaryDto> getTransitiveMembers(UUID id) {
+        if (id == null) {
+            log.warn("getTransitiveMembers called with null id");
+            throw new GroupException(MessageException.INVALID_UUID.render("null"), GroupException.Type.BAD_REQUEST);
+        }
+        try {
+            requireGroupExists(id);
+            return groupClosureRepository.findTransitiveMemberSummaries(id).stream()
+                    .map(row -> EmployeeSummaryDto.builder()
+                            .id((UUID) row[0])
+                            .fullName((String) row[1])
+                            .email((String) row[2])
+                            .status((EmployeStatus) row[3])
+                            .build())
+                    .toList();
+        } catch (DataAccessException dae) {
+            log.error("Error reading transitive members of group {}", id, dae);
+            throw new GroupException(MessageException.DATABASE_ERROR, GroupException.Type.INTERNAL_SERVER);
+        }
+    }
+
+    /**
+     * Evalúa una expresión de conjuntos sobre el índice de membresía en memoria.
+     * Solo el formato EMAILS consulta la base de datos (para resolver los correos).
+     *
+     * @param rq expresión y formato del resultado
+     * @return total y, según el formato, ids o correos
+     * @throws GroupException si la expresión es inválida, referencia un grupo inexistente o falla la lectura
+     */
+    @Override
+    public MembershipQueryRs queryMembership(MembershipQueryRq rq) {
+        if (rq == null || rq.getExpression() == null) {
+            throw new GroupException(MessageException.INVALID_REQUEST, GroupException.Type.BAD_REQUEST);
+        }
+        validateExpression(rq.getExpression(), new int[1]);
+        MembershipOutput output = rq.getOutput() == null ? MembershipOutput.IDS : rq.getOutput();
+
+        GroupMembershipIndex.Evaluation result = membershipIndex.evaluate(rq.getExpression(),
+                output != MembershipOutput.COUNT);
+        return switch (output) {
+            case COUNT -> MembershipQueryRs.builder().count(result.count()).build();
+            case IDS -> MembershipQueryRs.builder().count(result.count()).ids(result.ids()).build();
+            case EMAILS -> MembershipQueryRs.builder().count(result.count()).emails(loadEmails(result.ids())).build();
+        };
+    }
+
+    /**
+     * Valida la forma de la expresión: cada nodo es una hoja o una operación con operandos,
+     * y el total de nodos está acotado.
+     */
+    private void validateExpression(MembershipExpression node, int[] nodes) {
+        if (node == null) {
+            throw new GroupException(MessageException.INVALID_MEMBERSHIP_EXPRESSION.render("empty node"),
+                    GroupException.Type.BAD_REQUEST);
+        }
+        if (++nodes[0] > MAX_EXPRESSION_NODES) {
+            throw new GroupException(MessageException.INVALID_MEMBERSHIP_EXPRESSION.render(
+                    "more than " + MAX_EXPRESSION_NODES + " nodes"), GroupException.Type.BAD_REQUEST);
+        }
+        boolean hasArgs = node.getArgs() != null && !node.getArgs().isEmpty();
+        if (node.isLeaf() == (node.getOp() != null) || node.isLeaf() == hasArgs) {
+            throw new GroupException(MessageException.INVALID_MEMBERSHIP_EXPRESSION.render(
+                    "each node needs either a group or an op with args"), GroupException.Type.BAD_REQUEST);
+        }
+        if (hasArgs) {
+            for (MembershipExpression arg : node.getArgs()) {
+                validateExpression(arg, nodes);
+            }
+        }
+    }
+
+    /**
+     * Resuelve los correos de los empleados por lotes.
+     */
+    private List<String> loadEmails(List<UUID> ids) {
+        try {
+            return readOnlyTx.execute(status -> {
+                List<String> emails = new ArrayList<>(ids.size());
+                for (int from = 0; from < ids.size(); from += LOOKUP_CHUNK_SIZE) {
+                    emails.addAll(employeeRepository.findEmailsByIdIn(
+                            ids.subList(from, Math.min(from + LOOKUP_CHUNK_SIZE, ids.size()))));
+                }
+                return emails.stream()
+                        .filter(Objects::nonNull)
+                        .map(String::trim)
+                        .filter(e -> !e.isBlank())
+                        .distinct()
+                        .toList();
+            });
+        } catch (DataAccessException dae) {
+            log.error("Error resolving emails for {} employees", ids.size(), dae);
+            throw new GroupException(MessageException.DATABASE_ERROR, GroupException.Type.INTERNAL_SERVER);
+        }
+    }
+
+    private void requireIds(UUID parentId, UUID childId) {
+        if (parentId == null || childId == null) {
+            log.warn("Hierarchy change called with null id: parent={}, child={}", parentId, childId);
+            throw new GroupException(MessageException.INVALID_UUID.render("null"), GroupException.Type.BAD_REQUEST);
+        }
+    }
+
+    /**
+     * Serializa los cambios de jerarquía: primero en proceso y después entre réplicas con la fila
+     * centinela. Debe ser la primera lectura de la transacción, antes de cualquier lock de grupo.
+     */
+    private void lockHierarchy() {
+        groupLocks.lockHierarchy();
+        if (hierarchyLockRepository.lockSentinel().isEmpty()) {
+            hierarchyLockRepository.insertSentinel();
+            hierarchyLockRepository.lockSentinel();
+        }
+    }
+
+    private void requireGroupExists(UUID id) {
+        if (!groupRepository.existsById(id)) {
+            log.debug("Group not found: {}", id);
+            throw new GroupException(MessageException.GROUP_NOT_FOUND.render(id), GroupException.Type.NOT_FOUND);
+        }
+    }
+
+    /**
+     * Detecta y corrige desviaciones de member_count respecto a {@code infra_group_employees}.
+     *
+     * @return número de grupos corregidos
+     * @throws GroupException si falla la persistencia
+     */
+    @Override
+    @Transactional
+    public int reconcileMemberCounts() {
+        try {
+            List<UUID> drifted = groupRepository.findMemberCountDrift();
+            if (drifted.isEmpty()) {
+                return 0;
+            }
+            // Solo se recalculan los grupos bloqueados: una escritura sobre otro grupo no puede intercalarse
+            groupLocks.lockExclusive(drifted.toArray(UUID[]::new));
+            int repaired = groupRepository.repairMemberCounts(drifted);
+            log.warn("member_count drift repaired on {} groups: {}", repaired, drifted);
+            return repaired;
+        } catch (DataAccessException dae) {
+            log.error("Error reconciling group member counts", dae);
+            throw new GroupException(MessageException.DATABASE_ERROR, GroupException.Type.INTERNAL_SERVER);
+        }
+    }
+
+    /**
+     * Pliega los stripes de {@link GroupMemberCount} en member_count, la columna indexada por la que se
+     * ordena y filtra. No toma locks de grupo en proceso: bloquea las filas de los grupos y sus stripes,
+     * de modo que las escrituras de membresía concurrentes (de esta u otra réplica) esperan y vuelven a
+     * crear el stripe, y el número exacto de miembros no cambia.
+     *
+     * @return número de grupos plegados
+     * @throws GroupException si falla la persistencia
+     */
+    @Override
+    @Transactional
+    public int foldMemberCounts() {
+        try {
+            List<UUID> pending = groupRepository.findGroupIdsWithMemberCountStripes();
+            for (List<UUID> chunk : chunks(pending)) {
+                groupRepository.lockGroupIds(chunk);
+                memberCountBatchRepository.fold(groupRepository.lockMemberCountStripes(chunk));
+            }
+            return pending.size();
+        } catch (DataAccessException dae) {
+            log.error("Error folding group member counts", dae);
+            throw new GroupException(MessageException.DATABASE_ERROR, GroupException.Type.INTERNAL_SERVER);
+        }
+    }
+
+    /**
+     * Completa la representación completa de un grupo con sus miembros, leídos con la consulta de
+     * resumen en lugar de inicializar la colección de entidades {@code Employees}.
+     *
+     * @param group grupo mapeado con {@link #toScalarRs(Group)}
+     * @return el mismo grupo con sus miembros
+     */
+    private GroupRs withMembers(GroupRs group) {
+        attachMembers(List.of(group), groupRepository.findMemberSummaries(List.of(group.getId())));
+        return group;
+    }
+
+    /**
+     * Completa la representación completa de varios grupos con sus miembros, leídos con consultas de
+     * resumen por bloques de {@value #LOOKUP_CHUNK_SIZE} ids.
+     *
+     * @param groups grupos mapeados con {@link #toScalarRs(Group)}
+     * @return los mismos grupos con sus miembros
+     */
+    private List<GroupRs> withMembers(List<GroupRs> groups) {
+        if (!groups.isEmpty()) {
+            attachMembers(groups, findMemberSummaries(groups.stream().map(GroupRs::getId).toList()));
+        }
+        return groups;
+    }
+
+    /**
+     * Mapea los atributos escalares de Group a GroupRs, sin tocar la asociación de empleados.
      *
      * @param g entidad Group
-     * @return GroupRs mapeado
+     * @return GroupRs sin empleados
      */
-    private GroupRs toRs(Group g) {
+    private GroupRs toScalarRs(Group g) {
         GroupRs r = new GroupRs();
         r.setId(g.getId());
         r.setName(g.getName());
         r.setAddress(g.getAddress());
         r.setCreatedAt(g.getCreatedAt());
         r.setUpdatedAt(g.getUpdatedAt());
+        r.setMemberCount(g.getMemberCount());
+        return r;
+    }
 
-        if (g.getEmployees() != null && !g.getEmployees().isEmpty()) {
-            Set<EmployeeSummaryDto> ems = g.getEmployees().stream()
-                    .map(this::toEmployeeSummary)
-                    .collect(Collectors.toSet());
-            r.setEmployees(ems);
-        } else {
-            r.setEmployees(Collections.emptySet());
+    /**
+     * Mapea una tupla de columnas seleccionadas a GroupRs; los campos no seleccionados quedan en null.
+     *
+     * @param t tupla con alias iguales a los nombres de atributo
+     * @return GroupRs parcial
+     */
+    private GroupRs toRs(Tuple t) {
+        GroupRs r = new GroupRs.Sparse();
+        for (TupleElement<?> element : t.getElements()) {
+            Object value = t.get(element);
+            switch (element.getAlias()) {
+                case "id" -> r.setId((UUID) value);
+                case "name" -> r.setName((String) value);
+                case "address" -> r.setAddress((String) value);
+                case "createdAt" -> r.setCreatedAt((LocalDateTime) value);
+                case "updatedAt" -> r.setUpdatedAt((LocalDateTime) value);
+                case "memberCount" -> r.setMemberCount((Long) value);
+                default -> log.debug("Ignoring unexpected group attribute {}", element.getAlias());
+            }
         }
-
         return r;
     }
 
     /**
-     * Mapea una entidad Employees a EmployeeSummaryDto.
+     * Lee las filas de resumen de miembros de los grupos indicados con consultas {@code IN} de hasta
+     * {@value #LOOKUP_CHUNK_SIZE} ids, sin recorrer los miembros de grupos no seleccionados.
+     *
+     * @param groupIds ids de los grupos
+     * @return filas de resumen de miembros
+     */
+    private List<Object[]> findMemberSummaries(List<UUID> groupIds) {
+        List<Object[]> rows = new ArrayList<>();
+        for (int from = 0; from < groupIds.size(); from += LOOKUP_CHUNK_SIZE) {
+            rows.addAll(groupRepository.findMemberSummaries(
+                    groupIds.subList(from, Math.min(from + LOOKUP_CHUNK_SIZE, groupIds.size()))));
+        }
+        return rows;
+    }
+
+    /**
+     * Parte la lista en bloques de {@value #LOOKUP_CHUNK_SIZE} elementos para las sentencias {@code IN}.
+     *
+     * @param ids lista a partir
+     * @return vistas consecutivas de la lista
+     */
+    private static List<List<UUID>> chunks(List<UUID> ids) {
+        List<List<UUID>> chunks = new ArrayList<>(ids.size() / LOOKUP_CHUNK_SIZE + 1);
+        for (int from = 0; from < ids.size(); from += LOOKUP_CHUNK_SIZE) {
+            chunks.add(ids.subList(from, Math.min(from + LOOKUP_CHUNK_SIZE, ids.size())));
+        }
+        return chunks;
+    }
+
+    /**
+     * Asigna a cada grupo los miembros leídos como filas de resumen
+     * (id del grupo, id, nombre completo, email y estado del empleado).
      *
-     * @param e entidad Employees
-     * @return EmployeeSummaryDto con datos resumidos del empleado
+     * @param groups grupos a completar
+     * @param rows   filas de resumen de miembros
      */
-    private EmployeeSummaryDto toEmployeeSummary(Employees e) {
-        return EmployeeSummaryDto.builder()
-                .id(e.getId())
-                .fullName(e.getFullName())
-                .email(e.getEmail())
-                .status(e.getStatus())
-                .build();
+    private void attachMembers(List<GroupRs> groups, List<Object[]> rows) {
+        // Las filas salen de la tabla de relación (sin duplicados): basta una lista por grupo
+        Map<UUID, List<EmployeeSummaryView>> byId = new HashMap<>();
+        for (GroupRs g : groups) {
+            List<EmployeeSummaryView> members = new ArrayList<>();
+            g.setEmployees(members);
+            byId.put(g.getId(), members);
+        }
+        for (Object[] row : rows) {
+            List<EmployeeSummaryView> members = byId.get((UUID) row[0]);
+            if (members != null) {
+                members.add(new EmployeeSummaryDto((UUID) row[1], (String) row[2], (String) row[3],
+                        (EmployeStatus) row[4]));
+            }
+        }
     }
 
     /**
@@ -434,16 +1247,73 @@ public class GroupServiceImpl implements GroupService {
      * @throws GroupException cuando:
      */
     @Override
-    @Transactional(readOnly = true)
     public List<String>  getGroupMembersEmails(UUID id) {
+        return getGroupMembersEmails(id, false);
+    }
+
+    /**
+     * Devuelve los correos de los miembros del grupo y, con {@code transitive}, de todos sus subgrupos.
+     *
+     * @param id         UUID del grupo
+     * @param transitive incluir los miembros de los subgrupos
+     * @return correos sin repetir
+     */
+    @Override
+    public List<String> getGroupMembersEmails(UUID id, boolean transitive) {
+        if (id == null) {
+            log.warn("getGroupMembersEmails called with null id");
+            throw new GroupException(MessageException.INVALID_UUID.render("null"), GroupException.Type.BAD_REQUEST);
+        }
+        // Las lecturas concurrentes del mismo grupo comparten una única carga en curso
+        if (transitive) {
+            return singleFlight.execute("group.membersEmails.transitive", id,
+                    () -> readOnlyTx.execute(status -> loadTransitiveMembersEmails(id)));
+        }
+        return singleFlight.execute("group.membersEmails", id, () -> readOnlyTx.execute(status -> loadMembersEmails(id)));
+    }
+
+    /**
+     * Carga los correos de los miembros del grupo y sus descendientes con un único join
+     * sobre la tabla de cierre.
+     *
+     * @param id UUID del grupo raíz
+     * @return lista inmutable de correos
+     */
+    private List<String> loadTransitiveMembersEmails(UUID id) {
+        requireGroupExists(id);
+
+        List<String> rows = groupClosureRepository.findTransitiveMemberEmails(id);
+        if (rows.isEmpty()) {
+            throw new GroupException(MessageException.EMPLOYEE_NOT_FOUND_IN_GROUP.render(id), GroupException.Type.NOT_FOUND);
+        }
+
+        List<String> emails = rows.stream()
+                .filter(Objects::nonNull)
+                .map(String::trim)
+                .filter(s -> !s.isBlank())
+                .distinct()
+                .toList();
+        if (emails.isEmpty()) {
+            throw new GroupException(MessageException.EMPLOYEE_NO_VALID_EMAILS_IN_GROUP.render(id), GroupException.Type.CONFLICT);
+        }
+        return emails;
+    }
+
+    /**
+     * Carga los correos de los miembros del grupo.
+     *
+     * @param id UUID del grupo
+     * @return lista inmutable de correos
+     */
+    private List<String> loadMembersEmails(UUID id) {
 
         // Buscar el grupo o lanzar NotFound
         Group g = groupRepository.findById(id).orElseThrow(() ->
-                new GroupException(MessageException.GROUP_NOT_FOUND + id, GroupException.Type.NOT_FOUND));
+                new GroupException(MessageException.GROUP_NOT_FOUND.render(id), GroupException.Type.NOT_FOUND));
 
         // Validar si existen empleados en el grupo
         if (g.getEmployees().isEmpty()) {
-           throw new GroupException(MessageException.EMPLOYEE_NOT_FOUND_IN_GROUP + id, GroupException.Type.NOT_FOUND);
+           throw new GroupException(MessageException.EMPLOYEE_NOT_FOUND_IN_GROUP.render(id), GroupException.Type.NOT_FOUND);
         }
 
         // Extraer y limpiar emails desde la colección many-to-many
@@ -453,12 +1323,12 @@ public class GroupServiceImpl implements GroupService {
                 .map(String::trim)
                 .filter(s -> !s.isBlank())
                 .distinct()
-                .collect(Collectors.toList()); // Convertir en una lista
+                .toList(); // Convertir en una lista inmutable (se comparte entre peticiones coalescidas)
 
 
         // Validar que haya correos en la lista
         if (emails.isEmpty()) {
-            throw new GroupException(MessageException.EMPLOYEE_NO_VALID_EMAILS_IN_GROUP + id, GroupException.Type.CONFLICT);
+            throw new GroupException(MessageException.EMPLOYEE_NO_VALID_EMAILS_IN_GROUP.render(id), GroupException.Type.CONFLICT);
         }
 
         return emails; // Retornar la lista de correos
@@ -0,0 +1,89 @@
+package com.infragest.infra_groups_service.tracing;
+
+import brave.handler.MutableSpan;
+import brave.handler.SpanHandler;
+import brave.propagation.TraceContext;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+
+/**
+ * Reporter local que conserva en memoria los últimos spans terminados.
+ *
+ * <p>Pensado para pruebas y diagnóstico local ({@code groups.tracing.in-memory.enabled=true}):
+ * no exporta nada fuera del proceso.</p>
+ *
+ * @author bunnystring
+ * @since 2026-10-18
+ */
+@Slf4j
+public class InMemorySpanHandler extends SpanHandler {
+
+    /**
+     * Spans conservados como máximo.
+     */
+    private final int capacity;
+
+    /**
+     * Últimos spans terminados, del más antiguo al más reciente.
+     */
+    private final Deque<MutableSpan> spans;
+
+    /**
+     * Constructor.
+     *
+     * @param capacity spans conservados como máximo
+     */
+    public InMemorySpanHandler(int capacity) {
+        this.capacity = capacity;
+        this.spans = new ArrayDeque<>(capacity);
+    }
+
+    @Override
+    public boolean end(TraceContext context, MutableSpan span, Cause cause) {
+        if (cause != Cause.FINISHED) {
+            return true;
+        }
+        log.debug("Span finished: {}", span);
+        synchronized (spans) {
+            if (spans.size() == capacity) {
+                spans.removeFirst();
+            }
+            spans.addLast(span);
+        }
+        return true;
+    }
+
+    /**
+     * Copia de los spans conservados.
+     *
+     * @return spans, del más antiguo al más reciente
+     */
+    public List<MutableSpan> spans() {
+        synchronized (spans) {
+            return new ArrayList<>(spans);
+        }
+    }
+
+    /**
+     * Spans conservados de una traza.
+     *
+     * @param traceId id de la traza
+     * @return spans de la traza
+     */
+    public List<MutableSpan> spans(String traceId) {
+        return spans().stream().filter(span -> traceId.equals(span.traceId())).toList();
+    }
+
+    /**
+     * Descarta los spans conservados.
+     */
+    public void clear() {
+        synchronized (spans) {
+            spans.clear();
+        }
+    }
+}
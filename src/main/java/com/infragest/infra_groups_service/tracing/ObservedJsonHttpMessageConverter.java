@@ -0,0 +1,75 @@
+package com.infragest.infra_groups_service.tracing;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.converter.HttpMessageNotWritableException;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.lang.Nullable;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+import java.util.Collection;
+import java.util.Iterator;
+
+/**
+ * Conversor JSON que envuelve la serialización de cada respuesta en la observación
+ * {@code groups.serialization}, con el tipo serializado como tag.
+ *
+ * @author bunnystring
+ * @since 2026-10-18
+ */
+public class ObservedJsonHttpMessageConverter extends MappingJackson2HttpMessageConverter {
+
+    /**
+     * Nombre de la observación.
+     */
+    public static final String SERIALIZATION = "groups.serialization";
+
+    /**
+     * Registro de observaciones.
+     */
+    private final ObservationRegistry registry;
+
+    /**
+     * Constructor.
+     *
+     * @param objectMapper mapper JSON de Spring Boot
+     * @param registry     registro de observaciones
+     */
+    public ObservedJsonHttpMessageConverter(ObjectMapper objectMapper, ObservationRegistry registry) {
+        super(objectMapper);
+        this.registry = registry;
+    }
+
+    /**
+     * Tipo serializado; para colecciones, el tipo de sus elementos seguido de {@code []}.
+     */
+    private static String payload(Object object) {
+        if (object instanceof Collection<?> collection) {
+            Iterator<?> it = collection.iterator();
+            Object first = it.hasNext() ? it.next() : null;
+            return (first != null ? first.getClass().getSimpleName() : "Object") + "[]";
+        }
+        return object.getClass().getSimpleName();
+    }
+
+    @Override
+    protected void writeInternal(Object object, @Nullable Type type, HttpOutputMessage outputMessage)
+            throws IOException, HttpMessageNotWritableException {
+        Observation observation = Observation.createNotStarted(SERIALIZATION, registry)
+                .contextualName("serialize json")
+                .lowCardinalityKeyValue("payload", payload(object))
+                .lowCardinalityKeyValue("format", "json")
+                .start();
+        try (Observation.Scope scope = observation.openScope()) {
+            super.writeInternal(object, type, outputMessage);
+        } catch (IOException | RuntimeException ex) {
+            observation.error(ex);
+            throw ex;
+        } finally {
+            observation.stop();
+        }
+    }
+}
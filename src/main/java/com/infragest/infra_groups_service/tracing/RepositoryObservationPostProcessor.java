@@ -0,0 +1,147 @@
+package com.infragest.infra_groups_service.tracing;
+
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.core.support.RepositoryFactoryBeanSupport;
+
+import java.lang.reflect.Method;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.BaseStream;
+
+/**
+ * Añade una observación (span) alrededor de cada llamada a un repositorio de Spring Data.
+ *
+ * <p>Registra, antes de que se cree cada repositorio, un post-procesador de su proxy. Cada llamada
+ * produce la observación {@code groups.repository} con el repositorio y el método como tags de baja
+ * cardinalidad, y la sentencia ({@code @Query} o el nombre del método derivado) y las filas
+ * devueltas o afectadas como tags de alta cardinalidad (solo en el span).</p>
+ *
+ * @author bunnystring
+ * @since 2026-10-18
+ */
+public class RepositoryObservationPostProcessor implements BeanPostProcessor {
+
+    /**
+     * Nombre de la observación.
+     */
+    public static final String REPOSITORY = "groups.repository";
+
+    /**
+     * Registro de observaciones; se resuelve en la primera llamada porque los
+     * post-procesadores se crean antes que el resto de beans.
+     */
+    private final ObjectProvider<ObservationRegistry> registryProvider;
+
+    /**
+     * Sentencia por método, calculada una vez.
+     */
+    private final Map<Method, String> statements = new ConcurrentHashMap<>();
+
+    private volatile ObservationRegistry registry;
+
+    /**
+     * Constructor.
+     *
+     * @param registryProvider proveedor del registro de observaciones
+     */
+    public RepositoryObservationPostProcessor(ObjectProvider<ObservationRegistry> registryProvider) {
+        this.registryProvider = registryProvider;
+    }
+
+    @Override
+    public Object postProcessBeforeInitialization(Object bean, String beanName) {
+        if (bean instanceof RepositoryFactoryBeanSupport<?, ?, ?> factoryBean) {
+            factoryBean.addRepositoryFactoryCustomizer(factory -> factory.addRepositoryProxyPostProcessor(
+                    (proxyFactory, information) -> proxyFactory.addAdvice(
+                            new ObservingInterceptor(information.getRepositoryInterface().getSimpleName()))));
+        }
+        return bean;
+    }
+
+    private ObservationRegistry registry() {
+        ObservationRegistry current = registry;
+        if (current == null) {
+            current = registryProvider.getIfAvailable(() -> ObservationRegistry.NOOP);
+            registry = current;
+        }
+        return current;
+    }
+
+    private String statement(Method method) {
+        return statements.computeIfAbsent(method, m -> {
+            Query query = AnnotatedElementUtils.findMergedAnnotation(m, Query.class);
+            return query != null && !query.value().isEmpty() ? query.value() : m.getName();
+        });
+    }
+
+    /**
+     * Filas devueltas o afectadas por la llamada; {@code null} si no se pueden contar sin consumir
+     * el resultado (streams) o si el método no devuelve filas.
+     */
+    private static String rows(Object result) {
+        if (result instanceof Collection<?> collection) {
+            return Integer.toString(collection.size());
+        }
+        if (result instanceof Slice<?> slice) {
+            return Integer.toString(slice.getNumberOfElements());
+        }
+        if (result instanceof Optional<?> optional) {
+            return optional.isPresent() ? "1" : "0";
+        }
+        if (result instanceof Integer || result instanceof Long) {
+            return result.toString();
+        }
+        if (result instanceof BaseStream<?, ?>) {
+            return "streamed";
+        }
+        return null;
+    }
+
+    /**
+     * Interceptor del proxy de un repositorio.
+     */
+    private final class ObservingInterceptor implements MethodInterceptor {
+        private final String repository;
+
+        private ObservingInterceptor(String repository) {
+            this.repository = repository;
+        }
+
+        @Override
+        public Object invoke(MethodInvocation invocation) throws Throwable {
+            Method method = invocation.getMethod();
+            if (method.getDeclaringClass() == Object.class) {
+                return invocation.proceed();
+            }
+            Observation observation = Observation.createNotStarted(REPOSITORY, registry())
+                    .contextualName("repo " + method.getName())
+                    .lowCardinalityKeyValue("repository", repository)
+                    .lowCardinalityKeyValue("method", method.getName())
+                    .highCardinalityKeyValue("statement", statement(method))
+                    .start();
+            try (Observation.Scope scope = observation.openScope()) {
+                Object result = invocation.proceed();
+                String rows = rows(result);
+                if (rows != null) {
+                    observation.highCardinalityKeyValue("rows", rows);
+                }
+                return result;
+            } catch (Throwable ex) {
+                observation.error(ex);
+                throw ex;
+            } finally {
+                observation.stop();
+            }
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package com.infragest.infra_groups_service.tracing;
+
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Observaciones (spans hijos de la petición) de las etapas internas de los servicios.
+ *
+ * <p>El mapeo de entidades a DTOs puede disparar cargas perezosas de asociaciones; medirlo por
+ * separado permite distinguir en la traza el tiempo de las consultas del tiempo de mapeo.</p>
+ *
+ * @author bunnystring
+ * @since 2026-10-18
+ */
+@Component
+public class TracingStages {
+
+    /**
+     * Nombre de la observación de mapeo.
+     */
+    public static final String MAPPING = "groups.mapping";
+
+    /**
+     * Inyección de dependencia: ObservationRegistry
+     */
+    private final ObservationRegistry registry;
+
+    /**
+     * Constructor.
+     *
+     * @param registry registro de observaciones
+     */
+    public TracingStages(ObservationRegistry registry) {
+        this.registry = registry;
+    }
+
+    /**
+     * Mapea una colección dentro de una observación de mapeo.
+     *
+     * @param target nombre corto del destino (tag), p. ej. {@code group}
+     * @param rows   elementos a mapear
+     * @param mapper función de mapeo
+     * @param <S>    tipo de origen
+     * @param <R>    tipo de destino
+     * @return lista mapeada, en el mismo orden
+     */
+    public <S, R> List<R> mapAll(String target, Collection<S> rows, Function<? super S, R> mapper) {
+        return mapping(target, rows.size()).observe(() -> {
+            List<R> result = new ArrayList<>(rows.size());
+            for (S row : rows) {
+                result.add(mapper.apply(row));
+            }
+            return result;
+        });
+    }
+
+    /**
+     * Mapea un elemento dentro de una observación de mapeo.
+     *
+     * @param target nombre corto del destino (tag), p. ej. {@code group}
+     * @param row    elemento a mapear
+     * @param mapper función de mapeo
+     * @param <S>    tipo de origen
+     * @param <R>    tipo de destino
+     * @return elemento mapeado
+     */
+    public <S, R> R map(String target, S row, Function<? super S, R> mapper) {
+        return mapping(target, 1).observe(() -> mapper.apply(row));
+    }
+
+    private Observation mapping(String target, int rows) {
+        return Observation.createNotStarted(MAPPING, registry)
+                .contextualName("map " + target)
+                .lowCardinalityKeyValue("target", target)
+                .highCardinalityKeyValue("rows", Integer.toString(rows));
+    }
+}
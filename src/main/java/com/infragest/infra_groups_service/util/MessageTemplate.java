@@ -0,0 +1,60 @@
+package com.infragest.infra_groups_service.util;
+
+/**
+ * Plantilla de mensaje con un único placeholder {@code %s}, pre-partida en prefijo y sufijo.
+ *
+ * <p>Se usa para los mensajes de error de negocio: renderizar es una concatenación simple,
+ * sin volver a parsear el formato como hace {@link String#format}.</p>
+ *
+ * @author bunnystring
+ * @since 2026-10-18
+ */
+public final class MessageTemplate {
+
+    private static final String PLACEHOLDER = "%s";
+
+    /**
+     * Texto anterior al placeholder.
+     */
+    private final String prefix;
+
+    /**
+     * Texto posterior al placeholder.
+     */
+    private final String suffix;
+
+    private MessageTemplate(String prefix, String suffix) {
+        this.prefix = prefix;
+        this.suffix = suffix;
+    }
+
+    /**
+     * Crea la plantilla a partir de un patrón con exactamente un {@code %s}.
+     *
+     * @param pattern patrón del mensaje
+     * @return plantilla pre-partida
+     * @throws IllegalArgumentException si el patrón no tiene exactamente un placeholder
+     */
+    public static MessageTemplate of(String pattern) {
+        int index = pattern.indexOf(PLACEHOLDER);
+        if (index < 0 || pattern.indexOf(PLACEHOLDER, index + PLACEHOLDER.length()) >= 0) {
+            throw new IllegalArgumentException("Message pattern must contain exactly one %s: " + pattern);
+        }
+        return new MessageTemplate(pattern.substring(0, index), pattern.substring(index + PLACEHOLDER.length()));
+    }
+
+    /**
+     * Renderiza el mensaje con el argumento dado.
+     *
+     * @param arg valor del placeholder
+     * @return mensaje final
+     */
+    public String render(Object arg) {
+        return prefix + arg + suffix;
+    }
+
+    @Override
+    public String toString() {
+        return prefix + PLACEHOLDER + suffix;
+    }
+}
@@ -0,0 +1,281 @@
+package com.infragest.infra_groups_service.warmup;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.infragest.infra_groups_service.entity.Employees;
+import com.infragest.infra_groups_service.repository.EmployeesRepository;
+import com.infragest.infra_groups_service.repository.GroupsRepository;
+import com.infragest.infra_groups_service.service.EmployeeService;
+import com.infragest.infra_groups_service.service.GroupService;
+import com.netflix.appinfo.ApplicationInfoManager;
+import com.netflix.appinfo.InstanceInfo;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Fase de calentamiento al arrancar, previa a aceptar tráfico.
+ *
+ * <p>Se ejecuta de forma síncrona en {@link ApplicationReadyEvent}: Spring Boot publica
+ * {@code ReadinessState.ACCEPTING_TRAFFIC} después de los listeners de ese evento, por lo que la
+ * sonda de readiness no pasa hasta que el calentamiento termina. La instancia se registra en
+ * Eureka con {@code eureka.instance.initial-status=STARTING} y se marca {@code UP} al final.</p>
+ *
+ * <p>El calentamiento llena el pool del primario, recorre los grupos con más miembros (detalle y
+ * emails de miembros) y una muestra de empleados a través de los servicios, y serializa los
+ * resultados con el {@link ObjectMapper} de Spring MVC; las rondas se repiten para que el JIT
+ * compile esos caminos. Todo queda acotado por {@code groups.warmup.budget-ms}: al agotarse el
+ * presupuesto la instancia se publica igualmente.</p>
+ *
+ * @author bunnystring
+ * @since 2026-10-18
+ */
+@Slf4j
+@Component
+public class StartupWarmUp {
+
+    /**
+     * Inyección de dependencia: GroupService
+     */
+    private final GroupService groupService;
+
+    /**
+     * Inyección de dependencia: EmployeeService
+     */
+    private final EmployeeService employeeService;
+
+    /**
+     * Inyección de dependencia: GroupsRepository
+     */
+    private final GroupsRepository groupRepository;
+
+    /**
+     * Inyección de dependencia: EmployeesRepository
+     */
+    private final EmployeesRepository employeesRepository;
+
+    /**
+     * Inyección de dependencia: ObjectMapper (mismo que usan los controladores)
+     */
+    private final ObjectMapper objectMapper;
+
+    /**
+     * Pool del primario.
+     */
+    private final HikariDataSource primaryDataSource;
+
+    /**
+     * Registro de Eureka; ausente si el cliente de Eureka está desactivado.
+     */
+    private final ObjectProvider<ApplicationInfoManager> applicationInfoManager;
+
+    /**
+     * Duración del calentamiento.
+     */
+    private final Timer warmUpTimer;
+
+    private final boolean enabled;
+    private final long budgetMillis;
+    private final int hotGroups;
+    private final int sampleEmployees;
+    private final int rounds;
+
+    /**
+     * Constructor.
+     *
+     * @param groupService           servicio de grupos
+     * @param employeeService        servicio de empleados
+     * @param groupRepository        repositorio de grupos
+     * @param employeesRepository    repositorio de empleados
+     * @param objectMapper           serializador JSON de Spring MVC
+     * @param primaryDataSource      pool del primario
+     * @param applicationInfoManager registro de Eureka (opcional)
+     * @param meterRegistry          registro de métricas
+     * @param enabled                si el calentamiento está activo
+     * @param budgetMillis           presupuesto máximo de tiempo
+     * @param hotGroups              grupos más grandes a recorrer
+     * @param sampleEmployees        empleados de muestra a recorrer
+     * @param rounds                 rondas máximas sobre los mismos datos
+     */
+    public StartupWarmUp(GroupService groupService,
+                         EmployeeService employeeService,
+                         GroupsRepository groupRepository,
+                         EmployeesRepository employeesRepository,
+                         ObjectMapper objectMapper,
+                         HikariDataSource primaryDataSource,
+                         ObjectProvider<ApplicationInfoManager> applicationInfoManager,
+                         MeterRegistry meterRegistry,
+                         @Value("${groups.warmup.enabled:true}") boolean enabled,
+                         @Value("${groups.warmup.budget-ms:30000}") long budgetMillis,
+                         @Value("${groups.warmup.hot-groups:20}") int hotGroups,
+                         @Value("${groups.warmup.sample-employees:50}") int sampleEmployees,
+                         @Value("${groups.warmup.rounds:50}") int rounds) {
+        this.groupService = groupService;
+        this.employeeService = employeeService;
+        this.groupRepository = groupRepository;
+        this.employeesRepository = employeesRepository;
+        this.objectMapper = objectMapper;
+        this.primaryDataSource = primaryDataSource;
+        this.applicationInfoManager = applicationInfoManager;
+        this.enabled = enabled;
+        this.budgetMillis = budgetMillis;
+        this.hotGroups = hotGroups;
+        this.sampleEmployees = sampleEmployees;
+        this.rounds = rounds;
+        this.warmUpTimer = Timer.builder("groups.warmup.duration")
+                .description("Startup warm-up before accepting traffic")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Ejecuta el calentamiento y publica la instancia.
+     * Se ordena al final para calentar también lo que construyen otros listeners (índice de membresía).
+     */
+    @Order(Ordered.LOWEST_PRECEDENCE)
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        try {
+            if (enabled) {
+                warmUpWithinBudget();
+            }
+        } finally {
+            markUp();
+        }
+    }
+
+    private void warmUpWithinBudget() {
+        long start = System.nanoTime();
+        long deadline = start + TimeUnit.MILLISECONDS.toNanos(budgetMillis);
+        ExecutorService executor = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "warmup");
+            thread.setDaemon(true);
+            return thread;
+        });
+        Future<Integer> task = executor.submit(() -> warmUp(deadline));
+        try {
+            int calls = task.get(budgetMillis, TimeUnit.MILLISECONDS);
+            log.info("Warm-up finished: {} calls in {} ms", calls, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+        } catch (TimeoutException ex) {
+            task.cancel(true);
+            log.warn("Warm-up budget of {} ms exhausted, accepting traffic anyway", budgetMillis);
+        } catch (ExecutionException ex) {
+            log.warn("Warm-up failed, accepting traffic anyway: {}", ex.getCause().toString());
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        } finally {
+            executor.shutdownNow();
+            warmUpTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    /**
+     * Cuerpo del calentamiento; comprueba el plazo entre llamadas.
+     *
+     * @return número de llamadas sintéticas realizadas
+     */
+    private int warmUp(long deadline) throws SQLException {
+        prefillPool();
+
+        List<UUID> groupIds = groupRepository.findIdsByLargestMemberCount(PageRequest.of(0, hotGroups));
+        List<UUID> employeeIds = employeesRepository.findAll(PageRequest.of(0, sampleEmployees))
+                .map(Employees::getId)
+                .getContent();
+
+        int calls = 0;
+        for (int round = 0; round < rounds; round++) {
+            for (UUID groupId : groupIds) {
+                if (expired(deadline)) {
+                    return calls;
+                }
+                calls += call(() -> groupService.getById(groupId));
+                calls += call(() -> groupService.getGroupMembersEmails(groupId));
+            }
+            for (UUID employeeId : employeeIds) {
+                if (expired(deadline)) {
+                    return calls;
+                }
+                calls += call(() -> employeeService.getById(employeeId));
+            }
+            if (!employeeIds.isEmpty()) {
+                calls += call(() -> employeeService.lookupEmployees(employeeIds));
+            }
+            if (!groupIds.isEmpty()) {
+                calls += call(() -> groupService.lookupGroups(groupIds));
+            }
+        }
+        return calls;
+    }
+
+    /**
+     * Abre a la vez tantas conexiones como el mínimo de inactivas del pool para no crearlas
+     * bajo las primeras peticiones.
+     */
+    private void prefillPool() throws SQLException {
+        int size = Math.max(primaryDataSource.getMinimumIdle(), 1);
+        List<Connection> connections = new ArrayList<>(size);
+        try {
+            for (int i = 0; i < size; i++) {
+                connections.add(primaryDataSource.getConnection());
+            }
+        } finally {
+            for (Connection connection : connections) {
+                connection.close();
+            }
+        }
+        log.debug("Primary pool prefilled with {} connections", size);
+    }
+
+    /**
+     * Ejecuta una llamada del servicio y serializa su resultado; los errores solo se registran.
+     */
+    private int call(WarmUpCall call) {
+        try {
+            objectMapper.writeValueAsBytes(call.invoke());
+        } catch (Exception ex) {
+            log.debug("Warm-up call failed: {}", ex.toString());
+        }
+        return 1;
+    }
+
+    private static boolean expired(long deadline) {
+        return System.nanoTime() - deadline >= 0 || Thread.currentThread().isInterrupted();
+    }
+
+    /**
+     * Marca la instancia como {@code UP} en Eureka.
+     */
+    private void markUp() {
+        applicationInfoManager.ifAvailable(manager -> {
+            manager.setInstanceStatus(InstanceInfo.InstanceStatus.UP);
+            log.info("Eureka instance status set to UP");
+        });
+    }
+
+    /**
+     * Llamada sintética del calentamiento.
+     */
+    @FunctionalInterface
+    private interface WarmUpCall {
+        Object invoke() throws Exception;
+    }
+}
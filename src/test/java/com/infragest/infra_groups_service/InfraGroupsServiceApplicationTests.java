@@ -1,9 +1,9 @@
 package com.infragest.infra_groups_service;
 
+import com.infragest.infra_groups_service.support.IntegrationTest;
 import org.junit.jupiter.api.Test;
-import org.springframework.boot.test.context.SpringBootTest;
 
-@SpringBootTest
+@IntegrationTest
 class InfraGroupsServiceApplicationTests {
 
 	@Test
@@ -0,0 +1,199 @@
+package com.infragest.infra_groups_service.concurrency;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Ajuste AIMD del límite y comportamiento bajo sobrecarga.
+ */
+class AimdConcurrencyLimiterTest {
+
+    private static final long MS = TimeUnit.MILLISECONDS.toNanos(1);
+
+    @Test
+    void growsByOneWhenTheLimitIsInUseAndLatencyIsStable() {
+        AimdConcurrencyLimiter limiter = new AimdConcurrencyLimiter(10, 2, 100, 0.5, 2.0, 6, 60_000);
+
+        window(limiter, 6, 6, 10 * MS, false);
+        window(limiter, 6, 6, 10 * MS, false);
+
+        assertThat(limiter.getLimit()).isEqualTo(12);
+        assertThat(limiter.getInFlight()).isZero();
+    }
+
+    @Test
+    void doesNotGrowWhileMostlyIdle() {
+        AimdConcurrencyLimiter limiter = new AimdConcurrencyLimiter(10, 2, 100, 0.5, 2.0, 4, 60_000);
+
+        window(limiter, 4, 1, 10 * MS, false);
+        window(limiter, 4, 1, 10 * MS, false);
+
+        assertThat(limiter.getLimit()).isEqualTo(10);
+    }
+
+    @Test
+    void backsOffOnLatencyAboveToleranceAndOnErrors() {
+        AimdConcurrencyLimiter limiter = new AimdConcurrencyLimiter(40, 2, 100, 0.5, 2.0, 4, 60_000);
+        window(limiter, 4, 1, 10 * MS, false);
+
+        window(limiter, 4, 1, 50 * MS, false);
+        assertThat(limiter.getLimit()).isEqualTo(20);
+
+        window(limiter, 4, 1, 10 * MS, true);
+        assertThat(limiter.getLimit()).isEqualTo(10);
+    }
+
+    @Test
+    void neverLeavesTheConfiguredBounds() {
+        AimdConcurrencyLimiter limiter = new AimdConcurrencyLimiter(4, 3, 5, 0.5, 2.0, 3, 60_000);
+
+        for (int i = 0; i < 5; i++) {
+            window(limiter, 3, 1, MS, true);
+        }
+        assertThat(limiter.getLimit()).isEqualTo(3);
+        for (int i = 0; i < 5; i++) {
+            window(limiter, 3, 3, MS, false);
+        }
+        assertThat(limiter.getLimit()).isEqualTo(5);
+    }
+
+    @Test
+    void windowCloseTimeAlsoEndsAWindow() throws Exception {
+        AimdConcurrencyLimiter limiter = new AimdConcurrencyLimiter(10, 2, 100, 0.5, 2.0, 1_000, 20);
+        window(limiter, 1, 1, 10 * MS, false);
+        TimeUnit.MILLISECONDS.sleep(30);
+
+        window(limiter, 1, 1, 10 * MS, true);
+
+        assertThat(limiter.getLimit()).isEqualTo(5);
+    }
+
+    @Test
+    void rejectsBeyondTheLimitWithoutCountingTheRejection() {
+        AimdConcurrencyLimiter limiter = new AimdConcurrencyLimiter(2, 1, 10, 0.5, 2.0, 100, 60_000);
+
+        assertThat(limiter.tryAcquire()).isTrue();
+        assertThat(limiter.tryAcquire()).isTrue();
+        assertThat(limiter.tryAcquire()).isFalse();
+        assertThat(limiter.getInFlight()).isEqualTo(2);
+    }
+
+    /**
+     * Backend con 4 plazas y 2 ms de servicio: lo que excede la capacidad espera en cola. Tras una fase
+     * tranquila que fija la línea base, 32 clientes lo saturan. Sin límite la latencia crece con la cola
+     * (≈ 32 / 4 × 2 ms); con el limitador las peticiones sobrantes se rechazan al instante y la latencia
+     * de las admitidas se mantiene cerca del tiempo de servicio.
+     */
+    @Test
+    void overloadKeepsAdmittedLatencyBounded() throws Exception {
+        Load unlimited = runOverload(null);
+        AimdConcurrencyLimiter limiter = new AimdConcurrencyLimiter(50, 2, 200, 0.9, 2.0, 20, 100);
+        Load limited = runOverload(limiter);
+
+        // el límite oscila en diente de sierra, pero no vuelve a admitir a todos los clientes
+        assertThat(limiter.getLimit()).isLessThan(32);
+        assertThat(limited.rejected()).isPositive();
+        assertThat(limited.p99()).isLessThan(unlimited.p50());
+        assertThat(limited.p50() * 2).isLessThan(unlimited.p50());
+    }
+
+    private static Load runOverload(AimdConcurrencyLimiter limiter) throws Exception {
+        Semaphore capacity = new Semaphore(4, true);
+        runClients(limiter, capacity, 2, 500, null);
+        List<Long> latencies = Collections.synchronizedList(new ArrayList<>());
+        // primero satura; solo mide el último segundo, con el límite ya ajustado
+        runClients(limiter, capacity, 32, 1_000, null);
+        long rejected = runClients(limiter, capacity, 32, 1_000, latencies);
+        List<Long> sorted = new ArrayList<>(latencies);
+        Collections.sort(sorted);
+        return new Load(sorted.get(sorted.size() / 2), sorted.get((int) (sorted.size() * 0.99)), rejected);
+    }
+
+    /**
+     * Lanza clientes en bucle cerrado durante {@code millis}.
+     *
+     * @return peticiones rechazadas
+     */
+    private static long runClients(AimdConcurrencyLimiter limiter, Semaphore capacity, int clients, long millis,
+                                   List<Long> latencies) throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(clients);
+        AtomicBoolean running = new AtomicBoolean(true);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Long>> results = new ArrayList<>();
+        try {
+            for (int c = 0; c < clients; c++) {
+                results.add(pool.submit(() -> {
+                    start.await();
+                    long rejected = 0;
+                    while (running.get()) {
+                        if (limiter != null && !limiter.tryAcquire()) {
+                            rejected++;
+                            // el cliente reintenta tras un rechazo rápido
+                            TimeUnit.MILLISECONDS.sleep(1);
+                            continue;
+                        }
+                        long begin = System.nanoTime();
+                        capacity.acquire();
+                        try {
+                            TimeUnit.MILLISECONDS.sleep(2);
+                        } finally {
+                            capacity.release();
+                        }
+                        long latency = System.nanoTime() - begin;
+                        if (limiter != null) {
+                            limiter.release(latency, false);
+                        }
+                        if (latencies != null) {
+                            latencies.add(latency);
+                        }
+                    }
+                    return rejected;
+                }));
+            }
+            start.countDown();
+            TimeUnit.MILLISECONDS.sleep(millis);
+            running.set(false);
+            long rejected = 0;
+            for (Future<Long> result : results) {
+                rejected += result.get(10, TimeUnit.SECONDS);
+            }
+            return rejected;
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    /**
+     * Registra {@code samples} muestras (una ventana si coincide con su tamaño) con un pico de
+     * {@code peak} peticiones en curso.
+     */
+    private static void window(AimdConcurrencyLimiter limiter, int samples, int peak, long latencyNanos,
+                               boolean dropped) {
+        int remaining = samples;
+        while (remaining > 0) {
+            int batch = Math.min(peak, remaining);
+            for (int i = 0; i < batch; i++) {
+                assertThat(limiter.tryAcquire()).isTrue();
+            }
+            for (int i = 0; i < batch; i++) {
+                limiter.release(latencyNanos, dropped);
+            }
+            remaining -= batch;
+        }
+    }
+
+    private record Load(long p50, long p99, long rejected) {
+    }
+}
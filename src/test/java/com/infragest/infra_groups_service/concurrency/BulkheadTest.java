@@ -0,0 +1,115 @@
+package com.infragest.infra_groups_service.concurrency;
+
+import com.infragest.infra_groups_service.exception.ServiceOverloadedException;
+import com.infragest.infra_groups_service.repository.GroupsRepository;
+import com.infragest.infra_groups_service.support.IntegrationTest;
+import com.infragest.infra_groups_service.support.TestData;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Aislamiento del bulkhead de listados: lleno, rechaza listados con 503 y las consultas puntuales
+ * siguen respondiendo.
+ */
+@IntegrationTest
+class BulkheadTest {
+
+    /**
+     * Hilos y cola del bulkhead {@code list} (valores por defecto de {@code BulkheadConfig}).
+     */
+    private static final int THREADS = 4;
+
+    private static final int QUEUE = 16;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    @Qualifier("listBulkhead")
+    private Bulkhead listBulkhead;
+
+    @Autowired
+    private GroupsRepository groupsRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private TestData testData;
+
+    @Test
+    void fullListBulkheadRejectsListingsButPointLookupsGetThrough() throws Exception {
+        UUID groupId = testData.group();
+        String bearer = testData.bearer("bulkhead@test.io");
+        double rejectedBefore = rejected();
+
+        CountDownLatch running = new CountDownLatch(THREADS);
+        CountDownLatch release = new CountDownLatch(1);
+        List<CompletableFuture<Long>> heavy = new ArrayList<>();
+        try {
+            // cada tarea ocupa un hilo del bulkhead y una conexión hasta que se libera
+            for (int i = 0; i < THREADS + QUEUE; i++) {
+                heavy.add(listBulkhead.submit(() -> transactionTemplate.execute(status -> {
+                    long count = groupsRepository.count();
+                    running.countDown();
+                    await(release);
+                    return count;
+                })));
+            }
+            assertThat(running.await(10, TimeUnit.SECONDS)).isTrue();
+
+            assertThatThrownBy(() -> listBulkhead.submit(() -> 0))
+                    .isInstanceOfSatisfying(ServiceOverloadedException.class,
+                            ex -> assertThat(ex.getRetryAfterSeconds()).isEqualTo(1));
+
+            mockMvc.perform(get("/groups").header(HttpHeaders.AUTHORIZATION, bearer))
+                    .andExpect(status().isServiceUnavailable())
+                    .andExpect(header().string(HttpHeaders.RETRY_AFTER, "1"))
+                    .andExpect(jsonPath("$.status").value(503));
+
+            mockMvc.perform(get("/groups/{id}", groupId).header(HttpHeaders.AUTHORIZATION, bearer))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.id").value(groupId.toString()));
+            assertThat(rejected() - rejectedBefore).isEqualTo(2);
+        } finally {
+            release.countDown();
+        }
+        for (CompletableFuture<Long> task : heavy) {
+            assertThat(task.get(10, TimeUnit.SECONDS)).isPositive();
+        }
+    }
+
+    private double rejected() {
+        return meterRegistry.get("groups.bulkhead.rejected").tag("bulkhead", "list").counter().count();
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(30, TimeUnit.SECONDS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
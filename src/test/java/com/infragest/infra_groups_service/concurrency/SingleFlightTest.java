@@ -0,0 +1,305 @@
+package com.infragest.infra_groups_service.concurrency;
+
+import com.infragest.infra_groups_service.enums.ChangeEventType;
+import com.infragest.infra_groups_service.enums.EmployeStatus;
+import com.infragest.infra_groups_service.events.DomainChangeEvent;
+import com.infragest.infra_groups_service.exception.GroupException;
+import com.infragest.infra_groups_service.model.EmployeeSummaryDto;
+import com.infragest.infra_groups_service.model.GroupRs;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowable;
+
+/**
+ * Coalescencia de cargas idénticas concurrentes.
+ */
+class SingleFlightTest {
+
+    private static final int FOLLOWERS = 5;
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+    private final ExecutorService pool = Executors.newFixedThreadPool(FOLLOWERS + 1);
+
+    @AfterEach
+    void shutdown() {
+        pool.shutdownNow();
+    }
+
+    @Test
+    void concurrentCallersShareOneLoad() throws Exception {
+        SingleFlight singleFlight = new SingleFlight(registry, 5000);
+        CountDownLatch entered = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger loads = new AtomicInteger();
+
+        Future<String> leader = pool.submit(() -> singleFlight.execute("op", 1, () -> {
+            loads.incrementAndGet();
+            entered.countDown();
+            await(release);
+            return "value";
+        }));
+        assertThat(entered.await(5, TimeUnit.SECONDS)).isTrue();
+
+        List<Future<String>> followers = new ArrayList<>();
+        for (int i = 0; i < FOLLOWERS; i++) {
+            followers.add(pool.submit(() -> singleFlight.execute("op", 1, () -> {
+                loads.incrementAndGet();
+                return "other";
+            })));
+        }
+        Thread.sleep(200);
+        release.countDown();
+
+        assertThat(leader.get(5, TimeUnit.SECONDS)).isEqualTo("value");
+        for (Future<String> follower : followers) {
+            assertThat(follower.get(5, TimeUnit.SECONDS)).isEqualTo("value");
+        }
+        assertThat(loads).hasValue(1);
+        assertThat(count("op", "executed")).isEqualTo(1);
+        assertThat(count("op", "coalesced")).isEqualTo(FOLLOWERS);
+    }
+
+    @Test
+    void sequentialCallersAreNotCached() {
+        SingleFlight singleFlight = new SingleFlight(registry, 5000);
+
+        singleFlight.execute("seq", 1, () -> "a");
+        singleFlight.execute("seq", 1, () -> "b");
+
+        assertThat(count("seq", "executed")).isEqualTo(2);
+        assertThat(count("seq", "coalesced")).isZero();
+    }
+
+    @Test
+    void followersReceiveTheirOwnException() throws Exception {
+        SingleFlight singleFlight = new SingleFlight(registry, 5000);
+        CountDownLatch entered = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        GroupException leaderFailure = new GroupException("Group not found", GroupException.Type.NOT_FOUND);
+
+        Future<Object> leader = pool.submit(() -> singleFlight.execute("fail", 1, () -> {
+            entered.countDown();
+            await(release);
+            throw leaderFailure;
+        }));
+        assertThat(entered.await(5, TimeUnit.SECONDS)).isTrue();
+        List<Future<Object>> followers = new ArrayList<>();
+        for (int i = 0; i < 2; i++) {
+            followers.add(pool.submit(() -> singleFlight.execute("fail", 1, () -> "unused")));
+        }
+        Thread.sleep(200);
+        release.countDown();
+
+        assertThat(catchThrowable(() -> leader.get(5, TimeUnit.SECONDS))).hasCauseReference(leaderFailure);
+        for (Future<Object> follower : followers) {
+            Throwable thrown = catchThrowable(() -> follower.get(5, TimeUnit.SECONDS)).getCause();
+            assertThat(thrown).isInstanceOf(GroupException.class).isNotSameAs(leaderFailure)
+                    .hasMessage("Group not found");
+            assertThat(((GroupException) thrown).getType()).isEqualTo(GroupException.Type.NOT_FOUND);
+        }
+        assertThat(count("fail", "coalesced")).isEqualTo(2);
+    }
+
+    @Test
+    void unexpectedFailuresAreWrappedPerFollower() throws Exception {
+        SingleFlight singleFlight = new SingleFlight(registry, 5000);
+        CountDownLatch entered = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        IllegalStateException leaderFailure = new IllegalStateException("boom");
+
+        Future<Object> leader = pool.submit(() -> singleFlight.execute("wrap", 1, () -> {
+            entered.countDown();
+            await(release);
+            throw leaderFailure;
+        }));
+        assertThat(entered.await(5, TimeUnit.SECONDS)).isTrue();
+        Future<Object> follower = pool.submit(() -> singleFlight.execute("wrap", 1, () -> "unused"));
+        Thread.sleep(200);
+        release.countDown();
+
+        assertThat(catchThrowable(() -> leader.get(5, TimeUnit.SECONDS))).hasCauseReference(leaderFailure);
+        Throwable thrown = catchThrowable(() -> follower.get(5, TimeUnit.SECONDS)).getCause();
+        assertThat(thrown).isInstanceOf(SingleFlight.CoalescedLoadException.class)
+                .hasCauseReference(leaderFailure);
+    }
+
+    @Test
+    void slowLeaderDoesNotBlockFollowersPastTheTimeout() throws Exception {
+        SingleFlight singleFlight = new SingleFlight(registry, 50);
+        CountDownLatch entered = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        Future<String> leader = pool.submit(() -> singleFlight.execute("slow", 1, () -> {
+            entered.countDown();
+            await(release);
+            return "leader";
+        }));
+        assertThat(entered.await(5, TimeUnit.SECONDS)).isTrue();
+
+        String own = pool.submit(() -> singleFlight.execute("slow", 1, () -> "own")).get(5, TimeUnit.SECONDS);
+        release.countDown();
+
+        assertThat(own).isEqualTo("own");
+        assertThat(leader.get(5, TimeUnit.SECONDS)).isEqualTo("leader");
+        assertThat(count("slow", "timeout")).isEqualTo(1);
+        assertThat(count("slow", "coalesced")).isZero();
+    }
+
+    @Test
+    void eachFollowerGetsItsOwnCopy() throws Exception {
+        SingleFlight singleFlight = new SingleFlight(registry, 5000);
+        CountDownLatch entered = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        GroupRs loaded = GroupRs.builder()
+                .id(UUID.randomUUID())
+                .name("group")
+                .employees(new ArrayList<>(List.of(new EmployeeSummaryDto(UUID.randomUUID(), "Ada", "ada@test.io",
+                        EmployeStatus.ACTIVE))))
+                .build();
+
+        Future<GroupRs> leader = pool.submit(() -> singleFlight.execute("copy", 1, null, () -> {
+            entered.countDown();
+            await(release);
+            return loaded;
+        }, GroupRs::copy));
+        assertThat(entered.await(5, TimeUnit.SECONDS)).isTrue();
+        List<Future<GroupRs>> followers = new ArrayList<>();
+        for (int i = 0; i < 2; i++) {
+            followers.add(pool.submit(() -> singleFlight.execute("copy", 1, null, () -> loaded, GroupRs::copy)));
+        }
+        Thread.sleep(200);
+        release.countDown();
+
+        assertThat(leader.get(5, TimeUnit.SECONDS)).isSameAs(loaded);
+        List<GroupRs> copies = new ArrayList<>();
+        for (Future<GroupRs> follower : followers) {
+            copies.add(follower.get(5, TimeUnit.SECONDS));
+        }
+        assertThat(copies).allSatisfy(copy -> {
+            assertThat(copy).isNotSameAs(loaded).isEqualTo(loaded);
+            assertThat(copy.getEmployees()).isNotSameAs(loaded.getEmployees());
+            assertThat(copy.getEmployees().iterator().next()).isNotSameAs(loaded.getEmployees().iterator().next());
+        });
+        assertThat(copies.get(0).getEmployees()).isNotSameAs(copies.get(1).getEmployees());
+        assertThat(count("copy", "coalesced")).isEqualTo(2);
+    }
+
+    @Test
+    void committedWriteStopsLaterReadsFromJoiningAnOlderLoad() throws Exception {
+        SingleFlight singleFlight = new SingleFlight(registry, 5000);
+        UUID written = UUID.randomUUID();
+        UUID other = UUID.randomUUID();
+        CountDownLatch entered = new CountDownLatch(2);
+        CountDownLatch release = new CountDownLatch(1);
+
+        Future<String> stale = pool.submit(() -> singleFlight.execute("rw", written, () -> {
+            entered.countDown();
+            await(release);
+            return "before write";
+        }));
+        Future<String> untouched = pool.submit(() -> singleFlight.execute("rw", other, () -> {
+            entered.countDown();
+            await(release);
+            return "other";
+        }));
+        assertThat(entered.await(5, TimeUnit.SECONDS)).isTrue();
+
+        singleFlight.onChange(new DomainChangeEvent(ChangeEventType.GROUP_UPDATED, written, Map.of()));
+
+        assertThat(singleFlight.execute("rw", written, () -> "after write")).isEqualTo("after write");
+        Future<String> joined = pool.submit(() -> singleFlight.execute("rw", other, () -> "unused"));
+        Thread.sleep(200);
+        release.countDown();
+
+        assertThat(stale.get(5, TimeUnit.SECONDS)).isEqualTo("before write");
+        assertThat(untouched.get(5, TimeUnit.SECONDS)).isEqualTo("other");
+        assertThat(joined.get(5, TimeUnit.SECONDS)).isEqualTo("other");
+        assertThat(count("rw", "executed")).isEqualTo(3);
+        assertThat(count("rw", "coalesced")).isEqualTo(1);
+    }
+
+    @Test
+    void employeeChangesForgetEveryLoad() throws Exception {
+        SingleFlight singleFlight = new SingleFlight(registry, 5000);
+        UUID group = UUID.randomUUID();
+        CountDownLatch entered = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        Future<String> stale = pool.submit(() -> singleFlight.execute("emp", group, () -> {
+            entered.countDown();
+            await(release);
+            return "before write";
+        }));
+        assertThat(entered.await(5, TimeUnit.SECONDS)).isTrue();
+
+        singleFlight.onChange(new DomainChangeEvent(ChangeEventType.EMPLOYEE_UPDATED, UUID.randomUUID(), Map.of()));
+
+        assertThat(singleFlight.execute("emp", group, () -> "after write")).isEqualTo("after write");
+        release.countDown();
+        assertThat(stale.get(5, TimeUnit.SECONDS)).isEqualTo("before write");
+        assertThat(count("emp", "coalesced")).isZero();
+    }
+
+    @Test
+    void membershipChangesForgetTransitiveLoadsOfOtherGroups() throws Exception {
+        SingleFlight singleFlight = new SingleFlight(registry, 5000);
+        UUID ancestor = UUID.randomUUID();
+        UUID child = UUID.randomUUID();
+        CountDownLatch entered = new CountDownLatch(2);
+        CountDownLatch release = new CountDownLatch(1);
+
+        Future<String> transitive = pool.submit(() -> singleFlight.execute("emails.transitive", ancestor, () -> {
+            entered.countDown();
+            await(release);
+            return "before write";
+        }));
+        Future<String> direct = pool.submit(() -> singleFlight.execute("emails", ancestor, () -> {
+            entered.countDown();
+            await(release);
+            return "direct";
+        }));
+        assertThat(entered.await(5, TimeUnit.SECONDS)).isTrue();
+
+        singleFlight.onChange(new DomainChangeEvent(ChangeEventType.GROUP_MEMBERS_ADDED, child, Map.of()));
+
+        assertThat(singleFlight.execute("emails.transitive", ancestor, () -> "after write")).isEqualTo("after write");
+        Future<String> joined = pool.submit(() -> singleFlight.execute("emails", ancestor, () -> "unused"));
+        Thread.sleep(200);
+        release.countDown();
+
+        assertThat(transitive.get(5, TimeUnit.SECONDS)).isEqualTo("before write");
+        assertThat(direct.get(5, TimeUnit.SECONDS)).isEqualTo("direct");
+        assertThat(joined.get(5, TimeUnit.SECONDS)).isEqualTo("direct");
+        assertThat(count("emails.transitive", "coalesced")).isZero();
+        assertThat(count("emails", "coalesced")).isEqualTo(1);
+    }
+
+    private double count(String operation, String outcome) {
+        var counter = registry.find("groups.singleflight.calls")
+                .tag("operation", operation).tag("outcome", outcome).counter();
+        return counter == null ? 0 : counter.count();
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
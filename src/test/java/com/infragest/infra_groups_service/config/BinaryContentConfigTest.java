@@ -0,0 +1,99 @@
+package com.infragest.infra_groups_service.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.infragest.infra_groups_service.enums.EmployeStatus;
+import com.infragest.infra_groups_service.model.EmployeeSummaryDto;
+import com.infragest.infra_groups_service.model.GroupRs;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.nio.ByteBuffer;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Codificación CBOR y Smile de las respuestas.
+ */
+class BinaryContentConfigTest {
+
+    private final BinaryContentConfig config = new BinaryContentConfig();
+
+    private final UUID groupId = UUID.randomUUID();
+
+    private final UUID employeeId = UUID.randomUUID();
+
+    @Test
+    void cborWritesUuidsAsSixteenByteStrings() throws Exception {
+        ObjectMapper cbor = config.cborHttpMessageConverter(new Jackson2ObjectMapperBuilder()).getObjectMapper();
+
+        byte[] encoded = cbor.writeValueAsBytes(group());
+
+        // major type 2 (byte string) con longitud 16 = 0x50
+        assertThat(indexOf(encoded, concat(new byte[]{0x50}, bytes(groupId)))).isNotNegative();
+        assertThat(indexOf(encoded, concat(new byte[]{0x50}, bytes(employeeId)))).isNotNegative();
+        assertThat(indexOf(encoded, groupId.toString().getBytes())).isNegative();
+        assertThat(cbor.readValue(encoded, GroupRs.class)).isEqualTo(group());
+    }
+
+    @Test
+    void smileWritesUuidsAsRawBinary() throws Exception {
+        ObjectMapper smile = config.smileHttpMessageConverter(new Jackson2ObjectMapperBuilder()).getObjectMapper();
+
+        byte[] encoded = smile.writeValueAsBytes(group());
+
+        assertThat(indexOf(encoded, bytes(groupId))).isNotNegative();
+        assertThat(indexOf(encoded, bytes(employeeId))).isNotNegative();
+        assertThat(smile.readValue(encoded, GroupRs.class)).isEqualTo(group());
+    }
+
+    @Test
+    void binaryPayloadsAreSmallerThanJson() throws Exception {
+        ObjectMapper json = new Jackson2ObjectMapperBuilder().build();
+        ObjectMapper cbor = config.cborHttpMessageConverter(new Jackson2ObjectMapperBuilder()).getObjectMapper();
+        ObjectMapper smile = config.smileHttpMessageConverter(new Jackson2ObjectMapperBuilder()).getObjectMapper();
+
+        int jsonSize = json.writeValueAsBytes(group()).length;
+
+        assertThat(cbor.writeValueAsBytes(group()).length).isLessThan(jsonSize);
+        assertThat(smile.writeValueAsBytes(group()).length).isLessThan(jsonSize);
+    }
+
+    private GroupRs group() {
+        return GroupRs.builder()
+                .id(groupId)
+                .name("group")
+                .memberCount(1L)
+                .employees(List.of(new EmployeeSummaryDto(employeeId, "Ada Lovelace", "ada@infragest.com",
+                        EmployeStatus.ACTIVE)))
+                .build();
+    }
+
+    private static byte[] bytes(UUID uuid) {
+        return ByteBuffer.allocate(16)
+                .putLong(uuid.getMostSignificantBits())
+                .putLong(uuid.getLeastSignificantBits())
+                .array();
+    }
+
+    private static byte[] concat(byte[] a, byte[] b) {
+        byte[] out = new byte[a.length + b.length];
+        System.arraycopy(a, 0, out, 0, a.length);
+        System.arraycopy(b, 0, out, a.length, b.length);
+        return out;
+    }
+
+    private static int indexOf(byte[] haystack, byte[] needle) {
+        outer:
+        for (int i = 0; i <= haystack.length - needle.length; i++) {
+            for (int j = 0; j < needle.length; j++) {
+                if (haystack[i + j] != needle[j]) {
+                    continue outer;
+                }
+            }
+            return i;
+        }
+        return -1;
+    }
+}
@@ -0,0 +1,145 @@
+package com.infragest.infra_groups_service.config.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Enrutamiento lectura/escritura sobre dos bases H2 embebidas: cada una guarda su propio nombre
+ * en {@code node}, así que la consulta revela a qué base fue la transacción.
+ */
+class ReadWriteRoutingDataSourceTest {
+
+    private final DataSourceRoutingConfig config = new DataSourceRoutingConfig();
+
+    private final String primaryUrl = "jdbc:h2:mem:primary-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1";
+
+    private final String replicaUrl = "jdbc:h2:mem:replica-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1";
+
+    private HikariDataSource primary;
+
+    private ReadWriteRoutingDataSource routing;
+
+    private JdbcTemplate jdbc;
+
+    private TransactionTemplate tx;
+
+    @BeforeEach
+    void setUp() {
+        createNode(primaryUrl, "primary");
+        createNode(replicaUrl, "replica");
+
+        primary = new HikariDataSource();
+        primary.setJdbcUrl(primaryUrl);
+        primary.setUsername("sa");
+        RoutingDataSourceProperties properties = new RoutingDataSourceProperties(true,
+                List.of(new RoutingDataSourceProperties.Replica(replicaUrl, "sa", "")),
+                2, Duration.ofSeconds(1), Duration.ofSeconds(5));
+        routing = config.routingDataSource(primary, properties, new SimpleMeterRegistry());
+        routing.afterPropertiesSet();
+
+        DataSource dataSource = config.dataSource(routing);
+        jdbc = new JdbcTemplate(dataSource);
+        tx = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+    }
+
+    @AfterEach
+    void tearDown() {
+        ReadConsistencyContext.clear();
+        routing.destroy();
+        primary.close();
+    }
+
+    @Test
+    void readOnlyTransactionGoesToReplica() {
+        assertThat(readOnlyNode()).isEqualTo("replica");
+    }
+
+    @Test
+    void writeTransactionGoesToPrimary() {
+        String node = tx.execute(status -> {
+            jdbc.update("UPDATE node SET touched = touched + 1");
+            return currentNode();
+        });
+
+        assertThat(node).isEqualTo("primary");
+    }
+
+    @Test
+    void consistencyTokenForcesPrimaryForReads() throws Exception {
+        tx.setReadOnly(true);
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/groups");
+        request.addHeader(ConsistencyTokenFilter.HEADER, Long.toString(System.currentTimeMillis() + 60_000));
+        AtomicReference<String> node = new AtomicReference<>();
+
+        new ConsistencyTokenFilter(Duration.ofSeconds(5)).doFilter(request, new MockHttpServletResponse(),
+                (req, res) -> node.set(tx.execute(status -> currentNode())));
+
+        assertThat(node).hasValue("primary");
+        assertThat(ReadConsistencyContext.isPrimaryRequired()).isFalse();
+    }
+
+    @Test
+    void expiredTokenKeepsReadsOnReplica() throws Exception {
+        tx.setReadOnly(true);
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/groups");
+        request.addHeader(ConsistencyTokenFilter.HEADER, Long.toString(System.currentTimeMillis() - 1));
+        AtomicReference<String> node = new AtomicReference<>();
+
+        new ConsistencyTokenFilter(Duration.ofSeconds(5)).doFilter(request, new MockHttpServletResponse(),
+                (req, res) -> node.set(tx.execute(status -> currentNode())));
+
+        assertThat(node).hasValue("replica");
+    }
+
+    @Test
+    void unhealthyReplicaFallsBackToPrimary() {
+        HikariDataSource replica = (HikariDataSource) routing.getResolvedDataSources().get("replica-0");
+        replica.close();
+        routing.checkReplicas();
+
+        assertThat(readOnlyNode()).isEqualTo("primary");
+    }
+
+    @Test
+    void destroyClosesReplicaPools() {
+        HikariDataSource replica = (HikariDataSource) routing.getResolvedDataSources().get("replica-0");
+        readOnlyNode();
+
+        routing.destroy();
+
+        assertThat(replica.isClosed()).isTrue();
+        assertThat(primary.isClosed()).isFalse();
+    }
+
+    private String readOnlyNode() {
+        tx.setReadOnly(true);
+        return tx.execute(status -> currentNode());
+    }
+
+    private String currentNode() {
+        return jdbc.queryForObject("SELECT name FROM node", String.class);
+    }
+
+    private static void createNode(String url, String name) {
+        JdbcTemplate template = new JdbcTemplate(new DriverManagerDataSource(url, "sa", ""));
+        template.execute("CREATE TABLE node (name VARCHAR(16), touched INT)");
+        template.update("INSERT INTO node VALUES (?, 0)", name);
+    }
+}
@@ -0,0 +1,188 @@
+package com.infragest.infra_groups_service.config.snapshot;
+
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.cloud.context.environment.EnvironmentChangeEvent;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Configuration;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Import {@code configsnapshot:} contra un config server simulado con el {@link HttpServer} del JDK:
+ * primer arranque, arranque desde el snapshot con el config server caído, refresco y max-age.
+ */
+class ConfigSnapshotTest {
+
+    @TempDir
+    private Path dir;
+
+    private HttpServer server;
+
+    private volatile String value = "v1";
+
+    private final AtomicInteger requests = new AtomicInteger();
+
+    private final List<ConfigurableApplicationContext> contexts = new ArrayList<>();
+
+    @BeforeEach
+    void startConfigServer() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/", exchange -> {
+            requests.incrementAndGet();
+            byte[] body = ("{\"name\":\"infra-groups-service\",\"propertySources\":["
+                    + "{\"name\":\"app-snapshot-test\",\"source\":{\"groups.sample\":\"" + value + "\"}},"
+                    + "{\"name\":\"app\",\"source\":{\"groups.sample\":\"overridden\",\"groups.secret\":\"s3cr3t\"}}]}")
+                    .getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        });
+        server.start();
+    }
+
+    @AfterEach
+    void stop() {
+        contexts.forEach(ConfigurableApplicationContext::close);
+        server.stop(0);
+    }
+
+    @Test
+    void firstStartFetchesFromTheConfigServerAndSavesAnOwnerOnlySnapshot() throws Exception {
+        ConfigurableApplicationContext context = start(true, null);
+
+        assertThat(context.getEnvironment().getProperty("groups.sample")).isEqualTo("v1");
+        assertThat(context.getEnvironment().getProperty("groups.secret")).isEqualTo("s3cr3t");
+        assertThat(requests).hasValue(1);
+        assertThat(Files.readString(snapshot())).contains("\"groups.sample\":\"v1\"");
+        if (Files.getFileStore(snapshot()).supportsFileAttributeView("posix")) {
+            assertThat(Files.getPosixFilePermissions(snapshot()))
+                    .isEqualTo(PosixFilePermissions.fromString("rw-------"));
+        }
+    }
+
+    @Test
+    void startsFromTheSnapshotWhileTheConfigServerIsDown() {
+        start(true, null);
+        server.stop(0);
+
+        ConfigurableApplicationContext restarted = start(true, null);
+
+        assertThat(restarted.getEnvironment().getProperty("groups.sample")).isEqualTo("v1");
+        assertThat(restarted.getEnvironment().getPropertySources().get(ConfigSnapshotPropertySource.NAME))
+                .isInstanceOfSatisfying(ConfigSnapshotPropertySource.class,
+                        source -> assertThat(source.getFetchedAt()).isNotNull());
+    }
+
+    @Test
+    void failsFastWithoutSnapshotOrConfigServer() {
+        server.stop(0);
+
+        assertThatThrownBy(() -> start(true, null))
+                .hasStackTraceContaining("No config snapshot and config server unavailable");
+        assertThat(start(false, null).getEnvironment().getProperty("groups.sample")).isNull();
+    }
+
+    @Test
+    void refreshAppliesTheNewConfigurationAndPublishesTheChangedKeys() throws Exception {
+        ConfigurableApplicationContext context = start(true, null);
+        List<Set<String>> changes = new ArrayList<>();
+        context.addApplicationListener(event -> {
+            if (event instanceof EnvironmentChangeEvent change) {
+                changes.add(change.getKeys());
+            }
+        });
+        ConfigSnapshotRefresher refresher = new ConfigSnapshotRefresher(context, context.getEnvironment(),
+                new SimpleMeterRegistry());
+
+        value = "v2";
+        refresher.refresh();
+
+        assertThat(context.getEnvironment().getProperty("groups.sample")).isEqualTo("v2");
+        assertThat(changes).containsExactly(Set.of("groups.sample"));
+        assertThat(Files.readString(snapshot())).contains("\"groups.sample\":\"v2\"");
+
+        server.stop(0);
+        refresher.refresh();
+
+        assertThat(context.getEnvironment().getProperty("groups.sample")).isEqualTo("v2");
+        assertThat(changes).hasSize(1);
+    }
+
+    @Test
+    void expiredSnapshotIsFetchedAgainAtStartup() throws Exception {
+        writeSnapshot(Instant.now().minus(Duration.ofDays(2)), "stale");
+
+        ConfigurableApplicationContext context = start(true, "1d");
+
+        assertThat(context.getEnvironment().getProperty("groups.sample")).isEqualTo("v1");
+        assertThat(requests).hasValue(1);
+    }
+
+    @Test
+    void expiredSnapshotFailsFastOrWarnsWhenTheConfigServerIsDown() throws Exception {
+        writeSnapshot(Instant.now().minus(Duration.ofDays(2)), "stale");
+        server.stop(0);
+
+        assertThatThrownBy(() -> start(true, "1d")).hasStackTraceContaining("exceeds max-age");
+        assertThat(start(false, "1d").getEnvironment().getProperty("groups.sample")).isEqualTo("stale");
+        assertThat(start(true, "3d").getEnvironment().getProperty("groups.sample")).isEqualTo("stale");
+    }
+
+    private ConfigurableApplicationContext start(boolean failFast, String maxAge) {
+        List<String> args = new ArrayList<>(List.of(
+                "--spring.main.banner-mode=off",
+                "--spring.profiles.active=snapshot-test",
+                "--spring.cloud.config.uri=http://localhost:" + server.getAddress().getPort(),
+                "--spring.cloud.config.fail-fast=" + failFast,
+                "--groups.config.snapshot.path=" + snapshot(),
+                "--groups.config.snapshot.timeout=1s"));
+        if (maxAge != null) {
+            args.add("--groups.config.snapshot.max-age=" + maxAge);
+        }
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(NoBeans.class)
+                .web(WebApplicationType.NONE)
+                .run(args.toArray(String[]::new));
+        contexts.add(context);
+        return context;
+    }
+
+    private void writeSnapshot(Instant fetchedAt, String sample) throws IOException {
+        Files.writeString(snapshot(), "{\"fetchedAt\":" + fetchedAt.toEpochMilli()
+                + ",\"properties\":{\"groups.sample\":\"" + sample + "\"}}");
+    }
+
+    private Path snapshot() {
+        return dir.resolve("config-snapshot.json");
+    }
+
+    /**
+     * Contexto sin beans: solo interesa el Environment.
+     */
+    @Configuration(proxyBeanMethods = false)
+    static class NoBeans {
+    }
+}
@@ -0,0 +1,91 @@
+package com.infragest.infra_groups_service.controller;
+
+import com.infragest.infra_groups_service.enums.EmployeStatus;
+import com.infragest.infra_groups_service.support.IntegrationTest;
+import com.infragest.infra_groups_service.support.SqlCapture;
+import com.infragest.infra_groups_service.support.TestData;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.hasItem;
+import static org.hamcrest.Matchers.nullValue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Selección parcial de campos ({@code fields}) en las lecturas de empleados.
+ */
+@IntegrationTest
+class EmployeeFieldSelectionTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private TestData testData;
+
+    @Test
+    void fieldsSelectsOnlyTheRequestedColumns() throws Exception {
+        UUID employeeId = testData.employee(EmployeStatus.ACTIVE);
+
+        SqlCapture.start();
+        mockMvc.perform(get("/employees/{id}", employeeId).param("fields", "email")
+                        .header("Authorization", testData.bearer()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.id").value(employeeId.toString()))
+                .andExpect(jsonPath("$.email").exists())
+                .andExpect(jsonPath("$.fullName").doesNotExist())
+                .andExpect(jsonPath("$.status").doesNotExist())
+                .andExpect(jsonPath("$.updatedAt").doesNotExist())
+                .andExpect(jsonPath("$.version").doesNotExist());
+        List<String> sql = SqlCapture.stop();
+
+        assertThat(sql).filteredOn(statement -> statement.contains("from infra_employees")).singleElement()
+                .satisfies(statement -> assertThat(statement).doesNotContain("full_name", "document_number"));
+    }
+
+    @Test
+    void sparseListOmitsUnrequestedFields() throws Exception {
+        UUID employeeId = testData.employee(EmployeStatus.ACTIVE);
+
+        MvcResult listing = mockMvc.perform(get("/employees").param("fields", "fullName,status")
+                        .header("Authorization", testData.bearer()))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(listing))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[*].id").value(hasItem(employeeId.toString())))
+                .andExpect(jsonPath("$[0].fullName").exists())
+                .andExpect(jsonPath("$[0].status").exists())
+                .andExpect(jsonPath("$[0].email").doesNotExist())
+                .andExpect(jsonPath("$[0].documentNumber").doesNotExist());
+    }
+
+    @Test
+    void fullResponseKeepsNullFields() throws Exception {
+        UUID employeeId = testData.employee(EmployeStatus.ACTIVE);
+
+        mockMvc.perform(get("/employees/{id}", employeeId).header("Authorization", testData.bearer()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.fullName").exists())
+                .andExpect(jsonPath("$.documentType").exists())
+                .andExpect(jsonPath("$.updatedAt").value(nullValue()));
+    }
+
+    @Test
+    void unknownFieldIsRejected() throws Exception {
+        mockMvc.perform(get("/employees/{id}", testData.employee(EmployeStatus.ACTIVE)).param("fields", "salary")
+                        .header("Authorization", testData.bearer()))
+                .andExpect(status().isBadRequest());
+    }
+}
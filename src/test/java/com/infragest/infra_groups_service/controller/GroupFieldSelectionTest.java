@@ -0,0 +1,170 @@
+package com.infragest.infra_groups_service.controller;
+
+import com.infragest.infra_groups_service.entity.Group;
+import com.infragest.infra_groups_service.model.AssignEmployeesRq;
+import com.infragest.infra_groups_service.model.EmployeeSummaryDto;
+import com.infragest.infra_groups_service.model.FieldSelection;
+import com.infragest.infra_groups_service.model.GroupFilter;
+import com.infragest.infra_groups_service.model.GroupRs;
+import com.infragest.infra_groups_service.repository.SparseFieldsRepository;
+import com.infragest.infra_groups_service.service.GroupService;
+import com.infragest.infra_groups_service.support.IntegrationTest;
+import com.infragest.infra_groups_service.support.SqlCapture;
+import com.infragest.infra_groups_service.support.TestData;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.TupleElement;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.nullValue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Selección parcial de campos ({@code fields}) y expansión de miembros ({@code expand}).
+ */
+@IntegrationTest
+class GroupFieldSelectionTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private GroupService groupService;
+
+    @Autowired
+    private SparseFieldsRepository sparseFieldsRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private TestData testData;
+
+    @Test
+    void selectsOnlyTheRequestedColumns() {
+        UUID groupId = testData.group();
+
+        SqlCapture.start();
+        List<Tuple> rows = transactionTemplate.execute(status ->
+                sparseFieldsRepository.findFields(Group.class, List.of("id", "name"), groupId));
+        List<String> sql = SqlCapture.stop();
+
+        assertThat(rows).singleElement()
+                .extracting(t -> t.getElements().stream().map(TupleElement::getAlias).toList())
+                .isEqualTo(List.of("id", "name"));
+        assertThat(sql).singleElement().satisfies(statement -> assertThat(statement)
+                .contains("from infra_groups")
+                .doesNotContain("address", "member_count", "created_at", "infra_group_employees"));
+    }
+
+    @Test
+    void fullResponseKeepsNullFields() throws Exception {
+        UUID groupId = testData.group();
+
+        mockMvc.perform(get("/groups/{id}", groupId).header("Authorization", testData.bearer()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.updatedAt").value(nullValue()))
+                .andExpect(jsonPath("$.memberCount").value(0))
+                .andExpect(jsonPath("$.employees").isArray());
+    }
+
+    @Test
+    void fullResponseReadsMembersWithTheSummaryQuery() {
+        UUID groupId = testData.group();
+        List<UUID> members = testData.activeEmployees(2);
+        groupService.assignEmployees(groupId, new AssignEmployeesRq(members));
+
+        SqlCapture.start();
+        GroupRs group = groupService.getById(groupId);
+        List<String> sql = SqlCapture.stop();
+
+        assertThat(group.getEmployees()).extracting(e -> e.getId()).containsExactlyInAnyOrderElementsOf(members);
+        assertThat(group.getEmployees()).allSatisfy(e -> assertThat(e).isInstanceOf(EmployeeSummaryDto.class));
+        assertThat(sql).filteredOn(statement -> statement.contains("infra_employees"))
+                .singleElement()
+                .satisfies(statement -> assertThat(statement)
+                        .contains("infra_group_employees")
+                        .doesNotContain("document_number", "document_type"));
+    }
+
+    @Test
+    void membersAreNotReadWithoutExpand() throws Exception {
+        UUID groupId = testData.group();
+        groupService.assignEmployees(groupId, new AssignEmployeesRq(testData.activeEmployees(2)));
+
+        SqlCapture.start();
+        mockMvc.perform(get("/groups/{id}", groupId).param("fields", "name")
+                        .header("Authorization", testData.bearer()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.id").value(groupId.toString()))
+                .andExpect(jsonPath("$.name").exists())
+                .andExpect(jsonPath("$.address").doesNotExist())
+                .andExpect(jsonPath("$.memberCount").doesNotExist())
+                .andExpect(jsonPath("$.employees").doesNotExist());
+        List<String> sql = SqlCapture.stop();
+
+        assertThat(sql).isNotEmpty().noneMatch(statement -> statement.contains("infra_group_employees"));
+    }
+
+    @Test
+    void expandReturnsTheMembers() throws Exception {
+        UUID groupId = testData.group();
+        groupService.assignEmployees(groupId, new AssignEmployeesRq(testData.activeEmployees(2)));
+
+        mockMvc.perform(get("/groups/{id}", groupId).param("fields", "name").param("expand", "employees")
+                        .header("Authorization", testData.bearer()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.address").doesNotExist())
+                .andExpect(jsonPath("$.employees.length()").value(2))
+                .andExpect(jsonPath("$.employees[0].email").exists());
+    }
+
+    @Test
+    void expandedListReadsMembersOfSelectedGroupsOnly() {
+        UUID large = testData.group();
+        UUID small = testData.group();
+        List<UUID> largeMembers = testData.activeEmployees(3);
+        groupService.assignEmployees(large, new AssignEmployeesRq(largeMembers));
+        groupService.assignEmployees(small, new AssignEmployeesRq(testData.activeEmployees(1)));
+        groupService.foldMemberCounts();
+
+        SqlCapture.start();
+        List<GroupRs> groups = groupService.listGroups(
+                FieldSelection.of(Set.of("name"), Set.of("employees")), GroupFilter.of(3L, 3L, null));
+        List<String> sql = SqlCapture.stop();
+
+        assertThat(groups).extracting(GroupRs::getId).contains(large).doesNotContain(small);
+        GroupRs listed = groups.stream().filter(g -> g.getId().equals(large)).findFirst().orElseThrow();
+        assertThat(listed.getEmployees()).extracting(e -> e.getId()).containsExactlyInAnyOrderElementsOf(largeMembers);
+
+        List<String> memberQueries = sql.stream().filter(s -> s.contains("infra_group_employees")).toList();
+        assertThat(memberQueries).singleElement().satisfies(statement -> {
+            assertThat(statement).contains(" in (");
+            assertThat(statement.chars().filter(c -> c == '?').count()).isEqualTo(groups.size());
+        });
+    }
+
+    @Test
+    void sparseListWithoutExpandLeavesEmployeesOut() {
+        UUID groupId = testData.group();
+        groupService.assignEmployees(groupId, new AssignEmployeesRq(testData.activeEmployees(1)));
+
+        SqlCapture.start();
+        List<GroupRs> groups = groupService.listGroups(FieldSelection.of(Set.of("name"), null), GroupFilter.NONE);
+        List<String> sql = SqlCapture.stop();
+
+        GroupRs listed = groups.stream().filter(g -> g.getId().equals(groupId)).findFirst().orElseThrow();
+        assertThat(listed.getEmployees()).isNull();
+        assertThat(listed.getAddress()).isNull();
+        assertThat(sql).noneMatch(statement -> statement.contains("infra_group_employees"));
+    }
+}
@@ -0,0 +1,130 @@
+package com.infragest.infra_groups_service.diagnostics;
+
+import com.infragest.infra_groups_service.support.IntegrationTest;
+import com.infragest.infra_groups_service.support.TestData;
+import jdk.jfr.FlightRecorder;
+import jdk.jfr.RecordingState;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.endpoint.SecurityContext;
+import org.springframework.boot.actuate.endpoint.web.WebEndpointResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.security.Principal;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Endpoint {@code /actuator/jfr}: autenticación, operadores, una sola grabación a la vez y resumen.
+ */
+@IntegrationTest
+class JfrEndpointTest {
+
+    private static final String OPERATOR = "operator@test.io";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private TestData testData;
+
+    private final JfrEndpoint endpoint = new JfrEndpoint(new JfrProfiler(), List.of(OPERATOR), 1, 5, 5);
+
+    @Test
+    void requiresAuthenticationAndAnOperator() throws Exception {
+        mockMvc.perform(get("/actuator/jfr/summary").param("seconds", "1"))
+                .andExpect(status().isUnauthorized());
+        // groups.jfr.operators está vacío en las pruebas: nadie puede grabar
+        mockMvc.perform(get("/actuator/jfr/summary").param("seconds", "1")
+                        .header(HttpHeaders.AUTHORIZATION, testData.bearer()))
+                .andExpect(status().isForbidden());
+
+        assertThat(endpoint.summary(as(null), "summary", 1, null).getStatus()).isEqualTo(403);
+        assertThat(endpoint.summary(as("someone@test.io"), "summary", 1, null).getStatus()).isEqualTo(403);
+    }
+
+    @Test
+    void rejectsInvalidRequests() {
+        assertThat(endpoint.summary(as(OPERATOR), "summary", 6, null).getStatus()).isEqualTo(400);
+        assertThat(endpoint.summary(as(OPERATOR), "summary", 0, null).getStatus()).isEqualTo(400);
+        assertThat(endpoint.summary(as(OPERATOR), "flamegraph", 1, null).getStatus()).isEqualTo(404);
+    }
+
+    @Test
+    void summaryReportsTheTopSites() {
+        CompletableFuture<Void> busy = CompletableFuture.runAsync(JfrEndpointTest::spin);
+
+        WebEndpointResponse<Object> response = endpoint.summary(as(OPERATOR), "summary", 1, 3);
+        busy.join();
+
+        assertThat(response.getStatus()).isEqualTo(200);
+        assertThat(response.getBody()).isInstanceOfSatisfying(JfrSummary.class, summary -> {
+            assertThat(summary.executionSamples()).isPositive();
+            assertThat(summary.hotMethods()).isNotEmpty().hasSizeLessThanOrEqualTo(3);
+            assertThat(summary.hotMethods()).allSatisfy(hotspot -> {
+                assertThat(hotspot.site()).isNotBlank();
+                assertThat(hotspot.percent()).isBetween(0.0, 100.0);
+            });
+        });
+    }
+
+    @Test
+    void rejectsASecondRecordingWhileOneIsRunning() throws Exception {
+        CompletableFuture<WebEndpointResponse<Object>> first =
+                CompletableFuture.supplyAsync(() -> endpoint.summary(as(OPERATOR), "summary", 2, null));
+        awaitRecording();
+
+        WebEndpointResponse<Object> second = endpoint.summary(as(OPERATOR), "summary", 1, null);
+
+        assertThat(second.getStatus()).isEqualTo(WebEndpointResponse.STATUS_TOO_MANY_REQUESTS);
+        assertThat(second.getBody()).isInstanceOfSatisfying(Map.class,
+                body -> assertThat(body.get("message")).asString().contains("already in progress"));
+        assertThat(first.get(10, TimeUnit.SECONDS).getStatus()).isEqualTo(200);
+        assertThat(endpoint.summary(as(OPERATOR), "summary", 1, null).getStatus()).isEqualTo(200);
+    }
+
+    private static SecurityContext as(String name) {
+        Principal principal = name == null ? null : () -> name;
+        return new SecurityContext() {
+            @Override
+            public Principal getPrincipal() {
+                return principal;
+            }
+
+            @Override
+            public boolean isUserInRole(String role) {
+                return false;
+            }
+        };
+    }
+
+    private static void awaitRecording() throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (FlightRecorder.getFlightRecorder().getRecordings().stream().noneMatch(recording ->
+                "groups-on-demand".equals(recording.getName()) && recording.getState() == RecordingState.RUNNING)) {
+            assertThat(System.nanoTime()).isLessThan(deadline);
+            Thread.sleep(10);
+        }
+    }
+
+    /**
+     * Carga de CPU durante algo más de un segundo para que haya muestras de ejecución.
+     */
+    private static void spin() {
+        long end = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(1_200);
+        double x = 0;
+        while (System.nanoTime() < end) {
+            x += Math.sqrt(x + 1);
+        }
+        if (x < 0) {
+            throw new IllegalStateException();
+        }
+    }
+}
@@ -0,0 +1,141 @@
+package com.infragest.infra_groups_service.events;
+
+import com.infragest.infra_groups_service.enums.ChangeEventType;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Reparto SSE con suscriptores que dejan de leer.
+ */
+class GroupChangeStreamTest {
+
+    private static final long SEND_TIMEOUT_MS = 200;
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+    private final CountDownLatch unblock = new CountDownLatch(1);
+
+    /**
+     * Emisores a crear en orden: {@code true} bloquea cada envío como un cliente con el TCP lleno.
+     */
+    private final Queue<Boolean> nextBlocking = new ArrayDeque<>();
+
+    private final List<RecordingEmitter> emitters = new CopyOnWriteArrayList<>();
+
+    private final GroupChangeStream stream = new GroupChangeStream(64, 16, 2, 60_000, SEND_TIMEOUT_MS, 4, registry) {
+        @Override
+        SseEmitter newEmitter(long timeoutMs) {
+            RecordingEmitter emitter = new RecordingEmitter(Boolean.TRUE.equals(nextBlocking.poll()));
+            emitters.add(emitter);
+            return emitter;
+        }
+    };
+
+    @AfterEach
+    void shutdown() {
+        unblock.countDown();
+        stream.shutdown();
+    }
+
+    @Test
+    void stalledSubscribersDoNotBlockDeliveryToOthers() throws Exception {
+        nextBlocking.addAll(List.of(true, true, false));
+        stream.subscribe(null, null);
+        stream.subscribe(null, null);
+        stream.subscribe(null, null);
+        RecordingEmitter healthy = emitters.get(2);
+
+        // Los dos suscriptores atascados ocupan los dos hilos del pool
+        publish();
+        assertThat(emitters.get(0).entered.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(emitters.get(1).entered.await(5, TimeUnit.SECONDS)).isTrue();
+
+        Thread.sleep(SEND_TIMEOUT_MS * 2);
+        stream.checkStalledSends();
+
+        publish();
+        awaitSent(healthy, 2);
+        assertThat(registry.get("groups.stream.subscribers.stalled").counter().count()).isEqualTo(2);
+        assertThat(registry.get("groups.stream.subscribers").gauge().value()).isEqualTo(1);
+        assertThat(emitters.get(0).failure).isNotNull();
+
+        // Los retirados no reciben más eventos aunque su envío termine
+        unblock.countDown();
+        awaitSent(emitters.get(0), 1);
+        publish();
+        awaitSent(healthy, 3);
+        assertThat(emitters.get(0).sent).isEqualTo(1);
+    }
+
+    @Test
+    void subscribersWithinTheSendTimeoutAreKept() throws Exception {
+        stream.subscribe(null, null);
+
+        publish();
+        stream.checkStalledSends();
+
+        awaitSent(emitters.get(0), 1);
+        assertThat(registry.get("groups.stream.subscribers.stalled").counter().count()).isZero();
+        assertThat(registry.get("groups.stream.subscribers").gauge().value()).isEqualTo(1);
+    }
+
+    private void publish() {
+        stream.onChange(new DomainChangeEvent(ChangeEventType.GROUP_UPDATED, UUID.randomUUID(), Map.of()));
+    }
+
+    private static void awaitSent(RecordingEmitter emitter, int count) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (emitter.sent < count && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertThat(emitter.sent).isEqualTo(count);
+    }
+
+    /**
+     * Emisor que cuenta los envíos y, si se indica, bloquea cada uno hasta el final del test.
+     */
+    private final class RecordingEmitter extends SseEmitter {
+        private final boolean blocking;
+        private final CountDownLatch entered = new CountDownLatch(1);
+        private volatile int sent;
+        private volatile Throwable failure;
+
+        private RecordingEmitter(boolean blocking) {
+            this.blocking = blocking;
+        }
+
+        @Override
+        public void send(SseEventBuilder builder) throws IOException {
+            entered.countDown();
+            if (blocking) {
+                try {
+                    unblock.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new IOException(e);
+                }
+            }
+            sent++;
+        }
+
+        @Override
+        public synchronized void completeWithError(Throwable ex) {
+            failure = ex;
+            super.completeWithError(ex);
+        }
+    }
+}
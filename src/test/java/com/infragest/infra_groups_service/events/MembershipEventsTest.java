@@ -0,0 +1,243 @@
+package com.infragest.infra_groups_service.events;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.infragest.infra_groups_service.entity.OutboxEvent;
+import com.infragest.infra_groups_service.enums.ChangeEventType;
+import com.infragest.infra_groups_service.enums.EmployeStatus;
+import com.infragest.infra_groups_service.exception.GroupException;
+import com.infragest.infra_groups_service.model.AssignEmployeesRq;
+import com.infragest.infra_groups_service.model.EmployeeStatusRq;
+import com.infragest.infra_groups_service.repository.GroupsRepository;
+import com.infragest.infra_groups_service.repository.OutboxEventRepository;
+import com.infragest.infra_groups_service.service.EmployeeService;
+import com.infragest.infra_groups_service.service.GroupService;
+import com.infragest.infra_groups_service.support.IntegrationTest;
+import com.infragest.infra_groups_service.support.SqlCapture;
+import com.infragest.infra_groups_service.support.TestData;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Los eventos de membresía publican exactamente las relaciones que cambió cada transacción,
+ * y el relay los entrega en el orden del outbox.
+ */
+@IntegrationTest
+class MembershipEventsTest {
+
+    @Autowired
+    private GroupService groupService;
+
+    @Autowired
+    private EmployeeService employeeService;
+
+    @Autowired
+    private GroupsRepository groupsRepository;
+
+    @Autowired
+    private OutboxEventRepository outboxEventRepository;
+
+    @Autowired
+    private OutboxRelay outboxRelay;
+
+    @Autowired
+    private InMemoryOutboxSink sink;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private TestData testData;
+
+    @Test
+    void assignPublishesOnlyInsertedMembers() {
+        UUID groupId = testData.group();
+        UUID member = testData.employee(EmployeStatus.ACTIVE);
+        UUID inactive = testData.employee(EmployeStatus.INACTIVE);
+        UUID fresh = testData.employee(EmployeStatus.ACTIVE);
+        groupService.assignEmployees(groupId, new AssignEmployeesRq(List.of(member)));
+
+        groupService.assignEmployees(groupId, new AssignEmployeesRq(List.of(member, inactive, fresh)));
+
+        assertThat(employeeIds(groupId, ChangeEventType.GROUP_MEMBERS_ADDED))
+                .containsExactly(List.of(member), List.of(fresh));
+    }
+
+    @Test
+    void membershipWritesLockEmployeesAndRelationsButNotTheGroupRow() {
+        UUID groupId = testData.group();
+        UUID other = testData.group();
+        List<UUID> employees = testData.activeEmployees(2);
+
+        SqlCapture.start();
+        groupService.assignEmployees(groupId, new AssignEmployeesRq(employees));
+        groupService.copyMembers(groupId, other);
+        groupService.moveMembers(groupId, other);
+        groupService.clearMembers(other);
+        employeeService.updateStatuses(new EmployeeStatusRq(employees, EmployeStatus.INACTIVE, true));
+        List<String> sql = SqlCapture.stop();
+
+        List<String> locking = sql.stream().filter(s -> s.contains("for update")).toList();
+        assertThat(locking).anyMatch(s -> s.contains("infra_employees"));
+        assertThat(locking).anyMatch(s -> s.contains("infra_group_employees"));
+        assertThat(locking).noneMatch(s -> s.contains("infra_groups "));
+    }
+
+    @Test
+    void copyMoveAndClearPublishAffectedMembers() {
+        UUID source = testData.group();
+        UUID target = testData.group();
+        UUID shared = testData.employee(EmployeStatus.ACTIVE);
+        UUID copied = testData.employee(EmployeStatus.ACTIVE);
+        UUID inactive = testData.employee(EmployeStatus.ACTIVE);
+        groupService.assignEmployees(source, new AssignEmployeesRq(List.of(shared, copied, inactive)));
+        groupService.assignEmployees(target, new AssignEmployeesRq(List.of(shared)));
+        employeeService.updateStatuses(new EmployeeStatusRq(List.of(inactive), EmployeStatus.INACTIVE, false));
+
+        groupService.copyMembers(source, target);
+        groupService.moveMembers(source, target);
+        groupService.clearMembers(source);
+
+        assertThat(employeeIds(target, ChangeEventType.GROUP_MEMBERS_ADDED))
+                .containsExactly(List.of(shared), List.of(copied));
+        List<List<UUID>> removed = employeeIds(source, ChangeEventType.GROUP_MEMBERS_REMOVED);
+        assertThat(removed).hasSize(2);
+        assertThat(removed.get(0)).containsExactlyInAnyOrder(shared, copied);
+        assertThat(removed.get(1)).containsExactly(inactive);
+    }
+
+    @Test
+    void overlappingConcurrentAssignsPublishEachMemberOnce() throws Exception {
+        UUID groupId = testData.group();
+        List<UUID> pool = testData.activeEmployees(30);
+
+        List<Callable<Void>> tasks = new ArrayList<>();
+        for (int t = 0; t < 6; t++) {
+            List<UUID> slice = pool.subList(t * 3, Math.min(pool.size(), t * 3 + 15));
+            tasks.add(() -> {
+                assignIgnoringNoop(groupId, slice);
+                return null;
+            });
+        }
+        tasks.add(() -> {
+            assignIgnoringNoop(groupId, pool);
+            return null;
+        });
+        runTogether(tasks);
+
+        List<UUID> published = employeeIds(groupId, ChangeEventType.GROUP_MEMBERS_ADDED).stream()
+                .flatMap(List::stream).toList();
+        assertThat(published).doesNotHaveDuplicates().containsExactlyInAnyOrderElementsOf(pool);
+        assertThat(groupsRepository.findMemberCountById(groupId)).contains(30L);
+    }
+
+    @Test
+    void clearRacingWithDeactivationPublishesEachRemovalOnce() throws Exception {
+        for (int round = 0; round < 5; round++) {
+            UUID groupId = testData.group();
+            List<UUID> members = testData.activeEmployees(10);
+            groupService.assignEmployees(groupId, new AssignEmployeesRq(members));
+
+            runTogether(List.of(
+                    () -> {
+                        groupService.clearMembers(groupId);
+                        return null;
+                    },
+                    () -> {
+                        employeeService.updateStatuses(new EmployeeStatusRq(members, EmployeStatus.INACTIVE, true));
+                        return null;
+                    }));
+
+            List<UUID> published = employeeIds(groupId, ChangeEventType.GROUP_MEMBERS_REMOVED).stream()
+                    .flatMap(List::stream).toList();
+            assertThat(published).doesNotHaveDuplicates().containsExactlyInAnyOrderElementsOf(members);
+            assertThat(groupsRepository.findMemberCountById(groupId)).contains(0L);
+        }
+    }
+
+    @Test
+    void relayDeliversGroupEventsInCommitOrder() throws Exception {
+        UUID groupId = testData.group();
+        List<UUID> employees = testData.activeEmployees(2);
+        groupService.assignEmployees(groupId, new AssignEmployeesRq(employees));
+        groupService.removeEmployee(groupId, employees.get(0));
+        groupService.clearMembers(groupId);
+
+        List<OutboxMessage> delivered = List.of();
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (delivered.size() < 4 && System.currentTimeMillis() < deadline) {
+            outboxRelay.relay();
+            delivered = sink.getMessages().stream().filter(m -> m.aggregateId().equals(groupId)).toList();
+        }
+
+        assertThat(delivered).extracting(OutboxMessage::eventType).containsExactly(
+                ChangeEventType.GROUP_CREATED.name(),
+                ChangeEventType.GROUP_MEMBERS_ADDED.name(),
+                ChangeEventType.GROUP_MEMBERS_REMOVED.name(),
+                ChangeEventType.GROUP_MEMBERS_REMOVED.name());
+        assertThat(delivered).extracting(OutboxMessage::sequence).isSorted();
+        assertThat(ids(delivered.get(3).payload())).containsExactly(employees.get(1));
+    }
+
+    private void assignIgnoringNoop(UUID groupId, List<UUID> employeeIds) {
+        try {
+            groupService.assignEmployees(groupId, new AssignEmployeesRq(employeeIds));
+        } catch (GroupException e) {
+            // Todos los empleados ya eran miembros: la asignación se rechaza sin cambios
+            assertThat(e.getType()).isEqualTo(GroupException.Type.BAD_REQUEST);
+        }
+    }
+
+    private static void runTogether(List<Callable<Void>> tasks) throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(tasks.size());
+        try {
+            CountDownLatch start = new CountDownLatch(1);
+            List<Future<Void>> futures = new ArrayList<>();
+            for (Callable<Void> task : tasks) {
+                futures.add(pool.submit(() -> {
+                    start.await();
+                    return task.call();
+                }));
+            }
+            start.countDown();
+            for (Future<Void> future : futures) {
+                future.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    private List<List<UUID>> employeeIds(UUID groupId, ChangeEventType type) {
+        return outboxEventRepository.findAll().stream()
+                .filter(e -> e.getAggregateId().equals(groupId) && e.getEventType() == type)
+                .sorted((a, b) -> Long.compare(a.getId(), b.getId()))
+                .map(OutboxEvent::getPayload)
+                .map(this::ids)
+                .toList();
+    }
+
+    private List<UUID> ids(String payload) {
+        try {
+            List<UUID> ids = new ArrayList<>();
+            for (JsonNode id : objectMapper.readTree(payload).get("employeeIds")) {
+                ids.add(UUID.fromString(id.asText()));
+            }
+            return ids;
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
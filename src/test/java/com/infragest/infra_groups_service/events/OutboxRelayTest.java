@@ -0,0 +1,23 @@
+package com.infragest.infra_groups_service.events;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Configuración obligatoria del destino del outbox.
+ */
+class OutboxRelayTest {
+
+    @Test
+    void startupFailsWithoutAConfiguredSink() {
+        StaticListableBeanFactory noSinks = new StaticListableBeanFactory();
+
+        assertThatThrownBy(() -> new OutboxRelay(null, noSinks.getBeanProvider(OutboxSink.class), null,
+                new SimpleMeterRegistry(), 200, 24))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("groups.outbox.sink");
+    }
+}
@@ -0,0 +1,130 @@
+package com.infragest.infra_groups_service.events;
+
+import com.infragest.infra_groups_service.entity.OutboxEvent;
+import com.infragest.infra_groups_service.enums.ChangeEventType;
+import com.infragest.infra_groups_service.repository.OutboxEventRepository;
+import com.infragest.infra_groups_service.support.IntegrationTest;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationListener;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.PayloadApplicationEvent;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Propagación entre réplicas: un cambio registrado por otra réplica se publica en esta dentro del
+ * intervalo de sondeo y actualiza la métrica de retraso.
+ */
+@IntegrationTest
+class ReplicaChangePollerTest {
+
+    /**
+     * Margen sobre el intervalo de sondeo para la duración del propio ciclo.
+     */
+    private static final long SLACK_MS = 1_500;
+
+    @Autowired
+    private OutboxEventRepository outboxEventRepository;
+
+    @Autowired
+    private ReplicaIdentity replicaIdentity;
+
+    @Autowired
+    private ConfigurableApplicationContext context;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${groups.invalidation.poll-interval-ms}")
+    private long pollIntervalMs;
+
+    @Test
+    void changeFromAnotherReplicaIsSeenWithinThePollInterval() throws Exception {
+        BlockingQueue<RemoteChangeEvent> seen = new LinkedBlockingQueue<>();
+        ApplicationListener<PayloadApplicationEvent<RemoteChangeEvent>> listener = event -> seen.add(event.getPayload());
+        context.addApplicationListener(listener);
+        Timer lag = meterRegistry.get("groups.invalidation.lag").timer();
+        long appliedBefore = lag.count();
+        double lagBefore = lag.totalTime(TimeUnit.NANOSECONDS);
+        try {
+            UUID groupId = UUID.randomUUID();
+            // otra réplica, con el reloj adelantado, confirma un cambio en la base compartida
+            long start = System.nanoTime();
+            OutboxEvent written = outboxEventRepository.save(OutboxEvent.builder()
+                    .aggregateType("GROUP")
+                    .aggregateId(groupId)
+                    .eventType(ChangeEventType.GROUP_UPDATED)
+                    .payload("{\"name\":\"renamed\"}")
+                    .createdAt(LocalDateTime.now().plusHours(2))
+                    .origin("replica-b")
+                    .build());
+
+            RemoteChangeEvent event = next(seen, groupId, pollIntervalMs + SLACK_MS);
+            long elapsedMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+            assertThat(event).isNotNull();
+            assertThat(elapsedMs).isLessThan(pollIntervalMs + SLACK_MS);
+            assertThat(event.version()).isEqualTo(written.getId());
+            assertThat(event.origin()).isEqualTo("replica-b");
+            assertThat(event.change().payload()).containsEntry("name", "renamed");
+            // el retraso se registra justo después de publicar el evento
+            long recordDeadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(1);
+            while (lag.count() == appliedBefore && System.nanoTime() < recordDeadline) {
+                Thread.onSpinWait();
+            }
+            assertThat(lag.count()).isGreaterThan(appliedBefore);
+            // created_at lo asigna la base: el reloj de la réplica no altera el retraso
+            assertThat(lag.totalTime(TimeUnit.NANOSECONDS)).isGreaterThan(lagBefore);
+            assertThat(TimeUnit.NANOSECONDS.toMillis((long) (lag.totalTime(TimeUnit.NANOSECONDS) - lagBefore)))
+                    .isLessThan((lag.count() - appliedBefore) * (pollIntervalMs + SLACK_MS));
+        } finally {
+            context.removeApplicationListener(listener);
+        }
+    }
+
+    @Test
+    void ownChangesAreNotRepublished() throws Exception {
+        BlockingQueue<RemoteChangeEvent> seen = new LinkedBlockingQueue<>();
+        ApplicationListener<PayloadApplicationEvent<RemoteChangeEvent>> listener = event -> seen.add(event.getPayload());
+        context.addApplicationListener(listener);
+        try {
+            UUID groupId = UUID.randomUUID();
+            outboxEventRepository.save(OutboxEvent.builder()
+                    .aggregateType("GROUP")
+                    .aggregateId(groupId)
+                    .eventType(ChangeEventType.GROUP_UPDATED)
+                    .payload("{}")
+                    .origin(replicaIdentity.getId())
+                    .build());
+
+            assertThat(next(seen, groupId, pollIntervalMs * 3)).isNull();
+        } finally {
+            context.removeApplicationListener(listener);
+        }
+    }
+
+    /**
+     * Espera el evento remoto del agregado indicado, ignorando los de otros tests.
+     */
+    private static RemoteChangeEvent next(BlockingQueue<RemoteChangeEvent> seen, UUID aggregateId, long timeoutMs)
+            throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMs);
+        for (long left = timeoutMs; left > 0; left = TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime())) {
+            RemoteChangeEvent event = seen.poll(left, TimeUnit.MILLISECONDS);
+            if (event != null && aggregateId.equals(event.change().aggregateId())) {
+                return event;
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,58 @@
+package com.infragest.infra_groups_service.exception;
+
+import com.infragest.infra_groups_service.util.MessageException;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Excepciones de negocio sin traza y su traducción a HTTP.
+ */
+class BusinessExceptionTest {
+
+    private final GlobalExceptionHandler handler = new GlobalExceptionHandler();
+
+    @ParameterizedTest
+    @EnumSource(value = GroupException.Type.class, names = "INTERNAL_SERVER", mode = EnumSource.Mode.EXCLUDE)
+    void expectedGroupOutcomesHaveNoStackTrace(GroupException.Type type) {
+        GroupException ex = new GroupException("message", type);
+
+        assertThat(ex.getStackTrace()).isEmpty();
+        ex.fillInStackTrace();
+        assertThat(ex.getStackTrace()).isEmpty();
+    }
+
+    @ParameterizedTest
+    @EnumSource(value = EmployeeException.Type.class, names = "INTERNAL_SERVER", mode = EnumSource.Mode.EXCLUDE)
+    void expectedEmployeeOutcomesHaveNoStackTrace(EmployeeException.Type type) {
+        assertThat(new EmployeeException("message", type).getStackTrace()).isEmpty();
+    }
+
+    @Test
+    void internalErrorsKeepTheirStackTrace() {
+        assertThat(new GroupException("boom", GroupException.Type.INTERNAL_SERVER).getStackTrace()).isNotEmpty();
+        assertThat(new EmployeeException("boom", EmployeeException.Type.INTERNAL_SERVER).getStackTrace()).isNotEmpty();
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void stacklessExceptionMapsToTheSameResponse() {
+        UUID id = UUID.randomUUID();
+        GroupException ex = new GroupException(MessageException.GROUP_NOT_FOUND.render(id), GroupException.Type.NOT_FOUND);
+
+        ResponseEntity<?> response = handler.handleDeviceException(ex);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.NOT_FOUND);
+        assertThat((Map<String, Object>) response.getBody())
+                .containsEntry("status", 404)
+                .containsEntry("type", GroupException.Type.NOT_FOUND)
+                .containsEntry("message", "Group not found: " + id);
+    }
+}
@@ -0,0 +1,178 @@
+package com.infragest.infra_groups_service.hotkeys;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.withinPercentage;
+
+/**
+ * Garantías del sketch: sin subestimación y error aditivo acotado por {@code e · total / width}
+ * con probabilidad {@code 1 - e^-depth}, sobre un tráfico de Zipf con semilla fija.
+ */
+class CountMinSketchTest {
+
+    private static final int KEYS = 5_000;
+
+    private static final int ACCESSES = 100_000;
+
+    private final UUID[] keys = new UUID[KEYS];
+
+    private final long[] exact = new long[KEYS];
+
+    @Test
+    void neverUnderestimates() {
+        CountMinSketch sketch = zipfSketch(4, 256);
+
+        for (int i = 0; i < KEYS; i++) {
+            assertThat(estimate(sketch, i)).isGreaterThanOrEqualTo(exact[i]);
+        }
+    }
+
+    @Test
+    void overestimateStaysWithinTheBoundWithTheExpectedProbability() {
+        int depth = 4;
+        int width = 1024;
+        CountMinSketch sketch = zipfSketch(depth, width);
+        double bound = Math.E * ACCESSES / width;
+
+        int violations = 0;
+        for (int i = 0; i < KEYS; i++) {
+            if (estimate(sketch, i) - exact[i] > bound) {
+                violations++;
+            }
+        }
+
+        assertThat((double) violations / KEYS).isLessThanOrEqualTo(Math.exp(-depth));
+    }
+
+    @Test
+    void widerAndDeeperSketchesAreMoreAccurate() {
+        double narrow = meanError(zipfSketch(4, 256));
+        double wide = meanError(zipfSketch(4, 4096));
+        double shallow = meanError(zipfSketch(1, 1024));
+        double deep = meanError(zipfSketch(4, 1024));
+
+        assertThat(wide).isLessThan(narrow);
+        assertThat(deep).isLessThan(shallow);
+        // con hashes uniformes, cada fila acumula en promedio total / width de otras claves
+        assertThat(shallow).isCloseTo((double) ACCESSES / 1024, withinPercentage(15));
+    }
+
+    @Test
+    void heavyHittersAreEstimatedWithinTheBound() {
+        CountMinSketch sketch = zipfSketch(4, 4096);
+        double bound = Math.E * ACCESSES / 4096;
+
+        for (int i = 0; i < 10; i++) {
+            assertThat((double) estimate(sketch, i)).isBetween((double) exact[i], exact[i] + bound);
+        }
+    }
+
+    @Test
+    void halveAgesEveryCounter() {
+        CountMinSketch sketch = new CountMinSketch(4, 64);
+        UUID hot = UUID.randomUUID();
+        UUID odd = UUID.randomUUID();
+        for (int i = 0; i < 10; i++) {
+            sketch.add(hot.getMostSignificantBits(), hot.getLeastSignificantBits());
+        }
+        long oddEstimate = 0;
+        for (int i = 0; i < 5; i++) {
+            oddEstimate = sketch.add(odd.getMostSignificantBits(), odd.getLeastSignificantBits());
+        }
+        long hotEstimate = sketch.estimate(hot.getMostSignificantBits(), hot.getLeastSignificantBits());
+
+        sketch.halve();
+
+        assertThat(sketch.estimate(hot.getMostSignificantBits(), hot.getLeastSignificantBits()))
+                .isEqualTo(hotEstimate / 2);
+        assertThat(sketch.estimate(odd.getMostSignificantBits(), odd.getLeastSignificantBits()))
+                .isEqualTo(oddEstimate / 2);
+    }
+
+    @Test
+    void concurrentAddsAreNotLost() throws Exception {
+        CountMinSketch sketch = new CountMinSketch(4, 64);
+        UUID key = UUID.randomUUID();
+        int threads = 4;
+        int perThread = 50_000;
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        try {
+            CountDownLatch start = new CountDownLatch(1);
+            List<Future<?>> results = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                results.add(pool.submit(() -> {
+                    start.await();
+                    for (int i = 0; i < perThread; i++) {
+                        sketch.add(key.getMostSignificantBits(), key.getLeastSignificantBits());
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> result : results) {
+                result.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+
+        assertThat(sketch.estimate(key.getMostSignificantBits(), key.getLeastSignificantBits()))
+                .isEqualTo((long) threads * perThread);
+    }
+
+    @Test
+    void rejectsInvalidDimensions() {
+        assertThatThrownBy(() -> new CountMinSketch(0, 64)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new CountMinSketch(9, 64)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new CountMinSketch(4, 0)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    /**
+     * Sketch alimentado con {@value #ACCESSES} accesos de Zipf (s = 1) sobre {@value #KEYS} claves;
+     * deja en {@link #exact} la frecuencia real de cada una.
+     */
+    private CountMinSketch zipfSketch(int depth, int width) {
+        Random random = new Random(7);
+        double[] cumulative = new double[KEYS];
+        double sum = 0;
+        for (int i = 0; i < KEYS; i++) {
+            keys[i] = new UUID(random.nextLong(), random.nextLong());
+            sum += 1.0 / (i + 1);
+            cumulative[i] = sum;
+        }
+        Arrays.fill(exact, 0);
+        CountMinSketch sketch = new CountMinSketch(depth, width);
+        for (int n = 0; n < ACCESSES; n++) {
+            int index = Arrays.binarySearch(cumulative, random.nextDouble() * sum);
+            int key = Math.min(index < 0 ? -index - 1 : index, KEYS - 1);
+            exact[key]++;
+            sketch.add(keys[key].getMostSignificantBits(), keys[key].getLeastSignificantBits());
+        }
+        return sketch;
+    }
+
+    private double meanError(CountMinSketch sketch) {
+        long error = 0;
+        for (int i = 0; i < KEYS; i++) {
+            error += estimate(sketch, i) - exact[i];
+        }
+        return (double) error / KEYS;
+    }
+
+    private long estimate(CountMinSketch sketch, int key) {
+        return sketch.estimate(keys[key].getMostSignificantBits(), keys[key].getLeastSignificantBits());
+    }
+}
@@ -0,0 +1,74 @@
+package com.infragest.infra_groups_service.hotkeys;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Top-K del tracker: encuentra las claves dominantes con capacidad fija y envejece con el tiempo.
+ */
+class HotKeyTrackerTest {
+
+    @Test
+    void findsTheHeaviestKeysAmongColdTraffic() {
+        HotKeyTracker tracker = new HotKeyTracker(4, 1024, 10);
+        List<UUID> hot = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            hot.add(UUID.randomUUID());
+        }
+        Random random = new Random(3);
+        for (int n = 0; n < 50_000; n++) {
+            // la mitad del tráfico va a 5 claves; el resto, a claves que casi no se repiten
+            tracker.record(random.nextBoolean() ? hot.get(random.nextInt(hot.size())) : new UUID(0, random.nextInt(20_000)));
+        }
+
+        List<HotKeyTracker.HotKey> hottest = tracker.hottest(5);
+
+        assertThat(hottest).extracting(HotKeyTracker.HotKey::id).containsExactlyInAnyOrderElementsOf(hot);
+        assertThat(hottest).allSatisfy(key -> assertThat(key.share()).isBetween(0.09, 0.12));
+        assertThat(tracker.hottest(100)).hasSize(10);
+    }
+
+    @Test
+    void aNewlyDominantKeyDisplacesTheColdest() {
+        HotKeyTracker tracker = new HotKeyTracker(4, 1024, 3);
+        for (int i = 0; i < 3; i++) {
+            UUID key = UUID.randomUUID();
+            for (int n = 0; n <= i; n++) {
+                tracker.record(key);
+            }
+        }
+        UUID coldest = tracker.hottest(3).get(2).id();
+        UUID rising = UUID.randomUUID();
+
+        for (int n = 0; n < 5; n++) {
+            tracker.record(rising);
+        }
+
+        assertThat(tracker.hottest(1).get(0).id()).isEqualTo(rising);
+        assertThat(tracker.hottest(10)).extracting(HotKeyTracker.HotKey::id).doesNotContain(coldest);
+        assertThat(tracker.hottest(10)).hasSize(3);
+    }
+
+    @Test
+    void decayHalvesEstimatesAndDropsKeysThatReachZero() {
+        HotKeyTracker tracker = new HotKeyTracker(4, 1024, 10);
+        UUID busy = UUID.randomUUID();
+        UUID once = UUID.randomUUID();
+        for (int n = 0; n < 8; n++) {
+            tracker.record(busy);
+        }
+        tracker.record(once);
+
+        tracker.decay();
+
+        assertThat(tracker.hottest(10)).extracting(HotKeyTracker.HotKey::id).containsExactly(busy);
+        assertThat(tracker.hottest(1).get(0).estimate()).isEqualTo(4);
+        assertThat(tracker.total()).isEqualTo(4);
+    }
+}
@@ -0,0 +1,161 @@
+package com.infragest.infra_groups_service.membership;
+
+import com.infragest.infra_groups_service.config.datasource.ReadConsistencyContext;
+import com.infragest.infra_groups_service.enums.ChangeEventType;
+import com.infragest.infra_groups_service.enums.SetOperation;
+import com.infragest.infra_groups_service.events.DomainChangeEvent;
+import com.infragest.infra_groups_service.exception.GroupException;
+import com.infragest.infra_groups_service.model.MembershipExpression;
+import com.infragest.infra_groups_service.repository.GroupsRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Álgebra de conjuntos sobre los bitmaps del índice y lectura de la carga completa desde el primario.
+ */
+class GroupMembershipIndexTest {
+
+    private final GroupsRepository repository = mock(GroupsRepository.class);
+
+    private final UUID a = UUID.randomUUID();
+    private final UUID b = UUID.randomUUID();
+    private final UUID c = UUID.randomUUID();
+    private final UUID empty = UUID.randomUUID();
+
+    private final UUID e1 = UUID.randomUUID();
+    private final UUID e2 = UUID.randomUUID();
+    private final UUID e3 = UUID.randomUUID();
+    private final UUID e4 = UUID.randomUUID();
+    private final UUID e5 = UUID.randomUUID();
+
+    /**
+     * Valor de {@link ReadConsistencyContext#isPrimaryRequired()} durante cada carga.
+     */
+    private final List<Boolean> loadsOnPrimary = new ArrayList<>();
+
+    private GroupMembershipIndex index;
+
+    @BeforeEach
+    void setUp() {
+        // a = {e1, e2, e3}, b = {e2, e3, e4}, c = {e3, e5}
+        when(repository.findAllIds()).thenAnswer(invocation -> {
+            loadsOnPrimary.add(ReadConsistencyContext.isPrimaryRequired());
+            return List.of(a, b, c, empty);
+        });
+        when(repository.streamAllMemberPairs()).thenAnswer(invocation -> Stream.of(
+                pair(a, e1), pair(a, e2), pair(a, e3),
+                pair(b, e2), pair(b, e3), pair(b, e4),
+                pair(c, e3), pair(c, e5)));
+        PlatformTransactionManager transactionManager = mock(PlatformTransactionManager.class);
+        when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+        index = new GroupMembershipIndex(repository, transactionManager, new SimpleMeterRegistry());
+    }
+
+    @AfterEach
+    void tearDown() {
+        ReadConsistencyContext.clear();
+    }
+
+    @Test
+    void orIsTheUnionOfAllOperands() {
+        assertThat(ids(op(SetOperation.OR, leaf(a), leaf(b), leaf(c)))).containsExactlyInAnyOrder(e1, e2, e3, e4, e5);
+    }
+
+    @Test
+    void andIsTheIntersectionOfAllOperands() {
+        assertThat(ids(op(SetOperation.AND, leaf(a), leaf(b)))).containsExactlyInAnyOrder(e2, e3);
+        assertThat(ids(op(SetOperation.AND, leaf(a), leaf(b), leaf(c)))).containsExactly(e3);
+        assertThat(ids(op(SetOperation.AND, leaf(a), leaf(empty)))).isEmpty();
+    }
+
+    @Test
+    void minusRemovesEveryLaterOperandFromTheFirst() {
+        assertThat(ids(op(SetOperation.MINUS, leaf(a), leaf(b)))).containsExactly(e1);
+        assertThat(ids(op(SetOperation.MINUS, leaf(b), leaf(a), leaf(c)))).containsExactly(e4);
+        assertThat(ids(op(SetOperation.MINUS, leaf(c), leaf(empty)))).containsExactlyInAnyOrder(e3, e5);
+    }
+
+    @Test
+    void nestedExpressionsAndCountsWithoutIds() {
+        // (a ∪ c) − (a ∩ b) = {e1, e5}
+        MembershipExpression expression = op(SetOperation.MINUS,
+                op(SetOperation.OR, leaf(a), leaf(c)),
+                op(SetOperation.AND, leaf(a), leaf(b)));
+
+        assertThat(ids(expression)).containsExactlyInAnyOrder(e1, e5);
+        GroupMembershipIndex.Evaluation countOnly = index.evaluate(expression, false);
+        assertThat(countOnly.count()).isEqualTo(2);
+        assertThat(countOnly.ids()).isNull();
+    }
+
+    @Test
+    void evaluatingDoesNotModifyTheGroupBitmaps() {
+        ids(op(SetOperation.MINUS, leaf(a), leaf(b)));
+        ids(op(SetOperation.AND, leaf(a), leaf(c)));
+
+        assertThat(ids(leaf(a))).containsExactlyInAnyOrder(e1, e2, e3);
+    }
+
+    @Test
+    void committedChangesUpdateTheBitmaps() {
+        index.rebuild();
+        index.onChange(new DomainChangeEvent(ChangeEventType.GROUP_MEMBERS_ADDED, empty,
+                Map.of("employeeIds", List.of(e4.toString()))));
+        index.onChange(new DomainChangeEvent(ChangeEventType.GROUP_MEMBERS_REMOVED, a,
+                Map.of("employeeIds", List.of(e1))));
+
+        assertThat(ids(op(SetOperation.AND, leaf(b), leaf(empty)))).containsExactly(e4);
+        assertThat(ids(leaf(a))).containsExactlyInAnyOrder(e2, e3);
+    }
+
+    @Test
+    void unknownGroupIsNotFound() {
+        assertThatThrownBy(() -> index.evaluate(op(SetOperation.OR, leaf(a), leaf(UUID.randomUUID())), true))
+                .isInstanceOfSatisfying(GroupException.class,
+                        ex -> assertThat(ex.getType()).isEqualTo(GroupException.Type.NOT_FOUND));
+    }
+
+    @Test
+    void rebuildLoadsFromThePrimaryAndRestoresTheCallerFlag() {
+        index.rebuild();
+        assertThat(ReadConsistencyContext.isPrimaryRequired()).isFalse();
+
+        ReadConsistencyContext.requirePrimary();
+        index.rebuild();
+        assertThat(ReadConsistencyContext.isPrimaryRequired()).isTrue();
+
+        assertThat(loadsOnPrimary).containsExactly(true, true);
+    }
+
+    private List<UUID> ids(MembershipExpression expression) {
+        return index.evaluate(expression, true).ids();
+    }
+
+    private static MembershipExpression leaf(UUID group) {
+        return new MembershipExpression(group, null, null);
+    }
+
+    private static MembershipExpression op(SetOperation op, MembershipExpression... args) {
+        return new MembershipExpression(null, op, List.of(args));
+    }
+
+    private static Object[] pair(UUID group, UUID employee) {
+        return new Object[]{group, employee};
+    }
+}
@@ -0,0 +1,134 @@
+package com.infragest.infra_groups_service.model;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.infragest.infra_groups_service.config.BinaryContentConfig;
+import com.infragest.infra_groups_service.enums.EmployeStatus;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Salida de {@link EmployeeSummariesSerializer} frente a la serialización por bean de
+ * {@link EmployeeSummaryDto} que usaba {@link GroupRs} antes: debe ser idéntica byte a byte.
+ *
+ * <p>La ruta anterior se reproduce con un mix-in que quita el serializador del campo.</p>
+ */
+class EmployeeSummariesSerializerTest {
+
+    private final BinaryContentConfig config = new BinaryContentConfig();
+
+    private final LocalDateTime now = LocalDateTime.of(2026, 10, 18, 12, 30, 15, 123_000_000);
+
+    @ParameterizedTest
+    @ValueSource(strings = {"json", "cbor", "smile"})
+    void membersAreWrittenLikeTheDtoBeans(String format) throws Exception {
+        List<EmployeeSummaryDto> members = List.of(
+                employee("Ada Lovelace", "ada@infragest.com", EmployeStatus.ACTIVE),
+                employee("José \"Pepe\" Núñez \\ 测试 🚀", "jose@infragest.com", EmployeStatus.INACTIVE),
+                employee("Sin correo", null, null),
+                employee(null, "line\nbreak@infragest.com", EmployeStatus.ACTIVE));
+
+        assertSameBytes(format, group(members));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"json", "cbor", "smile"})
+    void emptyMembersAreWrittenLikeTheBeanPath(String format) throws Exception {
+        assertSameBytes(format, group(List.of()));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"json", "cbor", "smile"})
+    void largeGroupsAreWrittenLikeTheBeanPath(String format) throws Exception {
+        List<EmployeeSummaryDto> members = new ArrayList<>();
+        for (int i = 0; i < 2_000; i++) {
+            members.add(employee("Employee " + i, "employee" + i + "@infragest.com",
+                    i % 7 == 0 ? EmployeStatus.INACTIVE : EmployeStatus.ACTIVE));
+        }
+
+        assertSameBytes(format, group(members));
+    }
+
+    @Test
+    void mixInRestoresTheBeanSerializer() throws Exception {
+        GroupRs group = group(List.of(new AuditedSummary()));
+
+        assertThat(mapper("json").writeValueAsString(group)).doesNotContain("audit");
+        assertThat(mapper("json").addMixIn(GroupRs.class, BeanSerializedMembers.class).writeValueAsString(group))
+                .contains("\"audit\":\"bean\"");
+    }
+
+    private void assertSameBytes(String format, GroupRs group) throws Exception {
+        ObjectMapper mapper = mapper(format);
+        ObjectMapper beanMapper = mapper(format).addMixIn(GroupRs.class, BeanSerializedMembers.class);
+
+        byte[] expected = beanMapper.writeValueAsBytes(group);
+
+        assertThat(mapper.writeValueAsBytes(group)).isEqualTo(expected);
+    }
+
+    /**
+     * Mappers como los del servicio: JSON con los valores por defecto de Spring Boot, y los binarios
+     * de {@link BinaryContentConfig}.
+     */
+    private ObjectMapper mapper(String format) {
+        Jackson2ObjectMapperBuilder builder = Jackson2ObjectMapperBuilder.json()
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        return switch (format) {
+            case "cbor" -> config.cborHttpMessageConverter(builder).getObjectMapper();
+            case "smile" -> config.smileHttpMessageConverter(builder).getObjectMapper();
+            default -> builder.build();
+        };
+    }
+
+    private GroupRs group(Collection<? extends EmployeeSummaryView> employees) {
+        return GroupRs.builder()
+                .id(new UUID(1, 2))
+                .name("group")
+                .address("address")
+                .createdAt(now)
+                .updatedAt(now)
+                .memberCount((long) employees.size())
+                .employees(employees)
+                .build();
+    }
+
+    private static EmployeeSummaryDto employee(String fullName, String email, EmployeStatus status) {
+        return EmployeeSummaryDto.builder()
+                .id(UUID.randomUUID())
+                .fullName(fullName)
+                .email(email)
+                .status(status)
+                .build();
+    }
+
+    /**
+     * Serialización por defecto (bean a bean) del campo de miembros.
+     */
+    private abstract static class BeanSerializedMembers {
+
+        @JsonSerialize
+        private Collection<? extends EmployeeSummaryView> employees;
+    }
+
+    /**
+     * Resumen con una propiedad extra que solo escribe la serialización por bean.
+     */
+    private static class AuditedSummary extends EmployeeSummaryDto {
+
+        public String getAudit() {
+            return "bean";
+        }
+    }
+}
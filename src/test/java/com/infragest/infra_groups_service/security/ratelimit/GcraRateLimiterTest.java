@@ -0,0 +1,122 @@
+package com.infragest.infra_groups_service.security.ratelimit;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Admisión GCRA: ráfaga, tasa sostenida, aislamiento por bucket y desalojo.
+ */
+class GcraRateLimiterTest {
+
+    private final GcraRateLimiter limiter = new GcraRateLimiter();
+
+    /**
+     * Una petición cada 1000 s: dentro de un test no se recarga ninguna.
+     */
+    private final GcraRateLimiter.Limit slow = GcraRateLimiter.Limit.of("slow", 0.001, 3);
+
+    @Test
+    void admitsTheBurstThenReportsTheWaitForTheNextSlot() {
+        for (int i = 0; i < 3; i++) {
+            assertThat(limiter.tryAcquire("batch", slow)).isZero();
+        }
+
+        long wait = limiter.tryAcquire("batch", slow);
+
+        // el siguiente hueco llega un intervalo después del primero admitido
+        assertThat(wait).isPositive().isLessThanOrEqualTo(slow.intervalNanos());
+        assertThat(wait).isGreaterThan(slow.intervalNanos() - TimeUnit.SECONDS.toNanos(5));
+    }
+
+    @Test
+    void rejectedRequestsDoNotConsumeQuota() {
+        for (int i = 0; i < 3; i++) {
+            limiter.tryAcquire("batch", slow);
+        }
+        long first = limiter.tryAcquire("batch", slow);
+
+        long second = limiter.tryAcquire("batch", slow);
+
+        assertThat(second).isLessThanOrEqualTo(first);
+    }
+
+    @Test
+    void refillsAtTheSustainedRate() throws Exception {
+        GcraRateLimiter.Limit fast = GcraRateLimiter.Limit.of("fast", 50, 1);
+        assertThat(limiter.tryAcquire("batch", fast)).isZero();
+        assertThat(limiter.tryAcquire("batch", fast)).isPositive();
+
+        TimeUnit.NANOSECONDS.sleep(fast.intervalNanos() + TimeUnit.MILLISECONDS.toNanos(5));
+
+        assertThat(limiter.tryAcquire("batch", fast)).isZero();
+    }
+
+    @Test
+    void eachPrincipalAndRouteClassHasItsOwnBucket() {
+        GcraRateLimiter.Limit other = GcraRateLimiter.Limit.of("other", 0.001, 1);
+        for (int i = 0; i < 3; i++) {
+            limiter.tryAcquire("batch", slow);
+        }
+
+        assertThat(limiter.tryAcquire("batch", slow)).isPositive();
+        assertThat(limiter.tryAcquire("interactive", slow)).isZero();
+        assertThat(limiter.tryAcquire("batch", other)).isZero();
+    }
+
+    @Test
+    void concurrentCallersNeverExceedTheBurst() throws Exception {
+        GcraRateLimiter.Limit burst = GcraRateLimiter.Limit.of("burst", 0.001, 100);
+        int threads = 8;
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        try {
+            CountDownLatch start = new CountDownLatch(1);
+            List<Future<Integer>> admitted = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                Callable<Integer> caller = () -> {
+                    start.await();
+                    int count = 0;
+                    for (int i = 0; i < 1_000; i++) {
+                        if (limiter.tryAcquire("batch", burst) == 0) {
+                            count++;
+                        }
+                    }
+                    return count;
+                };
+                admitted.add(pool.submit(caller));
+            }
+            start.countDown();
+            int total = 0;
+            for (Future<Integer> future : admitted) {
+                total += future.get(30, TimeUnit.SECONDS);
+            }
+            assertThat(total).isEqualTo(100);
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    @Test
+    void evictsOnlyFullBuckets() throws Exception {
+        GcraRateLimiter.Limit fast = GcraRateLimiter.Limit.of("fast", 100, 1);
+        limiter.tryAcquire("idle", fast);
+        limiter.tryAcquire("busy", slow);
+        TimeUnit.NANOSECONDS.sleep(fast.intervalNanos() + TimeUnit.MILLISECONDS.toNanos(5));
+
+        assertThat(limiter.evictIdle()).isEqualTo(1);
+        assertThat(limiter.size()).isEqualTo(1);
+        // el bucket restante conserva su estado
+        limiter.tryAcquire("busy", slow);
+        limiter.tryAcquire("busy", slow);
+        assertThat(limiter.tryAcquire("busy", slow)).isPositive();
+    }
+}
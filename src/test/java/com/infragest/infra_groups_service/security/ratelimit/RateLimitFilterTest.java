@@ -0,0 +1,90 @@
+package com.infragest.infra_groups_service.security.ratelimit;
+
+import com.infragest.infra_groups_service.support.IntegrationTest;
+import com.infragest.infra_groups_service.support.TestData;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Admisión por llamante en la cadena de seguridad, con la clase {@code bulk-list} de application.yml
+ * (GET /groups y /employees: ráfaga de 5, 2 por segundo).
+ *
+ * <p>Cada test usa llamantes propios para no compartir cuota con el resto de la suite.</p>
+ */
+@IntegrationTest
+class RateLimitFilterTest {
+
+    private static final int BULK_BURST = 5;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private TestData testData;
+
+    @Test
+    void callerOverTheBulkListBurstGets429WithRetryAfter() throws Exception {
+        exhaustBulkList(testData.bearer(caller()))
+                .andExpect(status().isTooManyRequests())
+                .andExpect(header().string(HttpHeaders.RETRY_AFTER, "1"))
+                .andExpect(jsonPath("$.status").value(429))
+                .andExpect(jsonPath("$.message").value("Rate limit exceeded for route class bulk-list"));
+    }
+
+    @Test
+    void throttledCallerDoesNotAffectOtherCallersOrRouteClasses() throws Exception {
+        UUID groupId = testData.group();
+        String batch = testData.bearer(caller());
+        exhaustBulkList(batch);
+
+        // /employees comparte la clase bulk-list y por tanto el bucket agotado
+        mockMvc.perform(get("/employees").header(HttpHeaders.AUTHORIZATION, batch))
+                .andExpect(status().isTooManyRequests());
+        mockMvc.perform(get("/groups/{id}", groupId).header(HttpHeaders.AUTHORIZATION, batch))
+                .andExpect(status().isOk());
+        mockMvc.perform(get("/groups").header(HttpHeaders.AUTHORIZATION, testData.bearer(caller())))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void unauthenticatedRequestsAreRejectedBeforeAdmission() throws Exception {
+        for (int i = 0; i <= BULK_BURST; i++) {
+            mockMvc.perform(get("/groups")).andExpect(status().isUnauthorized());
+        }
+    }
+
+    /**
+     * Repite GET /groups hasta el primer rechazo; las primeras {@value #BULK_BURST} deben admitirse.
+     * Se repite en lugar de contar para no depender de que la ráfaga quepa en un intervalo de recarga.
+     *
+     * @return respuesta rechazada
+     */
+    private ResultActions exhaustBulkList(String bearer) throws Exception {
+        for (int i = 0; i < 10 * BULK_BURST; i++) {
+            ResultActions result = mockMvc.perform(get("/groups").header(HttpHeaders.AUTHORIZATION, bearer));
+            int status = result.andReturn().getResponse().getStatus();
+            if (status == HttpStatus.TOO_MANY_REQUESTS.value()) {
+                assertThat(i).isGreaterThanOrEqualTo(BULK_BURST);
+                return result;
+            }
+            assertThat(status).isEqualTo(HttpStatus.OK.value());
+        }
+        throw new AssertionError("bulk-list burst never exhausted");
+    }
+
+    private static String caller() {
+        return "ratelimit-" + UUID.randomUUID() + "@test.io";
+    }
+}
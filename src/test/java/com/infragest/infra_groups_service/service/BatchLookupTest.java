@@ -0,0 +1,75 @@
+package com.infragest.infra_groups_service.service;
+
+import com.infragest.infra_groups_service.enums.EmployeStatus;
+import com.infragest.infra_groups_service.exception.EmployeeException;
+import com.infragest.infra_groups_service.exception.GroupException;
+import com.infragest.infra_groups_service.model.EmployeeRs;
+import com.infragest.infra_groups_service.model.GroupRs;
+import com.infragest.infra_groups_service.model.LookupRs;
+import com.infragest.infra_groups_service.support.IntegrationTest;
+import com.infragest.infra_groups_service.support.TestData;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Búsqueda por lotes de grupos y empleados: orden pedido, inexistentes y validación de ids.
+ */
+@IntegrationTest
+class BatchLookupTest {
+
+    @Autowired
+    private GroupService groupService;
+
+    @Autowired
+    private EmployeeService employeeService;
+
+    @Autowired
+    private TestData testData;
+
+    @Test
+    void groupsComeBackInRequestOrderWithTheMissingOnes() {
+        UUID first = testData.group();
+        UUID second = testData.group();
+        UUID missing = UUID.randomUUID();
+
+        LookupRs<GroupRs> rs = groupService.lookupGroups(List.of(second, missing, first, second));
+
+        assertThat(rs.getResults().keySet()).containsExactly(second, missing, first);
+        assertThat(rs.getResults().get(first).getId()).isEqualTo(first);
+        assertThat(rs.getResults().get(missing)).isNull();
+        assertThat(rs.getMissing()).containsExactly(missing);
+    }
+
+    @Test
+    void employeesComeBackInRequestOrderWithTheMissingOnes() {
+        UUID employee = testData.employee(EmployeStatus.ACTIVE);
+        UUID missing = UUID.randomUUID();
+
+        LookupRs<EmployeeRs> rs = employeeService.lookupEmployees(Set.of(employee, missing));
+
+        assertThat(rs.getResults()).containsOnlyKeys(employee, missing);
+        assertThat(rs.getResults().get(employee).getStatus()).isEqualTo(EmployeStatus.ACTIVE);
+        assertThat(rs.getMissing()).containsExactly(missing);
+    }
+
+    @Test
+    void nullIdsAreBadRequests() {
+        List<UUID> withNull = Arrays.asList(UUID.randomUUID(), null);
+
+        assertThatThrownBy(() -> groupService.lookupGroups(withNull))
+                .isInstanceOfSatisfying(GroupException.class,
+                        ex -> assertThat(ex.getType()).isEqualTo(GroupException.Type.BAD_REQUEST));
+        assertThatThrownBy(() -> employeeService.lookupEmployees(withNull))
+                .isInstanceOfSatisfying(EmployeeException.class,
+                        ex -> assertThat(ex.getType()).isEqualTo(EmployeeException.Type.BAD_REQUEST));
+        assertThatThrownBy(() -> groupService.lookupGroups(null)).isInstanceOf(GroupException.class);
+    }
+}
@@ -0,0 +1,240 @@
+package com.infragest.infra_groups_service.service;
+
+import com.infragest.infra_groups_service.concurrency.GroupLockCoordinator;
+import com.infragest.infra_groups_service.enums.EmployeStatus;
+import com.infragest.infra_groups_service.enums.StatusChangeOutcome;
+import com.infragest.infra_groups_service.exception.EmployeeException;
+import com.infragest.infra_groups_service.model.AssignEmployeesRq;
+import com.infragest.infra_groups_service.model.EmployeeStatusRq;
+import com.infragest.infra_groups_service.model.EmployeeStatusRs;
+import com.infragest.infra_groups_service.repository.EmployeesRepository;
+import com.infragest.infra_groups_service.repository.GroupsRepository;
+import com.infragest.infra_groups_service.support.IntegrationTest;
+import com.infragest.infra_groups_service.support.SqlCapture;
+import com.infragest.infra_groups_service.support.TestData;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Cambio de estado masivo: resultado por empleado, limpieza de membresías y número de sentencias
+ * independiente del tamaño del lote.
+ */
+@IntegrationTest
+class EmployeeBulkStatusTest {
+
+    @Autowired
+    private EmployeeService employeeService;
+
+    @Autowired
+    private GroupService groupService;
+
+    @Autowired
+    private GroupsRepository groupsRepository;
+
+    @Autowired
+    private EmployeesRepository employeesRepository;
+
+    @Autowired
+    private GroupLockCoordinator groupLocks;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private TestData testData;
+
+    @Test
+    void reportsEachEmployeeOnceAndUpdatesOnlyTheChangedOnes() {
+        UUID active = testData.employee(EmployeStatus.ACTIVE);
+        UUID inactive = testData.employee(EmployeStatus.INACTIVE);
+        UUID missing = UUID.randomUUID();
+
+        EmployeeStatusRs rs = employeeService.updateStatuses(
+                new EmployeeStatusRq(List.of(active, inactive, missing, active), EmployeStatus.INACTIVE, false));
+
+        assertThat(rs.getUpdated()).isEqualTo(1);
+        assertThat(rs.getRemovedMemberships()).isZero();
+        assertThat(rs.getResults()).containsOnlyKeys(active, inactive, missing);
+        assertThat(rs.getResults().keySet()).containsExactly(active, inactive, missing);
+        assertThat(rs.getResults().get(active))
+                .isEqualTo(new EmployeeStatusRs.Result(StatusChangeOutcome.UPDATED, EmployeStatus.ACTIVE, null));
+        assertThat(rs.getResults().get(inactive))
+                .isEqualTo(new EmployeeStatusRs.Result(StatusChangeOutcome.UNCHANGED, EmployeStatus.INACTIVE, null));
+        assertThat(rs.getResults().get(missing))
+                .isEqualTo(new EmployeeStatusRs.Result(StatusChangeOutcome.NOT_FOUND, null, null));
+        assertThat(employeeService.getById(active).getStatus()).isEqualTo(EmployeStatus.INACTIVE);
+    }
+
+    @Test
+    void removeFromGroupsDropsTheMembershipsAndRecountsTheGroups() {
+        UUID first = testData.group();
+        UUID second = testData.group();
+        UUID inBoth = testData.employee(EmployeStatus.ACTIVE);
+        UUID inFirst = testData.employee(EmployeStatus.ACTIVE);
+        UUID stays = testData.employee(EmployeStatus.ACTIVE);
+        UUID noGroups = testData.employee(EmployeStatus.ACTIVE);
+        groupService.assignEmployees(first, new AssignEmployeesRq(List.of(inBoth, inFirst, stays)));
+        groupService.assignEmployees(second, new AssignEmployeesRq(List.of(inBoth)));
+
+        EmployeeStatusRs rs = employeeService.updateStatuses(
+                new EmployeeStatusRq(List.of(inBoth, inFirst, noGroups), EmployeStatus.INACTIVE, true));
+
+        assertThat(rs.getUpdated()).isEqualTo(3);
+        assertThat(rs.getRemovedMemberships()).isEqualTo(3);
+        assertThat(rs.getResults().get(inBoth).getRemovedFromGroups()).containsExactlyInAnyOrder(first, second);
+        assertThat(rs.getResults().get(inFirst).getRemovedFromGroups()).containsExactly(first);
+        assertThat(rs.getResults().get(noGroups).getRemovedFromGroups()).isEmpty();
+        assertThat(groupService.getById(first).getEmployees())
+                .extracting(member -> member.getId()).containsExactly(stays);
+        assertThat(groupsRepository.findMemberCountById(first)).contains(1L);
+        assertThat(groupsRepository.findMemberCountById(second)).contains(0L);
+        assertThat(groupsRepository.findMemberCountDrift()).doesNotContain(first, second);
+    }
+
+    @Test
+    void statementCountDoesNotGrowWithTheBatch() {
+        assertThat(statementsToDeactivate(3)).isEqualTo(statementsToDeactivate(40));
+    }
+
+    @Test
+    void memberCountsOfAllGroupsAreAdjustedWithOneStatement() {
+        List<UUID> employees = testData.activeEmployees(6);
+        List<UUID> groups = List.of(testData.group(), testData.group(), testData.group());
+        for (UUID group : groups) {
+            groupService.assignEmployees(group, new AssignEmployeesRq(employees.subList(0, 2 + groups.indexOf(group) * 2)));
+        }
+
+        SqlCapture.start();
+        EmployeeStatusRs rs = employeeService.updateStatuses(new EmployeeStatusRq(employees, EmployeStatus.INACTIVE, true));
+        List<String> sql = SqlCapture.stop();
+
+        assertThat(rs.getRemovedMemberships()).isEqualTo(12);
+        assertThat(sql).filteredOn(statement -> statement.contains("infra_group_member_counts")).singleElement();
+        assertThat(sql).filteredOn(statement -> statement.startsWith("delete from infra_group_employees")).hasSize(1);
+        for (UUID group : groups) {
+            assertThat(groupsRepository.findMemberCountById(group)).contains(0L);
+        }
+        assertThat(groupsRepository.findMemberCountDrift()).doesNotContainAnyElementsOf(groups);
+    }
+
+    @Test
+    void groupLocksAreTakenBeforeAnyRowLock() throws Exception {
+        UUID groupId = testData.group();
+        UUID employee = testData.employee(EmployeStatus.ACTIVE);
+        groupService.assignEmployees(groupId, new AssignEmployeesRq(List.of(employee)));
+        CountDownLatch locked = new CountDownLatch(1);
+        Thread writer = Thread.currentThread();
+
+        // Como la reconciliación: lock exclusivo del grupo y después bloqueos de filas de empleados y relaciones
+        CompletableFuture<Integer> reconcile = CompletableFuture.supplyAsync(() -> transactionTemplate.execute(status -> {
+            groupLocks.lockExclusive(groupId);
+            locked.countDown();
+            // El cambio de estado ya espera el lock del grupo: no debe tener ninguna fila bloqueada
+            awaitParked(writer);
+            employeesRepository.lockStatusSummaries(List.of(employee));
+            groupsRepository.lockMemberPairsByEmployeeIds(List.of(employee));
+            return groupsRepository.repairMemberCounts(List.of(groupId));
+        }));
+        assertThat(locked.await(5, TimeUnit.SECONDS)).isTrue();
+
+        EmployeeStatusRs rs = employeeService.updateStatuses(
+                new EmployeeStatusRq(List.of(employee), EmployeStatus.INACTIVE, true));
+
+        assertThat(reconcile.get(5, TimeUnit.SECONDS)).isZero();
+        assertThat(rs.getRemovedMemberships()).isEqualTo(1);
+        assertThat(groupsRepository.findMemberCountById(groupId)).contains(0L);
+    }
+
+    @Test
+    void acceptsImmutableIdListsAndRejectsNullIds() {
+        UUID employee = testData.employee(EmployeStatus.ACTIVE);
+
+        assertThat(employeeService.updateStatuses(new EmployeeStatusRq(List.of(employee), EmployeStatus.INACTIVE, false))
+                .getUpdated()).isEqualTo(1);
+        assertBadRequest(new EmployeeStatusRq(Arrays.asList(employee, null), EmployeStatus.ACTIVE, false));
+        assertBadRequest(new EmployeeStatusRq(null, EmployeStatus.ACTIVE, false));
+        assertBadRequest(new EmployeeStatusRq(List.of(employee), null, false));
+    }
+
+    @Test
+    void removeFromGroupsRequiresInactive() {
+        UUID groupId = testData.group();
+        UUID employee = testData.employee(EmployeStatus.INACTIVE);
+        groupService.assignEmployees(groupId, new AssignEmployeesRq(List.of(testData.employee(EmployeStatus.ACTIVE))));
+
+        assertBadRequest(new EmployeeStatusRq(List.of(employee), EmployeStatus.ACTIVE, true));
+        assertThat(employeeService.getById(employee).getStatus()).isEqualTo(EmployeStatus.INACTIVE);
+    }
+
+    @Test
+    void endpointReturnsTheOutcomes() throws Exception {
+        UUID groupId = testData.group();
+        UUID employee = testData.employee(EmployeStatus.ACTIVE);
+        groupService.assignEmployees(groupId, new AssignEmployeesRq(List.of(employee)));
+
+        mockMvc.perform(patch("/employees/status")
+                        .header(HttpHeaders.AUTHORIZATION, testData.bearer())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"ids\":[\"" + employee + "\"],\"status\":\"INACTIVE\",\"removeFromGroups\":true}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status").value("INACTIVE"))
+                .andExpect(jsonPath("$.updated").value(1))
+                .andExpect(jsonPath("$.removedMemberships").value(1))
+                .andExpect(jsonPath("$.results['" + employee + "'].outcome").value("UPDATED"))
+                .andExpect(jsonPath("$.results['" + employee + "'].previousStatus").value("ACTIVE"))
+                .andExpect(jsonPath("$.results['" + employee + "'].removedFromGroups[0]").value(groupId.toString()));
+    }
+
+    /**
+     * Sentencias preparadas para desactivar {@code count} empleados que son miembros de un grupo
+     * cada uno, retirándolos de sus grupos.
+     */
+    private int statementsToDeactivate(int count) {
+        List<UUID> employees = testData.activeEmployees(count);
+        for (UUID employee : employees) {
+            groupService.assignEmployees(testData.group(), new AssignEmployeesRq(List.of(employee)));
+        }
+
+        SqlCapture.start();
+        EmployeeStatusRs rs = employeeService.updateStatuses(
+                new EmployeeStatusRq(employees, EmployeStatus.INACTIVE, true));
+        List<String> sql = SqlCapture.stop();
+
+        assertThat(rs.getUpdated()).isEqualTo(count);
+        assertThat(rs.getRemovedMemberships()).isEqualTo(count);
+        return sql.size();
+    }
+
+    private static void awaitParked(Thread thread) {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (thread.getState() != Thread.State.WAITING && System.nanoTime() < deadline) {
+            Thread.onSpinWait();
+        }
+    }
+
+    private void assertBadRequest(EmployeeStatusRq rq) {
+        assertThatThrownBy(() -> employeeService.updateStatuses(rq))
+                .isInstanceOfSatisfying(EmployeeException.class,
+                        ex -> assertThat(ex.getType()).isEqualTo(EmployeeException.Type.BAD_REQUEST));
+    }
+}
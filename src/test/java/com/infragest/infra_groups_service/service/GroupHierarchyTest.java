@@ -0,0 +1,245 @@
+package com.infragest.infra_groups_service.service;
+
+import com.infragest.infra_groups_service.concurrency.GroupLockCoordinator;
+import com.infragest.infra_groups_service.enums.EmployeStatus;
+import com.infragest.infra_groups_service.exception.GroupException;
+import com.infragest.infra_groups_service.model.AssignEmployeesRq;
+import com.infragest.infra_groups_service.model.EmployeeSummaryDto;
+import com.infragest.infra_groups_service.repository.GroupClosureRepository;
+import com.infragest.infra_groups_service.support.IntegrationTest;
+import com.infragest.infra_groups_service.support.SqlCapture;
+import com.infragest.infra_groups_service.support.TestData;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.util.AopTestUtils;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Anidar y desanidar grupos mantiene la tabla de cierre y nunca deja ciclos, tampoco con cambios
+ * concurrentes desde réplicas distintas.
+ */
+@IntegrationTest
+class GroupHierarchyTest {
+
+    private static final int ROUNDS = 10;
+
+    @Autowired
+    private GroupService groupService;
+
+    @Autowired
+    private GroupClosureRepository closureRepository;
+
+    @Autowired
+    private GroupLockCoordinator groupLocks;
+
+    @Autowired
+    private TestData testData;
+
+    @Test
+    void attachExposesTheSubtreeMembersTransitively() {
+        UUID root = testData.group();
+        UUID middle = testData.group();
+        UUID leaf = testData.group();
+        UUID rootMember = member(root);
+        UUID leafMember = member(leaf);
+
+        groupService.attachChild(root, middle);
+        groupService.attachChild(middle, leaf);
+
+        assertThat(transitiveMemberIds(root)).containsExactlyInAnyOrder(rootMember, leafMember);
+        assertThat(transitiveMemberIds(middle)).containsExactly(leafMember);
+        assertThat(closureRepository.existsByAncestorIdAndDescendantId(root, leaf)).isTrue();
+        assertThat(closureRepository.findParentId(leaf)).hasValue(middle);
+    }
+
+    @Test
+    void attachUnderAnotherParentMovesTheSubtree() {
+        UUID oldParent = testData.group();
+        UUID newParent = testData.group();
+        UUID child = testData.group();
+        UUID grandChild = testData.group();
+        groupService.attachChild(oldParent, child);
+        groupService.attachChild(child, grandChild);
+
+        groupService.attachChild(newParent, child);
+
+        assertThat(closureRepository.findParentId(child)).hasValue(newParent);
+        assertThat(closureRepository.existsByAncestorIdAndDescendantId(newParent, grandChild)).isTrue();
+        assertThat(closureRepository.existsByAncestorIdAndDescendantId(oldParent, grandChild)).isFalse();
+        assertThat(closureRepository.hasChildren(oldParent)).isFalse();
+    }
+
+    @Test
+    void detachRemovesOnlyThePathsIntoTheSubtree() {
+        UUID root = testData.group();
+        UUID child = testData.group();
+        UUID grandChild = testData.group();
+        groupService.attachChild(root, child);
+        groupService.attachChild(child, grandChild);
+
+        groupService.detachChild(root, child);
+
+        assertThat(closureRepository.findParentId(child)).isEmpty();
+        assertThat(closureRepository.existsByAncestorIdAndDescendantId(root, grandChild)).isFalse();
+        assertThat(closureRepository.findParentId(grandChild)).hasValue(child);
+        assertThatThrownBy(() -> groupService.detachChild(root, child))
+                .isInstanceOfSatisfying(GroupException.class,
+                        ex -> assertThat(ex.getType()).isEqualTo(GroupException.Type.BAD_REQUEST));
+    }
+
+    @Test
+    void attachUnderADescendantIsRejectedAsACycle() {
+        UUID root = testData.group();
+        UUID child = testData.group();
+        UUID grandChild = testData.group();
+        groupService.attachChild(root, child);
+        groupService.attachChild(child, grandChild);
+
+        assertCycle(() -> groupService.attachChild(grandChild, root));
+        assertCycle(() -> groupService.attachChild(child, child));
+        assertThat(closureRepository.findParentId(root)).isEmpty();
+    }
+
+    @Test
+    void hierarchyChangesLockTheSentinelRow() {
+        UUID parent = testData.group();
+        UUID child = testData.group();
+
+        SqlCapture.start();
+        groupService.attachChild(parent, child);
+        List<String> sql = SqlCapture.stop();
+
+        assertThat(sql.get(0)).contains("from infra_group_hierarchy_lock").contains("for update");
+    }
+
+    @Test
+    void oppositeAttachesFromTwoReplicasNeverFormACycle() throws Exception {
+        withoutInProcessHierarchyLock(() -> {
+            for (int round = 0; round < ROUNDS; round++) {
+                UUID a = testData.group();
+                UUID b = testData.group();
+
+                int succeeded = runTogether(List.of(
+                        () -> groupService.attachChild(a, b),
+                        () -> groupService.attachChild(b, a)));
+
+                assertThat(succeeded).isEqualTo(1);
+                assertNoCycle(a, b);
+            }
+        });
+    }
+
+    @Test
+    void disjointAttachesFromTwoReplicasNeverCloseACycle() throws Exception {
+        withoutInProcessHierarchyLock(() -> {
+            for (int round = 0; round < ROUNDS; round++) {
+                // b -> c y d -> a; anidar b bajo a y d bajo c cerraría b -> c -> d -> a -> b
+                UUID a = testData.group();
+                UUID b = testData.group();
+                UUID c = testData.group();
+                UUID d = testData.group();
+                groupService.attachChild(b, c);
+                groupService.attachChild(d, a);
+
+                int succeeded = runTogether(List.of(
+                        () -> groupService.attachChild(a, b),
+                        () -> groupService.attachChild(c, d)));
+
+                assertThat(succeeded).isEqualTo(1);
+                assertNoCycle(a, b);
+                assertNoCycle(c, d);
+            }
+        });
+    }
+
+    private UUID member(UUID groupId) {
+        UUID employee = testData.employee(EmployeStatus.ACTIVE);
+        groupService.assignEmployees(groupId, new AssignEmployeesRq(List.of(employee)));
+        return employee;
+    }
+
+    private List<UUID> transitiveMemberIds(UUID groupId) {
+        return groupService.getTransitiveMembers(groupId).stream().map(EmployeeSummaryDto::getId).toList();
+    }
+
+    private void assertNoCycle(UUID x, UUID y) {
+        assertThat(closureRepository.existsByAncestorIdAndDescendantId(x, y)
+                && closureRepository.existsByAncestorIdAndDescendantId(y, x)).isFalse();
+    }
+
+    private static void assertCycle(Runnable attach) {
+        assertThatThrownBy(attach::run)
+                .isInstanceOfSatisfying(GroupException.class,
+                        ex -> assertThat(ex.getType()).isEqualTo(GroupException.Type.CONFLICT));
+    }
+
+    /**
+     * Simula réplicas distintas: sin el lock de jerarquía en proceso, solo la base de datos
+     * puede serializar los cambios.
+     */
+    private void withoutInProcessHierarchyLock(ThrowingRunnable body) throws Exception {
+        Object target = AopTestUtils.getUltimateTargetObject(groupService);
+        ReflectionTestUtils.setField(target, "groupLocks", new GroupLockCoordinator(64) {
+            @Override
+            public void lockHierarchy() {
+            }
+        });
+        try {
+            body.run();
+        } finally {
+            ReflectionTestUtils.setField(target, "groupLocks", groupLocks);
+        }
+    }
+
+    /**
+     * Ejecuta las tareas a la vez y devuelve cuántas terminaron sin rechazo por ciclo.
+     */
+    private static int runTogether(List<Runnable> tasks) throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(tasks.size());
+        try {
+            CountDownLatch start = new CountDownLatch(1);
+            List<Future<Void>> futures = new ArrayList<>();
+            for (Runnable task : tasks) {
+                Callable<Void> call = () -> {
+                    start.await();
+                    task.run();
+                    return null;
+                };
+                futures.add(pool.submit(call));
+            }
+            start.countDown();
+            int succeeded = 0;
+            for (Future<Void> future : futures) {
+                try {
+                    future.get(30, TimeUnit.SECONDS);
+                    succeeded++;
+                } catch (ExecutionException ex) {
+                    assertThat(ex.getCause()).isInstanceOfSatisfying(GroupException.class,
+                            cause -> assertThat(cause.getType()).isEqualTo(GroupException.Type.CONFLICT));
+                }
+            }
+            return succeeded;
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    @FunctionalInterface
+    private interface ThrowingRunnable {
+        void run() throws Exception;
+    }
+}
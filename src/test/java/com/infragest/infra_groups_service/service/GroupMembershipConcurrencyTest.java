@@ -0,0 +1,137 @@
+package com.infragest.infra_groups_service.service;
+
+import com.infragest.infra_groups_service.entity.Group;
+import com.infragest.infra_groups_service.enums.EmployeStatus;
+import com.infragest.infra_groups_service.exception.GroupException;
+import com.infragest.infra_groups_service.model.AssignEmployeesRq;
+import com.infragest.infra_groups_service.model.EmployeeSummaryView;
+import com.infragest.infra_groups_service.model.GroupRs;
+import com.infragest.infra_groups_service.repository.GroupsRepository;
+import com.infragest.infra_groups_service.support.IntegrationTest;
+import com.infragest.infra_groups_service.support.SqlCapture;
+import com.infragest.infra_groups_service.support.TestData;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Escrituras de membresía concurrentes sobre un mismo grupo.
+ */
+@IntegrationTest
+class GroupMembershipConcurrencyTest {
+
+    private static final int THREADS = 8;
+    private static final int PER_THREAD = 24;
+    private static final int BATCH = 4;
+
+    @Autowired
+    private GroupService groupService;
+
+    @Autowired
+    private GroupsRepository groupsRepository;
+
+    @Autowired
+    private TestData testData;
+
+    @Test
+    void parallelAssignsToOneGroupNeitherConflictNorLoseCounts() throws Exception {
+        UUID groupId = testData.group();
+        long versionBefore = groupsRepository.findById(groupId).map(Group::getVersion).orElseThrow();
+        List<UUID> employees = testData.activeEmployees(THREADS * PER_THREAD);
+
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Integer>> results = new ArrayList<>();
+        try {
+            for (int t = 0; t < THREADS; t++) {
+                List<UUID> slice = employees.subList(t * PER_THREAD, (t + 1) * PER_THREAD);
+                Callable<Integer> worker = () -> {
+                    start.await();
+                    int calls = 0;
+                    for (int from = 0; from < slice.size(); from += BATCH) {
+                        groupService.assignEmployees(groupId,
+                                new AssignEmployeesRq(new ArrayList<>(slice.subList(from, from + BATCH))));
+                        calls++;
+                    }
+                    return calls;
+                };
+                results.add(pool.submit(worker));
+            }
+            start.countDown();
+            for (Future<Integer> result : results) {
+                // get() propaga cualquier fallo (p. ej. ObjectOptimisticLockingFailureException) de los hilos
+                assertThat(result.get(60, TimeUnit.SECONDS)).isEqualTo(PER_THREAD / BATCH);
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+
+        Group group = groupsRepository.findById(groupId).orElseThrow();
+        assertThat(group.getMemberCount()).isEqualTo(THREADS * PER_THREAD);
+        assertThat(groupsRepository.findMemberCountDrift()).doesNotContain(groupId);
+        assertThat(group.getVersion()).isEqualTo(versionBefore);
+    }
+
+    @Test
+    void membershipWritesNeverWriteOrLockTheGroupRow() {
+        UUID groupId = testData.group();
+        List<UUID> employees = testData.activeEmployees(3);
+
+        SqlCapture.start();
+        groupService.assignEmployees(groupId, new AssignEmployeesRq(employees));
+        groupService.removeEmployee(groupId, employees.get(0));
+        groupService.clearMembers(groupId);
+        List<String> sql = SqlCapture.stop();
+
+        assertThat(sql).noneMatch(s -> s.startsWith("update infra_groups "));
+        assertThat(sql).noneMatch(s -> s.contains("infra_groups ") && s.contains("for update"));
+        assertThat(sql).anyMatch(s -> s.startsWith("insert into infra_group_member_counts"));
+        assertThat(groupsRepository.findMemberCountById(groupId)).contains(0L);
+    }
+
+    @Test
+    void assignReturnsTheFullMembershipWithoutLoadingMemberEntities() {
+        UUID groupId = testData.group();
+        List<UUID> members = new ArrayList<>(testData.activeEmployees(30));
+        groupService.assignEmployees(groupId, new AssignEmployeesRq(members));
+        UUID newcomer = testData.employee(EmployeStatus.ACTIVE);
+
+        SqlCapture.start();
+        GroupRs rs = groupService.assignEmployees(groupId, new AssignEmployeesRq(List.of(newcomer)));
+        List<String> sql = SqlCapture.stop();
+
+        assertThat(rs.getMemberCount()).isEqualTo(31L);
+        members.add(newcomer);
+        assertThat(rs.getEmployees()).extracting(EmployeeSummaryView::getId).containsExactlyInAnyOrderElementsOf(members);
+        // Los solicitados se leen con bloqueo y la membresía con la consulta de resumen, sin las columnas de la entidad
+        assertThat(sql).filteredOn(s -> s.contains("full_name")).hasSize(2)
+                .anySatisfy(s -> assertThat(s).contains("for update"))
+                .anySatisfy(s -> assertThat(s).contains("infra_group_employees"))
+                .noneSatisfy(s -> assertThat(s).contains("document_number"));
+    }
+
+    @Test
+    void membershipWritesOnAMissingGroupAreNotFound() {
+        UUID missing = UUID.randomUUID();
+        UUID employee = testData.activeEmployees(1).get(0);
+
+        assertThatThrownBy(() -> groupService.assignEmployees(missing, new AssignEmployeesRq(List.of(employee))))
+                .isInstanceOfSatisfying(GroupException.class,
+                        ex -> assertThat(ex.getType()).isEqualTo(GroupException.Type.NOT_FOUND));
+        assertThatThrownBy(() -> groupService.removeEmployee(missing, employee))
+                .isInstanceOfSatisfying(GroupException.class,
+                        ex -> assertThat(ex.getType()).isEqualTo(GroupException.Type.NOT_FOUND));
+    }
+}
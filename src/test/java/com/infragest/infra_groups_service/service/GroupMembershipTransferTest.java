@@ -0,0 +1,207 @@
+package com.infragest.infra_groups_service.service;
+
+import com.infragest.infra_groups_service.enums.EmployeStatus;
+import com.infragest.infra_groups_service.exception.GroupException;
+import com.infragest.infra_groups_service.model.AssignEmployeesRq;
+import com.infragest.infra_groups_service.model.EmployeeStatusRq;
+import com.infragest.infra_groups_service.model.EmployeeSummaryView;
+import com.infragest.infra_groups_service.model.MembershipTransferRs;
+import com.infragest.infra_groups_service.repository.GroupsRepository;
+import com.infragest.infra_groups_service.support.IntegrationTest;
+import com.infragest.infra_groups_service.support.SqlCapture;
+import com.infragest.infra_groups_service.support.TestData;
+import org.assertj.core.api.ThrowableAssert;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.BiFunction;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Copia, movimiento y vaciado de miembros: mismas reglas que la asignación (solo activos, sin
+ * duplicados), member_count coherente y número de sentencias independiente del tamaño del grupo.
+ */
+@IntegrationTest
+class GroupMembershipTransferTest {
+
+    @Autowired
+    private GroupService groupService;
+
+    @Autowired
+    private EmployeeService employeeService;
+
+    @Autowired
+    private GroupsRepository groupsRepository;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private TestData testData;
+
+    @Test
+    void copyAddsOnlyActiveNonMembersAndKeepsTheSource() {
+        Fixture f = new Fixture();
+
+        MembershipTransferRs rs = groupService.copyMembers(f.source, f.target);
+
+        assertThat(rs).isEqualTo(new MembershipTransferRs(f.source, f.target, 1, 1, 1, null));
+        assertThat(members(f.target)).containsExactlyInAnyOrder(f.active, f.shared, f.targetOnly);
+        assertThat(members(f.source)).containsExactlyInAnyOrder(f.active, f.shared, f.inactive);
+        assertCounts(f.source, 3, f.target, 3);
+    }
+
+    @Test
+    void moveLeavesOnlyInactiveMembersInTheSource() {
+        Fixture f = new Fixture();
+
+        MembershipTransferRs rs = groupService.moveMembers(f.source, f.target);
+
+        assertThat(rs).isEqualTo(new MembershipTransferRs(f.source, f.target, 1, 1, 1, 2));
+        assertThat(members(f.target)).containsExactlyInAnyOrder(f.active, f.shared, f.targetOnly);
+        assertThat(members(f.source)).containsExactly(f.inactive);
+        assertCounts(f.source, 1, f.target, 3);
+    }
+
+    @Test
+    void copyingTwiceAddsNothingTheSecondTime() {
+        Fixture f = new Fixture();
+        groupService.copyMembers(f.source, f.target);
+
+        MembershipTransferRs rs = groupService.copyMembers(f.source, f.target);
+
+        assertThat(rs.getAdded()).isZero();
+        assertThat(rs.getAlreadyMembers()).isEqualTo(2);
+        assertCounts(f.source, 3, f.target, 3);
+    }
+
+    @Test
+    void clearRemovesEveryDirectMemberButKeepsTheEmployees() {
+        Fixture f = new Fixture();
+
+        MembershipTransferRs rs = groupService.clearMembers(f.source);
+
+        assertThat(rs).isEqualTo(MembershipTransferRs.builder().sourceGroupId(f.source).removed(3).build());
+        assertThat(members(f.source)).isEmpty();
+        assertThat(members(f.target)).containsExactlyInAnyOrder(f.shared, f.targetOnly);
+        assertThat(employeeService.getById(f.inactive).getStatus()).isEqualTo(EmployeStatus.INACTIVE);
+        assertCounts(f.source, 0, f.target, 2);
+        assertThat(groupService.clearMembers(f.source).getRemoved()).isZero();
+    }
+
+    @Test
+    void invalidOrUnknownGroupsAreRejectedWithoutChanges() {
+        Fixture f = new Fixture();
+        UUID unknown = UUID.randomUUID();
+
+        assertRejected(() -> groupService.copyMembers(f.source, f.source), GroupException.Type.BAD_REQUEST);
+        assertRejected(() -> groupService.moveMembers(null, f.target), GroupException.Type.BAD_REQUEST);
+        assertRejected(() -> groupService.clearMembers(null), GroupException.Type.BAD_REQUEST);
+        assertRejected(() -> groupService.moveMembers(f.source, unknown), GroupException.Type.NOT_FOUND);
+        assertRejected(() -> groupService.copyMembers(unknown, f.target), GroupException.Type.NOT_FOUND);
+        assertRejected(() -> groupService.clearMembers(unknown), GroupException.Type.NOT_FOUND);
+
+        assertThat(members(f.source)).containsExactlyInAnyOrder(f.active, f.shared, f.inactive);
+        assertCounts(f.source, 3, f.target, 2);
+    }
+
+    @Test
+    void statementCountDoesNotGrowWithTheGroup() {
+        for (BiFunction<UUID, UUID, MembershipTransferRs> operation : List.<BiFunction<UUID, UUID, MembershipTransferRs>>of(
+                groupService::copyMembers,
+                groupService::moveMembers,
+                (source, target) -> groupService.clearMembers(source))) {
+            assertThat(statementsFor(operation, 3)).isEqualTo(statementsFor(operation, 30));
+        }
+    }
+
+    @Test
+    void endpointsReturnTheCounts() throws Exception {
+        Fixture f = new Fixture();
+
+        mockMvc.perform(post("/groups/{id}/members/move/{targetId}", f.source, f.target)
+                        .header(HttpHeaders.AUTHORIZATION, testData.bearer()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.added").value(1))
+                .andExpect(jsonPath("$.alreadyMembers").value(1))
+                .andExpect(jsonPath("$.skippedInactive").value(1))
+                .andExpect(jsonPath("$.removed").value(2));
+        mockMvc.perform(delete("/groups/{id}/members", f.target)
+                        .header(HttpHeaders.AUTHORIZATION, testData.bearer()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.removed").value(3))
+                .andExpect(jsonPath("$.targetGroupId").doesNotExist());
+        mockMvc.perform(post("/groups/{id}/members/copy/{targetId}", f.source, UUID.randomUUID())
+                        .header(HttpHeaders.AUTHORIZATION, testData.bearer()))
+                .andExpect(status().isNotFound());
+    }
+
+    /**
+     * Sentencias preparadas por la operación entre dos grupos nuevos, con {@code size} miembros activos
+     * en el origen, uno de ellos ya presente en el destino.
+     */
+    private int statementsFor(BiFunction<UUID, UUID, MembershipTransferRs> operation, int size) {
+        UUID source = testData.group();
+        UUID target = testData.group();
+        List<UUID> employees = testData.activeEmployees(size);
+        groupService.assignEmployees(source, new AssignEmployeesRq(employees));
+        groupService.assignEmployees(target, new AssignEmployeesRq(List.of(employees.get(0))));
+
+        SqlCapture.start();
+        operation.apply(source, target);
+        List<String> sql = SqlCapture.stop();
+
+        assertThat(sql).anyMatch(statement -> statement.contains("infra_group_employees"));
+        return sql.size();
+    }
+
+    private List<UUID> members(UUID groupId) {
+        List<UUID> ids = new ArrayList<>();
+        for (EmployeeSummaryView member : groupService.getById(groupId).getEmployees()) {
+            ids.add(member.getId());
+        }
+        return ids;
+    }
+
+    private void assertCounts(UUID source, long sourceCount, UUID target, long targetCount) {
+        assertThat(groupsRepository.findMemberCountById(source)).contains(sourceCount);
+        assertThat(groupsRepository.findMemberCountById(target)).contains(targetCount);
+        assertThat(groupsRepository.findMemberCountDrift()).doesNotContain(source, target);
+    }
+
+    private static void assertRejected(ThrowableAssert.ThrowingCallable call, GroupException.Type type) {
+        assertThatThrownBy(call).isInstanceOfSatisfying(GroupException.class,
+                ex -> assertThat(ex.getType()).isEqualTo(type));
+    }
+
+    /**
+     * Origen {active, shared, inactive} y destino {shared, targetOnly}; {@code inactive} se desactiva
+     * después de asignarlo.
+     */
+    private class Fixture {
+
+        final UUID source = testData.group();
+        final UUID target = testData.group();
+        final UUID active = testData.employee(EmployeStatus.ACTIVE);
+        final UUID shared = testData.employee(EmployeStatus.ACTIVE);
+        final UUID inactive = testData.employee(EmployeStatus.ACTIVE);
+        final UUID targetOnly = testData.employee(EmployeStatus.ACTIVE);
+
+        Fixture() {
+            groupService.assignEmployees(source, new AssignEmployeesRq(List.of(active, shared, inactive)));
+            groupService.assignEmployees(target, new AssignEmployeesRq(List.of(shared, targetOnly)));
+            employeeService.updateStatuses(new EmployeeStatusRq(List.of(inactive), EmployeStatus.INACTIVE, false));
+        }
+    }
+}
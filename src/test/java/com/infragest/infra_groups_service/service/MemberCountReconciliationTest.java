@@ -0,0 +1,121 @@
+package com.infragest.infra_groups_service.service;
+
+import com.infragest.infra_groups_service.model.AssignEmployeesRq;
+import com.infragest.infra_groups_service.model.FieldSelection;
+import com.infragest.infra_groups_service.model.GroupFilter;
+import com.infragest.infra_groups_service.model.GroupRs;
+import com.infragest.infra_groups_service.repository.GroupsRepository;
+import com.infragest.infra_groups_service.support.IntegrationTest;
+import com.infragest.infra_groups_service.support.SqlCapture;
+import com.infragest.infra_groups_service.support.TestData;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Mantenimiento y reconciliación de member_count.
+ */
+@IntegrationTest
+class MemberCountReconciliationTest {
+
+    @Autowired
+    private GroupService groupService;
+
+    @Autowired
+    private GroupsRepository groupsRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private TestData testData;
+
+    @Test
+    void atomicAdjustmentsKeepTheCountInSync() {
+        UUID groupId = testData.group();
+        List<UUID> employees = testData.activeEmployees(3);
+
+        groupService.assignEmployees(groupId, new AssignEmployeesRq(employees));
+        groupService.removeEmployee(groupId, employees.get(0));
+
+        assertThat(groupsRepository.findMemberCountById(groupId)).contains(2L);
+        assertThat(groupsRepository.findMemberCountDrift()).doesNotContain(groupId);
+    }
+
+    @Test
+    void stripedAdjustmentsAddUpToTheCount() {
+        UUID groupId = testData.group();
+
+        transactionTemplate.executeWithoutResult(status -> {
+            for (int i = 0; i < 100; i++) {
+                groupsRepository.adjustMemberCount(groupId, 1);
+            }
+            groupsRepository.adjustMemberCount(groupId, -40);
+        });
+
+        assertThat(groupsRepository.findMemberCountById(groupId)).contains(60L);
+    }
+
+    @Test
+    void reconciliationRepairsOnlyDriftedGroups() {
+        UUID drifted = testData.group();
+        UUID healthy = testData.group();
+        groupService.assignEmployees(drifted, new AssignEmployeesRq(testData.activeEmployees(2)));
+        groupService.assignEmployees(healthy, new AssignEmployeesRq(testData.activeEmployees(1)));
+        transactionTemplate.executeWithoutResult(status -> groupsRepository.adjustMemberCount(drifted, 5));
+        assertThat(groupsRepository.findMemberCountDrift()).contains(drifted).doesNotContain(healthy);
+
+        groupService.reconcileMemberCounts();
+
+        assertThat(groupsRepository.findMemberCountById(drifted)).contains(2L);
+        assertThat(groupsRepository.findMemberCountById(healthy)).contains(1L);
+        assertThat(groupsRepository.findMemberCountDrift()).doesNotContain(drifted);
+    }
+
+    @Test
+    void repairStatementIgnoresGroupsOutsideTheGivenIds() {
+        UUID locked = testData.group();
+        UUID other = testData.group();
+        transactionTemplate.executeWithoutResult(status -> {
+            groupsRepository.adjustMemberCount(locked, 3);
+            groupsRepository.adjustMemberCount(other, 3);
+        });
+
+        Integer repaired = transactionTemplate.execute(status ->
+                groupsRepository.repairMemberCounts(List.of(locked)));
+
+        assertThat(repaired).isEqualTo(1);
+        assertThat(groupsRepository.findMemberCountById(locked)).contains(0L);
+        assertThat(groupsRepository.findMemberCountById(other)).contains(3L);
+        transactionTemplate.executeWithoutResult(status -> groupsRepository.repairMemberCounts(List.of(other)));
+    }
+
+    @Test
+    void foldMovesStripesIntoTheIndexedColumnUsedToFilter() {
+        UUID large = testData.group();
+        UUID small = testData.group();
+        groupService.assignEmployees(large, new AssignEmployeesRq(testData.activeEmployees(3)));
+        groupService.assignEmployees(small, new AssignEmployeesRq(testData.activeEmployees(1)));
+        FieldSelection name = FieldSelection.of(Set.of("name"), null);
+
+        assertThat(groupService.listGroups(name, GroupFilter.of(3L, 3L, null)))
+                .extracting(GroupRs::getId).doesNotContain(large);
+
+        assertThat(groupService.foldMemberCounts()).isGreaterThanOrEqualTo(2);
+
+        assertThat(groupsRepository.findGroupIdsWithMemberCountStripes()).doesNotContain(large, small);
+        assertThat(groupsRepository.findMemberCountById(large)).contains(3L);
+        assertThat(groupsRepository.findMemberCountDrift()).doesNotContain(large, small);
+        SqlCapture.start();
+        List<GroupRs> groups = groupService.listGroups(name, GroupFilter.of(3L, 3L, "memberCount,desc"));
+        List<String> sql = SqlCapture.stop();
+        assertThat(groups).extracting(GroupRs::getId).contains(large).doesNotContain(small);
+        assertThat(sql).noneMatch(statement -> statement.contains("infra_group_member_counts"));
+    }
+}
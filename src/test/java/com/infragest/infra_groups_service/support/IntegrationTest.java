@@ -0,0 +1,43 @@
+package com.infragest.infra_groups_service.support;
+
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Arranca el contexto completo sobre una base H2 en memoria (modo MariaDB), sin config server ni Eureka.
+ *
+ * <p>Las propiedades se fijan como propiedades en línea porque el import {@code configsnapshot:} se
+ * resuelve antes de cargar los perfiles. Todas las clases con la misma configuración comparten contexto
+ * y base de datos: cada test debe crear sus propios datos.</p>
+ *
+ * <p>Las sentencias SQL que Hibernate prepara en el hilo del test se pueden capturar con
+ * {@link SqlCapture}.</p>
+ *
+ * @author bunnystring
+ * @since 2026-10-18
+ */
+@Target(ElementType.TYPE)
+@Retention(RetentionPolicy.RUNTIME)
+@SpringBootTest(properties = {
+        "groups.config.snapshot.enabled=false",
+        "spring.cloud.refresh.enabled=false",
+        "eureka.client.enabled=false",
+        "spring.devtools.restart.enabled=false",
+        "spring.datasource.url=jdbc:h2:mem:groups;MODE=MariaDB;DB_CLOSE_DELAY=-1",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.jpa.hibernate.ddl-auto=create",
+        "spring.security.oauth2.resourceserver.jwt.secret=dGVzdC1vbmx5LXNlY3JldC10ZXN0LW9ubHktc2VjcmV0LXRlc3Q=",
+        "groups.warmup.enabled=false",
+        "groups.outbox.sink=memory",
+        "groups.member-count.fold-interval-ms=3600000",
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+                + "com.infragest.infra_groups_service.support.SqlCapture"
+})
+@AutoConfigureMockMvc
+public @interface IntegrationTest {
+}
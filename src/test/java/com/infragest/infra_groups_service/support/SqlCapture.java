@@ -0,0 +1,45 @@
+package com.infragest.infra_groups_service.support;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Registra las sentencias SQL preparadas por Hibernate en el hilo actual mientras hay una captura
+ * abierta. Se instala desde {@link IntegrationTest}.
+ *
+ * @author bunnystring
+ * @since 2026-10-18
+ */
+public class SqlCapture implements StatementInspector {
+
+    private static final ThreadLocal<List<String>> CAPTURED = new ThreadLocal<>();
+
+    /**
+     * Abre una captura en el hilo actual, descartando la anterior.
+     */
+    public static void start() {
+        CAPTURED.set(new ArrayList<>());
+    }
+
+    /**
+     * Cierra la captura del hilo actual.
+     *
+     * @return sentencias preparadas desde {@link #start()}, en minúsculas
+     */
+    public static List<String> stop() {
+        List<String> statements = CAPTURED.get();
+        CAPTURED.remove();
+        return statements == null ? List.of() : statements;
+    }
+
+    @Override
+    public String inspect(String sql) {
+        List<String> statements = CAPTURED.get();
+        if (statements != null) {
+            statements.add(sql.toLowerCase());
+        }
+        return sql;
+    }
+}
@@ -0,0 +1,98 @@
+package com.infragest.infra_groups_service.support;
+
+import com.infragest.infra_groups_service.enums.EmployeStatus;
+import com.infragest.infra_groups_service.model.EmployeeRq;
+import com.infragest.infra_groups_service.model.GroupRq;
+import com.infragest.infra_groups_service.service.EmployeeService;
+import com.infragest.infra_groups_service.service.GroupService;
+import io.jsonwebtoken.Jwts;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.spec.SecretKeySpec;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Date;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Crea grupos y empleados con nombres únicos a través de los servicios, para que los tests
+ * puedan compartir contexto y base de datos sin interferir entre sí.
+ *
+ * @author bunnystring
+ * @since 2026-10-18
+ */
+@Component
+public class TestData {
+
+    private final GroupService groupService;
+    private final EmployeeService employeeService;
+    private final String jwtSecretBase64;
+
+    public TestData(GroupService groupService, EmployeeService employeeService,
+                    @Value("${spring.security.oauth2.resourceserver.jwt.secret}") String jwtSecretBase64) {
+        this.groupService = groupService;
+        this.employeeService = employeeService;
+        this.jwtSecretBase64 = jwtSecretBase64;
+    }
+
+    /**
+     * Cabecera {@code Authorization} con un token válido durante una hora.
+     *
+     * @return valor {@code Bearer ...}
+     */
+    public String bearer() {
+        return bearer("tester@test.io");
+    }
+
+    /**
+     * Cabecera {@code Authorization} de otro llamante (p. ej. para no compartir cuota de rate limit).
+     *
+     * @param subject correo del llamante
+     * @return valor {@code Bearer ...}
+     */
+    public String bearer(String subject) {
+        String token = Jwts.builder()
+                .setSubject(subject)
+                .setExpiration(new Date(System.currentTimeMillis() + 3_600_000))
+                .signWith(new SecretKeySpec(Base64.getDecoder().decode(jwtSecretBase64), "HmacSHA256"))
+                .compact();
+        return "Bearer " + token;
+    }
+
+    /**
+     * Crea un grupo vacío.
+     *
+     * @return id del grupo
+     */
+    public UUID group() {
+        return groupService.createGroup(new GroupRq("g-" + UUID.randomUUID(), "address")).getId();
+    }
+
+    /**
+     * Crea un empleado con el estado indicado.
+     *
+     * @param status estado
+     * @return id del empleado
+     */
+    public UUID employee(EmployeStatus status) {
+        String unique = UUID.randomUUID().toString();
+        return employeeService.createEmployee(
+                new EmployeeRq("employee " + unique, unique + "@test.io", "CC", unique.substring(0, 12), status)).getId();
+    }
+
+    /**
+     * Crea varios empleados activos.
+     *
+     * @param count número de empleados
+     * @return ids de los empleados
+     */
+    public List<UUID> activeEmployees(int count) {
+        List<UUID> ids = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            ids.add(employee(EmployeStatus.ACTIVE));
+        }
+        return ids;
+    }
+}
@@ -0,0 +1,92 @@
+package com.infragest.infra_groups_service.tracing;
+
+import brave.handler.MutableSpan;
+import com.infragest.infra_groups_service.support.IntegrationTest;
+import com.infragest.infra_groups_service.support.TestData;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Spans hijos de una petición (JWT, repositorios, mapeo y serialización), recogidos con
+ * {@link InMemorySpanHandler}.
+ */
+@IntegrationTest
+@AutoConfigureObservability
+@TestPropertySource(properties = {
+        // contexto propio: base propia para no recrear las tablas del contexto compartido
+        "spring.datasource.url=jdbc:h2:mem:tracing;MODE=MariaDB;DB_CLOSE_DELAY=-1",
+        "management.tracing.sampling.probability=1.0",
+        "groups.tracing.in-memory.enabled=true"
+})
+class RequestTracingTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private InMemorySpanHandler spans;
+
+    @Autowired
+    private TestData testData;
+
+    @BeforeEach
+    void clearSpans() {
+        spans.clear();
+    }
+
+    @Test
+    void pointLookupHasJwtRepositoryMappingAndSerializationSpans() throws Exception {
+        UUID groupId = testData.group();
+        spans.clear();
+
+        mockMvc.perform(get("/groups/{id}", groupId).header(HttpHeaders.AUTHORIZATION, testData.bearer()))
+                .andExpect(status().isOk());
+
+        MutableSpan jwt = single("jwt verify");
+        assertThat(jwt.tag("outcome")).isEqualTo("valid");
+        List<MutableSpan> trace = spans.spans(jwt.traceId());
+
+        assertThat(trace).filteredOn(span -> span.name().startsWith("repo "))
+                .isNotEmpty()
+                .allSatisfy(span -> {
+                    assertThat(span.tag("repository")).isNotBlank();
+                    assertThat(span.tag("statement")).isNotBlank();
+                })
+                .anySatisfy(span -> assertThat(span.tag("rows")).isEqualTo("1"));
+        assertThat(trace).filteredOn(span -> "map group".equals(span.name()))
+                .singleElement()
+                .satisfies(span -> {
+                    assertThat(span.tag("target")).isEqualTo("group");
+                    assertThat(span.tag("rows")).isEqualTo("1");
+                });
+        assertThat(trace).extracting(MutableSpan::name).contains("serialize json");
+    }
+
+    @Test
+    void invalidTokenIsTaggedAsInvalid() throws Exception {
+        mockMvc.perform(get("/groups/{id}", UUID.randomUUID()).header(HttpHeaders.AUTHORIZATION, "Bearer not-a-jwt"))
+                .andExpect(status().isUnauthorized());
+
+        MutableSpan jwt = single("jwt verify");
+        assertThat(jwt.tag("outcome")).isEqualTo("invalid");
+        assertThat(spans.spans(jwt.traceId())).noneMatch(span -> span.name().startsWith("repo "));
+    }
+
+    private MutableSpan single(String name) {
+        List<MutableSpan> named = spans.spans().stream().filter(span -> name.equals(span.name())).toList();
+        assertThat(named).hasSize(1);
+        return named.get(0);
+    }
+}
@@ -0,0 +1,35 @@
+package com.infragest.infra_groups_service.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Plantillas de mensaje pre-partidas.
+ */
+class MessageTemplateTest {
+
+    @Test
+    void rendersLikeStringFormat() {
+        UUID id = UUID.randomUUID();
+        String pattern = "Group %s cannot be nested under itself or one of its descendants";
+
+        assertThat(MessageTemplate.of(pattern).render(id)).isEqualTo(String.format(pattern, id));
+        assertThat(MessageTemplate.of("%s").render("x")).isEqualTo("x");
+        assertThat(MessageTemplate.of("Invalid identifier: %s").render(null)).isEqualTo("Invalid identifier: null");
+    }
+
+    @Test
+    void keepsThePatternAsText() {
+        assertThat(MessageException.GROUP_NOT_FOUND).hasToString("Group not found: %s");
+    }
+
+    @Test
+    void requiresExactlyOnePlaceholder() {
+        assertThatThrownBy(() -> MessageTemplate.of("no placeholder")).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> MessageTemplate.of("%s and %s")).isInstanceOf(IllegalArgumentException.class);
+    }
+}
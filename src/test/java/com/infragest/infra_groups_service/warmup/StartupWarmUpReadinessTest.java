@@ -0,0 +1,60 @@
+package com.infragest.infra_groups_service.warmup;
+
+import com.infragest.infra_groups_service.support.IntegrationTest;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.availability.ApplicationAvailability;
+import org.springframework.boot.availability.AvailabilityChangeEvent;
+import org.springframework.boot.availability.ReadinessState;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.event.EventListener;
+import org.springframework.test.context.TestPropertySource;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * El calentamiento termina antes de que la aplicación pase a aceptar tráfico.
+ */
+@IntegrationTest
+@TestPropertySource(properties = {
+        // contexto propio: base propia para no recrear las tablas del contexto compartido
+        "spring.datasource.url=jdbc:h2:mem:warmup;MODE=MariaDB;DB_CLOSE_DELAY=-1",
+        "groups.warmup.enabled=true"
+})
+class StartupWarmUpReadinessTest {
+
+    @Autowired
+    private ReadinessProbe readinessProbe;
+
+    @Autowired
+    private ApplicationAvailability availability;
+
+    @Test
+    void warmUpCompletesBeforeAcceptingTraffic() {
+        assertThat(availability.getReadinessState()).isEqualTo(ReadinessState.ACCEPTING_TRAFFIC);
+        assertThat(readinessProbe.warmUpsAtReadiness).containsExactly(1L);
+    }
+
+    /**
+     * Registra cuántos calentamientos habían terminado al pasar a {@code ACCEPTING_TRAFFIC}.
+     */
+    @TestConfiguration
+    static class ReadinessProbe {
+
+        private final List<Long> warmUpsAtReadiness = new CopyOnWriteArrayList<>();
+
+        @Autowired
+        private MeterRegistry meterRegistry;
+
+        @EventListener
+        void onReadiness(AvailabilityChangeEvent<ReadinessState> event) {
+            if (event.getState() == ReadinessState.ACCEPTING_TRAFFIC) {
+                warmUpsAtReadiness.add(meterRegistry.get("groups.warmup.duration").timer().count());
+            }
+        }
+    }
+}
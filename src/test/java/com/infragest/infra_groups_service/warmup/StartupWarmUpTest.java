@@ -0,0 +1,106 @@
+package com.infragest.infra_groups_service.warmup;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.infragest.infra_groups_service.model.GroupRs;
+import com.infragest.infra_groups_service.repository.EmployeesRepository;
+import com.infragest.infra_groups_service.repository.GroupsRepository;
+import com.infragest.infra_groups_service.service.EmployeeService;
+import com.infragest.infra_groups_service.service.GroupService;
+import com.netflix.appinfo.ApplicationInfoManager;
+import com.netflix.appinfo.InstanceInfo;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+
+import java.sql.Connection;
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * El calentamiento nunca impide publicar la instancia: ni si falla ni si agota el presupuesto.
+ */
+class StartupWarmUpTest {
+
+    private final GroupService groupService = mock(GroupService.class);
+    private final EmployeeService employeeService = mock(EmployeeService.class);
+    private final GroupsRepository groupsRepository = mock(GroupsRepository.class);
+    private final EmployeesRepository employeesRepository = mock(EmployeesRepository.class);
+    private final HikariDataSource dataSource = mock(HikariDataSource.class);
+    private final ApplicationInfoManager eureka = mock(ApplicationInfoManager.class);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private final UUID groupId = UUID.randomUUID();
+
+    @BeforeEach
+    void setUp() throws Exception {
+        when(dataSource.getConnection()).thenReturn(mock(Connection.class));
+        when(groupsRepository.findIdsByLargestMemberCount(any())).thenReturn(List.of(groupId));
+        when(employeesRepository.findAll(any(Pageable.class))).thenReturn(Page.empty());
+    }
+
+    @Test
+    void warmsUpTheHotGroupsAndMarksTheInstanceUp() {
+        when(groupService.getById(groupId)).thenReturn(GroupRs.builder().id(groupId).build());
+
+        warmUp(10_000).onApplicationReady();
+
+        verify(groupService, atLeastOnce()).getById(groupId);
+        verify(eureka).setInstanceStatus(InstanceInfo.InstanceStatus.UP);
+        assertThat(meterRegistry.get("groups.warmup.duration").timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    void failureDoesNotBlockStartup() {
+        when(groupsRepository.findIdsByLargestMemberCount(any())).thenThrow(new IllegalStateException("database down"));
+
+        assertThatCode(() -> warmUp(10_000).onApplicationReady()).doesNotThrowAnyException();
+
+        verify(eureka).setInstanceStatus(InstanceInfo.InstanceStatus.UP);
+    }
+
+    @Test
+    void failingCallsAreSkipped() {
+        when(groupService.getById(groupId)).thenThrow(new IllegalStateException("boom"));
+
+        assertThatCode(() -> warmUp(10_000).onApplicationReady()).doesNotThrowAnyException();
+
+        verify(groupService, atLeastOnce()).lookupGroups(List.of(groupId));
+        verify(eureka).setInstanceStatus(InstanceInfo.InstanceStatus.UP);
+    }
+
+    @Test
+    void exhaustedBudgetStillMarksTheInstanceUp() {
+        when(groupService.getById(groupId)).thenAnswer(invocation -> {
+            Thread.sleep(Duration.ofSeconds(30).toMillis());
+            return null;
+        });
+
+        long start = System.nanoTime();
+        warmUp(200).onApplicationReady();
+
+        assertThat(Duration.ofNanos(System.nanoTime() - start)).isLessThan(Duration.ofSeconds(5));
+        verify(eureka).setInstanceStatus(InstanceInfo.InstanceStatus.UP);
+    }
+
+    private StartupWarmUp warmUp(long budgetMillis) {
+        StaticListableBeanFactory beans = new StaticListableBeanFactory();
+        beans.addBean("eureka", eureka);
+        return new StartupWarmUp(groupService, employeeService, groupsRepository, employeesRepository,
+                new ObjectMapper().findAndRegisterModules(), dataSource,
+                beans.getBeanProvider(ApplicationInfoManager.class), meterRegistry,
+                true, budgetMillis, 20, 50, 3);
+    }
+}